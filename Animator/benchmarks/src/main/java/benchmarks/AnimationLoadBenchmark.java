@@ -0,0 +1,141 @@
+package benchmarks;
+
+import controller.AnimationBuilder;
+import controller.BinaryAnimationReader;
+import controller.OrientationAnimationReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+import model.AnimationEnvironment;
+import model.ReadOnlyAnimationEnvironmentImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import view.BinaryView;
+
+/**
+ * Measures loading the same scene from its text form and from its binary form. Loading into a
+ * builder that only counts the motions measures the readers alone, and loading into an {@code
+ * AnimationEnvironment} measures what a view waits for.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnimationLoadBenchmark {
+
+  @Param({"100", "1000"})
+  public int shapes;
+
+  @Param({"100"})
+  public int motions;
+
+  private String text;
+  private byte[] binary;
+
+  /**
+   * Writes a scene of the given number of shapes, each moving the given number of times, in both
+   * forms.
+   */
+  @Setup
+  public void setUp() {
+    this.text = Scenes.text(this.shapes, this.motions, true);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryView view = new BinaryView(out);
+    view.setModel(new ReadOnlyAnimationEnvironmentImpl(OrientationAnimationReader.parseFile(
+        new StringReader(this.text), AnimationEnvironment.builder())));
+    view.display();
+    this.binary = out.toByteArray();
+  }
+
+  @Benchmark
+  public int parseText() {
+    return OrientationAnimationReader.parseFile(new StringReader(this.text),
+        new CountingBuilder());
+  }
+
+  @Benchmark
+  public int parseBinary() {
+    return BinaryAnimationReader.parseFile(new ByteArrayInputStream(this.binary),
+        new CountingBuilder());
+  }
+
+  @Benchmark
+  public AnimationEnvironment loadText() {
+    return OrientationAnimationReader.parseFile(new StringReader(this.text),
+        AnimationEnvironment.builder());
+  }
+
+  @Benchmark
+  public AnimationEnvironment loadBinary() {
+    return BinaryAnimationReader.parseFile(new ByteArrayInputStream(this.binary),
+        AnimationEnvironment.builder());
+  }
+
+  /**
+   * Represents a builder that only counts the calls made to it, so that the readers can be
+   * measured without the cost of building a model.
+   */
+  static final class CountingBuilder implements AnimationBuilder<Integer> {
+
+    private int calls;
+
+    @Override
+    public Integer build() {
+      return this.calls;
+    }
+
+    @Override
+    public AnimationBuilder<Integer> setBounds(int x, int y, int width, int height) {
+      this.calls++;
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<Integer> declareShape(String name, String type) {
+      this.calls++;
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<Integer> addMotion(String name, int t1, int x1, int y1, int w1,
+        int h1, int r1, int g1, int b1, int t2, int x2, int y2, int w2, int h2, int r2, int g2,
+        int b2) {
+      this.calls++;
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<Integer> addKeyframe(String name, int t, int x, int y, int w, int h,
+        int r, int g, int b) {
+      this.calls++;
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<Integer> addMotion(String name, int t1, int x1, int y1, int w1,
+        int h1, int r1, int g1, int b1, int o1, int t2, int x2, int y2, int w2, int h2, int r2,
+        int g2, int b2, int o2) {
+      this.calls++;
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<Integer> addKeyframe(String name, int t, int x, int y, int w, int h,
+        int r, int g, int b, int o) {
+      this.calls++;
+      return this;
+    }
+  }
+}
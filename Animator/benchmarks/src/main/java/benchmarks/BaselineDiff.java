@@ -0,0 +1,155 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the results of a benchmark run against a baseline, both written by JMH in its csv
+ * result format, and prints the change of every score found in both. A score that is worse than
+ * the baseline by more than the threshold is marked as a regression, in which case the program
+ * exits with status 1. Scores in operations per unit of time are better when higher, and every
+ * other score, such as a time per operation or bytes allocated per operation, is better when
+ * lower.
+ *
+ * <p>Allocation is compared in bytes per operation ({@code gc.alloc.rate.norm}). The allocation
+ * rate, collection count and collection time of the gc profiler all rise with throughput, so they
+ * are left out. The slowest samples of the sampled latencies ({@code p0.999} and above) are
+ * printed but never counted as regressions, since a single pause decides them. Rows are matched by
+ * their benchmark, mode and the parameters they actually set, so adding a parameter to one
+ * benchmark does not stop the rows of the others from matching.</p>
+ *
+ * <p>Run with:</p>
+ * <pre>
+ *   java -cp benchmarks/target/benchmarks.jar benchmarks.BaselineDiff baseline.csv results.csv [percent]
+ * </pre>
+ */
+public final class BaselineDiff {
+
+  private static final double DEFAULT_THRESHOLD = 10;
+  private static final List<String> SKIPPED =
+      Arrays.asList(":gc.alloc.rate", ":gc.count", ":gc.time");
+  private static final List<String> UNGATED = Arrays.asList(":p0.999", ":p0.9999", ":p1.00");
+
+  private BaselineDiff() {
+  }
+
+  /**
+   * Compares the results in the second file against the baseline in the first.
+   *
+   * @param args The baseline file, the results file and optionally the threshold in percent.
+   * @throws IOException if either file cannot be read.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("Usage: BaselineDiff baseline.csv results.csv [threshold percent]");
+      System.exit(2);
+    }
+    double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+    Map<String, String[]> baseline = read(args[0]);
+    Map<String, String[]> results = read(args[1]);
+
+    int regressions = 0;
+    for (Map.Entry<String, String[]> result : results.entrySet()) {
+      String[] before = baseline.get(result.getKey());
+      if (before == null) {
+        System.out.printf("%-90s %14s%n", result.getKey(), "new");
+        continue;
+      }
+      double old = Double.parseDouble(before[0]);
+      double now = Double.parseDouble(result.getValue()[0]);
+      String unit = result.getValue()[1];
+      double change = old == 0 ? 0 : (now - old) / old * 100;
+      double worse = unit.startsWith("ops/") ? -change : change;
+      boolean regressed = worse > threshold && !endsWithAny(result.getValue()[2], UNGATED);
+      if (regressed) {
+        regressions++;
+      }
+      System.out.printf("%-90s %14.3f -> %14.3f %-10s %+7.1f%%%s%n", result.getKey(), old, now,
+          unit, change, regressed ? "  REGRESSION" : "");
+    }
+    System.out.println(regressions + " regressions beyond " + threshold + "%");
+    if (regressions > 0) {
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Reads the score, unit and benchmark of every compared row of a JMH csv result file, keyed by
+   * the benchmark, its mode and the parameters it sets.
+   *
+   * @param file The path of the file.
+   * @return The score, unit and benchmark of every compared row in the order of the file.
+   * @throws IOException if the file cannot be read.
+   */
+  private static Map<String, String[]> read(String file) throws IOException {
+    List<String> lines = Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8);
+    Map<String, String[]> rows = new LinkedHashMap<String, String[]>();
+    List<String> header = split(lines.get(0));
+    int score = header.indexOf("Score");
+    int unit = header.indexOf("Unit");
+    for (String line : lines.subList(1, lines.size())) {
+      List<String> fields = split(line);
+      if (fields.size() < header.size() || endsWithAny(fields.get(0), SKIPPED)) {
+        continue;
+      }
+      StringBuilder key = new StringBuilder(fields.get(0)).append(' ').append(fields.get(1));
+      for (int i = unit + 1; i < header.size(); i++) {
+        if (!fields.get(i).isEmpty()) {
+          key.append(' ').append(header.get(i).replace("Param: ", "")).append('=')
+              .append(fields.get(i));
+        }
+      }
+      rows.put(key.toString(), new String[] {fields.get(score), fields.get(unit), fields.get(0)});
+    }
+    return rows;
+  }
+
+  /**
+   * Determines whether the given {@param benchmark} ends with any of the given {@param
+   * suffixes}.
+   *
+   * @param benchmark The name of the benchmark of a row, with its metric if it has one.
+   * @param suffixes  The suffixes to look for.
+   * @return Whether the benchmark ends with one of the suffixes.
+   */
+  private static boolean endsWithAny(String benchmark, List<String> suffixes) {
+    for (String suffix : suffixes) {
+      if (benchmark.endsWith(suffix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Splits a line of csv into its fields, removing the quotes around them.
+   *
+   * @param line The line.
+   * @return The fields of the line.
+   */
+  private static List<String> split(String line) {
+    List<String> fields = new ArrayList<String>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (c == '"') {
+        quoted = !quoted;
+      } else if (c == ',' && !quoted) {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+}
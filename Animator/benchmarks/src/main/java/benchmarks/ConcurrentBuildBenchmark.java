@@ -0,0 +1,139 @@
+package benchmarks;
+
+import controller.AnimationBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import model.AnimationEnvironment;
+import model.AnimationEnvironmentImpl;
+import model.ConcurrentAnimationEnvironment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building the same scene from 1 to 32 producer threads at once, each declaring and
+ * animating its own share of the shapes through one builder. The concurrent builder lets the
+ * producers run in parallel, while the reference builder has to be shared behind a single lock,
+ * which is what producers had to do before there was a concurrent environment.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentBuildBenchmark {
+
+  @Param({"1", "2", "4", "8", "16", "32"})
+  public int threads;
+
+  @Param({"1024"})
+  public int shapes;
+
+  @Param({"100"})
+  public int motions;
+
+  private ExecutorService producers;
+
+  /**
+   * Starts the producer threads.
+   */
+  @Setup
+  public void setUp() {
+    this.producers = Executors.newFixedThreadPool(this.threads);
+  }
+
+  /**
+   * Stops the producer threads.
+   */
+  @TearDown
+  public void tearDown() {
+    this.producers.shutdownNow();
+  }
+
+  @Benchmark
+  public AnimationEnvironment concurrentBuilder() throws Exception {
+    AnimationBuilder<AnimationEnvironment> builder = ConcurrentAnimationEnvironment.builder();
+    builder.setBounds(0, 0, 800, 600);
+    this.produce(builder, null);
+    return builder.build();
+  }
+
+  @Benchmark
+  public AnimationEnvironment lockedReference() throws Exception {
+    AnimationBuilder<AnimationEnvironment> builder = AnimationEnvironmentImpl.builder();
+    builder.setBounds(0, 0, 800, 600);
+    this.produce(builder, builder);
+    return builder.build();
+  }
+
+  /**
+   * Declares and animates every shape of the scene with the given {@param builder}, splitting the
+   * shapes evenly between the producer threads and waiting for all of them to finish.
+   *
+   * @param builder The builder to build with.
+   * @param lock    The lock to hold around every call to the builder, or null to hold none.
+   * @throws ExecutionException   if a producer failed.
+   * @throws InterruptedException if interrupted while waiting for the producers.
+   */
+  private void produce(AnimationBuilder<AnimationEnvironment> builder, Object lock)
+      throws ExecutionException, InterruptedException {
+    List<Future<?>> done = new ArrayList<Future<?>>(this.threads);
+    for (int p = 0; p < this.threads; p++) {
+      int producer = p;
+      done.add(this.producers.submit(() -> {
+        for (int s = producer; s < this.shapes; s += this.threads) {
+          this.animate(builder, lock, "S" + s, s);
+        }
+      }));
+    }
+    for (Future<?> future : done) {
+      future.get();
+    }
+  }
+
+  /**
+   * Declares the shape with the given {@param name} and animates it through every motion.
+   *
+   * @param builder The builder to build with.
+   * @param lock    The lock to hold around every call to the builder, or null to hold none.
+   * @param name    The name of the shape.
+   * @param s       The index of the shape.
+   */
+  private void animate(AnimationBuilder<AnimationEnvironment> builder, Object lock, String name,
+      int s) {
+    if (lock == null) {
+      builder.declareShape(name, s % 2 == 0 ? "rectangle" : "ellipse");
+    } else {
+      synchronized (lock) {
+        builder.declareShape(name, s % 2 == 0 ? "rectangle" : "ellipse");
+      }
+    }
+    for (int m = 0; m < this.motions; m++) {
+      int g = m % 256;
+      if (lock == null) {
+        builder.addMotion(name, 10 * m, s + m, 2 * m, 20, 30, 255, g, 0, 10 * m + 10, s + m + 1,
+            2 * m + 2, 20, 30, 255, (g + 1) % 256, 0);
+      } else {
+        synchronized (lock) {
+          builder.addMotion(name, 10 * m, s + m, 2 * m, 20, 30, 255, g, 0, 10 * m + 10,
+              s + m + 1, 2 * m + 2, 20, 30, 255, (g + 1) % 256, 0);
+        }
+      }
+    }
+  }
+}
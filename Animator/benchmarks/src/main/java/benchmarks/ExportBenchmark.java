@@ -0,0 +1,63 @@
+package benchmarks;
+
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+import model.ReadOnlyAnimationEnvironment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import view.SVGView;
+import view.TextView;
+
+/**
+ * Measures exporting a scene with the {@code SVGView} and the {@code TextView} to a writer that
+ * discards what it is given, so only the views themselves are measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExportBenchmark {
+
+  @Param({"100", "1000"})
+  public int shapes;
+
+  @Param({"100"})
+  public int motions;
+
+  private SVGView svg;
+  private TextView text;
+
+  /**
+   * Builds the model of a scene of the given number of shapes, each moving the given number of
+   * times, and the views that export it.
+   */
+  @Setup
+  public void setUp() {
+    ReadOnlyAnimationEnvironment model = Scenes.model(this.shapes, this.motions);
+    this.svg = new SVGView(Writer.nullWriter(), 20);
+    this.svg.setModel(model);
+    this.text = new TextView(Writer.nullWriter());
+    this.text.setModel(model);
+  }
+
+  @Benchmark
+  public void svgView() {
+    this.svg.display();
+  }
+
+  @Benchmark
+  public void textView() {
+    this.text.display();
+  }
+}
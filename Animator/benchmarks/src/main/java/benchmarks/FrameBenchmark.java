@@ -0,0 +1,99 @@
+package benchmarks;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import model.ReadOnlyAnimationEnvironment;
+import model.Shapes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import view.AnimationPanel;
+import view.CompiledAnimation;
+import view.FrameSink;
+
+/**
+ * Measures drawing a single frame of a scene the way the visual views do, by painting an {@code
+ * AnimationPanel} into an offscreen image, and evaluating the same frame of the compiled scene
+ * without drawing it. Every invocation draws the next tick so that every segment is visited.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Djava.awt.headless=true"})
+public class FrameBenchmark {
+
+  @Param({"100", "1000"})
+  public int shapes;
+
+  @Param({"100"})
+  public int motions;
+
+  private AnimationPanel panel;
+  private CompiledAnimation compiled;
+  private BufferedImage image;
+  private Graphics2D graphics;
+  private int tick;
+
+  /**
+   * Builds the model of a scene of the given number of shapes, each moving the given number of
+   * times, and an image the size of its canvas.
+   */
+  @Setup
+  public void setUp() {
+    ReadOnlyAnimationEnvironment model = Scenes.model(this.shapes, this.motions);
+    this.panel = new AnimationPanel();
+    this.panel.setModel(model);
+    this.panel.setSize(model.getWidth(), model.getHeight());
+    this.compiled = CompiledAnimation.compile(model);
+    this.image = new BufferedImage(model.getWidth(), model.getHeight(),
+        BufferedImage.TYPE_INT_RGB);
+    this.graphics = this.image.createGraphics();
+    this.tick = 0;
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.graphics.dispose();
+  }
+
+  @Benchmark
+  public BufferedImage paintComponent() {
+    this.panel.setTick(this.nextTick());
+    this.panel.paint(this.graphics);
+    return this.image;
+  }
+
+  @Benchmark
+  public void evaluate(Blackhole blackhole) {
+    this.compiled.evaluate(this.nextTick(), new FrameSink() {
+      @Override
+      public void shape(Shapes type, double x, double y, double width, double height, int red,
+          int green, int blue, double rotation) {
+        blackhole.consume(x + y + width + height + rotation);
+      }
+    });
+  }
+
+  /**
+   * Returns the tick to draw next, going back to the first tick after the last.
+   *
+   * @return The tick to draw.
+   */
+  private int nextTick() {
+    this.tick = (this.tick + 1) % (10 * this.motions);
+    return this.tick;
+  }
+}
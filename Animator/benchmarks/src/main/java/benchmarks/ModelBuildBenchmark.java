@@ -0,0 +1,96 @@
+package benchmarks;
+
+import controller.AnimationReader;
+import controller.SceneGenerator;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+import model.AnimatedShapeImpl;
+import model.AnimationEnvironment;
+import model.Position2D;
+import model.Shapes;
+import model.commands.Move;
+import model.commands.Paint;
+import model.commands.Scale;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures reading a scene without orientations with the {@code AnimationReader}, commanding
+ * every motion of the scene into an {@code AnimationEnvironment} directly, and both together.
+ * Reading into a builder that only counts the motions measures the reader alone. Building a
+ * generated scene of the same size measures the builder without any reading at all.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBuildBenchmark {
+
+  @Param({"100", "1000"})
+  public int shapes;
+
+  @Param({"100"})
+  public int motions;
+
+  private String text;
+  private SceneGenerator generator;
+
+  /**
+   * Writes a scene of the given number of shapes, each moving the given number of times.
+   */
+  @Setup
+  public void setUp() {
+    this.text = Scenes.text(this.shapes, this.motions, false);
+    this.generator = new SceneGenerator(0, this.shapes, this.motions, false, 10);
+  }
+
+  @Benchmark
+  public int parseFile() {
+    return AnimationReader.parseFile(new StringReader(this.text),
+        new AnimationLoadBenchmark.CountingBuilder());
+  }
+
+  @Benchmark
+  public AnimationEnvironment parseAndBuild() {
+    return AnimationReader.parseFile(new StringReader(this.text), AnimationEnvironment.builder());
+  }
+
+  @Benchmark
+  public AnimationEnvironment buildGenerated() {
+    return this.generator.drive(AnimationEnvironment.builder());
+  }
+
+  /**
+   * Adds every shape of the scene to an empty environment and commands each of its motions, the
+   * way the builder does once a motion has been read.
+   */
+  @Benchmark
+  public AnimationEnvironment commandShape() {
+    AnimationEnvironment environment = AnimationEnvironment.builder()
+        .setBounds(0, 0, 800, 600).build();
+    for (int s = 0; s < this.shapes; s++) {
+      String name = "S" + s;
+      environment.addShape(new AnimatedShapeImpl(s % 2 == 0 ? Shapes.Rectangle : Shapes.Oval,
+          name, 0, new Dimension(20, 30), new Color(255, 0, 0), new Position2D(s, 0), 0));
+      for (int m = 0; m < this.motions; m++) {
+        environment.commandShape(name, 10 * m, 10 * m + 10,
+            new Move(s + m, 2 * m, s + m + 1, 2 * m + 2), new Scale(20, 30, 20, 30),
+            new Paint(255, m % 256, 0, 255, (m + 1) % 256, 0));
+      }
+    }
+    return environment;
+  }
+}
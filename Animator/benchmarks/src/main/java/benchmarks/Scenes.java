@@ -0,0 +1,64 @@
+package benchmarks;
+
+import controller.OrientationAnimationReader;
+import java.io.StringReader;
+import model.AnimationEnvironment;
+import model.ReadOnlyAnimationEnvironment;
+import model.ReadOnlyAnimationEnvironmentImpl;
+
+/**
+ * Writes the scenes the benchmarks measure. Every scene declares the given number of shapes,
+ * alternating rectangles and ellipses, and then moves each shape the given number of times in
+ * back to back motions of ten ticks.
+ */
+final class Scenes {
+
+  private Scenes() {
+  }
+
+  /**
+   * Writes the text of a scene.
+   *
+   * @param shapes      The number of shapes.
+   * @param motions     The number of motions of each shape.
+   * @param orientation Whether the motions include orientations, as read by the {@code
+   *                    OrientationAnimationReader}.
+   * @return The text of the scene.
+   */
+  static String text(int shapes, int motions, boolean orientation) {
+    StringBuilder scene = new StringBuilder("canvas 0 0 800 600\n");
+    for (int s = 0; s < shapes; s++) {
+      scene.append("shape S").append(s).append(s % 2 == 0 ? " rectangle\n" : " ellipse\n");
+    }
+    for (int s = 0; s < shapes; s++) {
+      for (int m = 0; m < motions; m++) {
+        int t = 10 * m;
+        scene.append("motion S").append(s)
+            .append(' ').append(t).append(' ').append(s + m).append(' ').append(2 * m)
+            .append(" 20 30 255 ").append(m % 256).append(" 0");
+        if (orientation) {
+          scene.append(' ').append(m % 360);
+        }
+        scene.append(' ').append(t + 10).append(' ').append(s + m + 1).append(' ')
+            .append(2 * m + 2).append(" 20 30 255 ").append((m + 1) % 256).append(" 0");
+        if (orientation) {
+          scene.append(' ').append((m + 1) % 360);
+        }
+        scene.append('\n');
+      }
+    }
+    return scene.toString();
+  }
+
+  /**
+   * Builds the model of a scene with orientations.
+   *
+   * @param shapes  The number of shapes.
+   * @param motions The number of motions of each shape.
+   * @return The read-only model of the scene.
+   */
+  static ReadOnlyAnimationEnvironment model(int shapes, int motions) {
+    return new ReadOnlyAnimationEnvironmentImpl(OrientationAnimationReader.parseFile(
+        new StringReader(text(shapes, motions, true)), AnimationEnvironment.builder()));
+  }
+}
@@ -0,0 +1,80 @@
+package benchmarks;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.util.concurrent.TimeUnit;
+import controller.AnimationBuilder;
+import model.KeyframeAnimationEnvironment;
+import model.KeyframeAnimationEnvironmentImpl;
+import model.Position2D;
+import model.Shapes;
+import model.UndoableKeyframeEnvironment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures adding, deleting and looking up shapes by name in environments of different sizes.
+ * With the shapes indexed by name the time per operation should not grow with the number of
+ * shapes, even for the most recently added shape, which used to be found last. Every add and
+ * delete is remembered to be undone, so the environment is built again for each iteration to keep
+ * the history from growing through the whole run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShapeLookupBenchmark {
+
+  @Param({"1000", "10000", "50000"})
+  public int shapes;
+
+  private KeyframeAnimationEnvironment environment;
+  private String lastShape;
+
+  /**
+   * Fills a new environment, with no edits to undo, with the given number of shapes, each with a
+   * single keyframe.
+   */
+  @Setup(Level.Iteration)
+  public void setUp() {
+    AnimationBuilder<UndoableKeyframeEnvironment> builder =
+        KeyframeAnimationEnvironmentImpl.builder();
+    builder.setBounds(0, 0, 500, 500);
+    for (int i = 0; i < this.shapes; i++) {
+      this.lastShape = "shape" + i;
+      builder.declareShape(this.lastShape, "rectangle");
+      builder.addKeyframe(this.lastShape, 0, 0, 0, 10, 10, 255, 0, 0);
+    }
+    this.environment = builder.build();
+  }
+
+  /**
+   * Adds a shape after all of the existing shapes and deletes it again.
+   */
+  @Benchmark
+  public void addAndDeleteShape() {
+    this.environment.addShape(Shapes.Oval, "probe", 0, new Dimension(10, 10), Color.BLUE,
+        new Position2D(0, 0), 0);
+    this.environment.deleteShape("probe");
+  }
+
+  /**
+   * Looks up the most recently added shape by name, deleting a keyframe it does not have.
+   */
+  @Benchmark
+  public void lookupShape() {
+    this.environment.deleteKeyframe(this.lastShape, -1);
+  }
+}
@@ -0,0 +1,117 @@
+package benchmarks;
+
+import controller.AnimationReader;
+import controller.ParallelAnimationReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how many megabytes of animation text per second the tokenizer of {@code
+ * AnimationReader} parses, against the {@code Scanner} it replaced and against reading the text in
+ * chunks on every core with a {@code ParallelAnimationReader}, which reads the same text from a
+ * file as the {@code -parallel} option does. The text is parsed into a
+ * builder that only counts the calls made to it, and the rate is reported by the {@code megabytes}
+ * counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class TextParseBenchmark {
+
+  @Param({"100"})
+  public int megabytes;
+
+  private String text;
+  private Path file;
+
+  /**
+   * Writes shapes and their motions, with a comment every so often, until the text reaches the
+   * given number of megabytes, and copies the text into a file.
+   */
+  @Setup
+  public void setUp() throws IOException {
+    long size = (long) this.megabytes << 20;
+    StringBuilder scene = new StringBuilder((int) size + 1024);
+    scene.append("canvas 0 0 800 600\n");
+    for (int s = 0; scene.length() < size; s++) {
+      scene.append("shape S").append(s).append(" rectangle\n");
+      scene.append("# motions of S").append(s).append('\n');
+      for (int m = 0; m < 100; m++) {
+        int t = 10 * m;
+        scene.append("motion S").append(s)
+            .append(' ').append(t).append(' ').append(s + m).append(' ').append(-m)
+            .append(" 20 30 255 ").append(m % 256).append(" 0 ")
+            .append(t + 10).append(' ').append(s + m + 1).append(' ').append(-m - 1)
+            .append(" 20 30 255 ").append((m + 1) % 256).append(" 0\n");
+      }
+    }
+    this.text = scene.toString();
+    this.file = Files.createTempFile("scene", ".txt");
+    Files.write(this.file, this.text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.delete(this.file);
+  }
+
+  /**
+   * Counts the megabytes parsed, which JMH reports per second.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Counters {
+
+    public double megabytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      this.megabytes = 0;
+    }
+  }
+
+  @Benchmark
+  public int tokenizer(Counters counters) {
+    int calls = AnimationReader.parseFile(new StringReader(this.text),
+        new AnimationLoadBenchmark.CountingBuilder());
+    counters.megabytes += this.text.length() / (double) (1 << 20);
+    return calls;
+  }
+
+  @Benchmark
+  public int parallel(Counters counters) {
+    int calls = ParallelAnimationReader.parseFile(this.file,
+        new AnimationLoadBenchmark.CountingBuilder(), false);
+    counters.megabytes += this.text.length() / (double) (1 << 20);
+    return calls;
+  }
+
+  @Benchmark
+  public int scanner(Counters counters) {
+    int calls = ScannerAnimationReader.parseFile(new StringReader(this.text),
+        new AnimationLoadBenchmark.CountingBuilder());
+    counters.megabytes += this.text.length() / (double) (1 << 20);
+    return calls;
+  }
+}
@@ -1,8 +1,6 @@
 package controller;
 
 import java.util.Objects;
-import java.util.Scanner;
-import java.util.regex.Pattern;
 
 /**
  * A helper to read animation data and construct an animation from it.
@@ -36,9 +34,15 @@ public class AnimationReader {
     Objects.requireNonNull(readable, "Must have non-null readable source");
     Objects.requireNonNull(builder, "Must provide a non-null "
         + "AnimatorController.Controller.AnimationBuilder");
-    Scanner s = new Scanner(readable);
+    ParseEvent event = new ParseEvent();
+    event.begin();
     // Split at whitespace, and ignore # comment lines
-    s.useDelimiter(Pattern.compile("(\\p{Space}+|#.*)+"));
+    AnimationTokenizer s = new AnimationTokenizer(readable);
+    if (event.isEnabled()) {
+      s.countLines();
+    }
+    int shapes = 0;
+    int motions = 0;
     while (s.hasNext()) {
       String word = s.next();
       switch (word) {
@@ -47,18 +51,30 @@ public class AnimationReader {
           break;
         case "shape":
           readShape(s, builder);
+          shapes++;
           break;
         case "motion":
           readMotion(s, builder);
+          motions++;
           break;
         default:
           throw new IllegalStateException("Unexpected keyword: " + word + s.nextLine());
       }
     }
-    return builder.build();
+    Doc doc = builder.build();
+    event.end();
+    if (event.shouldCommit()) {
+      event.characters = s.charactersRead();
+      event.lines = s.linesRead();
+      event.shapes = shapes;
+      event.motions = motions;
+      event.orientation = false;
+      event.commit();
+    }
+    return doc;
   }
 
-  protected static <Doc> void readCanvas(Scanner s, AnimationBuilder<Doc> builder) {
+  protected static <Doc> void readCanvas(AnimationTokenizer s, AnimationBuilder<Doc> builder) {
     int[] vals = new int[4];
     String[] fieldNames = {"left", "top", "width", "height"};
     for (int i = 0; i < 4; i++) {
@@ -67,7 +83,7 @@ public class AnimationReader {
     builder.setBounds(vals[0], vals[1], vals[2], vals[3]);
   }
 
-  protected static <Doc> void readShape(Scanner s, AnimationBuilder<Doc> builder) {
+  protected static <Doc> void readShape(AnimationTokenizer s, AnimationBuilder<Doc> builder) {
     String name;
     String type;
     if (s.hasNext()) {
@@ -83,7 +99,7 @@ public class AnimationReader {
     builder.declareShape(name, type);
   }
 
-  private static <Doc> void readMotion(Scanner s, AnimationBuilder<Doc> builder) {
+  private static <Doc> void readMotion(AnimationTokenizer s, AnimationBuilder<Doc> builder) {
     String[] fieldNames = new String[]{
         "initial time",
         "initial x-coordinate", "initial y-coordinate",
@@ -109,7 +125,7 @@ public class AnimationReader {
         vals[8], vals[9], vals[10], vals[11], vals[12], vals[13], vals[14], vals[15]);
   }
 
-  protected static int getInt(Scanner s, String label, String fieldName) {
+  protected static int getInt(AnimationTokenizer s, String label, String fieldName) {
     if (s.hasNextInt()) {
       return s.nextInt();
     } else if (s.hasNext()) {
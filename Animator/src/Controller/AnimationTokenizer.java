@@ -0,0 +1,313 @@
+package controller;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Splits the text of an animation file into tokens the same way a {@code Scanner} delimited by
+ * whitespace and {@code #} comments does, reading the text through a large {@code char} buffer and
+ * parsing integers without creating a {@code String} for them. A comment begins at any {@code #}
+ * and runs to the end of its line.
+ *
+ * <p>Integers are an optional sign followed by decimal digits, and must fit in an {@code int}.</p>
+ */
+public final class AnimationTokenizer {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final Readable in;
+  private char[] chars;
+  private int position;
+  private int limit;
+  private boolean exhausted;
+  private int tokenEnd;
+  private boolean intParsed;
+  private boolean isInt;
+  private int intValue;
+  private long charactersRead;
+  private boolean countingLines;
+  private long lines;
+
+  //INVARIANT: chars[position, limit) holds the text that has been read but not consumed, and if
+  //tokenEnd is greater than position then chars[position, tokenEnd) is the whole next token.
+
+  /**
+   * Constructs an {@code AnimationTokenizer} that reads from the given {@param in}.
+   *
+   * @param in The source of the text of the animation.
+   */
+  public AnimationTokenizer(Readable in) {
+    this.in = Objects.requireNonNull(in, "Must have non-null readable source");
+    this.chars = new char[BUFFER_SIZE];
+    this.position = 0;
+    this.limit = 0;
+    this.exhausted = false;
+    this.tokenEnd = 0;
+    this.intParsed = false;
+    this.charactersRead = 0;
+    this.countingLines = false;
+    this.lines = 0;
+  }
+
+  /**
+   * Starts counting the lines read from now on, which costs a pass over every character read.
+   */
+  public void countLines() {
+    this.countingLines = true;
+  }
+
+  /**
+   * Returns the number of characters read from the source so far, which may be more than have
+   * been consumed.
+   *
+   * @return The number of characters read.
+   */
+  public long charactersRead() {
+    return this.charactersRead;
+  }
+
+  /**
+   * Returns the number of line feeds read from the source since lines began to be counted.
+   *
+   * @return The number of lines read.
+   */
+  public long linesRead() {
+    return this.lines;
+  }
+
+  /**
+   * Determines whether there is another token.
+   *
+   * @return Whether there is another token.
+   * @throws IllegalStateException if the source cannot be read.
+   */
+  public boolean hasNext() {
+    return this.findToken();
+  }
+
+  /**
+   * Returns the next token.
+   *
+   * @return The next token.
+   * @throws NoSuchElementException if there are no more tokens.
+   * @throws IllegalStateException  if the source cannot be read.
+   */
+  public String next() {
+    if (!this.findToken()) {
+      throw new NoSuchElementException();
+    }
+    String token = new String(this.chars, this.position, this.tokenEnd - this.position);
+    this.consumeToken();
+    return token;
+  }
+
+  /**
+   * Determines whether the next token is an integer.
+   *
+   * @return Whether there is a next token and it is an integer.
+   * @throws IllegalStateException if the source cannot be read.
+   */
+  public boolean hasNextInt() {
+    if (!this.findToken()) {
+      return false;
+    }
+    if (!this.intParsed) {
+      this.parseInt();
+    }
+    return this.isInt;
+  }
+
+  /**
+   * Returns the next token as an integer.
+   *
+   * @return The next token as an integer.
+   * @throws NoSuchElementException if the next token is not an integer or there are no more.
+   * @throws IllegalStateException  if the source cannot be read.
+   */
+  public int nextInt() {
+    if (!this.hasNextInt()) {
+      throw new NoSuchElementException();
+    }
+    int value = this.intValue;
+    this.consumeToken();
+    return value;
+  }
+
+  /**
+   * Returns the rest of the current line, without its line separator, and moves to the start of
+   * the next line.
+   *
+   * @return The rest of the current line.
+   * @throws NoSuchElementException if there is no more input.
+   * @throws IllegalStateException  if the source cannot be read.
+   */
+  public String nextLine() {
+    this.tokenEnd = this.position;
+    this.intParsed = false;
+    if (!this.available(0)) {
+      throw new NoSuchElementException("No line found");
+    }
+    StringBuilder line = new StringBuilder();
+    while (this.available(0)) {
+      char c = this.chars[this.position];
+      if (c == '\n') {
+        this.position++;
+        return line.toString();
+      } else if (c == '\r') {
+        this.position++;
+        if (this.available(0) && this.chars[this.position] == '\n') {
+          this.position++;
+        }
+        return line.toString();
+      }
+      line.append(c);
+      this.position++;
+    }
+    return line.toString();
+  }
+
+  /**
+   * Skips whitespace and comments and makes sure the whole next token is in the buffer.
+   *
+   * @return Whether there is a next token.
+   */
+  private boolean findToken() {
+    if (this.tokenEnd > this.position) {
+      return true;
+    }
+    while (this.available(0)) {
+      char c = this.chars[this.position];
+      if (isSpace(c)) {
+        this.position++;
+      } else if (c == '#') {
+        while (this.available(0) && this.chars[this.position] != '\n'
+            && this.chars[this.position] != '\r') {
+          this.position++;
+        }
+      } else {
+        int length = 1;
+        while (this.available(length) && !isSpace(this.chars[this.position + length])
+            && this.chars[this.position + length] != '#') {
+          length++;
+        }
+        this.tokenEnd = this.position + length;
+        this.intParsed = false;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Parses the next token, which is in the buffer, as an integer.
+   */
+  private void parseInt() {
+    this.intParsed = true;
+    this.isInt = false;
+    int i = this.position;
+    boolean negative = false;
+    if (this.chars[i] == '-' || this.chars[i] == '+') {
+      negative = this.chars[i] == '-';
+      i++;
+    }
+    if (i == this.tokenEnd) {
+      return;
+    }
+    //accumulated negatively so that Integer.MIN_VALUE can be parsed
+    int value = 0;
+    for (; i < this.tokenEnd; i++) {
+      int digit = this.chars[i] - '0';
+      if (digit < 0 || digit > 9 || value < Integer.MIN_VALUE / 10) {
+        return;
+      }
+      value *= 10;
+      if (value < Integer.MIN_VALUE + digit) {
+        return;
+      }
+      value -= digit;
+    }
+    if (!negative && value == Integer.MIN_VALUE) {
+      return;
+    }
+    this.intValue = negative ? value : -value;
+    this.isInt = true;
+  }
+
+  /**
+   * Moves past the next token, which is in the buffer.
+   */
+  private void consumeToken() {
+    this.position = this.tokenEnd;
+    this.intParsed = false;
+  }
+
+  /**
+   * Makes sure the character the given {@param offset} past {@code position} is in the buffer if
+   * there is one, reading more of the source as needed. Reading may move the unconsumed text to
+   * the start of the buffer, so characters are always found relative to {@code position}.
+   *
+   * @param offset The offset from {@code position} of the character that is needed.
+   * @return Whether there is a character at the offset.
+   */
+  private boolean available(int offset) {
+    return this.position + offset < this.limit || this.refill(offset);
+  }
+
+  /**
+   * Reads more of the source into the buffer, keeping the unconsumed text from {@code position}.
+   *
+   * @param offset The offset from {@code position} of the character that is needed.
+   * @return Whether the character is now in the buffer.
+   */
+  private boolean refill(int offset) {
+    while (!this.exhausted) {
+      if (this.position > 0) {
+        System.arraycopy(this.chars, this.position, this.chars, 0, this.limit - this.position);
+        this.limit -= this.position;
+        this.tokenEnd = Math.max(0, this.tokenEnd - this.position);
+        this.position = 0;
+      }
+      if (this.limit == this.chars.length) {
+        char[] grown = new char[this.chars.length * 2];
+        System.arraycopy(this.chars, 0, grown, 0, this.limit);
+        this.chars = grown;
+      }
+      int read;
+      try {
+        read = this.in.read(CharBuffer.wrap(this.chars, this.limit,
+            this.chars.length - this.limit));
+      } catch (IOException ioe) {
+        throw new IllegalStateException("Read failed", ioe);
+      }
+      if (read < 0) {
+        this.exhausted = true;
+      } else {
+        if (this.countingLines) {
+          for (int i = this.limit; i < this.limit + read; i++) {
+            if (this.chars[i] == '\n') {
+              this.lines++;
+            }
+          }
+        }
+        this.charactersRead += read;
+        this.limit += read;
+      }
+      if (this.position + offset < this.limit) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Determines whether the given {@param c} is whitespace as matched by {@code \p{Space}}.
+   *
+   * @param c The character to be checked.
+   * @return Whether the character is whitespace.
+   */
+  private static boolean isSpace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+  }
+}
@@ -1,6 +1,10 @@
 package controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
 import model.AnimationEnvironment;
+import model.MappedAnimationWriter;
 import model.ReadOnlyAnimationEnvironmentImpl;
 import model.ReadOnlyKeyframeEnvironment;
 import view.AnimationView;
@@ -13,7 +17,10 @@ public class AnimatorControllerImpl implements AnimatorController {
 
   private final AnimationView view;
   private final Readable in;
+  private final InputStream binaryIn;
   private final boolean orientation;
+  private final Path store;
+  private final Path source;
 
   /**
    * Constructs a controller for our Animator which uses the given {@param model} and the given
@@ -25,12 +32,94 @@ public class AnimatorControllerImpl implements AnimatorController {
   public AnimatorControllerImpl(AnimationView view, Readable in, boolean orientation) {
     this.view = view;
     this.in = in;
+    this.binaryIn = null;
     this.orientation = orientation;
+    this.store = null;
+    this.source = null;
+  }
+
+  /**
+   * Constructs a controller for our Animator that parses the animation into the memory-mapped
+   * file at the given {@param store} instead of into memory, and has the given {@param view}
+   * render it from there.
+   *
+   * @param view        The view that {@code this} {@code AnimatorController} will use.
+   * @param in          The source file where the Animation Commands and Canvas will be read from.
+   * @param orientation Whether the source file includes orientations.
+   * @param store       The file the parsed animation is stored in.
+   */
+  public AnimatorControllerImpl(AnimationView view, Readable in, boolean orientation,
+      Path store) {
+    this.view = view;
+    this.in = in;
+    this.binaryIn = null;
+    this.orientation = orientation;
+    this.store = store;
+    this.source = null;
+  }
+
+  /**
+   * Constructs a controller for our Animator that reads an animation written by a {@code
+   * BinaryView} from the given {@param binaryIn}. If the given {@param store} is not null the
+   * animation is parsed into the memory-mapped file there instead of into memory.
+   *
+   * @param view     The view that {@code this} {@code AnimatorController} will use.
+   * @param binaryIn The source of the binary animation.
+   * @param store    The file the parsed animation is stored in, or null to parse into memory.
+   */
+  public AnimatorControllerImpl(AnimationView view, InputStream binaryIn, Path store) {
+    this.view = view;
+    this.in = null;
+    this.binaryIn = binaryIn;
+    this.orientation = true;
+    this.store = store;
+    this.source = null;
+  }
+
+  /**
+   * Constructs a controller for our Animator that reads the text of the animation in the file at
+   * the given {@param source} on several threads with a {@code ParallelAnimationReader}.
+   *
+   * @param view        The view that {@code this} {@code AnimatorController} will use.
+   * @param source      The file the Animation Commands and Canvas will be read from.
+   * @param orientation Whether the source file includes orientations.
+   * @param store       The file the parsed animation is stored in, or null to parse into memory.
+   */
+  public AnimatorControllerImpl(AnimationView view, Path source, boolean orientation,
+      Path store) {
+    this.view = view;
+    this.in = null;
+    this.binaryIn = null;
+    this.orientation = orientation;
+    this.store = store;
+    this.source = source;
   }
 
   @Override
   public void animate() {
-    if(orientation) {
+    if (this.store != null) {
+      MappedAnimationWriter writer;
+      try {
+        writer = new MappedAnimationWriter(this.store);
+      } catch (IOException e) {
+        throw new IllegalStateException("Could not open the animation store!", e);
+      }
+      if (this.binaryIn != null) {
+        view.setModel(BinaryAnimationReader.parseFile(this.binaryIn, writer));
+      } else if (this.source != null) {
+        view.setModel(ParallelAnimationReader.parseFile(this.source, writer, this.orientation));
+      } else if (this.orientation) {
+        view.setModel(OrientationAnimationReader.parseFile(this.in, writer));
+      } else {
+        view.setModel(AnimationReader.parseFile(this.in, writer));
+      }
+    } else if (this.binaryIn != null) {
+      view.setModel(new ReadOnlyAnimationEnvironmentImpl(
+          BinaryAnimationReader.parseFile(this.binaryIn, AnimationEnvironment.builder())));
+    } else if (this.source != null) {
+      view.setModel(new ReadOnlyAnimationEnvironmentImpl(ParallelAnimationReader.parseFile(
+          this.source, AnimationEnvironment.builder(), this.orientation)));
+    } else if(orientation) {
       view .setModel(new ReadOnlyAnimationEnvironmentImpl(
           OrientationAnimationReader.parseFile(this.in, AnimationEnvironment.builder())));
     } else {
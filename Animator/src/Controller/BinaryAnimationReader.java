@@ -0,0 +1,211 @@
+package controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import model.Shapes;
+import view.BinaryView;
+
+/**
+ * A helper to read animation data written by a {@code BinaryView} and construct an animation from
+ * it. Reading is done from a buffer of bytes without any parsing of text, so it is far faster than
+ * reading the same animation with an {@code AnimationReader}.
+ */
+public class BinaryAnimationReader {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final InputStream in;
+  private final byte[] buffer;
+  private int position;
+  private int limit;
+
+  /**
+   * Constructs a {@code BinaryAnimationReader} that reads from the given {@param in}.
+   *
+   * @param in The source of data for the animation.
+   */
+  private BinaryAnimationReader(InputStream in) {
+    this.in = in;
+    this.buffer = new byte[BUFFER_SIZE];
+    this.position = 0;
+    this.limit = 0;
+  }
+
+  /**
+   * A factory for producing new animations, given a source of bytes written by a {@code
+   * BinaryView} and a builder for constructing animations. Every shape is declared before any of
+   * the motions are added, and the motions of each shape are added in the order they were logged.
+   * See {@link BinaryView} for the layout of the data.
+   *
+   * @param in      The source of data for the animation
+   * @param builder A builder for helping to construct a new animation
+   * @param <Doc>   The main model interface type describing animations
+   * @return The built animation
+   * @throws IllegalStateException if the data is not a valid animation or cannot be read.
+   */
+  public static <Doc> Doc parseFile(InputStream in, AnimationBuilder<Doc> builder) {
+    Objects.requireNonNull(in, "Must have non-null input source");
+    Objects.requireNonNull(builder, "Must provide a non-null "
+        + "AnimatorController.Controller.AnimationBuilder");
+    return new BinaryAnimationReader(in).read(builder);
+  }
+
+  /**
+   * Determines whether the given {@param in} begins with the magic number of a {@code BinaryView}
+   * without consuming any of it.
+   *
+   * @param in A stream supporting {@link InputStream#mark(int)}.
+   * @return Whether the stream holds a binary animation.
+   * @throws IllegalArgumentException if the stream does not support marking.
+   * @throws IllegalStateException    if the stream cannot be read.
+   */
+  public static boolean isBinary(InputStream in) {
+    if (!in.markSupported()) {
+      throw new IllegalArgumentException("Input must support mark!");
+    }
+    try {
+      in.mark(4);
+      int magic = 0;
+      for (int i = 0; i < 4; i++) {
+        int b = in.read();
+        if (b < 0) {
+          in.reset();
+          return false;
+        }
+        magic = (magic << 8) | b;
+      }
+      in.reset();
+      return magic == BinaryView.MAGIC;
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Read failed", ioe);
+    }
+  }
+
+  /**
+   * Reads the whole animation into the given {@param builder}.
+   *
+   * @param builder The builder to construct the animation with.
+   * @param <Doc>   The type of animation that is built.
+   * @return The built animation.
+   */
+  private <Doc> Doc read(AnimationBuilder<Doc> builder) {
+    int magic = 0;
+    for (int i = 0; i < 4; i++) {
+      magic = (magic << 8) | this.readByte();
+    }
+    if (magic != BinaryView.MAGIC) {
+      throw new IllegalStateException("Not a binary animation");
+    }
+    int version = this.readByte();
+    if (version != BinaryView.VERSION) {
+      throw new IllegalStateException("Unsupported binary animation version: " + version);
+    }
+    int x = this.readInt();
+    int y = this.readInt();
+    int width = this.readInt();
+    int height = this.readInt();
+    builder.setBounds(x, y, width, height);
+
+    Shapes[] types = Shapes.values();
+    String[] names = new String[this.readCount()];
+    for (int i = 0; i < names.length; i++) {
+      byte[] name = new byte[this.readCount()];
+      for (int b = 0; b < name.length; b++) {
+        name[b] = (byte) this.readByte();
+      }
+      names[i] = new String(name, StandardCharsets.UTF_8);
+      int type = this.readInt();
+      if (type < 0 || type >= types.length) {
+        throw new IllegalStateException("Shape: unknown type " + type + " for " + names[i]);
+      }
+      builder.declareShape(names[i], types[type].name().toLowerCase());
+    }
+
+    int[] previous = new int[BinaryView.FIELDS];
+    int[] initial = new int[BinaryView.FIELDS];
+    int[] last = new int[BinaryView.FIELDS];
+    for (String name : names) {
+      int motions = this.readCount();
+      boolean keyframe = this.readInt() != 0;
+      for (int f = 0; f < BinaryView.FIELDS; f++) {
+        previous[f] = 0;
+      }
+      for (int i = 0; i < motions; i++) {
+        for (int f = 0; f < BinaryView.FIELDS; f++) {
+          initial[f] = previous[f] + this.readInt();
+        }
+        for (int f = 0; f < BinaryView.FIELDS; f++) {
+          last[f] = initial[f] + this.readInt();
+        }
+        builder.addMotion(name,
+            initial[0], initial[1], initial[2], initial[3], initial[4], initial[5], initial[6],
+            initial[7], initial[8],
+            last[0], last[1], last[2], last[3], last[4], last[5], last[6], last[7], last[8]);
+        int[] swap = previous;
+        previous = last;
+        last = swap;
+      }
+      if (keyframe) {
+        for (int f = 0; f < BinaryView.FIELDS; f++) {
+          initial[f] = this.readInt();
+        }
+        builder.addKeyframe(name, initial[0], initial[1], initial[2], initial[3], initial[4],
+            initial[5], initial[6], initial[7], initial[8]);
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Reads a zigzag-encoded varint that counts something, so it cannot be negative.
+   *
+   * @return The count that was read.
+   */
+  private int readCount() {
+    int count = this.readInt();
+    if (count < 0) {
+      throw new IllegalStateException("Expected a count, got: " + count);
+    }
+    return count;
+  }
+
+  /**
+   * Reads a zigzag-encoded varint.
+   *
+   * @return The value that was read.
+   */
+  private int readInt() {
+    int zigzag = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      int b = this.readByte();
+      zigzag |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+      }
+    }
+    throw new IllegalStateException("Malformed integer in binary animation");
+  }
+
+  /**
+   * Reads the next byte, refilling the buffer from the stream when it runs out.
+   *
+   * @return The byte that was read, from 0 to 255.
+   */
+  private int readByte() {
+    if (this.position == this.limit) {
+      try {
+        this.limit = this.in.read(this.buffer, 0, this.buffer.length);
+      } catch (IOException ioe) {
+        throw new IllegalStateException("Read failed", ioe);
+      }
+      this.position = 0;
+      if (this.limit <= 0) {
+        this.limit = 0;
+        throw new IllegalStateException("Unexpected end of binary animation");
+      }
+    }
+    return this.buffer[this.position++] & 0xFF;
+  }
+}
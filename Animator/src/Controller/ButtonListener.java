@@ -2,36 +2,48 @@ package controller;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.EnumMap;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
- * A listener that performs the action corresponding to the actionCommand in the stored hashmap of
- * functions to be performed on the model and view.
+ * A listener that reads the actionCommand of each button clicked as an {@code EditorAction} and
+ * performs the function registered for its kind on the model and view. Functions are registered
+ * once, and each receives the shape and keyframe its action applies to, so routing an action costs
+ * the same however many shapes and keyframes exist.
  */
 public class ButtonListener implements ActionListener {
-  private Map<String, Runnable> buttonClickedActions;
+  private final Map<EditorAction.Kind, Consumer<EditorAction>> buttonClickedActions;
 
   /**
    * Constructs a new ButtonListener that initializes the map of button clicked actions to empty.
    */
   public ButtonListener() {
-    this.buttonClickedActions = null;
+    this.buttonClickedActions = new EnumMap<>(EditorAction.Kind.class);
   }
 
   /**
-   * Sets the map of button clicked actions to hold the same actions and corresponding functions
-   * as the given {@param buttonClickedActions}.
+   * Sets the function performed when an action of the given {@param kind} is taken to {@param
+   * action}, replacing any function set for that kind before.
    *
-   * @param buttonClickedActions The actionCommands and the corresponding functions to be used.
+   * @param kind   The kind of action.
+   * @param action The function to be performed, given the action taken.
    */
-  public void setButtonClickedActions(Map<String, Runnable> buttonClickedActions) {
-    this.buttonClickedActions = buttonClickedActions;
+  public void on(EditorAction.Kind kind, Consumer<EditorAction> action) {
+    this.buttonClickedActions.put(kind, action);
   }
 
   @Override
   public void actionPerformed(ActionEvent e) {
-    if (this.buttonClickedActions.containsKey(e.getActionCommand())) {
-      buttonClickedActions.get(e.getActionCommand()).run();
+    EditorAction action;
+    try {
+      action = EditorAction.parse(e.getActionCommand());
+    } catch (IllegalArgumentException iae) {
+      return;
+    }
+    Consumer<EditorAction> function = this.buttonClickedActions.get(action.getKind());
+    if (function != null) {
+      function.accept(action);
     }
   }
 }
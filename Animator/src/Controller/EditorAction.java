@@ -0,0 +1,133 @@
+package controller;
+
+/**
+ * Represents an action the user takes in an editable view, read from the action command of the
+ * button that was clicked. The shape and keyframe an action applies to are carried as data, so a
+ * listener can route every action by its kind alone, whatever shapes and keyframes exist.
+ */
+public final class EditorAction {
+
+  /**
+   * Represents the kinds of action the user can take, with the action command each one is given,
+   * which is followed by the name of the shape and the time of the keyframe where the action
+   * applies to one.
+   */
+  public enum Kind {
+    TOGGLE_TIME("toggle time", false, false),
+    TOGGLE_LOOPING("toggle looping", false, false),
+    SET_SPEED("set speed", false, false),
+    CREATE_SHAPE("create shape", false, false),
+    UNDO("undo", false, false),
+    REDO("redo", false, false),
+    DELETE_SHAPE("delete shape", true, false),
+    ADD_KEYFRAME("add keyframe", true, false),
+    EDIT_KEYFRAME("edit keyframe", true, true),
+    DELETE_KEYFRAME("delete keyframe", true, true);
+
+    private final String command;
+    private final boolean hasShape;
+    private final boolean hasTick;
+
+    Kind(String command, boolean hasShape, boolean hasTick) {
+      this.command = command;
+      this.hasShape = hasShape;
+      this.hasTick = hasTick;
+    }
+  }
+
+  private static final Kind[] KINDS = Kind.values();
+
+  private final Kind kind;
+  private final String shapeName;
+  private final int tick;
+
+  /**
+   * Constructs an {@code EditorAction} of the given {@param kind} that applies to the shape with
+   * the given {@param shapeName} and its keyframe at the given {@param tick}.
+   *
+   * @param kind      The kind of action.
+   * @param shapeName The name of the shape, or null if the action applies to no shape.
+   * @param tick      The time of the keyframe, or -1 if the action applies to no keyframe.
+   */
+  public EditorAction(Kind kind, String shapeName, int tick) {
+    this.kind = kind;
+    this.shapeName = shapeName;
+    this.tick = tick;
+  }
+
+  /**
+   * Reads the action with the given action {@param command}.
+   *
+   * @param command The action command of a button.
+   * @return The action the command stands for.
+   * @throws IllegalArgumentException if the command stands for no action.
+   */
+  public static EditorAction parse(String command) {
+    for (Kind kind : KINDS) {
+      if (!command.startsWith(kind.command)) {
+        continue;
+      }
+      if (!kind.hasShape) {
+        if (command.length() == kind.command.length()) {
+          return new EditorAction(kind, null, -1);
+        }
+        continue;
+      }
+      if (command.length() <= kind.command.length() + 1
+          || command.charAt(kind.command.length()) != ' ') {
+        continue;
+      }
+      String rest = command.substring(kind.command.length() + 1);
+      if (!kind.hasTick) {
+        return new EditorAction(kind, rest, -1);
+      }
+      int split = rest.lastIndexOf(' ');
+      if (split > 0) {
+        try {
+          return new EditorAction(kind, rest.substring(0, split),
+              Integer.parseInt(rest.substring(split + 1)));
+        } catch (NumberFormatException nfe) {
+          throw new IllegalArgumentException("Invalid keyframe time: " + command);
+        }
+      }
+    }
+    throw new IllegalArgumentException("Invalid Command: " + command);
+  }
+
+  /**
+   * Returns the kind of {@code this} {@code EditorAction}.
+   *
+   * @return The kind of action.
+   */
+  public Kind getKind() {
+    return this.kind;
+  }
+
+  /**
+   * Returns the name of the shape {@code this} {@code EditorAction} applies to.
+   *
+   * @return The name of the shape, or null if the action applies to no shape.
+   */
+  public String getShapeName() {
+    return this.shapeName;
+  }
+
+  /**
+   * Returns the time of the keyframe {@code this} {@code EditorAction} applies to.
+   *
+   * @return The time of the keyframe, or -1 if the action applies to no keyframe.
+   */
+  public int getTick() {
+    return this.tick;
+  }
+
+  @Override
+  public String toString() {
+    if (!this.kind.hasShape) {
+      return this.kind.command;
+    } else if (!this.kind.hasTick) {
+      return this.kind.command + " " + this.shapeName;
+    }
+    return this.kind.command + " " + this.shapeName + " " + this.tick;
+  }
+}
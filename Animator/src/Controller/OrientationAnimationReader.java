@@ -1,8 +1,6 @@
 package controller;
 
 import java.util.Objects;
-import java.util.Scanner;
-import java.util.regex.Pattern;
 
 public class OrientationAnimationReader extends AnimationReader {
 
@@ -11,9 +9,15 @@ public class OrientationAnimationReader extends AnimationReader {
     Objects.requireNonNull(readable, "Must have non-null readable source");
     Objects.requireNonNull(builder, "Must provide a non-null "
         + "AnimatorController.Controller.AnimationBuilder");
-    Scanner s = new Scanner(readable);
+    ParseEvent event = new ParseEvent();
+    event.begin();
     // Split at whitespace, and ignore # comment lines
-    s.useDelimiter(Pattern.compile("(\\p{Space}+|#.*)+"));
+    AnimationTokenizer s = new AnimationTokenizer(readable);
+    if (event.isEnabled()) {
+      s.countLines();
+    }
+    int shapes = 0;
+    int motions = 0;
     while (s.hasNext()) {
       String word = s.next();
       switch (word) {
@@ -22,19 +26,31 @@ public class OrientationAnimationReader extends AnimationReader {
           break;
         case "shape":
           readShape(s, builder);
+          shapes++;
           break;
         case "motion":
           readMotion(s, builder);
+          motions++;
           break;
         default:
           throw new IllegalStateException("Unexpected keyword: " + word + s.nextLine());
       }
     }
-    return builder.build();
+    Doc doc = builder.build();
+    event.end();
+    if (event.shouldCommit()) {
+      event.characters = s.charactersRead();
+      event.lines = s.linesRead();
+      event.shapes = shapes;
+      event.motions = motions;
+      event.orientation = true;
+      event.commit();
+    }
+    return doc;
   }
 
 
-  protected static <Doc> void readMotion(Scanner s, AnimationBuilder<Doc> builder) {
+  protected static <Doc> void readMotion(AnimationTokenizer s, AnimationBuilder<Doc> builder) {
     String[] fieldNames = new String[]{
         "initial time",
         "initial x-coordinate", "initial y-coordinate",
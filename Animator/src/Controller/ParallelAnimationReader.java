@@ -0,0 +1,767 @@
+package controller;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * A helper to read the text of large animation files on several threads. The file is split into
+ * chunks at the starts of motion lines, and each chunk is decoded straight from the file and read
+ * on a {@code ForkJoinPool} by the same readers as {@link AnimationReader#parseFile} and {@link
+ * OrientationAnimationReader#parseFile} into a record of what it holds. The canvas and shapes are
+ * then given to the builder in the order they appear in the file, followed by the motions of each
+ * shape ordered by their start time, with the shapes in the order of their first motion. Motions
+ * that come before the declaration of their shape are given to the builder before anything is
+ * declared, since on one thread the shape is not yet declared when they are read. The text is
+ * never held in memory as a whole, so files of any size can be read.
+ *
+ * <p>Errors are the same as reading the file on one thread, and the error reported is always the
+ * one closest to the start of the file, whether the reader or the builder finds it. If a statement
+ * turns out to continue past the end of its chunk, the whole file is read again on one thread, so
+ * the result never depends on where the chunks were split.</p>
+ */
+public final class ParallelAnimationReader {
+
+  private static final int MIN_CHUNK_SIZE = 1 << 16;
+  private static final int MAX_CHUNK_SIZE = 1 << 26;
+  private static final int MAP_SIZE = 1 << 26;
+  private static final int CHUNKS_PER_THREAD = 4;
+  private static final int FIELDS = 18;
+  private static final String KEYWORD = "motion";
+  private static final String INCOMPLETE = "no more input available";
+
+  /**
+   * Prevents {@code ParallelAnimationReader} from being constructed.
+   */
+  private ParallelAnimationReader() {
+  }
+
+  /**
+   * Reads the animation in the given {@param readable} into the given {@param builder} on the
+   * common {@code ForkJoinPool}.
+   *
+   * @param readable    The source of data for the animation
+   * @param builder     A builder for helping to construct a new animation
+   * @param orientation Whether the motions include orientations.
+   * @param <Doc>       The main model interface type describing animations
+   * @return The built animation
+   * @throws IllegalStateException if the data is not a valid animation or cannot be read.
+   */
+  public static <Doc> Doc parseFile(Readable readable, AnimationBuilder<Doc> builder,
+      boolean orientation) {
+    return parseFile(readable, builder, orientation, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Reads the animation in the given {@param readable} into the given {@param builder}, reading
+   * its chunks on the given {@param pool}. The builder is only ever called from the calling
+   * thread. Since a {@code Readable} can only be read once from start to end, its text is first
+   * copied into a temporary file, which is deleted once it has been read.
+   *
+   * @param readable    The source of data for the animation
+   * @param builder     A builder for helping to construct a new animation
+   * @param orientation Whether the motions include orientations.
+   * @param pool        The pool the chunks are read on.
+   * @param <Doc>       The main model interface type describing animations
+   * @return The built animation
+   * @throws IllegalStateException if the data is not a valid animation or cannot be read.
+   */
+  public static <Doc> Doc parseFile(Readable readable, AnimationBuilder<Doc> builder,
+      boolean orientation, ForkJoinPool pool) {
+    Objects.requireNonNull(readable, "Must have non-null readable source");
+    Objects.requireNonNull(builder, "Must provide a non-null "
+        + "AnimatorController.Controller.AnimationBuilder");
+    Objects.requireNonNull(pool, "Must provide a non-null pool");
+    try {
+      Path copy = Files.createTempFile("animation", ".txt");
+      try (FileChannel channel = FileChannel.open(copy, StandardOpenOption.READ,
+          StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE)) {
+        copy(readable, channel);
+        return parse(channel, builder, orientation, pool);
+      }
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Read failed", ioe);
+    }
+  }
+
+  /**
+   * Reads the animation in the given {@param file} into the given {@param builder} on the common
+   * {@code ForkJoinPool}.
+   *
+   * @param file        The file holding the animation, in UTF-8.
+   * @param builder     A builder for helping to construct a new animation
+   * @param orientation Whether the motions include orientations.
+   * @param <Doc>       The main model interface type describing animations
+   * @return The built animation
+   * @throws IllegalStateException if the data is not a valid animation or cannot be read.
+   */
+  public static <Doc> Doc parseFile(Path file, AnimationBuilder<Doc> builder,
+      boolean orientation) {
+    return parseFile(file, builder, orientation, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Reads the animation in the given {@param file} into the given {@param builder}, reading its
+   * chunks on the given {@param pool}. The builder is only ever called from the calling thread.
+   *
+   * @param file        The file holding the animation, in UTF-8.
+   * @param builder     A builder for helping to construct a new animation
+   * @param orientation Whether the motions include orientations.
+   * @param pool        The pool the chunks are read on.
+   * @param <Doc>       The main model interface type describing animations
+   * @return The built animation
+   * @throws IllegalStateException if the data is not a valid animation or cannot be read.
+   */
+  public static <Doc> Doc parseFile(Path file, AnimationBuilder<Doc> builder,
+      boolean orientation, ForkJoinPool pool) {
+    Objects.requireNonNull(file, "Must have non-null file");
+    Objects.requireNonNull(builder, "Must provide a non-null "
+        + "AnimatorController.Controller.AnimationBuilder");
+    Objects.requireNonNull(pool, "Must provide a non-null pool");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return parse(channel, builder, orientation, pool);
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Read failed", ioe);
+    }
+  }
+
+  /**
+   * Reads the animation in the given {@param channel} into the given {@param builder}, reading
+   * its chunks on the given {@param pool}.
+   *
+   * @param channel     The file holding the animation, in UTF-8.
+   * @param builder     A builder for helping to construct a new animation
+   * @param orientation Whether the motions include orientations.
+   * @param pool        The pool the chunks are read on.
+   * @param <Doc>       The main model interface type describing animations
+   * @return The built animation
+   * @throws IOException if the file cannot be read.
+   */
+  private static <Doc> Doc parse(FileChannel channel, AnimationBuilder<Doc> builder,
+      boolean orientation, ForkJoinPool pool) throws IOException {
+    long length = channel.size();
+    long[] splits = split(channel, length, pool.getParallelism() * CHUNKS_PER_THREAD);
+    List<Callable<Chunk>> tasks = new ArrayList<Callable<Chunk>>();
+    for (int i = 0; i + 1 < splits.length; i++) {
+      long from = splits[i];
+      long to = splits[i + 1];
+      tasks.add(() -> new Chunk(orientation).read(new ChunkReader(channel, from, to)));
+    }
+    List<Chunk> chunks = invokeAll(pool, tasks);
+
+    //every chunk before the first one that fails ended cleanly, so that chunk begins at a
+    //statement and its error is the first one the reader finds in the file -- unless the
+    //statement was only cut off by the split
+    RuntimeException readError = null;
+    for (int i = 0; i < chunks.size() && readError == null; i++) {
+      readError = chunks.get(i).error;
+      if (readError != null) {
+        if (i + 1 < chunks.size() && readError.getMessage() != null
+            && readError.getMessage().endsWith(INCOMPLETE)) {
+          return sequential(new ChunkReader(channel, 0, length), builder, orientation);
+        }
+        chunks = chunks.subList(0, i + 1);
+      }
+    }
+
+    long[] bases = new long[chunks.size()];
+    long motions = 0;
+    Map<String, Indices> byShape = new LinkedHashMap<String, Indices>();
+    Map<String, Long> declared = new HashMap<String, Long>();
+    for (int i = 0; i < chunks.size(); i++) {
+      Chunk chunk = chunks.get(i);
+      bases[i] = motions;
+      for (Map.Entry<String, Indices> entry : chunk.byShape.entrySet()) {
+        byShape.computeIfAbsent(entry.getKey(), k -> new Indices())
+            .addAll(entry.getValue(), chunk, motions);
+      }
+      for (Declaration declaration : chunk.declarations) {
+        if (declaration.bounds == null) {
+          declared.putIfAbsent(declaration.name, motions + declaration.motionsBefore);
+        }
+      }
+      motions += chunk.count;
+    }
+    if (motions > Integer.MAX_VALUE) {
+      throw new IllegalStateException("Too many motions to read: " + motions);
+    }
+
+    List<Callable<Indices>> sorts = new ArrayList<Callable<Indices>>();
+    for (Indices indices : byShape.values()) {
+      sorts.add(indices::sort);
+    }
+    invokeAll(pool, sorts);
+
+    //the builder is given everything even after it fails, and the failure closest to the start
+    //of the file is thrown at the end; a shape is given no more motions once one has failed, so
+    //that its later failures, which may only follow from the first, are never reported
+    Failure failure = new Failure();
+    Set<String> failed = new HashSet<String>();
+    for (Map.Entry<String, Indices> entry : byShape.entrySet()) {
+      long declaration = declared.getOrDefault(entry.getKey(), motions);
+      if (!feed(chunks, bases, entry.getKey(), entry.getValue(), 0, declaration, builder,
+          failure)) {
+        failed.add(entry.getKey());
+      }
+    }
+    for (int i = 0; i < chunks.size(); i++) {
+      for (Declaration declaration : chunks.get(i).declarations) {
+        try {
+          declaration.apply(builder);
+        } catch (RuntimeException e) {
+          failure.offer(2 * (bases[i] + declaration.motionsBefore), e);
+        }
+      }
+    }
+    for (Map.Entry<String, Indices> entry : byShape.entrySet()) {
+      if (!failed.contains(entry.getKey())) {
+        feed(chunks, bases, entry.getKey(), entry.getValue(),
+            declared.getOrDefault(entry.getKey(), motions), motions, builder, failure);
+      }
+    }
+    //the reader stopped at its error after everything else in its chunk, so the error is
+    //offered last and loses to a declaration of the same rank
+    if (readError != null) {
+      failure.offer(2 * motions, readError);
+    }
+    if (failure.error != null) {
+      throw failure.error;
+    }
+    return builder.build();
+  }
+
+  /**
+   * Gives the motions of the shape with the given {@param name} whose indices in the file are
+   * from the given {@param from} up to the given {@param to} to the given {@param builder} in
+   * order of time, stopping at the first one it rejects.
+   *
+   * @param chunks  The chunks given to the builder.
+   * @param bases   The index in the file of the first motion of each chunk.
+   * @param name    The name of the shape.
+   * @param indices The indices in the file of the motions of the shape, in order of time.
+   * @param from    The lowest index of the motions to be given.
+   * @param to      The index just past the highest index of the motions to be given.
+   * @param builder The builder constructing the animation.
+   * @param failure The failure closest to the start of the file so far.
+   * @return Whether the builder accepted every motion it was given.
+   */
+  private static boolean feed(List<Chunk> chunks, long[] bases, String name, Indices indices,
+      long from, long to, AnimationBuilder<?> builder, Failure failure) {
+    for (int i = 0; i < indices.size; i++) {
+      int motion = (int) indices.keys[i];
+      if (motion < from || motion >= to) {
+        continue;
+      }
+      int c = Arrays.binarySearch(bases, motion);
+      if (c < 0) {
+        c = -c - 2;
+      }
+      //chunks without motions share their base with the next chunk, so the motion belongs to
+      //the last chunk with its base
+      while (c + 1 < bases.length && bases[c + 1] == motion) {
+        c++;
+      }
+      try {
+        chunks.get(c).feed(name, (int) (motion - bases[c]), builder);
+      } catch (RuntimeException e) {
+        failure.offer(2L * motion + 1, e);
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Reads the animation in the given {@param text} on the calling thread.
+   *
+   * @param text        The text of the animation.
+   * @param builder     A builder for helping to construct a new animation
+   * @param orientation Whether the motions include orientations.
+   * @param <Doc>       The main model interface type describing animations
+   * @return The built animation
+   */
+  private static <Doc> Doc sequential(Readable text, AnimationBuilder<Doc> builder,
+      boolean orientation) {
+    if (orientation) {
+      return OrientationAnimationReader.parseFile(text, builder);
+    }
+    return AnimationReader.parseFile(text, builder);
+  }
+
+  /**
+   * Copies everything in the given {@param readable} to the given {@param channel} in UTF-8,
+   * holding only a small part of the text in memory at a time.
+   *
+   * @param readable The source of data for the animation.
+   * @param channel  The file to copy the text into.
+   * @throws IOException if the text cannot be read or written.
+   */
+  private static void copy(Readable readable, FileChannel channel) throws IOException {
+    CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    CharBuffer chars = CharBuffer.allocate(MIN_CHUNK_SIZE);
+    ByteBuffer bytes = ByteBuffer.allocate(4 * MIN_CHUNK_SIZE);
+    boolean done = false;
+    while (!done) {
+      done = readable.read(chars) < 0;
+      chars.flip();
+      encoder.encode(chars, bytes, done);
+      if (done) {
+        encoder.flush(bytes);
+      }
+      bytes.flip();
+      while (bytes.hasRemaining()) {
+        channel.write(bytes);
+      }
+      bytes.clear();
+      chars.compact();
+    }
+  }
+
+  /**
+   * Finds where to split the given {@param channel} into about the given number of {@param
+   * chunks}, none of them much larger than {@code MAX_CHUNK_SIZE} unless the file has no motion
+   * line to split it at. Every split is at the start of a line beginning with {@code motion}.
+   *
+   * @param channel The file holding the animation.
+   * @param length  The length of the file in bytes.
+   * @param chunks  The number of chunks wanted.
+   * @return The offsets the chunks begin at, followed by the length of the file.
+   * @throws IOException if the file cannot be read.
+   */
+  private static long[] split(FileChannel channel, long length, int chunks)
+      throws IOException {
+    long size = Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, length / Math.max(1, chunks)));
+    List<Long> splits = new ArrayList<Long>();
+    splits.add(0L);
+    long next = size;
+    while (next < length) {
+      long start = nextMotionLine(channel, length, next);
+      if (start >= length) {
+        break;
+      }
+      splits.add(start);
+      next = start + size;
+    }
+    splits.add(length);
+    long[] result = new long[splits.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = splits.get(i);
+    }
+    return result;
+  }
+
+  /**
+   * Finds the start of the first line beginning with {@code motion} at or after the given {@param
+   * from}, reading the file a window at a time.
+   *
+   * @param channel The file holding the animation.
+   * @param length  The length of the file in bytes.
+   * @param from    The offset to search from, which is after the start of the file.
+   * @return The offset of the line, or the length of the file if there is none.
+   * @throws IOException if the file cannot be read.
+   */
+  private static long nextMotionLine(FileChannel channel, long length, long from)
+      throws IOException {
+    ByteBuffer window = ByteBuffer.allocate(MIN_CHUNK_SIZE);
+    long position = from - 1;
+    while (position < length) {
+      window.clear();
+      while (window.hasRemaining() && position + window.position() < length) {
+        if (channel.read(window, position + window.position()) < 0) {
+          break;
+        }
+      }
+      int read = window.position();
+      for (int i = 1; i < read; i++) {
+        if (window.get(i - 1) == '\n' && startsWithMotion(window, i, read)) {
+          return position + i;
+        }
+      }
+      if (position + read >= length) {
+        break;
+      }
+      //a line may begin too close to the end of the window to be checked, so the next window
+      //starts early enough to check it again
+      position += read - KEYWORD.length() - 1;
+    }
+    return length;
+  }
+
+  /**
+   * Determines whether the keyword {@code motion} followed by whitespace begins at the given
+   * {@param offset} of the given {@param window}.
+   *
+   * @param window The bytes of part of the file.
+   * @param offset The offset to check.
+   * @param limit  The number of bytes read into the window.
+   * @return Whether a motion line begins at the offset.
+   */
+  private static boolean startsWithMotion(ByteBuffer window, int offset, int limit) {
+    if (offset + KEYWORD.length() >= limit) {
+      return false;
+    }
+    for (int i = 0; i < KEYWORD.length(); i++) {
+      if (window.get(offset + i) != KEYWORD.charAt(i)) {
+        return false;
+      }
+    }
+    return Character.isWhitespace(window.get(offset + KEYWORD.length()));
+  }
+
+  /**
+   * Runs all of the given {@param tasks} on the given {@param pool} and waits for their results.
+   *
+   * @param pool  The pool to run the tasks on.
+   * @param tasks The tasks to be run.
+   * @param <T>   The type of result of the tasks.
+   * @return The results of the tasks in the same order.
+   */
+  private static <T> List<T> invokeAll(ForkJoinPool pool, List<Callable<T>> tasks) {
+    List<T> results = new ArrayList<T>(tasks.size());
+    try {
+      for (Future<T> future : pool.invokeAll(tasks)) {
+        results.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while reading", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException("Read failed", e.getCause());
+    }
+    return results;
+  }
+
+  /**
+   * Represents a canvas or shape declared in a chunk, to be given to the builder in file order.
+   */
+  private static final class Declaration {
+
+    private final String name;
+    private final String type;
+    private final int[] bounds;
+    private final int motionsBefore;
+
+    /**
+     * Constructs a {@code Declaration} of a shape or, if the given {@param bounds} are not null,
+     * of the canvas.
+     *
+     * @param name          The name of the declared shape.
+     * @param type          The type of the declared shape.
+     * @param bounds        The x, y, width and height of the canvas.
+     * @param motionsBefore The number of motions before it in its chunk.
+     */
+    Declaration(String name, String type, int[] bounds, int motionsBefore) {
+      this.name = name;
+      this.type = type;
+      this.bounds = bounds;
+      this.motionsBefore = motionsBefore;
+    }
+
+    /**
+     * Gives {@code this} {@code Declaration} to the given {@param builder}.
+     *
+     * @param builder The builder constructing the animation.
+     */
+    void apply(AnimationBuilder<?> builder) {
+      if (this.bounds != null) {
+        builder.setBounds(this.bounds[0], this.bounds[1], this.bounds[2], this.bounds[3]);
+      } else {
+        builder.declareShape(this.name, this.type);
+      }
+    }
+  }
+
+  /**
+   * Represents a growable list of motions of one shape, each kept as its start time and its index
+   * in the file, so that sorting them orders them by start time and then by file order.
+   */
+  private static final class Indices {
+
+    private long[] keys = new long[8];
+    private int size = 0;
+
+    /**
+     * Adds the motion at the given {@param index} with the given {@param time}.
+     *
+     * @param time  The start time of the motion.
+     * @param index The index of the motion.
+     */
+    void add(int time, long index) {
+      if (this.size == this.keys.length) {
+        this.keys = Arrays.copyOf(this.keys, this.size * 2);
+      }
+      this.keys[this.size++] = ((long) time << 32) | index;
+    }
+
+    /**
+     * Adds the motions of the given {@param other}, whose indices are within the given {@param
+     * chunk}, moving them to the given {@param base} index of the chunk in the file.
+     *
+     * @param other The motions of a shape in the chunk.
+     * @param chunk The chunk holding the motions.
+     * @param base  The index of the first motion of the chunk in the file.
+     */
+    void addAll(Indices other, Chunk chunk, long base) {
+      for (int i = 0; i < other.size; i++) {
+        int local = (int) other.keys[i];
+        this.add(chunk.values[local * FIELDS], base + local);
+      }
+    }
+
+    /**
+     * Sorts the motions by start time, keeping motions that start together in file order, and
+     * leaves only the index of each motion in the file.
+     *
+     * @return {@code this} {@code Indices}.
+     */
+    Indices sort() {
+      Arrays.sort(this.keys, 0, this.size);
+      for (int i = 0; i < this.size; i++) {
+        this.keys[i] &= 0xFFFFFFFFL;
+      }
+      return this;
+    }
+  }
+
+  /**
+   * Represents what is declared in one chunk of the file. It is built by the text readers like any
+   * other animation, so the chunk is read exactly as it would be on one thread.
+   */
+  private static final class Chunk implements AnimationBuilder<Chunk> {
+
+    private final boolean orientation;
+    private final List<Declaration> declarations = new ArrayList<Declaration>();
+    private final Map<String, Indices> byShape = new LinkedHashMap<String, Indices>();
+    private int[] values = new int[FIELDS * 64];
+    private int count = 0;
+    private RuntimeException error = null;
+
+    /**
+     * Constructs an empty {@code Chunk}.
+     *
+     * @param orientation Whether the motions include orientations.
+     */
+    Chunk(boolean orientation) {
+      this.orientation = orientation;
+    }
+
+    /**
+     * Reads the given {@param text} into {@code this} {@code Chunk}, keeping its first error.
+     *
+     * @param text The text of the chunk.
+     * @return {@code this} {@code Chunk}.
+     */
+    Chunk read(Readable text) {
+      try {
+        sequential(text, this, this.orientation);
+      } catch (RuntimeException e) {
+        this.error = e;
+      }
+      return this;
+    }
+
+    /**
+     * Gives the motion at the given {@param index} in {@code this} {@code Chunk} to the given
+     * {@param builder}.
+     *
+     * @param name    The name of the shape the motion belongs to.
+     * @param index   The index of the motion in the chunk.
+     * @param builder The builder constructing the animation.
+     */
+    void feed(String name, int index, AnimationBuilder<?> builder) {
+      int[] v = this.values;
+      int i = index * FIELDS;
+      if (this.orientation) {
+        builder.addMotion(name, v[i], v[i + 1], v[i + 2], v[i + 3], v[i + 4], v[i + 5], v[i + 6],
+            v[i + 7], v[i + 8], v[i + 9], v[i + 10], v[i + 11], v[i + 12], v[i + 13], v[i + 14],
+            v[i + 15], v[i + 16], v[i + 17]);
+      } else {
+        builder.addMotion(name, v[i], v[i + 1], v[i + 2], v[i + 3], v[i + 4], v[i + 5], v[i + 6],
+            v[i + 7], v[i + 9], v[i + 10], v[i + 11], v[i + 12], v[i + 13], v[i + 14], v[i + 15],
+            v[i + 16]);
+      }
+    }
+
+    @Override
+    public Chunk build() {
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<Chunk> setBounds(int x, int y, int width, int height) {
+      this.declarations.add(new Declaration(null, null, new int[]{x, y, width, height},
+          this.count));
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<Chunk> declareShape(String name, String type) {
+      this.declarations.add(new Declaration(name, type, null, this.count));
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<Chunk> addMotion(String name, int t1, int x1, int y1, int w1,
+        int h1, int r1, int g1, int b1, int t2, int x2, int y2, int w2, int h2, int r2, int g2,
+        int b2) {
+      return this.addMotion(name, t1, x1, y1, w1, h1, r1, g1, b1, 0, t2, x2, y2, w2, h2, r2, g2,
+          b2, 0);
+    }
+
+    @Override
+    public AnimationBuilder<Chunk> addMotion(String name, int t1, int x1, int y1, int w1,
+        int h1, int r1, int g1, int b1, int o1, int t2, int x2, int y2, int w2, int h2, int r2,
+        int g2, int b2, int o2) {
+      if ((this.count + 1) * FIELDS > this.values.length) {
+        this.values = Arrays.copyOf(this.values, this.values.length * 2);
+      }
+      int i = this.count * FIELDS;
+      int[] v = this.values;
+      v[i] = t1;
+      v[i + 1] = x1;
+      v[i + 2] = y1;
+      v[i + 3] = w1;
+      v[i + 4] = h1;
+      v[i + 5] = r1;
+      v[i + 6] = g1;
+      v[i + 7] = b1;
+      v[i + 8] = o1;
+      v[i + 9] = t2;
+      v[i + 10] = x2;
+      v[i + 11] = y2;
+      v[i + 12] = w2;
+      v[i + 13] = h2;
+      v[i + 14] = r2;
+      v[i + 15] = g2;
+      v[i + 16] = b2;
+      v[i + 17] = o2;
+      this.byShape.computeIfAbsent(name, k -> new Indices()).add(t1, this.count);
+      this.count++;
+      return this;
+    }
+
+    //The text of an animation only holds motions, so a keyframe is as invalid as a bad token.
+    @Override
+    public AnimationBuilder<Chunk> addKeyframe(String name, int t, int x, int y, int w, int h,
+        int r, int g, int b) {
+      throw new IllegalStateException("Keyframes cannot be read from text");
+    }
+
+    @Override
+    public AnimationBuilder<Chunk> addKeyframe(String name, int t, int x, int y, int w, int h,
+        int r, int g, int b, int o) {
+      throw new IllegalStateException("Keyframes cannot be read from text");
+    }
+  }
+
+  /**
+   * Represents the failure of the builder closest to the start of the file so far.
+   */
+  private static final class Failure {
+
+    private RuntimeException error = null;
+    private long rank = Long.MAX_VALUE;
+
+    /**
+     * Keeps the given {@param error} if its {@param rank} is earlier in the file than that of the
+     * failure kept so far. A declaration before the motion of index {@code i} has the rank {@code
+     * 2 * i}, and that motion has the rank {@code 2 * i + 1}.
+     *
+     * @param rank  The place in the file of what failed.
+     * @param error The error thrown by the builder.
+     */
+    void offer(long rank, RuntimeException error) {
+      if (rank < this.rank) {
+        this.rank = rank;
+        this.error = error;
+      }
+    }
+  }
+
+  /**
+   * Represents the text of one part of the file, decoded from UTF-8 as it is read. The file is
+   * mapped a window at a time, so only the part being read is ever in memory.
+   */
+  private static final class ChunkReader implements Readable {
+
+    private final FileChannel channel;
+    private final long end;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private ByteBuffer window = ByteBuffer.allocate(0);
+    private long windowStart;
+    private boolean flushed = false;
+
+    /**
+     * Constructs a {@code ChunkReader} of the bytes of the given {@param channel} from the given
+     * {@param from} up to the given {@param end}.
+     *
+     * @param channel The file holding the animation.
+     * @param from    The offset of the first byte of the chunk.
+     * @param end     The offset just after the last byte of the chunk.
+     */
+    ChunkReader(FileChannel channel, long from, long end) {
+      this.channel = channel;
+      this.windowStart = from;
+      this.end = end;
+    }
+
+    @Override
+    public int read(CharBuffer cb) throws IOException {
+      if (this.flushed) {
+        return -1;
+      }
+      int before = cb.position();
+      while (cb.position() == before && !this.flushed) {
+        boolean last = this.windowStart + this.window.limit() >= this.end;
+        CoderResult result = this.decoder.decode(this.window, cb, last);
+        if (result.isOverflow()) {
+          break;
+        }
+        if (last) {
+          if (this.decoder.flush(cb).isOverflow()) {
+            break;
+          }
+          this.flushed = true;
+        } else {
+          //remap from the first byte not yet decoded, which may begin a character split by the
+          //end of the window
+          long consumed = this.windowStart + this.window.position();
+          this.windowStart = consumed;
+          this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, consumed,
+              Math.min(MAP_SIZE, this.end - consumed));
+        }
+      }
+      int read = cb.position() - before;
+      return read == 0 && this.flushed ? -1 : read;
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package controller;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents the Flight Recorder event of reading an animation file into a builder, from the
+ * first character read until the builder has built its document.
+ */
+@Name("animator.Parse")
+@Label("Parse Animation")
+@Category({"Animator", "Parse"})
+@Description("An animation file read into a builder")
+final class ParseEvent extends jdk.jfr.Event {
+
+  @Label("Characters")
+  @Description("The number of characters read")
+  @DataAmount(DataAmount.BYTES)
+  long characters;
+
+  @Label("Lines")
+  @Description("The number of lines read, including comments and blank lines")
+  long lines;
+
+  @Label("Shapes")
+  @Description("The number of shapes declared")
+  int shapes;
+
+  @Label("Motions")
+  @Description("The number of motions read")
+  int motions;
+
+  @Label("Orientation")
+  @Description("Whether the motions have orientations")
+  boolean orientation;
+}
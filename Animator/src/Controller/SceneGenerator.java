@@ -0,0 +1,206 @@
+package controller;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.SplittableRandom;
+import view.StreamingTextBuilder;
+
+/**
+ * Represents a generator of synthetic animations for load tests and benchmarks. A scene has a
+ * given number of shapes, a mix of rectangles, ellipses and triangles, that each make a given
+ * number of motions, optionally with orientations and with a given chance of a gap in time before
+ * each motion. The same seed always generates the same scene.
+ *
+ * <p>The scene can be driven straight into any {@code AnimationBuilder}, which skips reading
+ * altogether, or written as text that the {@code AnimationReader} reads when it has no
+ * orientations and the {@code OrientationAnimationReader} reads when it has. The motions are
+ * generated one round at a time across every shape, and only the last state of each shape is
+ * kept, so a scene of any size is generated in memory that grows only with the number of
+ * shapes.</p>
+ */
+public final class SceneGenerator {
+
+  private static final String[] TYPES = {"rectangle", "ellipse", "triangle"};
+  private static final int WIDTH = 800;
+  private static final int HEIGHT = 600;
+  private static final int FIELDS = 9;
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final long seed;
+  private final int shapes;
+  private final int motions;
+  private final boolean orientation;
+  private final int gapPercent;
+
+  /**
+   * Constructs a {@code SceneGenerator} for the scene with the given {@param seed}.
+   *
+   * @param seed        The seed of the scene.
+   * @param shapes      The number of shapes.
+   * @param motions     The number of motions of each shape.
+   * @param orientation Whether the motions have orientations.
+   * @param gapPercent  The chance in percent that there is a gap in time before a motion.
+   * @throws IllegalArgumentException if the number of shapes or motions is negative or the
+   *                                  chance is not a percentage.
+   */
+  public SceneGenerator(long seed, int shapes, int motions, boolean orientation,
+      int gapPercent) {
+    if (shapes < 0 || motions < 0 || gapPercent < 0 || gapPercent > 100) {
+      throw new IllegalArgumentException("Invalid scene!");
+    }
+    this.seed = seed;
+    this.shapes = shapes;
+    this.motions = motions;
+    this.orientation = orientation;
+    this.gapPercent = gapPercent;
+  }
+
+  /**
+   * Gives the scene to the given {@param builder} and builds it. The canvas is set first, then
+   * every shape is declared, and then every shape makes its first motion, then its second, and so
+   * on.
+   *
+   * @param builder The builder the scene is given to.
+   * @param <Doc>   The type of document the builder builds.
+   * @return The document built.
+   */
+  public <Doc> Doc drive(AnimationBuilder<Doc> builder) {
+    SplittableRandom random = new SplittableRandom(this.seed);
+    builder.setBounds(0, 0, WIDTH, HEIGHT);
+    for (int s = 0; s < this.shapes; s++) {
+      builder.declareShape("S" + s, TYPES[random.nextInt(TYPES.length)]);
+    }
+
+    //state holds the time, x, y, width, height, red, green, blue and orientation each shape ends
+    //its last motion with.
+    int[] state = new int[this.shapes * FIELDS];
+    String[] names = new String[this.shapes];
+    for (int s = 0; s < this.shapes; s++) {
+      names[s] = "S" + s;
+      int i = s * FIELDS;
+      state[i] = random.nextInt(10);
+      state[i + 1] = random.nextInt(WIDTH);
+      state[i + 2] = random.nextInt(HEIGHT);
+      state[i + 3] = 1 + random.nextInt(100);
+      state[i + 4] = 1 + random.nextInt(100);
+      state[i + 5] = random.nextInt(256);
+      state[i + 6] = random.nextInt(256);
+      state[i + 7] = random.nextInt(256);
+      state[i + 8] = this.orientation ? random.nextInt(360) : 0;
+    }
+
+    for (int m = 0; m < this.motions; m++) {
+      for (int s = 0; s < this.shapes; s++) {
+        int i = s * FIELDS;
+        int t1 = state[i];
+        if (m > 0 && random.nextInt(100) < this.gapPercent) {
+          t1 += 1 + random.nextInt(10);
+        }
+        int t2 = t1 + 1 + random.nextInt(20);
+        int x2 = clamp(state[i + 1] + random.nextInt(-20, 21), 0, WIDTH);
+        int y2 = clamp(state[i + 2] + random.nextInt(-20, 21), 0, HEIGHT);
+        int w2 = clamp(state[i + 3] + random.nextInt(-5, 6), 1, 100);
+        int h2 = clamp(state[i + 4] + random.nextInt(-5, 6), 1, 100);
+        int r2 = clamp(state[i + 5] + random.nextInt(-16, 17), 0, 255);
+        int g2 = clamp(state[i + 6] + random.nextInt(-16, 17), 0, 255);
+        int b2 = clamp(state[i + 7] + random.nextInt(-16, 17), 0, 255);
+        if (this.orientation) {
+          int o2 = (state[i + 8] + random.nextInt(0, 46)) % 360;
+          builder.addMotion(names[s], t1, state[i + 1], state[i + 2], state[i + 3],
+              state[i + 4], state[i + 5], state[i + 6], state[i + 7], state[i + 8], t2, x2, y2,
+              w2, h2, r2, g2, b2, o2);
+          state[i + 8] = o2;
+        } else {
+          builder.addMotion(names[s], t1, state[i + 1], state[i + 2], state[i + 3],
+              state[i + 4], state[i + 5], state[i + 6], state[i + 7], t2, x2, y2, w2, h2, r2, g2,
+              b2);
+        }
+        state[i] = t2;
+        state[i + 1] = x2;
+        state[i + 2] = y2;
+        state[i + 3] = w2;
+        state[i + 4] = h2;
+        state[i + 5] = r2;
+        state[i + 6] = g2;
+        state[i + 7] = b2;
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Writes the text of the scene to the given {@param out} as it is generated.
+   *
+   * @param out The output stream the scene is written to.
+   * @throws IllegalStateException if the output stream cannot be written to.
+   */
+  public void write(Appendable out) {
+    this.drive(new StreamingTextBuilder(out));
+  }
+
+  /**
+   * Writes a scene to a file. The arguments are -out "outputfilepath", -shapes "count", -motions
+   * "count", -seed "seed", -gaps "percent" and -orientation, where only -out is required and the
+   * defaults are 100 shapes, 100 motions, seed 0, no gaps and no orientations.
+   *
+   * @param args The command line arguments.
+   * @throws IllegalArgumentException if the arguments are invalid.
+   * @throws IllegalStateException    if the file cannot be written.
+   */
+  public static void main(String[] args) {
+    String out = null;
+    int shapes = 100;
+    int motions = 100;
+    long seed = 0;
+    int gapPercent = 0;
+    boolean orientation = false;
+    for (int i = 0; i < args.length; i++) {
+      switch (args[i]) {
+        case "-out":
+          out = args[++i];
+          break;
+        case "-shapes":
+          shapes = Integer.parseInt(args[++i]);
+          break;
+        case "-motions":
+          motions = Integer.parseInt(args[++i]);
+          break;
+        case "-seed":
+          seed = Long.parseLong(args[++i]);
+          break;
+        case "-gaps":
+          gapPercent = Integer.parseInt(args[++i]);
+          break;
+        case "-orientation":
+          orientation = true;
+          break;
+        default:
+          throw new IllegalArgumentException("Invalid Command: " + args[i]);
+      }
+    }
+    if (out == null) {
+      throw new IllegalArgumentException("Must give an output file with -out!");
+    }
+    SceneGenerator generator = new SceneGenerator(seed, shapes, motions, orientation,
+        gapPercent);
+    try (Writer writer = new BufferedWriter(new FileWriter(out), BUFFER_SIZE)) {
+      generator.write(writer);
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Write failed", ioe);
+    }
+  }
+
+  /**
+   * Returns the given {@param value} limited to the range from {@param low} to {@param high}.
+   *
+   * @param value The value.
+   * @param low   The lowest value allowed.
+   * @param high  The highest value allowed.
+   * @return The limited value.
+   */
+  private static int clamp(int value, int low, int high) {
+    return Math.max(low, Math.min(high, value));
+  }
+}
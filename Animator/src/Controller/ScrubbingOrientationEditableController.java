@@ -2,7 +2,6 @@ package controller;
 
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
-import model.AnimationEnvironment;
 import model.KeyframeAnimationEnvironmentImpl;
 import model.ReadOnlyKeyframeEnvironment;
 import view.ScrubbingOrientationEditableView;
@@ -26,8 +25,8 @@ public class ScrubbingOrientationEditableController extends EditableController i
 
   @Override
   public void animate() {
-    this.model = new KeyframeAnimationEnvironmentImpl(OrientationAnimationReader.parseFile(
-        this.in, AnimationEnvironment.builder()));
+    this.model = OrientationAnimationReader.parseFile(this.in,
+        KeyframeAnimationEnvironmentImpl.builder());
     view.setModel(new ReadOnlyKeyframeEnvironment(model));
     this.configureListeners();
     view.display();
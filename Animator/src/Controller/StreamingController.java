@@ -0,0 +1,57 @@
+package controller;
+
+import java.io.InputStream;
+
+/**
+ * Represents a controller that converts an animation from one form to another by reading it
+ * straight into a builder that writes out each call made to it, such as a {@code
+ * StreamingTextBuilder} or a {@code StreamingSVGBuilder}. No model of the animation is ever built,
+ * so files far larger than memory can be converted.
+ */
+public class StreamingController implements AnimatorController {
+
+  private final Readable in;
+  private final InputStream binaryIn;
+  private final boolean orientation;
+  private final AnimationBuilder<?> sink;
+
+  /**
+   * Constructs a controller that reads the text of an animation from the given {@param in} into
+   * the given {@param sink}.
+   *
+   * @param in          The source file where the Animation Commands and Canvas will be read from.
+   * @param orientation Whether the source file includes orientations.
+   * @param sink        The builder that writes out the animation.
+   */
+  public StreamingController(Readable in, boolean orientation, AnimationBuilder<?> sink) {
+    this.in = in;
+    this.binaryIn = null;
+    this.orientation = orientation;
+    this.sink = sink;
+  }
+
+  /**
+   * Constructs a controller that reads an animation written by a {@code BinaryView} from the
+   * given {@param binaryIn} into the given {@param sink}.
+   *
+   * @param binaryIn The source of the binary animation.
+   * @param sink     The builder that writes out the animation.
+   */
+  public StreamingController(InputStream binaryIn, AnimationBuilder<?> sink) {
+    this.in = null;
+    this.binaryIn = binaryIn;
+    this.orientation = true;
+    this.sink = sink;
+  }
+
+  @Override
+  public void animate() {
+    if (this.binaryIn != null) {
+      BinaryAnimationReader.parseFile(this.binaryIn, this.sink);
+    } else if (this.orientation) {
+      OrientationAnimationReader.parseFile(this.in, this.sink);
+    } else {
+      AnimationReader.parseFile(this.in, this.sink);
+    }
+  }
+}
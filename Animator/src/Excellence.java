@@ -1,17 +1,31 @@
+import controller.AnimationBuilder;
 import controller.AnimatorController;
 import controller.AnimatorControllerImpl;
+import controller.BinaryAnimationReader;
 import controller.EditableController;
 import controller.ScrubbingOrientationEditableController;
+import controller.StreamingController;
 import view.AnimationView;
+import view.BinaryView;
 import view.EditableView;
 import view.EditableViewImpl;
+import view.ImageSequenceView;
 import view.SVGView;
 import view.ScrubbingOrientationEditableView;
+import view.StreamingSVGBuilder;
+import view.StreamingTextBuilder;
 import view.TextView;
 import view.VisualView;
-import java.io.FileReader;
+import java.awt.GraphicsEnvironment;
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 
@@ -19,13 +33,23 @@ import javax.swing.JOptionPane;
  * The entry point for the Excellence Animator. Takes in specifications for which view to perform,
  * What speed to perform the animation at, which location to read the animation instructions from,
  * and which location to output the animation information to in the form of -in "inputfilepath"
- * -view "viewType" -speed "tickspersecond" -out "outputlocationpath".
+ * -view "viewType" -speed "tickspersecond" -out "outputlocationpath". Animations too large to
+ * hold in memory can be parsed into a memory-mapped file with -store "storefilepath". The input
+ * file may be either the text form or the binary form written by the binary view, which is
+ * detected from its contents. Large text files can be read on several threads with -parallel.
+ * With -stream the text and svg views write each motion as it is read instead of building the
+ * model first; the text view then writes the same form that is read, so files of any size can be
+ * normalized or converted. The png view writes one image per tick into the directory given by
+ * -out, for the ticks given by -ticks "first:last", and never opens a window, so it can run
+ * headless.
  *
  * <p>The supported views are the following:</p>
  * <ul>
  *   <li>visual</li>
  *   <li>text</li>
  *   <li>svg</li>
+ *   <li>binary</li>
+ *   <li>png</li>
  *   <li>edit</li>
  *   <li>orientationScrubbingEdit</li>
  * </ul>
@@ -35,7 +59,7 @@ import javax.swing.JOptionPane;
  */
 public class Excellence {
 
-  private static JFrame frame = new JFrame();
+  private static JFrame frame = null;
 
   /**
    * The Main method to process the command line arguments and create the controller and call the
@@ -55,6 +79,11 @@ public class Excellence {
     AnimatorController controller;
     AnimationView view;
     String features = "regular";
+    Path storeFile = null;
+    boolean parallel = false;
+    boolean stream = false;
+    int firstTick = 0;
+    int lastTick = -1;
 
     for (int i = 0; i < args.length; i++) {
       switch (args[i]) {
@@ -72,16 +101,29 @@ public class Excellence {
           break;
         case "-speed":
           if (Integer.parseInt(args[i + 1]) < 1) {
-            JOptionPane.showMessageDialog(frame,
-                "Speed must be positive!",
-                "Invalid Command!",
-                JOptionPane.WARNING_MESSAGE);
+            warn("Speed must be positive!");
             System.exit(1);
             break;
           }
           ticksPerSecond = Integer.parseInt(args[i + 1]);
           i++;
           break;
+        case "-store":
+          storeFile = Paths.get(args[i + 1]);
+          i++;
+          break;
+        case "-parallel":
+          parallel = true;
+          break;
+        case "-stream":
+          stream = true;
+          break;
+        case "-ticks":
+          String[] range = args[i + 1].split(":");
+          firstTick = Integer.parseInt(range[0]);
+          lastTick = range.length > 1 ? Integer.parseInt(range[1]) : -1;
+          i++;
+          break;
         case "-features":
           if(args[i+1].equalsIgnoreCase("orientation")) {
             features = "orientation";
@@ -89,42 +131,79 @@ public class Excellence {
           i++;
           break;
         default:
-          JOptionPane.showMessageDialog(frame,
-              "Invalid Command here!",
-              "Invalid Command!",
-              JOptionPane.WARNING_MESSAGE);
+          warn("Invalid Command here!");
           System.exit(1);
       }
     }
 
     try {
       if (inputFileName == null || typeOfView == null) {
-        JOptionPane.showMessageDialog(frame,
-            "Invalid Command!",
-            "Invalid Command!",
-            JOptionPane.WARNING_MESSAGE);
+        warn("Invalid Command!");
         System.exit(1);
       }
-      FileWriter writer = new FileWriter(outputFileName);
-      if (outputFileName.equalsIgnoreCase("System.out")) {
-        writer = null;
+      FileWriter writer = null;
+      OutputStream binaryOut = null;
+      if (typeOfView.equalsIgnoreCase("binary")) {
+        binaryOut = outputFileName.equalsIgnoreCase("System.out")
+            ? System.out : new FileOutputStream(outputFileName);
+        view = new BinaryView(binaryOut);
+      } else if (typeOfView.equalsIgnoreCase("png")) {
+        view = Excellence.ViewFactory.buildImageSequence(outputFileName, firstTick, lastTick);
+      } else {
+        writer = new FileWriter(outputFileName);
+        if (outputFileName.equalsIgnoreCase("System.out")) {
+          writer = null;
+        }
+        view = Excellence.ViewFactory.build(typeOfView, writer, ticksPerSecond);
       }
-      FileReader reader = new FileReader(inputFileName);
-      view = Excellence.ViewFactory.build(typeOfView, writer, ticksPerSecond);
-      if (view instanceof ScrubbingOrientationEditableView) {
+      BufferedInputStream input = new BufferedInputStream(new FileInputStream(inputFileName));
+      boolean binaryInput = BinaryAnimationReader.isBinary(input);
+      InputStreamReader reader = new InputStreamReader(input);
+      if (binaryInput && view instanceof EditableView) {
+        warn("Binary input cannot be edited!");
+        System.exit(1);
+      }
+      if (stream) {
+        Appendable out = writer == null ? System.out : writer;
+        AnimationBuilder<Appendable> sink;
+        if (typeOfView.equalsIgnoreCase("text")) {
+          sink = new StreamingTextBuilder(out);
+        } else if (typeOfView.equalsIgnoreCase("svg")) {
+          sink = new StreamingSVGBuilder(out, ticksPerSecond);
+        } else {
+          warn("Only text and svg views can be streamed!");
+          System.exit(1);
+          return;
+        }
+        if (binaryInput) {
+          controller = new StreamingController(input, sink);
+        } else {
+          controller = new StreamingController(reader,
+              features.equalsIgnoreCase("orientation"), sink);
+        }
+      } else if (binaryInput) {
+        controller = new AnimatorControllerImpl(view, input, storeFile);
+      } else if (view instanceof ScrubbingOrientationEditableView) {
         controller = new ScrubbingOrientationEditableController(
                 (ScrubbingOrientationEditableView) view, reader);
       } else if(view instanceof EditableView) {
         controller = new EditableController((EditableView) view, reader);
+      } else if (parallel) {
+        controller = new AnimatorControllerImpl(view, Paths.get(inputFileName),
+            features.equalsIgnoreCase("orientation"), storeFile);
       } else if(features.equalsIgnoreCase("orientation")){
-        controller = new AnimatorControllerImpl(view, reader, true);
+        controller = new AnimatorControllerImpl(view, reader, true, storeFile);
       } else {
-        controller = new AnimatorControllerImpl(view, reader, false);
+        controller = new AnimatorControllerImpl(view, reader, false, storeFile);
       }
       controller.animate();
       if(writer != null) {
         writer.close();
       }
+      if (binaryOut != null && binaryOut != System.out) {
+        binaryOut.close();
+      }
+      input.close();
     } catch (IOException ioe) {
       throw new IllegalStateException("Append failed", ioe);
     }
@@ -164,14 +243,51 @@ public class Excellence {
       } else if (viewType.equalsIgnoreCase("edit")) {
         return new EditableViewImpl(ticksPerSecond);
       } else {
-        JOptionPane.showMessageDialog(frame,
-            "Invalid View Type!",
-            "Invalid Command!",
-            JOptionPane.WARNING_MESSAGE);
+        warn("Invalid View Type!");
         System.exit(1);
         return null;
       }
     }
+
+    /**
+     * Creates a view that renders the ticks from {@param firstTick} to {@param lastTick} as PNG
+     * images into the directory at the given {@param outputName}.
+     *
+     * @param outputName The path of the directory the images are written to.
+     * @param firstTick  The first tick rendered.
+     * @param lastTick   The last tick rendered, or a negative number for the last tick of the
+     *                   animation.
+     * @return An {@code AnimationView} that writes the images.
+     */
+    public static AnimationView buildImageSequence(String outputName, int firstTick,
+        int lastTick) {
+      if (outputName.equalsIgnoreCase("System.out") || firstTick < 0) {
+        warn("Images must be written to a directory!");
+        System.exit(1);
+        return null;
+      }
+      return new ImageSequenceView(Paths.get(outputName), firstTick, lastTick);
+    }
+  }
+
+  /**
+   * Warns the user that the given {@param message} describes an invalid command, in a dialog if
+   * there is a display and on the standard error stream otherwise.
+   *
+   * @param message The description of the invalid command.
+   */
+  private static void warn(String message) {
+    if (GraphicsEnvironment.isHeadless()) {
+      System.err.println(message);
+      return;
+    }
+    if (frame == null) {
+      frame = new JFrame();
+    }
+    JOptionPane.showMessageDialog(frame,
+        message,
+        "Invalid Command!",
+        JOptionPane.WARNING_MESSAGE);
   }
 }
 
@@ -2,7 +2,7 @@ package model;
 
 import java.awt.Color;
 import java.awt.Dimension;
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents a Shape that has data corresponding to its animation state.
@@ -91,12 +91,21 @@ public interface AnimatedShape {
 
   /**
    * Returns a list of {@code ReadOnlyAnimatedShape}s that represent the past states of {@code this}
-   * {@code AnimateShape}.
+   * {@code AnimateShape}. The same list is returned until {@code this} {@code AnimateShape} logs
+   * another state.
    *
-   * @return the animation log of {@code this} {@code AnimateShape} as an ArrayList of {@code
-   * ReadOnlyAnimatedShape}s.
+   * @return the animation log of {@code this} {@code AnimateShape} as an unmodifiable List of
+   * {@code ReadOnlyAnimatedShape}s.
    */
-  ArrayList<ReadOnlyAnimatedShape> getLog();
+  List<ReadOnlyAnimatedShape> getLog();
+
+  /**
+   * Returns the {@code Timeline} that holds the past states of {@code this} {@code AnimateShape}
+   * in order of time.
+   *
+   * @return the animation history of {@code this} {@code AnimateShape} as a {@code Timeline}.
+   */
+  Timeline getTimeline();
 
   /**
    * Returns the angled orientation of {@code this} {@code AnimateShape}.
@@ -2,8 +2,7 @@ package model;
 
 import java.awt.Color;
 import java.awt.Dimension;
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -15,7 +14,7 @@ public class AnimatedShapeImpl implements AnimatedShape {
   private Color color;
   private Position2D pos;
   private int time;
-  private ArrayList<AnimatedShape> animationHistory;
+  private final Timeline animationHistory;
   private final String name;
   private final Shapes shapeType;
   private int orientation;
@@ -64,7 +63,7 @@ public class AnimatedShapeImpl implements AnimatedShape {
     this.boundary = boundary;
     this.color = color;
     this.pos = pos;
-    this.animationHistory = new ArrayList();
+    this.animationHistory = new Timeline();
   }
 
   /**
@@ -81,7 +80,7 @@ public class AnimatedShapeImpl implements AnimatedShape {
     this.boundary = shape.getBoundary();
     this.color = shape.getColor();
     this.pos = shape.getPosn();
-    this.animationHistory = new ArrayList();
+    this.animationHistory = new Timeline();
   }
 
   @Override
@@ -117,14 +116,7 @@ public class AnimatedShapeImpl implements AnimatedShape {
 
   @Override
   public void log() {
-    AnimatedShape copy = new AnimatedShapeImpl(this);
-    this.animationHistory.add(copy);
-    this.animationHistory.sort(new Comparator<AnimatedShape>() {
-      @Override
-      public int compare(AnimatedShape shape1, AnimatedShape shape2) {
-        return shape1.getTime() - shape2.getTime();
-      }
-    });
+    this.animationHistory.add(new AnimatedShapeImpl(this));
   }
 
   @Override
@@ -156,12 +148,13 @@ public class AnimatedShapeImpl implements AnimatedShape {
   }
 
   @Override
-  public ArrayList<ReadOnlyAnimatedShape> getLog() {
-    ArrayList<ReadOnlyAnimatedShape> immutableList = new ArrayList();
-    for (AnimatedShape shape : this.animationHistory) {
-      immutableList.add(new ReadOnlyAnimatedShapeImpl(shape));
-    }
-    return immutableList;
+  public List<ReadOnlyAnimatedShape> getLog() {
+    return this.animationHistory.view();
+  }
+
+  @Override
+  public Timeline getTimeline() {
+    return this.animationHistory;
   }
 
   @Override
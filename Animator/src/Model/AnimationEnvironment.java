@@ -2,7 +2,7 @@ package model;
 
 import controller.AnimationBuilder;
 import model.AnimationEnvironmentImpl.Builder;
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents the environment and all of its contents and functionality for an animation.
@@ -43,7 +43,8 @@ public interface AnimationEnvironment {
    * Adds the shape {@param shape} to {@code this} {@code AnimationEnvironment}.
    *
    * @param shape The shape that is to be added to {@code this} {@code AnimationEnvironment}.
-   * @throws IllegalArgumentException if the shape is invalid.
+   * @throws IllegalArgumentException if the shape is invalid or a shape with the same name has
+   *                                  already been added.
    */
   void addShape(AnimatedShape shape);
 
@@ -66,12 +67,12 @@ public interface AnimationEnvironment {
 
   /**
    * Returns a the list of shapes that are in {@code this} {@code AnimationEnvironment} represented
-   * as {@code ReadOnlyAnimatedShapes}.
+   * as {@code ReadOnlyAnimatedShapes}. The same list is returned until a shape is added.
    *
-   * @return An ArrayList of the shapes that are in {@code this} {@code AnimationEnvironment} as
-   *              {@code ReadOnlyAnimatedShapes}.
+   * @return An unmodifiable List of the shapes that are in {@code this} {@code
+   *              AnimationEnvironment} as {@code ReadOnlyAnimatedShapes}.
    */
-  ArrayList<ReadOnlyAnimatedShape> getShapes();
+  List<ReadOnlyAnimatedShape> getShapes();
 
   /**
    * returns a builder to build an {@code AnimationEnvironment}.
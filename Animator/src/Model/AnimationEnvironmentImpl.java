@@ -8,7 +8,8 @@ import model.commands.Scale;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 
 /**
@@ -21,7 +22,8 @@ public class AnimationEnvironmentImpl implements AnimationEnvironment {
   private final int y;
   private final int height;
   private final int width;
-  private ArrayList<AnimatedShape> shapes;
+  private final ShapeRegistry<AnimatedShape> shapes;
+  private List<ReadOnlyAnimatedShape> readOnlyShapes;
 
   /**
    * Constructs an {@code AnimationEnvironmentImpl} with a given environment height and width and an
@@ -39,7 +41,8 @@ public class AnimationEnvironmentImpl implements AnimationEnvironment {
     this.y = y;
     this.height = height;
     this.width = width;
-    this.shapes = new ArrayList<AnimatedShape>();
+    this.shapes = new ShapeRegistry<AnimatedShape>();
+    this.readOnlyShapes = null;
   }
 
   @Override
@@ -64,7 +67,11 @@ public class AnimationEnvironmentImpl implements AnimationEnvironment {
 
   @Override
   public void addShape(AnimatedShape shape) {
-    this.shapes.add(shape);
+    if (shape == null) {
+      throw new IllegalArgumentException("Must add a valid shape!");
+    }
+    this.shapes.add(shape.getName(), shape);
+    this.readOnlyShapes = null;
   }
 
 
@@ -78,6 +85,8 @@ public class AnimationEnvironmentImpl implements AnimationEnvironment {
     if (initialTime < 0 || initialTime > finalTime) {
       throw new IllegalArgumentException("Invalid time segment!");
     }
+    CommandEvent event = new CommandEvent();
+    event.begin();
     AnimatedShape shape = this.getShape(name);
     this.validateTimes(shape, initialTime, finalTime);
     if (initialTime != shape.getTime()) {
@@ -93,6 +102,14 @@ public class AnimationEnvironmentImpl implements AnimationEnvironment {
       cmd.apply(shape);
     }
     shape.log();
+    event.end();
+    if (event.shouldCommit()) {
+      event.shapeName = name;
+      event.initialTick = initialTime;
+      event.finalTick = finalTime;
+      event.commands = commands.length;
+      event.commit();
+    }
   }
 
   /**
@@ -105,14 +122,7 @@ public class AnimationEnvironmentImpl implements AnimationEnvironment {
    *         {@param shapeName} is in {@code this} {@code AnimationEnvironment}.
    */
   private boolean shapeExists(String shapeName) {
-    boolean shapeExists = false;
-    for (AnimatedShape shape : this.shapes) {
-      if (shape.getName().equals(shapeName)) {
-        shapeExists = true;
-        break;
-      }
-    }
-    return shapeExists;
+    return this.shapes.contains(shapeName);
   }
 
   /**
@@ -125,21 +135,23 @@ public class AnimationEnvironmentImpl implements AnimationEnvironment {
    *                                  shapeName} in {@code this} {@code AnimationEnvironment}.
    */
   private AnimatedShape getShape(String shapeName) {
-    for (AnimatedShape s : this.shapes) {
-      if (s.getName().equalsIgnoreCase(shapeName)) {
-        return s;
-      }
+    AnimatedShape shape = this.shapes.getIgnoreCase(shapeName);
+    if (shape == null) {
+      throw new IllegalArgumentException("Shape does not exist!");
     }
-    throw new IllegalArgumentException("Shape does not exist!");
+    return shape;
   }
 
   @Override
-  public ArrayList<ReadOnlyAnimatedShape> getShapes() {
-    ArrayList<ReadOnlyAnimatedShape> immutableShapes = new ArrayList();
-    for (AnimatedShape shape : this.shapes) {
-      immutableShapes.add(new ReadOnlyAnimatedShapeImpl(shape));
+  public List<ReadOnlyAnimatedShape> getShapes() {
+    if (this.readOnlyShapes == null) {
+      ArrayList<ReadOnlyAnimatedShape> immutableShapes = new ArrayList(this.shapes.size());
+      for (AnimatedShape shape : this.shapes.values()) {
+        immutableShapes.add(new ReadOnlyAnimatedShapeImpl(shape));
+      }
+      this.readOnlyShapes = Collections.unmodifiableList(immutableShapes);
     }
-    return immutableShapes;
+    return this.readOnlyShapes;
   }
 
   /**
@@ -162,15 +174,8 @@ public class AnimationEnvironmentImpl implements AnimationEnvironment {
    *                                  {@param shape}s animation history.
    */
   private void validateTimes(AnimatedShape shape, int intiialTime, int finalTime) {
-    ArrayList<ReadOnlyAnimatedShape> animations = shape.getLog();
-    for (int i = 0; i < animations.size(); i = i + 2) {
-      if (intiialTime > animations.get(i).getTime() && intiialTime < animations.get(i + 1).getTime()
-          || finalTime > animations.get(i).getTime() && finalTime < animations.get(i + 1).getTime()
-          || animations.get(i).getTime() > intiialTime && animations.get(i).getTime() < finalTime
-          || animations.get(i + 1).getTime() > intiialTime
-          && animations.get(i + 1).getTime() < finalTime) {
-        throw new IllegalArgumentException("Animation periods cannot be overlapping!");
-      }
+    if (shape.getTimeline().overlaps(intiialTime, finalTime)) {
+      throw new IllegalArgumentException("Animation periods cannot be overlapping!");
     }
   }
 
@@ -180,14 +185,14 @@ public class AnimationEnvironmentImpl implements AnimationEnvironment {
   public static final class Builder implements AnimationBuilder<AnimationEnvironment> {
 
     AnimationEnvironment buildee;
-    ArrayList<List<String>> undeclaredShapes;
+    HashMap<String, String> undeclaredShapes;
 
     /**
      * Constructs a Builder with the default location and dimensions set to (0, 0) and 100x100.
      */
     public Builder() {
       buildee = new AnimationEnvironmentImpl(0, 0, 100, 100);
-      undeclaredShapes = new ArrayList();
+      undeclaredShapes = new HashMap();
     }
 
     /**
@@ -216,7 +221,7 @@ public class AnimationEnvironmentImpl implements AnimationEnvironment {
     //implementation of the environment a shape with no initial values does not exist.
     @Override
     public AnimationBuilder<AnimationEnvironment> declareShape(String name, String type) {
-      this.undeclaredShapes.add(Arrays.asList(name, type));
+      this.undeclaredShapes.put(name, type);
       return this;
     }
 
@@ -231,10 +236,10 @@ public class AnimationEnvironmentImpl implements AnimationEnvironment {
         int w1, int h1, int r1, int g1, int b1, int t2, int x2, int y2, int w2, int h2, int r2,
         int g2, int b2) {
       if (this.undeclared(name)) {
-        List<String> undShape = this.getUndeclaredShape(name);
-        this.buildee.addShape(new AnimatedShapeImpl(this.getUndeclaredShapeType(undShape), name, t1,
+        String undShape = this.getUndeclaredShape(name);
+        this.buildee.addShape(new AnimatedShapeImpl(getUndeclaredShapeType(undShape), name, t1,
             new Dimension(w1, h1), new Color(r1, g1, b1), new Position2D(x1, y1), 0));
-        this.undeclaredShapes.remove(undShape);
+        this.undeclaredShapes.remove(name);
       }
       this.buildee.commandShape(name, t1, t2, new Move(x1, y1, x2, y2), new Scale(w1, h1, w2, h2),
           new Paint(r1, g1, b1, r2, g2, b2));
@@ -246,10 +251,10 @@ public class AnimationEnvironmentImpl implements AnimationEnvironment {
         int w1, int h1, int r1, int g1, int b1, int o1, int t2, int x2, int y2, int w2, int h2, int r2,
         int g2, int b2, int o2) {
       if (this.undeclared(name)) {
-        List<String> undShape = this.getUndeclaredShape(name);
-        this.buildee.addShape(new AnimatedShapeImpl(this.getUndeclaredShapeType(undShape), name, t1,
+        String undShape = this.getUndeclaredShape(name);
+        this.buildee.addShape(new AnimatedShapeImpl(getUndeclaredShapeType(undShape), name, t1,
             new Dimension(w1, h1), new Color(r1, g1, b1), new Position2D(x1, y1), o1));
-        this.undeclaredShapes.remove(undShape);
+        this.undeclaredShapes.remove(name);
       }
       this.buildee.commandShape(name, t1, t2, new Move(x1, y1, x2, y2), new Scale(w1, h1, w2, h2),
           new Paint(r1, g1, b1, r2, g2, b2), new Rotate(o1, o2));
@@ -266,7 +271,7 @@ public class AnimationEnvironmentImpl implements AnimationEnvironment {
     public AnimationBuilder<AnimationEnvironment> addKeyframe(String name, int t, int x, int y,
         int w, int h, int r, int g, int b) {
       AnimatedShape keyFrame = new AnimatedShapeImpl(
-          this.getUndeclaredShapeType(this.getUndeclaredShape(name)), name, t,
+          getUndeclaredShapeType(this.getUndeclaredShape(name)), name, t,
           new Dimension(w, h), new Color(r, g, b), new Position2D(x, y), 0);
       this.buildee.addShape(keyFrame);
       keyFrame.log();
@@ -277,7 +282,7 @@ public class AnimationEnvironmentImpl implements AnimationEnvironment {
     public AnimationBuilder<AnimationEnvironment> addKeyframe(String name, int t, int x, int y,
         int w, int h, int r, int g, int b, int o) {
       AnimatedShape keyFrame = new AnimatedShapeImpl(
-          this.getUndeclaredShapeType(this.getUndeclaredShape(name)), name, t,
+          getUndeclaredShapeType(this.getUndeclaredShape(name)), name, t,
           new Dimension(w, h), new Color(r, g, b), new Position2D(x, y), o);
       this.buildee.addShape(keyFrame);
       keyFrame.log();
@@ -293,44 +298,42 @@ public class AnimationEnvironmentImpl implements AnimationEnvironment {
      *         given {@param name}.
      */
     private boolean undeclared(String name) {
-      for (List shape : this.undeclaredShapes) {
-        if (shape.contains(name)) {
-          return true;
-        }
-      }
-      return false;
+      return this.undeclaredShapes.containsKey(name);
     }
 
     /**
-     * Returns the undeclared shape that corresponds to the given {@param name}.
+     * Returns the declared type of the undeclared shape that corresponds to the given {@param
+     * name}.
      *
      * @param name The name of the undeclared shape to get.
-     * @return The undeclared shape that the given {@param name} corresponds to.
+     * @return The declared type of the undeclared shape that the given {@param name} corresponds
+     *         to.
      * @throws IllegalArgumentException if there are no undeclared shapes corresponding to {@param
      *                                  name}.
      */
-    private List<String> getUndeclaredShape(String name) {
-      for (List<String> shape : this.undeclaredShapes) {
-        if (shape.contains(name)) {
-          return shape;
-        }
+    private String getUndeclaredShape(String name) {
+      String type = this.undeclaredShapes.get(name);
+      if (type == null) {
+        throw new IllegalArgumentException("There are no undeclared shapes with that name!");
       }
-      throw new IllegalArgumentException("There are no undeclared shapes with that name!");
+      return type;
     }
 
     /**
-     * Returns the type of shape that the given {@param undeclaredShape} is as a {@code Shapes}.
+     * Returns the type of shape that the given declared {@param undeclaredShape} type is as a
+     * {@code Shapes}.
      *
-     * @param undeclaredShape The undeclared shape that this method will return the type of.
+     * @param undeclaredShape The declared type of the undeclared shape that this method will
+     *                        return the type of.
      * @return The type of shape that the given {@param undeclaredShape} is as a {@code Shapes}.
      */
-    private Shapes getUndeclaredShapeType(List<String> undeclaredShape) {
-      if (undeclaredShape.get(1).equalsIgnoreCase("ellipse")
-          || undeclaredShape.get(1).equalsIgnoreCase("oval")) {
+    public static Shapes getUndeclaredShapeType(String undeclaredShape) {
+      if (undeclaredShape.equalsIgnoreCase("ellipse")
+          || undeclaredShape.equalsIgnoreCase("oval")) {
         return Shapes.Oval;
-      } else if (undeclaredShape.get(1).equalsIgnoreCase("rectangle")) {
+      } else if (undeclaredShape.equalsIgnoreCase("rectangle")) {
         return Shapes.Rectangle;
-      } else if (undeclaredShape.get(1).equalsIgnoreCase("triangle")) {
+      } else if (undeclaredShape.equalsIgnoreCase("triangle")) {
         return Shapes.Triangle;
       } else {
         return null;
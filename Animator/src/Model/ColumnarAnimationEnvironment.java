@@ -0,0 +1,419 @@
+package model;
+
+import controller.AnimationBuilder;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Represents an {@code AnimationEnvironment} that stores the animation history of its shapes in
+ * primitive columns rather than as one object per logged state. It behaves the same as an {@code
+ * AnimationEnvironmentImpl}, but a logged state takes 28 bytes instead of several objects, which
+ * lets far larger animations be held in memory.
+ *
+ * <p>Shapes that are added are copied into the environment, so later changes to the given shape
+ * are not seen by the environment. The logs handed out by the shapes of this environment are
+ * views of their columns and can only be read until the shape is animated again.</p>
+ */
+public class ColumnarAnimationEnvironment implements AnimationEnvironment {
+
+  private final int x;
+  private final int y;
+  private final int height;
+  private final int width;
+  private final ShapeRegistry<ColumnarShape> shapes;
+  private List<ReadOnlyAnimatedShape> readOnlyShapes;
+
+  /**
+   * Constructs a {@code ColumnarAnimationEnvironment} with the given position and dimensions and
+   * no shapes.
+   *
+   * @param x      The x position of the top left corner of the environment.
+   * @param y      The y position of the top left corner of the environment.
+   * @param width  The width of {@code this} {@code ColumnarAnimationEnvironment}.
+   * @param height The height of {@code this} {@code ColumnarAnimationEnvironment}.
+   * @throws IllegalArgumentException if the height or width are not positive.
+   */
+  private ColumnarAnimationEnvironment(int x, int y, int width, int height) {
+    if (width < 1 || height < 1) {
+      throw new IllegalArgumentException("Invalid Dimensions for the environment!");
+    }
+    this.x = x;
+    this.y = y;
+    this.height = height;
+    this.width = width;
+    this.shapes = new ShapeRegistry<ColumnarShape>();
+    this.readOnlyShapes = null;
+  }
+
+  @Override
+  public int getWidth() {
+    return this.width;
+  }
+
+  @Override
+  public int getHeight() {
+    return this.height;
+  }
+
+  @Override
+  public int getX() {
+    return this.x;
+  }
+
+  @Override
+  public int getY() {
+    return this.y;
+  }
+
+  /**
+   * Adds a copy of the shape {@param shape}, including its animation history so far, to {@code
+   * this} {@code ColumnarAnimationEnvironment}.
+   *
+   * @param shape The shape that is to be added to {@code this} {@code AnimationEnvironment}.
+   * @throws IllegalArgumentException if the shape is invalid or a shape with the same name has
+   *                                  already been added.
+   */
+  @Override
+  public void addShape(AnimatedShape shape) {
+    if (shape == null) {
+      throw new IllegalArgumentException("Must add a valid shape!");
+    }
+    ColumnarShape copy = ColumnarShape.create(shape.getShapeType(), shape.getName(),
+        shape.getTime(), shape.getBoundary(), shape.getColor(), shape.getPosn(),
+        shape.getOrientation());
+    for (ReadOnlyAnimatedShape state : shape.getLog()) {
+      copy.set(state);
+      copy.log();
+    }
+    copy.set(shape.getTime(), (float) shape.getPosn().getX(), (float) shape.getPosn().getY(),
+        shape.getBoundary().width, shape.getBoundary().height, shape.getColor().getRGB(),
+        shape.getOrientation());
+    this.add(copy);
+  }
+
+  @Override
+  public void commandShape(String name, int initialTime, int finalTime, Command... commands) {
+    if (name == null) {
+      throw new IllegalArgumentException("Must have a valid name!");
+    }
+    if (initialTime < 0 || initialTime > finalTime) {
+      throw new IllegalArgumentException("Invalid time segment!");
+    }
+    ColumnarShape shape = this.getShape(name);
+    this.validateTimes(shape, initialTime, finalTime);
+
+    //The commands are run on a scratch copy of the current state, which is then read back.
+    AnimatedShape scratch = new AnimatedShapeImpl(shape.getShapeType(), shape.getName(),
+        finalTime, shape.getBoundary(), shape.getColor(), shape.getPosn(),
+        shape.getOrientation());
+    for (Command cmd : commands) {
+      cmd.apply(scratch);
+    }
+
+    this.logStart(shape, initialTime);
+    shape.set(new ReadOnlyAnimatedShapeImpl(scratch));
+    shape.log();
+  }
+
+  /**
+   * Animates the shape corresponding to {@param name} from the first given state to the second
+   * given state, just as {@link #commandShape} would with a move, scale, paint and, if {@param
+   * rotates}, rotate command, but without creating any commands or copies of the shape.
+   *
+   * @param name    The name of the shape to be animated.
+   * @param t1      The beginning time of the motion.
+   * @param x1      The beginning x coordinate.
+   * @param y1      The beginning y coordinate.
+   * @param w1      The beginning width.
+   * @param h1      The beginning height.
+   * @param r1      The beginning red component of the color.
+   * @param g1      The beginning green component of the color.
+   * @param b1      The beginning blue component of the color.
+   * @param o1      The beginning orientation.
+   * @param t2      The ending time of the motion.
+   * @param x2      The ending x coordinate.
+   * @param y2      The ending y coordinate.
+   * @param w2      The ending width.
+   * @param h2      The ending height.
+   * @param r2      The ending red component of the color.
+   * @param g2      The ending green component of the color.
+   * @param b2      The ending blue component of the color.
+   * @param o2      The ending orientation.
+   * @param rotates Whether the orientation of the shape is animated as well.
+   * @throws IllegalArgumentException if the motion is invalid, does not begin at the current
+   *                                  state of the shape, or overlaps an existing motion.
+   */
+  void addMotion(String name, int t1, int x1, int y1, int w1, int h1, int r1, int g1, int b1,
+      int o1, int t2, int x2, int y2, int w2, int h2, int r2, int g2, int b2, int o2,
+      boolean rotates) {
+    validateMotion(name, t1, w1, h1, r1, g1, b1, o1, t2, w2, h2, r2, g2, b2, o2, rotates);
+    ColumnarShape shape = this.getShape(name);
+    this.validateTimes(shape, t1, t2);
+    validateStart(shape, x1, y1, w1, h1, r1, g1, b1, o1, rotates);
+
+    this.logStart(shape, t1);
+    shape.set(t2, x2, y2, w2, h2, packColor(r2, g2, b2),
+        rotates ? o2 : shape.getOrientation());
+    shape.log();
+  }
+
+  /**
+   * Logs the beginning of a motion of the given {@param shape} at the given {@param
+   * initialTime}. If the shape is not already at that time, the state it was left in is logged at
+   * its current time and again at the beginning of the motion, so that the gap between motions
+   * keeps its own segment.
+   *
+   * @param shape       The shape beginning a motion.
+   * @param initialTime The beginning time of the motion.
+   */
+  private void logStart(ColumnarShape shape, int initialTime) {
+    if (initialTime != shape.getTime()) {
+      shape.log();
+      shape.set(initialTime, shape.getX(), shape.getY(), shape.getWidth(), shape.getHeight(),
+          shape.getArgb(), shape.getOrientation());
+      shape.log();
+      shape.log();
+    } else {
+      shape.log();
+    }
+  }
+
+  /**
+   * Adds the given {@param shape} after every shape in {@code this} {@code
+   * ColumnarAnimationEnvironment}.
+   *
+   * @param shape The shape to be added.
+   * @throws IllegalArgumentException if a shape with the same name has already been added.
+   */
+  private void add(ColumnarShape shape) {
+    this.shapes.add(shape.getName(), shape);
+    this.readOnlyShapes = null;
+  }
+
+  /**
+   * Returns the shape corresponding to the given {@param shapeName}, ignoring case.
+   *
+   * @param shapeName The name of the shape.
+   * @return The shape with the given name.
+   * @throws IllegalArgumentException if there is no shape with the given name.
+   */
+  private ColumnarShape getShape(String shapeName) {
+    ColumnarShape shape = this.shapes.getIgnoreCase(shapeName);
+    if (shape == null) {
+      throw new IllegalArgumentException("Shape does not exist!");
+    }
+    return shape;
+  }
+
+  /**
+   * Checks that the given time interval does not overlap any motion of the given {@param shape}.
+   *
+   * @param shape       The shape to be animated.
+   * @param initialTime The beginning time of the motion.
+   * @param finalTime   The ending time of the motion.
+   * @throws IllegalArgumentException if the interval overlaps an existing motion.
+   */
+  private void validateTimes(ColumnarShape shape, int initialTime, int finalTime) {
+    if (shape.overlaps(initialTime, finalTime)) {
+      throw new IllegalArgumentException("Animation periods cannot be overlapping!");
+    }
+  }
+
+  /**
+   * Checks the values of a motion of the shape corresponding to {@param name} from the first
+   * given state to the second given state, before the shape is looked up. This is shared by every
+   * columnar store, so they all reject the same motions with the same messages.
+   *
+   * @throws IllegalArgumentException if a size is not positive, a color component or orientation
+   *                                  is out of range, the name is null, or the motion begins
+   *                                  before 0 or ends before it begins.
+   */
+  static void validateMotion(String name, int t1, int w1, int h1, int r1, int g1, int b1, int o1,
+      int t2, int w2, int h2, int r2, int g2, int b2, int o2, boolean rotates) {
+    if (w1 <= 0 || h1 <= 0 || w2 <= 0 || h2 <= 0) {
+      throw new IllegalArgumentException("Invalid dimensions!");
+    }
+    packColor(r1, g1, b1);
+    packColor(r2, g2, b2);
+    if (rotates && (o1 < 0 || o1 > 360)) {
+      throw new IllegalArgumentException("Invalid initial orientation");
+    }
+    if (rotates && (o2 < 0 || o2 > 360)) {
+      throw new IllegalArgumentException("Invalid final orientation");
+    }
+    if (name == null) {
+      throw new IllegalArgumentException("Must have a valid name!");
+    }
+    if (t1 < 0 || t1 > t2) {
+      throw new IllegalArgumentException("Invalid time segment!");
+    }
+  }
+
+  /**
+   * Checks that a motion beginning in the given state begins where the given {@param shape}
+   * currently is.
+   *
+   * @param shape   The shape beginning the motion.
+   * @param rotates Whether the orientation of the shape is animated as well.
+   * @throws IllegalArgumentException if the position, size, color or, if the motion rotates, the
+   *                                  orientation does not match the current state of the shape.
+   */
+  static void validateStart(ColumnarState shape, int x1, int y1, int w1, int h1, int r1, int g1,
+      int b1, int o1, boolean rotates) {
+    if (Math.abs(shape.getX() - x1) >= 0.01 || Math.abs(shape.getY() - y1) >= 0.01) {
+      throw new IllegalArgumentException("Initial position does not match!");
+    }
+    if (shape.getWidth() != w1 || shape.getHeight() != h1) {
+      throw new IllegalArgumentException("Initial size does not match!");
+    }
+    if (shape.getArgb() != packColor(r1, g1, b1)) {
+      throw new IllegalArgumentException("Initial color doesn't match!");
+    }
+    if (rotates && shape.getOrientation() != o1) {
+      throw new IllegalArgumentException("Initial orientation does not match!");
+    }
+  }
+
+  /**
+   * Packs the given color components into an opaque color as by {@link java.awt.Color#getRGB()}.
+   *
+   * @param r The red component.
+   * @param g The green component.
+   * @param b The blue component.
+   * @return The packed color.
+   * @throws IllegalArgumentException if any component is outside of 0 to 255.
+   */
+  static int packColor(int r, int g, int b) {
+    if (((r | g | b) & ~0xFF) != 0) {
+      throw new IllegalArgumentException("Color parameter outside of expected range!");
+    }
+    return 0xFF000000 | r << 16 | g << 8 | b;
+  }
+
+  @Override
+  public List<ReadOnlyAnimatedShape> getShapes() {
+    if (this.readOnlyShapes == null) {
+      this.readOnlyShapes = Collections.unmodifiableList(
+          new ArrayList<ReadOnlyAnimatedShape>(this.shapes.values()));
+    }
+    return this.readOnlyShapes;
+  }
+
+  /**
+   * Returns a builder to build a {@code ColumnarAnimationEnvironment}.
+   *
+   * @return A builder to construct a {@code ColumnarAnimationEnvironment}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Represents a builder for a {@code ColumnarAnimationEnvironment}. Motions and keyframes are
+   * written straight into the columns of their shape, without creating any commands or copies of
+   * shapes along the way.
+   */
+  public static final class Builder implements AnimationBuilder<AnimationEnvironment> {
+
+    private ColumnarAnimationEnvironment buildee;
+    private final HashMap<String, String> undeclaredShapes;
+
+    /**
+     * Constructs a Builder with the default location and dimensions set to (0, 0) and 100x100.
+     */
+    public Builder() {
+      this.buildee = new ColumnarAnimationEnvironment(0, 0, 100, 100);
+      this.undeclaredShapes = new HashMap<String, String>();
+    }
+
+    @Override
+    public AnimationEnvironment build() {
+      return this.buildee;
+    }
+
+    @Override
+    public AnimationBuilder<AnimationEnvironment> setBounds(int x, int y, int width, int height) {
+      this.buildee = new ColumnarAnimationEnvironment(x, y, width, height);
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<AnimationEnvironment> declareShape(String name, String type) {
+      this.undeclaredShapes.put(name, type);
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<AnimationEnvironment> addMotion(String name, int t1, int x1, int y1,
+        int w1, int h1, int r1, int g1, int b1, int t2, int x2, int y2, int w2, int h2, int r2,
+        int g2, int b2) {
+      if (this.undeclaredShapes.containsKey(name)) {
+        this.declare(name, t1, x1, y1, w1, h1, r1, g1, b1, 0);
+      }
+      this.buildee.addMotion(name, t1, x1, y1, w1, h1, r1, g1, b1, 0, t2, x2, y2, w2, h2, r2, g2,
+          b2, 0, false);
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<AnimationEnvironment> addMotion(String name, int t1, int x1, int y1,
+        int w1, int h1, int r1, int g1, int b1, int o1, int t2, int x2, int y2, int w2, int h2,
+        int r2, int g2, int b2, int o2) {
+      if (this.undeclaredShapes.containsKey(name)) {
+        this.declare(name, t1, x1, y1, w1, h1, r1, g1, b1, o1);
+      }
+      this.buildee.addMotion(name, t1, x1, y1, w1, h1, r1, g1, b1, o1, t2, x2, y2, w2, h2, r2, g2,
+          b2, o2, true);
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<AnimationEnvironment> addKeyframe(String name, int t, int x, int y,
+        int w, int h, int r, int g, int b) {
+      return this.addKeyframe(name, t, x, y, w, h, r, g, b, 0);
+    }
+
+    @Override
+    public AnimationBuilder<AnimationEnvironment> addKeyframe(String name, int t, int x, int y,
+        int w, int h, int r, int g, int b, int o) {
+      if (!this.undeclaredShapes.containsKey(name)) {
+        throw new IllegalArgumentException("There are no undeclared shapes with that name!");
+      }
+      this.newShape(name, t, x, y, w, h, r, g, b, o).log();
+      return this;
+    }
+
+    /**
+     * Adds the undeclared shape corresponding to {@param name} to the environment in the given
+     * initial state and removes it from the undeclared shapes.
+     *
+     * @throws IllegalArgumentException if the initial state is invalid.
+     */
+    private void declare(String name, int t, int x, int y, int w, int h, int r, int g, int b,
+        int o) {
+      this.newShape(name, t, x, y, w, h, r, g, b, o);
+      this.undeclaredShapes.remove(name);
+    }
+
+    /**
+     * Adds a shape corresponding to {@param name} of its declared type to the environment in the
+     * given initial state.
+     *
+     * @return The shape that was added.
+     * @throws IllegalArgumentException if the initial state is invalid.
+     */
+    private ColumnarShape newShape(String name, int t, int x, int y, int w, int h, int r, int g,
+        int b, int o) {
+      Shapes type = AnimationEnvironmentImpl.Builder.getUndeclaredShapeType(
+          this.undeclaredShapes.get(name));
+      ColumnarShape shape = ColumnarShape.create(type, name, t, new Dimension(w, h),
+          new Color(r, g, b), new Position2D(x, y), o);
+      this.buildee.add(shape);
+      return shape;
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package model;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents a {@code KeyframeAnimationEnvironment} that stores the keyframes of its shapes in
+ * primitive columns rather than as one object per keyframe. It behaves the same as a {@code
+ * KeyframeAnimationEnvironmentImpl}, but a keyframe takes 28 bytes instead of several objects,
+ * which lets scenes with millions of keyframes be held in memory.
+ *
+ * <p>The logs handed out by the shapes of this environment are views of their columns and can
+ * only be read until a keyframe of the shape is added or deleted.</p>
+ */
+public class ColumnarKeyframeEnvironment implements KeyframeAnimationEnvironment {
+
+  private final ShapeRegistry<ColumnarShape> shapes;
+  private final AnimationEnvironment baseEnvironment;
+  private List<ReadOnlyAnimatedShape> readOnlyShapes;
+
+  /**
+   * Constructs a {@code ColumnarKeyframeEnvironment} from the shapes and animations in the given
+   * {@param baseEnvironment}. Of every two consecutive logged states at the same time, only the
+   * later one becomes a keyframe.
+   *
+   * @param baseEnvironment The environment to take the shapes and animations from.
+   * @throws IllegalArgumentException if the environment is null.
+   */
+  public ColumnarKeyframeEnvironment(AnimationEnvironment baseEnvironment) {
+    if (baseEnvironment == null) {
+      throw new IllegalArgumentException("Must have a valid environment!");
+    }
+    this.baseEnvironment = baseEnvironment;
+    this.shapes = new ShapeRegistry<ColumnarShape>();
+    this.readOnlyShapes = null;
+    for (ReadOnlyAnimatedShape shape : baseEnvironment.getShapes()) {
+      this.shapes.add(shape.getName(), this.convertShape(shape));
+    }
+  }
+
+  @Override
+  public int getX() {
+    return this.baseEnvironment.getX();
+  }
+
+  @Override
+  public int getY() {
+    return this.baseEnvironment.getY();
+  }
+
+  @Override
+  public int getHeight() {
+    return this.baseEnvironment.getHeight();
+  }
+
+  @Override
+  public int getWidth() {
+    return this.baseEnvironment.getWidth();
+  }
+
+  @Override
+  public List<ReadOnlyAnimatedShape> getShapes() {
+    if (this.readOnlyShapes == null) {
+      this.readOnlyShapes = Collections.unmodifiableList(
+          new ArrayList<ReadOnlyAnimatedShape>(this.shapes.values()));
+    }
+    return this.readOnlyShapes;
+  }
+
+  @Override
+  public void addShape(Shapes shapeType, String shapeName, int time, Dimension boundary,
+      Color color, Position2D posn, int orientation) {
+    if (this.shapes.contains(shapeName)) {
+      throw new IllegalArgumentException("Shape with the given name " + shapeName
+          + " already exists!");
+    }
+    ColumnarShape newShape = ColumnarShape.create(shapeType, shapeName, time, boundary, color,
+        posn, orientation);
+    newShape.log();
+    this.shapes.add(shapeName, newShape);
+    this.readOnlyShapes = null;
+  }
+
+  @Override
+  public void deleteShape(String shapeName) {
+    this.shapes.remove(this.getShape(shapeName).getName());
+    this.readOnlyShapes = null;
+  }
+
+  @Override
+  public void addKeyframe(String shapeName, int time, Dimension boundary, Color color,
+      Position2D posn, int orientation) {
+    ColumnarShape shape = this.getShape(shapeName);
+    if (shape.indexOf(time) != -1) {
+      throw new IllegalArgumentException("Keyframe already exists at this time for this shape!");
+    }
+    if (time < 0) {
+      throw new IllegalArgumentException("Time must be positive!");
+    }
+    if (boundary.getWidth() < 1 || boundary.getHeight() < 1) {
+      throw new IllegalArgumentException("Dimensions must be positive!");
+    }
+    if (orientation < 0 || orientation > 360) {
+      throw new IllegalArgumentException("Invalid orientation!");
+    }
+    shape.set(time, (float) posn.getX(), (float) posn.getY(), boundary.width, boundary.height,
+        color.getRGB(), orientation);
+    shape.log();
+  }
+
+  @Override
+  public void deleteKeyframe(String shapeName, int time) {
+    ColumnarShape shape = this.getShape(shapeName);
+    int index = shape.indexOf(time);
+    if (index != -1) {
+      shape.removeAt(index);
+    }
+  }
+
+  @Override
+  public void editKeyframe(String shapeName, int time, Dimension boundary, Color color,
+      Position2D posn, int orientation) {
+    ColumnarShape shape = this.getShape(shapeName);
+    int index = shape.indexOf(time);
+    if (index == -1) {
+      throw new IllegalArgumentException("No keyframe corresponding to that time!");
+    }
+    shape.removeAt(index);
+    this.addKeyframe(shapeName, time, boundary, color, posn, orientation);
+  }
+
+  /**
+   * Returns the shape corresponding to the given {@param shapeName}.
+   *
+   * @param shapeName The name of the shape.
+   * @return The shape with the given name.
+   * @throws IllegalArgumentException if there is no shape with the given name.
+   */
+  private ColumnarShape getShape(String shapeName) {
+    ColumnarShape shape = this.shapes.get(shapeName);
+    if (shape == null) {
+      throw new IllegalArgumentException("No shape in this environment corresponds to that name!");
+    }
+    return shape;
+  }
+
+  /**
+   * Converts the given {@param shape} into a {@code ColumnarShape} whose keyframes are the logged
+   * states of the shape. Where two consecutive states are at the same time, the earlier is
+   * dropped and the later is kept without being compared to the state after it, exactly as a
+   * {@code KeyframeAnimatedShapeImpl} converts its log.
+   *
+   * @param shape The shape to be converted.
+   * @return The converted shape.
+   */
+  private ColumnarShape convertShape(ReadOnlyAnimatedShape shape) {
+    ColumnarShape converted = ColumnarShape.create(shape.getShapeType(), shape.getName(),
+        shape.getTime(), shape.getBoundary(), shape.getColor(), shape.getPosn(),
+        shape.getOrientation());
+    List<ReadOnlyAnimatedShape> log = shape.getLog();
+    for (int i = 0; i < log.size(); i++) {
+      if (i < log.size() - 1 && log.get(i).getTime() == log.get(i + 1).getTime()) {
+        i++;
+      }
+      converted.set(log.get(i));
+      converted.log();
+    }
+    converted.set(shape);
+    return converted;
+  }
+}
@@ -0,0 +1,391 @@
+package model;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Represents a shape in a columnar environment. The current state of the shape is held like any
+ * other {@code ColumnarState}, and every logged state is stored across parallel primitive arrays,
+ * one per value, instead of as an object of its own. A logged state takes 28 bytes no matter how
+ * many states are logged, and the arrays double in size as they fill up.
+ *
+ * <p>Positions are stored as floats, so coordinates are exact up to 2^24 in magnitude.</p>
+ */
+final class ColumnarShape extends ColumnarState {
+
+  private static final int INITIAL_CAPACITY = 4;
+
+  private int[] times;
+  private float[] xs;
+  private float[] ys;
+  private int[] widths;
+  private int[] heights;
+  private int[] colors;
+  private int[] orientations;
+  private int size;
+  private int modifications;
+  private List<ReadOnlyAnimatedShape> log;
+
+  //INVARIANT: the first size entries of every column describe the logged states in order of
+  //time, with states of an equal time in the order they were logged.
+  //INVARIANT: log is either null or a view of the columns as of the current modifications.
+
+  /**
+   * Constructs a {@code ColumnarShape} with the given {@param name} and {@param shapeType} whose
+   * current state has the given values and which has no logged states.
+   *
+   * @param name        The name of the shape.
+   * @param shapeType   The type of the shape.
+   * @param time        The current time of the shape.
+   * @param x           The x coordinate of the position of the shape.
+   * @param y           The y coordinate of the position of the shape.
+   * @param width       The width of the boundary of the shape.
+   * @param height      The height of the boundary of the shape.
+   * @param argb        The color of the shape packed as by {@link java.awt.Color#getRGB()}.
+   * @param orientation The angled orientation of the shape.
+   */
+  ColumnarShape(String name, Shapes shapeType, int time, float x, float y, int width, int height,
+      int argb, int orientation) {
+    super(name, shapeType, time, x, y, width, height, argb, orientation);
+    this.times = new int[INITIAL_CAPACITY];
+    this.xs = new float[INITIAL_CAPACITY];
+    this.ys = new float[INITIAL_CAPACITY];
+    this.widths = new int[INITIAL_CAPACITY];
+    this.heights = new int[INITIAL_CAPACITY];
+    this.colors = new int[INITIAL_CAPACITY];
+    this.orientations = new int[INITIAL_CAPACITY];
+    this.size = 0;
+    this.modifications = 0;
+    this.log = null;
+  }
+
+  /**
+   * Creates a {@code ColumnarShape} with no logged states whose current state has the given
+   * values, which are checked the same way as the values of a new {@code AnimatedShapeImpl}.
+   *
+   * @param shapeType   The type of the shape.
+   * @param name        The name of the shape.
+   * @param time        The current time of the shape.
+   * @param boundary    The dimensions of the bounding rectangle of the shape.
+   * @param color       The color of the shape.
+   * @param pos         The position of the shape.
+   * @param orientation The angled orientation of the shape.
+   * @return The new shape.
+   * @throws IllegalArgumentException if any inputs are invalid.
+   */
+  static ColumnarShape create(Shapes shapeType, String name, int time, Dimension boundary,
+      Color color, Position2D pos, int orientation) {
+    if (shapeType == null) {
+      throw new IllegalArgumentException("Must assign a valid shape type!");
+    } else if (name == null) {
+      throw new IllegalArgumentException("Must assign a valid name!");
+    } else if (time < 0) {
+      throw new IllegalArgumentException("Time must be non-negative!");
+    } else if (boundary == null || boundary.getWidth() < 1 || boundary.getHeight() < 1) {
+      throw new IllegalArgumentException(
+          "Invalid boundary! Boundary must be nonnull and positive!");
+    } else if (color == null) {
+      throw new IllegalArgumentException("Must assign a color!");
+    } else if (pos == null) {
+      throw new IllegalArgumentException("Must assign a valid position!");
+    } else if (orientation < 0 || orientation > 360) {
+      throw new IllegalArgumentException("Must assign an orientation between 0 and 360!");
+    }
+    return new ColumnarShape(name, shapeType, time, (float) pos.getX(), (float) pos.getY(),
+        boundary.width, boundary.height, color.getRGB(), orientation);
+  }
+
+  /**
+   * Makes the current state of {@code this} {@code ColumnarShape} the state of the given {@param
+   * shape}, converting its values to those that are stored in the columns.
+   *
+   * @param shape The state to be copied.
+   */
+  void set(ReadOnlyAnimatedShape shape) {
+    this.set(shape.getTime(), (float) shape.getPosn().getX(), (float) shape.getPosn().getY(),
+        shape.getBoundary().width, shape.getBoundary().height, shape.getColor().getRGB(),
+        shape.getOrientation());
+  }
+
+  /**
+   * Logs the current state of {@code this} {@code ColumnarShape} after every logged state whose
+   * time is less than or equal to its time. Logging a state that is not earlier than the latest
+   * logged state takes amortized constant time.
+   */
+  void log() {
+    int index = this.size;
+    if (index > 0 && this.times[index - 1] > this.getTime()) {
+      index = this.firstIndexAfter(this.getTime());
+    }
+    this.ensureCapacity(this.size + 1);
+    if (index < this.size) {
+      this.shift(index, index + 1, this.size - index);
+    }
+    this.times[index] = this.getTime();
+    this.xs[index] = this.getX();
+    this.ys[index] = this.getY();
+    this.widths[index] = this.getWidth();
+    this.heights[index] = this.getHeight();
+    this.colors[index] = this.getArgb();
+    this.orientations[index] = this.getOrientation();
+    this.size++;
+    this.modified();
+  }
+
+  /**
+   * Removes the logged state at the given {@param index}.
+   *
+   * @param index The index of the logged state to be removed.
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   */
+  void removeAt(int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+    }
+    this.shift(index + 1, index, this.size - index - 1);
+    this.size--;
+    this.modified();
+  }
+
+  /**
+   * Returns the number of logged states of {@code this} {@code ColumnarShape}.
+   *
+   * @return The number of logged states.
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the time of the logged state at the given {@param index}.
+   *
+   * @param index The index of the logged state.
+   * @return The time of the logged state.
+   */
+  int timeAt(int index) {
+    return this.times[index];
+  }
+
+  /**
+   * Returns the index of the earliest logged state at the given {@param time}.
+   *
+   * @param time The time of the logged state to find.
+   * @return The index of the logged state, or -1 if there is no logged state at the time.
+   */
+  int indexOf(int time) {
+    int index = this.firstIndexAfter(time - 1L);
+    if (index < this.size && this.times[index] == time) {
+      return index;
+    }
+    return -1;
+  }
+
+  /**
+   * Makes the current state of {@code this} {@code ColumnarShape} the logged state at the given
+   * {@param index}.
+   *
+   * @param index The index of the logged state.
+   */
+  void restore(int index) {
+    this.set(this.times[index], this.xs[index], this.ys[index], this.widths[index],
+        this.heights[index], this.colors[index], this.orientations[index]);
+  }
+
+  /**
+   * Determines if the open time interval from {@param initialTime} to {@param finalTime} overlaps
+   * the interior of any segment of the logged states, where the states at index {@code 2k} and
+   * {@code 2k + 1} are the beginning and end of the {@code k}th segment. This is the same check a
+   * {@code Timeline} makes, done on the column of times.
+   *
+   * @param initialTime The beginning of the time interval.
+   * @param finalTime   The end of the time interval.
+   * @return A boolean value where true indicates that the interval overlaps an existing segment.
+   */
+  boolean overlaps(int initialTime, int finalTime) {
+    return overlaps(this.times, this.size, initialTime, finalTime);
+  }
+
+  /**
+   * Determines if the open time interval from {@param initialTime} to {@param finalTime} overlaps
+   * the interior of any segment of the given column of {@param times}, read as consecutive pairs
+   * of beginnings and ends in order of time, just as {@link #overlaps(int, int)} does.
+   *
+   * @param times       The times of the logged states in order.
+   * @param size        The number of logged states in the column.
+   * @param initialTime The beginning of the time interval.
+   * @param finalTime   The end of the time interval.
+   * @return A boolean value where true indicates that the interval overlaps an existing segment.
+   */
+  static boolean overlaps(int[] times, int size, int initialTime, int finalTime) {
+    int segments = size / 2;
+    int first = 0;
+    int high = segments;
+    while (first < high) {
+      int mid = (first + high) >>> 1;
+      if (times[2 * mid + 1] <= initialTime) {
+        first = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    for (int i = first; i < segments && times[2 * i] < finalTime; i++) {
+      int start = times[2 * i];
+      int end = times[2 * i + 1];
+      if (initialTime > start && initialTime < end
+          || finalTime > start && finalTime < end
+          || start > initialTime && start < finalTime
+          || end > initialTime && end < finalTime) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the logged states of {@code this} {@code ColumnarShape} as an unmodifiable view of its
+   * columns. The same list is returned until another state is logged or removed, after which the
+   * old list can no longer be read. Every state read from the list is a copy, so it stays valid.
+   *
+   * @return An unmodifiable List of the logged states.
+   */
+  @Override
+  public List<ReadOnlyAnimatedShape> getLog() {
+    if (this.log == null) {
+      this.log = new StateList(this.modifications);
+    }
+    return this.log;
+  }
+
+  /**
+   * Returns the logged state at the given {@param index} as a new {@code ColumnarState}.
+   *
+   * @param index The index of the logged state.
+   * @return A copy of the logged state.
+   */
+  private ColumnarState stateAt(int index) {
+    return new ColumnarState(this.getName(), this.getShapeType(), this.times[index],
+        this.xs[index], this.ys[index], this.widths[index], this.heights[index],
+        this.colors[index], this.orientations[index]);
+  }
+
+  /**
+   * Returns the index of the first logged state whose time is after the given {@param time}.
+   *
+   * @param time The time to search for.
+   * @return The index of the first state after the time, or the number of logged states if there
+   *         is none.
+   */
+  private int firstIndexAfter(long time) {
+    int low = 0;
+    int high = this.size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (this.times[mid] <= time) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Grows every column by doubling until it can hold the given {@param capacity}.
+   *
+   * @param capacity The number of states the columns must be able to hold.
+   */
+  private void ensureCapacity(int capacity) {
+    if (capacity <= this.times.length) {
+      return;
+    }
+    int newCapacity = this.times.length;
+    while (newCapacity < capacity) {
+      newCapacity = Math.max(newCapacity * 2, INITIAL_CAPACITY);
+    }
+    this.times = Arrays.copyOf(this.times, newCapacity);
+    this.xs = Arrays.copyOf(this.xs, newCapacity);
+    this.ys = Arrays.copyOf(this.ys, newCapacity);
+    this.widths = Arrays.copyOf(this.widths, newCapacity);
+    this.heights = Arrays.copyOf(this.heights, newCapacity);
+    this.colors = Arrays.copyOf(this.colors, newCapacity);
+    this.orientations = Arrays.copyOf(this.orientations, newCapacity);
+  }
+
+  /**
+   * Moves the given {@param length} of entries starting at {@param from} to start at {@param to}
+   * in every column.
+   *
+   * @param from   The index of the first entry to be moved.
+   * @param to     The index the first entry is moved to.
+   * @param length The number of entries to be moved.
+   */
+  private void shift(int from, int to, int length) {
+    System.arraycopy(this.times, from, this.times, to, length);
+    System.arraycopy(this.xs, from, this.xs, to, length);
+    System.arraycopy(this.ys, from, this.ys, to, length);
+    System.arraycopy(this.widths, from, this.widths, to, length);
+    System.arraycopy(this.heights, from, this.heights, to, length);
+    System.arraycopy(this.colors, from, this.colors, to, length);
+    System.arraycopy(this.orientations, from, this.orientations, to, length);
+  }
+
+  /**
+   * Records that the logged states of {@code this} {@code ColumnarShape} have changed.
+   */
+  private void modified() {
+    this.modifications++;
+    this.log = null;
+  }
+
+  /**
+   * Represents the unmodifiable view of the logged states returned by {@link #getLog()}.
+   */
+  private final class StateList extends AbstractList<ReadOnlyAnimatedShape>
+      implements RandomAccess {
+
+    private final int expectedModifications;
+
+    /**
+     * Constructs a {@code StateList} of the logged states as of the given {@param
+     * expectedModifications}.
+     *
+     * @param expectedModifications The number of modifications made when the view was created.
+     */
+    StateList(int expectedModifications) {
+      this.expectedModifications = expectedModifications;
+    }
+
+    @Override
+    public ReadOnlyAnimatedShape get(int index) {
+      this.checkCurrent();
+      if (index < 0 || index >= ColumnarShape.this.size) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: "
+            + ColumnarShape.this.size);
+      }
+      return ColumnarShape.this.stateAt(index);
+    }
+
+    @Override
+    public int size() {
+      this.checkCurrent();
+      return ColumnarShape.this.size;
+    }
+
+    /**
+     * Checks that the logged states have not changed since {@code this} {@code StateList} was
+     * created.
+     *
+     * @throws ConcurrentModificationException if the logged states have changed.
+     */
+    private void checkCurrent() {
+      if (ColumnarShape.this.modifications != this.expectedModifications) {
+        throw new ConcurrentModificationException("The log has changed since it was read!");
+      }
+    }
+  }
+}
@@ -0,0 +1,208 @@
+package model;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Represents a single state of a shape in a columnar environment, held as primitive values. The
+ * {@code Dimension}, {@code Color} and {@code Position2D} of the state are only created when they
+ * are asked for, so a state that is only read by time costs nothing but its fields.
+ */
+class ColumnarState implements ReadOnlyAnimatedShape {
+
+  private final String name;
+  private final Shapes shapeType;
+  private int time;
+  private float x;
+  private float y;
+  private int width;
+  private int height;
+  private int argb;
+  private int orientation;
+
+  //INVARIANT: width and height are positive.
+  //INVARIANT: time is 0 or positive.
+
+  /**
+   * Constructs a {@code ColumnarState} of the shape with the given {@param name} and {@param
+   * shapeType} with the given values.
+   *
+   * @param name        The name of the shape.
+   * @param shapeType   The type of the shape.
+   * @param time        The time of the state.
+   * @param x           The x coordinate of the position of the shape.
+   * @param y           The y coordinate of the position of the shape.
+   * @param width       The width of the boundary of the shape.
+   * @param height      The height of the boundary of the shape.
+   * @param argb        The color of the shape packed as by {@link Color#getRGB()}.
+   * @param orientation The angled orientation of the shape.
+   */
+  ColumnarState(String name, Shapes shapeType, int time, float x, float y, int width, int height,
+      int argb, int orientation) {
+    this.name = name;
+    this.shapeType = shapeType;
+    this.set(time, x, y, width, height, argb, orientation);
+  }
+
+  /**
+   * Replaces every value of {@code this} {@code ColumnarState} with the given values.
+   *
+   * @param time        The time of the state.
+   * @param x           The x coordinate of the position of the shape.
+   * @param y           The y coordinate of the position of the shape.
+   * @param width       The width of the boundary of the shape.
+   * @param height      The height of the boundary of the shape.
+   * @param argb        The color of the shape packed as by {@link Color#getRGB()}.
+   * @param orientation The angled orientation of the shape.
+   */
+  void set(int time, float x, float y, int width, int height, int argb, int orientation) {
+    this.time = time;
+    this.x = x;
+    this.y = y;
+    this.width = width;
+    this.height = height;
+    this.argb = argb;
+    this.orientation = orientation;
+  }
+
+  /**
+   * Returns the x coordinate of the position of {@code this} {@code ColumnarState}.
+   *
+   * @return The x coordinate as a float.
+   */
+  float getX() {
+    return this.x;
+  }
+
+  /**
+   * Returns the y coordinate of the position of {@code this} {@code ColumnarState}.
+   *
+   * @return The y coordinate as a float.
+   */
+  float getY() {
+    return this.y;
+  }
+
+  /**
+   * Returns the width of the boundary of {@code this} {@code ColumnarState}.
+   *
+   * @return The width as an int.
+   */
+  int getWidth() {
+    return this.width;
+  }
+
+  /**
+   * Returns the height of the boundary of {@code this} {@code ColumnarState}.
+   *
+   * @return The height as an int.
+   */
+  int getHeight() {
+    return this.height;
+  }
+
+  /**
+   * Returns the color of {@code this} {@code ColumnarState} packed as by {@link Color#getRGB()}.
+   *
+   * @return The packed color as an int.
+   */
+  int getArgb() {
+    return this.argb;
+  }
+
+  @Override
+  public int getTime() {
+    return this.time;
+  }
+
+  @Override
+  public String getName() {
+    return this.name;
+  }
+
+  @Override
+  public Dimension getBoundary() {
+    return new Dimension(this.width, this.height);
+  }
+
+  @Override
+  public Color getColor() {
+    return new Color(this.argb, true);
+  }
+
+  @Override
+  public Position2D getPosn() {
+    return new Position2D(this.x, this.y);
+  }
+
+  /**
+   * Returns an empty log, since a single state has no animation history of its own.
+   *
+   * @return An empty unmodifiable List.
+   */
+  @Override
+  public List<ReadOnlyAnimatedShape> getLog() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public int getOrientation() {
+    return this.orientation;
+  }
+
+  @Override
+  public Shapes getShapeType() {
+    return this.shapeType;
+  }
+
+  /**
+   * An object is considered equal to {@code this} {@code ColumnarState} if it is an instance of
+   * {@code ReadOnlyAnimatedShape} and has the same time, name, boundary, color, position,
+   * orientation, and shape type as {@code this} {@code ColumnarState}.
+   *
+   * @param other The Object to be compared to {@code this} {@code ColumnarState}.
+   * @return A boolean value where true indicates that {@param other} is equal to {@code this}
+   *         {@code ColumnarState}.
+   */
+  @Override
+  public boolean equals(Object other) {
+    if (other == this) {
+      return true;
+    }
+    if (other instanceof ReadOnlyAnimatedShape) {
+      ReadOnlyAnimatedShape roOtherShape = ((ReadOnlyAnimatedShape) other);
+      return (this.getTime() == roOtherShape.getTime()
+          && this.getName().equals(roOtherShape.getName())
+          && this.getBoundary().equals(roOtherShape.getBoundary())
+          && this.getColor().equals(roOtherShape.getColor())
+          && this.getPosn().equals(roOtherShape.getPosn())
+          && this.getOrientation() == roOtherShape.getOrientation()
+          && this.getShapeType() == roOtherShape.getShapeType());
+    }
+    return false;
+  }
+
+  /**
+   * Returns an integer that is unique to the combination of shape type, time, name, boundary,
+   * color, position, and orientation of {@code this} {@code ColumnarState}.
+   *
+   * @return A unique integer based on salient fields of {@code this} {@code ColumnarState}.
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.getName(), this.getShapeType(), this.getTime(), this.getBoundary(),
+        this.getColor(), this.getPosn(),
+        this.getOrientation());
+  }
+
+  @Override
+  public String toString() {
+    return this.time + " " + (double) this.x
+        + " " + (double) this.y + " " + (double) this.width + " " + (double) this.height
+        + " " + ((this.argb >> 16) & 0xFF) + " " + ((this.argb >> 8) & 0xFF)
+        + " " + (this.argb & 0xFF) + " " + this.orientation;
+  }
+}
@@ -0,0 +1,30 @@
+package model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents the Flight Recorder event of commanding a shape of an {@code AnimationEnvironment}
+ * through a motion.
+ */
+@Name("animator.Command")
+@Label("Command Shape")
+@Category({"Animator", "Build"})
+@Description("A shape commanded through a motion")
+final class CommandEvent extends jdk.jfr.Event {
+
+  @Label("Shape")
+  String shapeName;
+
+  @Label("Initial Tick")
+  int initialTick;
+
+  @Label("Final Tick")
+  int finalTick;
+
+  @Label("Commands")
+  @Description("The number of commands applied")
+  int commands;
+}
@@ -0,0 +1,317 @@
+package model;
+
+import controller.AnimationBuilder;
+import model.commands.Move;
+import model.commands.Paint;
+import model.commands.Rotate;
+import model.commands.Scale;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Represents an {@code AnimationEnvironment} that any number of threads can add shapes to and
+ * animate at once. It behaves the same as an {@code AnimationEnvironmentImpl} called from a single
+ * thread, including its check that the motions of a shape do not overlap.
+ *
+ * <p>Shapes are registered in concurrent maps without any lock, so adding and looking up shapes
+ * never blocks. Animating a shape holds one of a fixed number of striped locks chosen by the name
+ * of the shape, so motions of different shapes are appended in parallel and motions of the same
+ * shape are appended one at a time. Shapes are kept in the order their registration completed,
+ * which for shapes added by a single thread is the order they were added in.</p>
+ *
+ * <p>The list returned by {@link #getShapes()} can be read at any time, but the states of a shape
+ * should only be read once every thread animating it is done.</p>
+ */
+public class ConcurrentAnimationEnvironment implements AnimationEnvironment {
+
+  private static final int STRIPES = 64;
+
+  private final int x;
+  private final int y;
+  private final int height;
+  private final int width;
+  private final ConcurrentHashMap<String, AnimatedShape> byName;
+  private final ConcurrentHashMap<String, AnimatedShape> byFoldedName;
+  private final ConcurrentLinkedQueue<AnimatedShape> order;
+  private final AtomicInteger size;
+  private final Object[] stripes;
+  private volatile List<ReadOnlyAnimatedShape> readOnlyShapes;
+
+  //INVARIANT: order holds every shape in byName once, in the order it was put into byName.
+  //INVARIANT: size is the number of shapes in order.
+  //INVARIANT: byFoldedName maps the folded name of every shape to the first shape registered with
+  //that folded name.
+  //INVARIANT: readOnlyShapes is either null or a list of as many shapes as size was when it was
+  //made, in order.
+
+  /**
+   * Constructs a {@code ConcurrentAnimationEnvironment} with the given position and dimensions and
+   * no shapes.
+   *
+   * @param x      The x position of the top left corner of the environment.
+   * @param y      The y position of the top left corner of the environment.
+   * @param width  The width of {@code this} {@code ConcurrentAnimationEnvironment}.
+   * @param height The height of {@code this} {@code ConcurrentAnimationEnvironment}.
+   * @throws IllegalArgumentException if the height or width are not positive.
+   */
+  private ConcurrentAnimationEnvironment(int x, int y, int width, int height) {
+    if (width < 1 || height < 1) {
+      throw new IllegalArgumentException("Invalid Dimensions for the environment!");
+    }
+    this.x = x;
+    this.y = y;
+    this.height = height;
+    this.width = width;
+    this.byName = new ConcurrentHashMap<String, AnimatedShape>();
+    this.byFoldedName = new ConcurrentHashMap<String, AnimatedShape>();
+    this.order = new ConcurrentLinkedQueue<AnimatedShape>();
+    this.size = new AtomicInteger();
+    this.stripes = new Object[STRIPES];
+    for (int i = 0; i < STRIPES; i++) {
+      this.stripes[i] = new Object();
+    }
+    this.readOnlyShapes = null;
+  }
+
+  @Override
+  public int getWidth() {
+    return this.width;
+  }
+
+  @Override
+  public int getHeight() {
+    return this.height;
+  }
+
+  @Override
+  public int getX() {
+    return this.x;
+  }
+
+  @Override
+  public int getY() {
+    return this.y;
+  }
+
+  @Override
+  public void addShape(AnimatedShape shape) {
+    if (shape == null || shape.getName() == null) {
+      throw new IllegalArgumentException("Must add a valid shape!");
+    }
+    if (this.byName.putIfAbsent(shape.getName(), shape) != null) {
+      throw new IllegalArgumentException("Shape with the given name " + shape.getName()
+          + " already exists!");
+    }
+    this.order.add(shape);
+    this.size.incrementAndGet();
+    this.byFoldedName.putIfAbsent(ShapeRegistry.fold(shape.getName()), shape);
+  }
+
+  @Override
+  public void commandShape(String name, int initialTime, int finalTime, Command... commands) {
+    if (name == null) {
+      throw new IllegalArgumentException("Must have a valid name!");
+    }
+    if (initialTime < 0 || initialTime > finalTime) {
+      throw new IllegalArgumentException("Invalid time segment!");
+    }
+    CommandEvent event = new CommandEvent();
+    event.begin();
+    AnimatedShape shape = this.getShape(name);
+    synchronized (this.stripeOf(shape.getName())) {
+      this.validateTimes(shape, initialTime, finalTime);
+      if (initialTime != shape.getTime()) {
+        shape.log();
+        shape.setTime(initialTime);
+        shape.log();
+        shape.log();
+      } else {
+        shape.log();
+      }
+      shape.setTime(finalTime);
+      for (Command cmd : commands) {
+        cmd.apply(shape);
+      }
+      shape.log();
+    }
+    event.end();
+    if (event.shouldCommit()) {
+      event.shapeName = name;
+      event.initialTick = initialTime;
+      event.finalTick = finalTime;
+      event.commands = commands.length;
+      event.commit();
+    }
+  }
+
+  @Override
+  public List<ReadOnlyAnimatedShape> getShapes() {
+    List<ReadOnlyAnimatedShape> shapes = this.readOnlyShapes;
+    if (shapes == null || shapes.size() != this.size.get()) {
+      ArrayList<ReadOnlyAnimatedShape> immutableShapes =
+          new ArrayList<ReadOnlyAnimatedShape>(this.size.get());
+      for (AnimatedShape shape : this.order) {
+        immutableShapes.add(new ReadOnlyAnimatedShapeImpl(shape));
+      }
+      shapes = Collections.unmodifiableList(immutableShapes);
+      this.readOnlyShapes = shapes;
+    }
+    return shapes;
+  }
+
+  /**
+   * Returns the shape corresponding to the given {@param shapeName}, ignoring case.
+   *
+   * @param shapeName The name of the shape.
+   * @return The shape with the given name.
+   * @throws IllegalArgumentException if there is no shape with the given name.
+   */
+  private AnimatedShape getShape(String shapeName) {
+    AnimatedShape shape = this.byFoldedName.get(ShapeRegistry.fold(shapeName));
+    if (shape == null) {
+      throw new IllegalArgumentException("Shape does not exist!");
+    }
+    return shape;
+  }
+
+  /**
+   * Returns the lock that guards the animation history of the shape with the given {@param
+   * name}. Every shape always has the same lock, which it shares with about one in {@code
+   * STRIPES} of the other shapes.
+   *
+   * @param name The name of the shape.
+   * @return The lock of the shape.
+   */
+  private Object stripeOf(String name) {
+    int hash = name.hashCode();
+    return this.stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+  }
+
+  /**
+   * Checks that the given time interval does not overlap any motion of the given {@param shape},
+   * which must be done while holding the lock of the shape.
+   *
+   * @param shape       The shape to be animated.
+   * @param initialTime The beginning time of the motion.
+   * @param finalTime   The ending time of the motion.
+   * @throws IllegalArgumentException if the interval overlaps an existing motion.
+   */
+  private void validateTimes(AnimatedShape shape, int initialTime, int finalTime) {
+    if (shape.getTimeline().overlaps(initialTime, finalTime)) {
+      throw new IllegalArgumentException("Animation periods cannot be overlapping!");
+    }
+  }
+
+  /**
+   * Returns a builder to build a {@code ConcurrentAnimationEnvironment}.
+   *
+   * @return A builder to construct a {@code ConcurrentAnimationEnvironment}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Represents a builder for a {@code ConcurrentAnimationEnvironment} that any number of threads
+   * can declare and animate shapes through at once. The bounds must be set before any shape is
+   * declared, and the environment should only be built once every thread is done with the
+   * builder.
+   */
+  public static final class Builder implements AnimationBuilder<AnimationEnvironment> {
+
+    private volatile ConcurrentAnimationEnvironment buildee;
+    private final ConcurrentHashMap<String, String> undeclaredShapes;
+
+    /**
+     * Constructs a Builder with the default location and dimensions set to (0, 0) and 100x100.
+     */
+    public Builder() {
+      this.buildee = new ConcurrentAnimationEnvironment(0, 0, 100, 100);
+      this.undeclaredShapes = new ConcurrentHashMap<String, String>();
+    }
+
+    @Override
+    public AnimationEnvironment build() {
+      return this.buildee;
+    }
+
+    @Override
+    public AnimationBuilder<AnimationEnvironment> setBounds(int x, int y, int width, int height) {
+      this.buildee = new ConcurrentAnimationEnvironment(x, y, width, height);
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<AnimationEnvironment> declareShape(String name, String type) {
+      this.undeclaredShapes.put(name, type);
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<AnimationEnvironment> addMotion(String name, int t1, int x1, int y1,
+        int w1, int h1, int r1, int g1, int b1, int t2, int x2, int y2, int w2, int h2, int r2,
+        int g2, int b2) {
+      this.declare(name, t1, x1, y1, w1, h1, r1, g1, b1, 0);
+      this.buildee.commandShape(name, t1, t2, new Move(x1, y1, x2, y2),
+          new Scale(w1, h1, w2, h2), new Paint(r1, g1, b1, r2, g2, b2));
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<AnimationEnvironment> addMotion(String name, int t1, int x1, int y1,
+        int w1, int h1, int r1, int g1, int b1, int o1, int t2, int x2, int y2, int w2, int h2,
+        int r2, int g2, int b2, int o2) {
+      this.declare(name, t1, x1, y1, w1, h1, r1, g1, b1, o1);
+      this.buildee.commandShape(name, t1, t2, new Move(x1, y1, x2, y2),
+          new Scale(w1, h1, w2, h2), new Paint(r1, g1, b1, r2, g2, b2), new Rotate(o1, o2));
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<AnimationEnvironment> addKeyframe(String name, int t, int x, int y,
+        int w, int h, int r, int g, int b) {
+      return this.addKeyframe(name, t, x, y, w, h, r, g, b, 0);
+    }
+
+    @Override
+    public AnimationBuilder<AnimationEnvironment> addKeyframe(String name, int t, int x, int y,
+        int w, int h, int r, int g, int b, int o) {
+      String type = name == null ? null : this.undeclaredShapes.get(name);
+      if (type == null) {
+        throw new IllegalArgumentException("There are no undeclared shapes with that name!");
+      }
+      AnimatedShape keyFrame = new AnimatedShapeImpl(
+          AnimationEnvironmentImpl.Builder.getUndeclaredShapeType(type), name, t,
+          new Dimension(w, h), new Color(r, g, b), new Position2D(x, y), o);
+      this.buildee.addShape(keyFrame);
+      keyFrame.log();
+      return this;
+    }
+
+    /**
+     * Adds the shape corresponding to {@param name} to the environment in the given initial state
+     * if it is still undeclared, and removes it from the undeclared shapes. A thread that declares
+     * the same shape at the same time waits until the shape has been added.
+     *
+     * @throws IllegalArgumentException if the initial state is invalid.
+     */
+    private void declare(String name, int t, int x, int y, int w, int h, int r, int g, int b,
+        int o) {
+      if (name == null) {
+        return;
+      }
+      this.undeclaredShapes.computeIfPresent(name, (undeclared, type) -> {
+        this.buildee.addShape(new AnimatedShapeImpl(
+            AnimationEnvironmentImpl.Builder.getUndeclaredShapeType(type), undeclared, t,
+            new Dimension(w, h), new Color(r, g, b), new Position2D(x, y), o));
+        return null;
+      });
+    }
+  }
+}
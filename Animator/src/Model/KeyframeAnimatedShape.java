@@ -2,13 +2,14 @@ package model;
 
 import java.awt.Color;
 import java.awt.Dimension;
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents an {@code AnimatedShape} with additional capabilities regarding keyframes, such as
- * the ability to add keyframes, delete keyframes, and edit keyframes.
+ * the ability to add keyframes, delete keyframes, and edit keyframes. Its keyframes are indexed by
+ * their time, so they can be looked up and queried by tick without scanning its log.
  */
-public interface KeyframeAnimatedShape {
+public interface KeyframeAnimatedShape extends KeyframeIndex {
 
   /**
    * Deletes the keyframe from the keyframes of {@code this} {@code KeyframeAnimatedShape}
@@ -100,12 +101,13 @@ public interface KeyframeAnimatedShape {
 
   /**
    * Returns a list of {@code ReadOnlyAnimatedShape}s that represent the past states of {@code this}
-   * {@code KeyframeAnimateShape}.
+   * {@code KeyframeAnimateShape}. The same list is returned until a keyframe is logged or
+   * deleted.
    *
-   * @return the animation log of {@code this} {@code KeyframeAnimateShape} as an ArrayList of
-   * {@code ReadOnlyAnimatedShape}s.
+   * @return the animation log of {@code this} {@code KeyframeAnimateShape} as an unmodifiable
+   * List of {@code ReadOnlyAnimatedShape}s.
    */
-  ArrayList<ReadOnlyAnimatedShape> getLog();
+  List<ReadOnlyAnimatedShape> getLog();
 
   /**
    * Returns the angled orientation of {@code this} {@code KeyframeAnimateShape}.
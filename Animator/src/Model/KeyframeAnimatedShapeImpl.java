@@ -2,17 +2,21 @@ package model;
 
 import java.awt.Color;
 import java.awt.Dimension;
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
 
 /**
  * Represents an {@code AnimatedShape} that lends itself to the idea of keyframes rather than
  * motions. Supports features such as storing its animationHistory as a list of keyframes and offers
- * the ability to delete a keyframe from the list of keyframes in this shape.
+ * the ability to delete a keyframe from the list of keyframes in this shape. The keyframes are held
+ * in a persistent {@code KeyframeTree}, so every past version of them can be kept and restored
+ * cheaply.
  */
 public class KeyframeAnimatedShapeImpl extends AnimatedShapeImpl implements KeyframeAnimatedShape {
 
-  private ArrayList<ReadOnlyAnimatedShape> keyframes;
+  private KeyframeTree keyframes;
+  private List<ReadOnlyAnimatedShape> readOnlyKeyframes;
+  private ShapeSnapshot snapshot;
 
   /**
    * Constructs a {@code KeyframeAnimatedShapeImpl} that is of a certain {@param shapeType}, with a
@@ -34,22 +38,7 @@ public class KeyframeAnimatedShapeImpl extends AnimatedShapeImpl implements Keyf
       Dimension boundary,
       Color color, Position2D pos, int orientation) {
     super(shapeType, name, time, boundary, color, pos,  orientation);
-    this.keyframes = new ArrayList();
-  }
-
-  /**
-   * Constructs a {KeyframeAnimatedShapeImpl} that matches the details of the given {@code
-   * AnimatedShape} {@param shape} except converts the log of the given shape from the idea of
-   * motions into the notion of keyframes. In other words instead of having two shape states for a
-   * time where one denotes the ending time of the previous motion and the other denotes the
-   * beginning of the other now there is only one keyframe for each time.
-   *
-   * @param shape The shape that {@code this} {@code KeyframeAnimatedShape} will imitate.
-   */
-  private KeyframeAnimatedShapeImpl(AnimatedShape shape) {
-    super(shape.getShapeType(), shape.getName(), shape.getTime(), shape.getBoundary(),
-        shape.getColor(), shape.getPosn(), shape.getOrientation());
-    this.keyframes = this.convertToKeyframes(shape.getLog());
+    this.keyframes = KeyframeTree.EMPTY;
   }
 
   /**
@@ -66,52 +55,130 @@ public class KeyframeAnimatedShapeImpl extends AnimatedShapeImpl implements Keyf
         shape.getTime(), shape.getBoundary(),
         shape.getColor(), shape.getPosn(),
         shape.getOrientation());
-    this.keyframes = this.convertToKeyframes(shape.getLog());
+    this.keyframes = convertToKeyframes(shape.getLog());
   }
 
   @Override
-  public ArrayList<ReadOnlyAnimatedShape> getLog() {
-    return new ArrayList(this.keyframes);
+  public List<ReadOnlyAnimatedShape> getLog() {
+    if (this.readOnlyKeyframes == null) {
+      this.readOnlyKeyframes = this.keyframes.asList();
+    }
+    return this.readOnlyKeyframes;
   }
 
   @Override
   public void log() {
-    this.keyframes.add(new ReadOnlyKeyframeShape(new KeyframeAnimatedShapeImpl(this)));
-    this.keyframes.sort(new Comparator<ReadOnlyAnimatedShape>() {
-      @Override
-      public int compare(ReadOnlyAnimatedShape shape1, ReadOnlyAnimatedShape shape2) {
-        return shape1.getTime() - shape2.getTime();
-      }
-    });
+    this.keyframes = this.keyframes.put(new KeyframeState(this));
+    this.readOnlyKeyframes = null;
+    this.snapshot = null;
   }
 
   @Override
   public void deleteKeyframe(int time) {
-    for (ReadOnlyAnimatedShape shape : this.keyframes) {
-      if (shape.getTime() == time) {
-        this.keyframes.remove(shape);
-        break;
-      }
+    this.keyframes = this.keyframes.remove(time);
+    this.readOnlyKeyframes = null;
+    this.snapshot = null;
+  }
+
+  @Override
+  public ReadOnlyAnimatedShape getKeyframe(int tick) {
+    return this.keyframes.get(tick);
+  }
+
+  @Override
+  public ReadOnlyAnimatedShape floorKeyframe(int tick) {
+    return this.keyframes.floor(tick);
+  }
+
+  @Override
+  public ReadOnlyAnimatedShape ceilingKeyframe(int tick) {
+    return this.keyframes.ceiling(tick);
+  }
+
+  @Override
+  public List<ReadOnlyAnimatedShape> getKeyframes(int fromTick, int toTick) {
+    return this.keyframes.range(fromTick, toTick);
+  }
+
+  /**
+   * Returns the keyframes of {@code this} {@code KeyframeAnimatedShapeImpl} as they are now. The
+   * tree returned never changes, so it can be kept to restore them later.
+   *
+   * @return The keyframes of this shape.
+   */
+  KeyframeTree keyframes() {
+    return this.keyframes;
+  }
+
+  /**
+   * Replaces the keyframes of {@code this} {@code KeyframeAnimatedShapeImpl} with the given
+   * {@param keyframes}, which were returned by {@link #keyframes()} before.
+   *
+   * @param keyframes The keyframes this shape is to have.
+   */
+  void restore(KeyframeTree keyframes) {
+    this.keyframes = keyframes;
+    this.readOnlyKeyframes = null;
+    this.snapshot = null;
+  }
+
+  /**
+   * Replaces the keyframes of {@code this} {@code KeyframeAnimatedShapeImpl} with the given
+   * {@param keyframes} and its current state with the given {@param state}, both of which were
+   * taken from this shape before.
+   *
+   * @param keyframes The keyframes this shape is to have.
+   * @param state     The current state this shape is to have.
+   */
+  void restore(KeyframeTree keyframes, ReadOnlyAnimatedShape state) {
+    this.setTime(state.getTime());
+    this.scale(state.getBoundary());
+    this.changeColor(state.getColor());
+    this.move(state.getPosn());
+    this.setOrientation(state.getOrientation());
+    this.restore(keyframes);
+  }
+
+  /**
+   * Returns a snapshot of {@code this} {@code KeyframeAnimatedShapeImpl} as it was when its
+   * keyframes last changed, which is the same object until they change again.
+   *
+   * @return The snapshot of this shape.
+   */
+  ShapeSnapshot snapshot() {
+    if (this.snapshot == null) {
+      this.snapshot = new ShapeSnapshot(this);
     }
+    return this.snapshot;
   }
 
   /**
-   * Converts an ArrayList of {@code ReadOnlyAnimatedShape}s that stores shape states in the idea of
-   * motions into an ArrayList of {@code ReadOnlyAnimatedShape}s that stores shape states in the
-   * idea of keyframes.
+   * Converts a list of {@code ReadOnlyAnimatedShape}s that stores shape states in the idea of
+   * motions into a {@code KeyframeTree} that stores shape states in the idea of keyframes. A log
+   * in order of time, which is what every environment hands out, is converted in a single O(n)
+   * pass, and any states after the first that is out of order are put into the tree one at a time.
    *
-   * @param animationHistory The list of past shape states in the idea of motions to be converted to
-   *                         keyframes.
-   * @return An ArrayList of shape states with only one state for each time.
+   * @param log The list of past shape states in the idea of motions to be converted to keyframes.
+   * @return A tree of shape states with only one state for each time, the later of any two.
    */
-  private ArrayList<ReadOnlyAnimatedShape> convertToKeyframes(
-      ArrayList<ReadOnlyAnimatedShape> animationHistory) {
-    for (int i = 0; i < animationHistory.size() - 1; i++) {
-      if (animationHistory.get(i).getTime() == animationHistory.get(i + 1).getTime()) {
-        animationHistory.remove(i);
+  private static KeyframeTree convertToKeyframes(List<ReadOnlyAnimatedShape> log) {
+    ReadOnlyAnimatedShape[] keyframes = new ReadOnlyAnimatedShape[log.size()];
+    int count = 0;
+    Iterator<ReadOnlyAnimatedShape> states = log.iterator();
+    while (states.hasNext()) {
+      ReadOnlyAnimatedShape state = states.next();
+      if (count > 0 && keyframes[count - 1].getTime() == state.getTime()) {
+        keyframes[count - 1] = state;
+      } else if (count == 0 || keyframes[count - 1].getTime() < state.getTime()) {
+        keyframes[count++] = state;
+      } else {
+        KeyframeTree animationHistory = KeyframeTree.of(keyframes, count).put(state);
+        while (states.hasNext()) {
+          animationHistory = animationHistory.put(states.next());
+        }
+        return animationHistory;
       }
     }
-    return animationHistory;
+    return KeyframeTree.of(keyframes, count);
   }
-
 }
@@ -2,7 +2,7 @@ package model;
 
 import java.awt.Color;
 import java.awt.Dimension;
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents an {@code AnimationEnvironment} that supports removing the shapes within it
@@ -44,12 +44,13 @@ public interface KeyframeAnimationEnvironment {
 
   /**
    * Returns the shapes that are stored in {@code this} {@code KeyframeAnimationEnvironment}
-   * represented as immutable {@code ReadOnlyAnimatedShape}s.
+   * represented as immutable {@code ReadOnlyAnimatedShape}s. The same list is returned until a
+   * shape is added or deleted.
    *
-   * @return An array of immutable {@code ReadOnlyAnimatedShape}s that represent the shapes stored
-   *         in {@code this} {@code KeyframeAnimationEnvironment}.
+   * @return An unmodifiable List of immutable {@code ReadOnlyAnimatedShape}s that represent the
+   *         shapes stored in {@code this} {@code KeyframeAnimationEnvironment}.
    */
-  ArrayList<ReadOnlyAnimatedShape> getShapes();
+  List<ReadOnlyAnimatedShape> getShapes();
 
   /**
    * Adds a shape with the given parameter attributes as a keyframe to {@code this}
@@ -1,18 +1,47 @@
 package model;
 
+import controller.AnimationBuilder;
+import model.commands.Move;
+import model.commands.Paint;
+import model.commands.Rotate;
+import model.commands.Scale;
 import java.awt.Color;
 import java.awt.Dimension;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Represents an animation environment that supports the idea of keyframes rather than motions.
  * supports the editing functionality of keyframes such as adding keyframes, deleting keyframes,
  * adding shapes with initial keyframes, deleting shapes.
+ *
+ * <p>Every edit is remembered so it can be undone and redone. The keyframes of each shape are a
+ * persistent {@code KeyframeTree}, so an edit to a keyframe only remembers the trees of the shape
+ * before and after it, which share all but O(log n) of their nodes, and the history of edits can
+ * grow without limit even for scenes with millions of keyframes.</p>
+ *
+ * <p>Every edit publishes a new {@code KeyframeSnapshot}, and {@link #getShapes()} hands out the
+ * shapes of the latest one, so the shapes and logs read from this environment never change under
+ * the reader. Edits are serialized with each other, while reads take no lock at all, so a view
+ * can render the animation on one thread while it is edited on another.</p>
  */
-public class KeyframeAnimationEnvironmentImpl implements KeyframeAnimationEnvironment {
+public class KeyframeAnimationEnvironmentImpl implements UndoableKeyframeEnvironment {
 
-  private ArrayList<KeyframeAnimatedShape> shapes;
-  private AnimationEnvironment baseEnvironment;
+  private final ShapeRegistry<KeyframeAnimatedShapeImpl> shapes;
+  private final int x;
+  private final int y;
+  private final int width;
+  private final int height;
+  private volatile KeyframeSnapshot published;
+  private final Deque<Edit> undoable;
+  private final Deque<Edit> redoable;
 
   /**
    * Constructs a new {@code KeyframeAnimationEnvironmentImpl} with the given {@code
@@ -22,95 +51,334 @@ public class KeyframeAnimationEnvironmentImpl implements KeyframeAnimationEnviro
    *                        KeyframAnimationEnvironment}.
    */
   public KeyframeAnimationEnvironmentImpl(AnimationEnvironment baseEnvironment) {
-    this.baseEnvironment = baseEnvironment;
-    this.shapes = this.convertShapes(baseEnvironment.getShapes());
+    this(baseEnvironment.getX(), baseEnvironment.getY(), baseEnvironment.getWidth(),
+        baseEnvironment.getHeight(), convertShapes(baseEnvironment.getShapes()));
+  }
+
+  /**
+   * Constructs a {@code KeyframeAnimationEnvironmentImpl} with the given position and dimensions
+   * and the given {@param shapes}, which are taken as they are.
+   *
+   * @param x      The x coordinate of the top left corner of the environment.
+   * @param y      The y coordinate of the top left corner of the environment.
+   * @param width  The width of the environment.
+   * @param height The height of the environment.
+   * @param shapes The shapes of the environment, indexed by their names.
+   */
+  private KeyframeAnimationEnvironmentImpl(int x, int y, int width, int height,
+      ShapeRegistry<KeyframeAnimatedShapeImpl> shapes) {
+    this.x = x;
+    this.y = y;
+    this.width = width;
+    this.height = height;
+    this.shapes = shapes;
+    this.undoable = new ArrayDeque<Edit>();
+    this.redoable = new ArrayDeque<Edit>();
+    this.publish();
   }
 
   @Override
   public int getX() {
-    return baseEnvironment.getX();
+    return this.x;
   }
 
   @Override
   public int getY() {
-    return baseEnvironment.getY();
+    return this.y;
   }
 
   @Override
   public int getHeight() {
-    return baseEnvironment.getHeight();
+    return this.height;
   }
 
   @Override
   public int getWidth() {
-    return baseEnvironment.getWidth();
+    return this.width;
   }
 
   @Override
-  public ArrayList<ReadOnlyAnimatedShape> getShapes() {
-    ArrayList<ReadOnlyAnimatedShape> immutableShapes = new ArrayList();
-    for (KeyframeAnimatedShape shape : this.shapes) {
-      immutableShapes.add(new ReadOnlyKeyframeShape(shape));
-    }
-    return immutableShapes;
+  public List<ReadOnlyAnimatedShape> getShapes() {
+    return this.published.getShapes();
   }
 
   @Override
-  public void addShape(Shapes shapeType, String shapeName, int time, Dimension boundary,
-      Color color, Position2D posn, int orientation) {
-    for (KeyframeAnimatedShape shape : this.shapes) {
-      if (shape.getName().equals(shapeName)) {
-        throw new IllegalArgumentException("Shape with the given name " + shapeName
-            + " already exists!");
-      }
+  public KeyframeSnapshot snapshot() {
+    return this.published;
+  }
+
+  @Override
+  public synchronized void addShape(Shapes shapeType, String shapeName, int time,
+      Dimension boundary, Color color, Position2D posn, int orientation) {
+    KeyframeEditEvent event = new KeyframeEditEvent();
+    event.begin();
+    if (this.shapes.contains(shapeName)) {
+      throw new IllegalArgumentException("Shape with the given name " + shapeName
+          + " already exists!");
     }
-    KeyframeAnimatedShape newShape = new KeyframeAnimatedShapeImpl(shapeType, shapeName, time,
+    KeyframeAnimatedShapeImpl newShape = new KeyframeAnimatedShapeImpl(shapeType, shapeName, time,
         boundary, color, posn, orientation);
     newShape.log();
-    this.shapes.add(newShape);
+    this.shapes.add(shapeName, newShape);
+    this.remember(new Edit(newShape, this.shapes.size() - 1, true));
+    this.publish();
+    commit(event, "addShape", shapeName, time);
   }
 
   @Override
-  public void deleteShape(String shapeName) {
-    this.shapes.remove(this.getShape(shapeName));
+  public synchronized void deleteShape(String shapeName) {
+    KeyframeEditEvent event = new KeyframeEditEvent();
+    event.begin();
+    KeyframeAnimatedShapeImpl shape = this.getShape(shapeName);
+    int index = this.shapes.indexOf(shapeName);
+    this.shapes.remove(shape.getName());
+    this.remember(new Edit(shape, index, false));
+    this.publish();
+    commit(event, "deleteShape", shapeName, 0);
   }
 
   @Override
-  public void addKeyframe(String shapeName, int time, Dimension boundary, Color color,
-      Position2D posn, int orientation) {
-    KeyframeAnimatedShape shape = this.getShape(shapeName);
-    for (ReadOnlyAnimatedShape keyframe : shape.getLog()) {
-      if (time == keyframe.getTime()) {
+  public synchronized void addKeyframe(String shapeName, int time, Dimension boundary,
+      Color color, Position2D posn, int orientation) {
+    KeyframeEditEvent event = new KeyframeEditEvent();
+    event.begin();
+    KeyframeAnimatedShapeImpl shape = this.getShape(shapeName);
+    if (shape.keyframes().get(time) != null) {
+      throw new IllegalArgumentException("Keyframe already exists at this time for this shape!");
+    }
+    KeyframeTree before = shape.keyframes();
+    ReadOnlyAnimatedShape stateBefore = new KeyframeState(shape);
+    try {
+      logKeyframe(shape, time, boundary, color, posn, orientation);
+    } catch (IllegalArgumentException iae) {
+      shape.restore(before, stateBefore);
+      throw iae;
+    }
+    this.remember(new Edit(shape, before, stateBefore, shape.keyframes(),
+        new KeyframeState(shape)));
+    this.publish();
+    commit(event, "addKeyframe", shapeName, time);
+  }
+
+  @Override
+  public synchronized void deleteKeyframe(String shapeName, int time) {
+    KeyframeEditEvent event = new KeyframeEditEvent();
+    event.begin();
+    KeyframeAnimatedShapeImpl shape = this.getShape(shapeName);
+    KeyframeTree before = shape.keyframes();
+    ReadOnlyAnimatedShape state = new KeyframeState(shape);
+    shape.deleteKeyframe(time);
+    if (shape.keyframes() != before) {
+      this.remember(new Edit(shape, before, state, shape.keyframes(), state));
+      this.publish();
+    }
+    commit(event, "deleteKeyframe", shapeName, time);
+  }
+
+  @Override
+  public synchronized void editKeyframe(String shapeName, int time, Dimension boundary,
+      Color color, Position2D posn, int orientation) {
+    KeyframeEditEvent event = new KeyframeEditEvent();
+    event.begin();
+    KeyframeAnimatedShapeImpl shape = this.getShape(shapeName);
+    if (shape.keyframes().get(time) == null) {
+      throw new IllegalArgumentException("No keyframe corresponding to that time!");
+    }
+    KeyframeTree before = shape.keyframes();
+    ReadOnlyAnimatedShape stateBefore = new KeyframeState(shape);
+    try {
+      logKeyframe(shape, time, boundary, color, posn, orientation);
+    } catch (IllegalArgumentException iae) {
+      shape.restore(before, stateBefore);
+      throw iae;
+    }
+    this.remember(new Edit(shape, before, stateBefore, shape.keyframes(),
+        new KeyframeState(shape)));
+    this.publish();
+    commit(event, "editKeyframe", shapeName, time);
+  }
+
+  @Override
+  public synchronized void applyBatch(List<KeyframeEdit> edits) {
+    if (edits == null) {
+      throw new IllegalArgumentException("Must apply valid edits!");
+    }
+    KeyframeEditEvent event = new KeyframeEditEvent();
+    event.begin();
+    Map<String, TreeMap<Integer, ReadOnlyAnimatedShape>> changes =
+        new LinkedHashMap<String, TreeMap<Integer, ReadOnlyAnimatedShape>>();
+    Map<String, KeyframeEdit> lastStates = new LinkedHashMap<String, KeyframeEdit>();
+    for (KeyframeEdit edit : edits) {
+      if (edit == null) {
+        throw new IllegalArgumentException("Must apply valid edits!");
+      }
+      KeyframeAnimatedShapeImpl shape = this.getShape(edit.getShapeName());
+      TreeMap<Integer, ReadOnlyAnimatedShape> shapeChanges = changes.computeIfAbsent(
+          shape.getName(), name -> new TreeMap<Integer, ReadOnlyAnimatedShape>());
+      boolean exists = shapeChanges.containsKey(edit.getTime())
+          ? shapeChanges.get(edit.getTime()) != null
+          : shape.keyframes().get(edit.getTime()) != null;
+      if (edit.getKind() == KeyframeEdit.Kind.DELETE) {
+        shapeChanges.put(edit.getTime(), null);
+        continue;
+      }
+      if (edit.getKind() == KeyframeEdit.Kind.ADD && exists) {
         throw new IllegalArgumentException("Keyframe already exists at this time for this shape!");
+      } else if (edit.getKind() == KeyframeEdit.Kind.EDIT && !exists) {
+        throw new IllegalArgumentException("No keyframe corresponding to that time!");
       }
+      shapeChanges.put(edit.getTime(), new KeyframeState(new KeyframeAnimatedShapeImpl(
+          shape.getShapeType(), shape.getName(), edit.getTime(), edit.getBoundary(),
+          edit.getColor(), edit.getPosn(), edit.getOrientation())));
+      lastStates.put(shape.getName(), edit);
     }
-    shape.setTime(time);
-    shape.scale(boundary);
-    shape.changeColor(color);
-    shape.move(posn);
-    shape.setOrientation(orientation);
-    shape.log();
+
+    List<Edit> parts = new ArrayList<Edit>(changes.size());
+    for (Map.Entry<String, TreeMap<Integer, ReadOnlyAnimatedShape>> entry
+        : changes.entrySet()) {
+      KeyframeAnimatedShapeImpl shape = this.shapes.get(entry.getKey());
+      KeyframeTree before = shape.keyframes();
+      ReadOnlyAnimatedShape stateBefore = new KeyframeState(shape);
+      KeyframeTree after = before.merge(entry.getValue());
+      KeyframeEdit last = lastStates.get(entry.getKey());
+      if (last != null) {
+        shape.setTime(last.getTime());
+        shape.scale(last.getBoundary());
+        shape.changeColor(last.getColor());
+        shape.move(last.getPosn());
+        shape.setOrientation(last.getOrientation());
+      }
+      if (after != before) {
+        shape.restore(after);
+        parts.add(new Edit(shape, before, stateBefore, after, new KeyframeState(shape)));
+      }
+    }
+    if (!parts.isEmpty()) {
+      this.remember(parts.size() == 1 ? parts.get(0)
+          : new Edit(parts.toArray(new Edit[parts.size()])));
+      this.publish();
+    }
+    commit(event, "applyBatch", null, 0);
+  }
+
+  @Override
+  public synchronized boolean canUndo() {
+    return !this.undoable.isEmpty();
+  }
+
+  @Override
+  public synchronized boolean canRedo() {
+    return !this.redoable.isEmpty();
   }
 
   @Override
-  public void deleteKeyframe(String shapeName, int time) {
-    this.getShape(shapeName).deleteKeyframe(time);
+  public synchronized void undo() {
+    if (this.undoable.isEmpty()) {
+      throw new IllegalStateException("There is nothing to undo!");
+    }
+    Edit edit = this.undoable.pop();
+    this.apply(edit, true);
+    this.redoable.push(edit);
+    this.publish();
   }
 
   @Override
-  public void editKeyframe(String shapeName, int time, Dimension boundary, Color color,
-      Position2D posn, int orientation) {
-    KeyframeAnimatedShape shape = this.getShape(shapeName);
-    for (ReadOnlyAnimatedShape keyframe : shape.getLog()) {
-      if (keyframe.getTime() == time) {
-        shape.deleteKeyframe(time);
-        this.addKeyframe(shapeName, time, boundary, color, posn, orientation);
-        return;
+  public synchronized void redo() {
+    if (this.redoable.isEmpty()) {
+      throw new IllegalStateException("There is nothing to redo!");
+    }
+    Edit edit = this.redoable.pop();
+    this.apply(edit, false);
+    this.undoable.push(edit);
+    this.publish();
+  }
+
+  /**
+   * Remembers the given {@param edit} as the latest edit, forgetting every edit that was undone.
+   *
+   * @param edit The edit just made.
+   */
+  private void remember(Edit edit) {
+    this.undoable.push(edit);
+    this.redoable.clear();
+  }
+
+  /**
+   * Publishes a new version of {@code this} {@code KeyframeAnimationEnvironmentImpl}, which shares
+   * the snapshot of every shape whose keyframes have not changed since the last version.
+   */
+  private void publish() {
+    ShapeSnapshot[] snapshots = new ShapeSnapshot[this.shapes.size()];
+    int index = 0;
+    for (KeyframeAnimatedShapeImpl shape : this.shapes.values()) {
+      snapshots[index++] = shape.snapshot();
+    }
+    KeyframeSnapshot last = this.published;
+    this.published = new KeyframeSnapshot(last == null ? 0 : last.getVersion() + 1,
+        this.getX(), this.getY(), this.getWidth(), this.getHeight(), snapshots);
+  }
+
+  /**
+   * Undoes or redoes the given {@param edit}.
+   *
+   * @param edit The edit.
+   * @param undo Whether the edit is undone rather than redone.
+   */
+  private void apply(Edit edit, boolean undo) {
+    if (edit.parts != null) {
+      for (int i = 0; i < edit.parts.length; i++) {
+        this.apply(edit.parts[undo ? edit.parts.length - 1 - i : i], undo);
       }
+    } else if (edit.before != null) {
+      edit.shape.restore(undo ? edit.before : edit.after,
+          undo ? edit.stateBefore : edit.stateAfter);
+    } else if (edit.added == undo) {
+      this.shapes.remove(edit.shape.getName());
+    } else {
+      this.shapes.add(edit.index, edit.shape.getName(), edit.shape);
     }
-    throw new IllegalArgumentException("No keyframe corresponding to that time!");
   }
 
+  /**
+   * Sets the given {@param shape} to the given state at the given {@param time} and logs it as a
+   * keyframe, replacing any keyframe at that time.
+   *
+   * @param shape       The shape to log a keyframe of.
+   * @param time        The time of the keyframe.
+   * @param boundary    The dimensions of the shape at the keyframe.
+   * @param color       The color of the shape at the keyframe.
+   * @param posn        The position of the shape at the keyframe.
+   * @param orientation The angled orientation of the shape at the keyframe.
+   * @throws IllegalArgumentException if any of the attributes are invalid.
+   */
+  private static void logKeyframe(KeyframeAnimatedShapeImpl shape, int time, Dimension boundary,
+      Color color, Position2D posn, int orientation) {
+    shape.setTime(time);
+    shape.scale(boundary);
+    shape.changeColor(color);
+    shape.move(posn);
+    shape.setOrientation(orientation);
+    shape.log();
+  }
+
+  /**
+   * Commits the given {@param event} of an edit if it is being recorded.
+   *
+   * @param event     The event of the edit, which began when the edit did.
+   * @param operation The name of the edit.
+   * @param shapeName The name of the shape edited.
+   * @param tick      The time of the keyframe edited.
+   */
+  private static void commit(KeyframeEditEvent event, String operation, String shapeName,
+      int tick) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.operation = operation;
+      event.shapeName = shapeName;
+      event.tick = tick;
+      event.commit();
+    }
+  }
 
   /**
    * Gets the shape in {@code this} {@code KeyframAnimationEnvironment} that corresponds to the
@@ -122,27 +390,365 @@ public class KeyframeAnimationEnvironmentImpl implements KeyframeAnimationEnviro
    *                                  {@code KeyframeAnimationEnvironment} corresponding to the
    *                                  {@param shapeName}.
    */
-  private KeyframeAnimatedShape getShape(String shapeName) {
-    for (KeyframeAnimatedShape shape : this.shapes) {
-      if (shape.getName().equals(shapeName)) {
-        return shape;
-      }
+  private KeyframeAnimatedShapeImpl getShape(String shapeName) {
+    KeyframeAnimatedShapeImpl shape = this.shapes.get(shapeName);
+    if (shape == null) {
+      throw new IllegalArgumentException("No shape in this environment corresponds to that name!");
     }
-    throw new IllegalArgumentException("No shape in this environment corresponds to that name!");
+    return shape;
   }
 
   /**
-   * Converts the given ArrayList of {@code ReadOnlyAnimatedShape}s into and ArrayList of {@code
-   * KeyframeAnimatedShape}s.
+   * Converts the given List of {@code ReadOnlyAnimatedShape}s into a registry of {@code
+   * KeyframeAnimatedShape}s indexed by their names.
    *
-   * @param shapes The ArrayList of {@code ReadOnlyAnimatedShape}s to be converted.
-   * @return An ArrayList of {@code KeyframAnimatedShape}s.
+   * @param shapes The List of {@code ReadOnlyAnimatedShape}s to be converted.
+   * @return A registry of {@code KeyframAnimatedShape}s in the same order as the given shapes.
    */
-  private ArrayList<KeyframeAnimatedShape> convertShapes(ArrayList<ReadOnlyAnimatedShape> shapes) {
-    ArrayList<KeyframeAnimatedShape> newShapes = new ArrayList();
+  private static ShapeRegistry<KeyframeAnimatedShapeImpl> convertShapes(
+      List<ReadOnlyAnimatedShape> shapes) {
+    ShapeRegistry<KeyframeAnimatedShapeImpl> newShapes =
+        new ShapeRegistry<KeyframeAnimatedShapeImpl>();
     for (ReadOnlyAnimatedShape shape : shapes) {
-      newShapes.add(new KeyframeAnimatedShapeImpl(shape));
+      newShapes.add(shape.getName(), new KeyframeAnimatedShapeImpl(shape));
     }
     return newShapes;
   }
+
+  /**
+   * Returns a builder that reads an animation of motions straight into the keyframes of a new
+   * {@code KeyframeAnimationEnvironmentImpl}.
+   *
+   * @return A builder to construct a {@code KeyframeAnimationEnvironmentImpl}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Represents a builder that builds a {@code KeyframeAnimationEnvironmentImpl} from motions in a
+   * single pass, without building an {@code AnimationEnvironment} of them first. Each motion is
+   * checked and logged exactly as {@code AnimationEnvironmentImpl} would, but the logged states
+   * become keyframes as they arrive: the beginning of a motion replaces the end of the motion
+   * before it at the same time, so only one state per time is ever kept. The keyframes of each
+   * shape are collected in order of time and only made into a tree, in O(n), when the
+   * environment is built.
+   */
+  public static final class Builder implements AnimationBuilder<UndoableKeyframeEnvironment> {
+
+    private int x;
+    private int y;
+    private int width;
+    private int height;
+    private ShapeRegistry<PendingShape> shapes;
+    private final HashMap<String, String> undeclaredShapes;
+
+    /**
+     * Constructs a Builder with the default location and dimensions set to (0, 0) and 100x100.
+     */
+    public Builder() {
+      this.undeclaredShapes = new HashMap<String, String>();
+      this.setBounds(0, 0, 100, 100);
+    }
+
+    //Every call builds a new environment of new shapes from the keyframes logged so far, so
+    //building again after more motions leaves environments that were built before unchanged.
+    @Override
+    public UndoableKeyframeEnvironment build() {
+      ShapeRegistry<KeyframeAnimatedShapeImpl> built =
+          new ShapeRegistry<KeyframeAnimatedShapeImpl>();
+      for (PendingShape pending : this.shapes.values()) {
+        KeyframeAnimatedShapeImpl current = pending.shape;
+        KeyframeAnimatedShapeImpl shape = new KeyframeAnimatedShapeImpl(
+            current.getShapeType(), current.getName(), current.getTime(), current.getBoundary(),
+            current.getColor(), current.getPosn(), current.getOrientation());
+        shape.restore(KeyframeTree.of(pending.keyframes, pending.keyframeCount));
+        built.add(shape.getName(), shape);
+      }
+      return new KeyframeAnimationEnvironmentImpl(this.x, this.y, this.width, this.height,
+          built);
+    }
+
+    @Override
+    public AnimationBuilder<UndoableKeyframeEnvironment> setBounds(int x, int y, int width,
+        int height) {
+      if (width < 1 || height < 1) {
+        throw new IllegalArgumentException("Invalid Dimensions for the environment!");
+      }
+      this.x = x;
+      this.y = y;
+      this.width = width;
+      this.height = height;
+      this.shapes = new ShapeRegistry<PendingShape>();
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<UndoableKeyframeEnvironment> declareShape(String name, String type) {
+      this.undeclaredShapes.put(name, type);
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<UndoableKeyframeEnvironment> addMotion(String name, int t1, int x1,
+        int y1, int w1, int h1, int r1, int g1, int b1, int t2, int x2, int y2, int w2, int h2,
+        int r2, int g2, int b2) {
+      if (this.undeclaredShapes.containsKey(name)) {
+        this.newShape(name, t1, x1, y1, w1, h1, r1, g1, b1, 0);
+        this.undeclaredShapes.remove(name);
+      }
+      this.command(name, t1, t2, new Move(x1, y1, x2, y2), new Scale(w1, h1, w2, h2),
+          new Paint(r1, g1, b1, r2, g2, b2));
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<UndoableKeyframeEnvironment> addMotion(String name, int t1, int x1,
+        int y1, int w1, int h1, int r1, int g1, int b1, int o1, int t2, int x2, int y2, int w2,
+        int h2, int r2, int g2, int b2, int o2) {
+      if (this.undeclaredShapes.containsKey(name)) {
+        this.newShape(name, t1, x1, y1, w1, h1, r1, g1, b1, o1);
+        this.undeclaredShapes.remove(name);
+      }
+      this.command(name, t1, t2, new Move(x1, y1, x2, y2), new Scale(w1, h1, w2, h2),
+          new Paint(r1, g1, b1, r2, g2, b2), new Rotate(o1, o2));
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<UndoableKeyframeEnvironment> addKeyframe(String name, int t, int x,
+        int y, int w, int h, int r, int g, int b) {
+      return this.addKeyframe(name, t, x, y, w, h, r, g, b, 0);
+    }
+
+    @Override
+    public AnimationBuilder<UndoableKeyframeEnvironment> addKeyframe(String name, int t, int x,
+        int y, int w, int h, int r, int g, int b, int o) {
+      if (!this.undeclaredShapes.containsKey(name)) {
+        throw new IllegalArgumentException("There are no undeclared shapes with that name!");
+      }
+      this.newShape(name, t, x, y, w, h, r, g, b, o).log();
+      return this;
+    }
+
+    /**
+     * Adds a shape corresponding to {@param name} of its declared type in the given initial
+     * state, with no keyframes yet.
+     *
+     * @return The shape that was added.
+     * @throws IllegalArgumentException if the initial state is invalid or a shape with the same
+     *                                  name has already been added.
+     */
+    private PendingShape newShape(String name, int t, int x, int y, int w, int h, int r, int g,
+        int b, int o) {
+      PendingShape shape = new PendingShape(new KeyframeAnimatedShapeImpl(
+          AnimationEnvironmentImpl.Builder.getUndeclaredShapeType(
+              this.undeclaredShapes.get(name)), name, t, new Dimension(w, h), new Color(r, g, b),
+          new Position2D(x, y), o));
+      this.shapes.add(name, shape);
+      return shape;
+    }
+
+    /**
+     * Commands the shape corresponding to {@param name}, ignoring case, to do the given {@param
+     * commands} from {@param initialTime} to {@param finalTime}, logging its states exactly as
+     * {@link AnimationEnvironmentImpl#commandShape} does.
+     *
+     * @throws IllegalArgumentException if there is no such shape, the times are invalid or
+     *                                  overlap an existing motion, or a command does not begin
+     *                                  at the current state of the shape.
+     */
+    private void command(String name, int initialTime, int finalTime, Command... commands) {
+      if (name == null) {
+        throw new IllegalArgumentException("Must have a valid name!");
+      }
+      if (initialTime < 0 || initialTime > finalTime) {
+        throw new IllegalArgumentException("Invalid time segment!");
+      }
+      CommandEvent event = new CommandEvent();
+      event.begin();
+      PendingShape pending = this.shapes.getIgnoreCase(name);
+      if (pending == null) {
+        throw new IllegalArgumentException("Shape does not exist!");
+      }
+      if (ColumnarShape.overlaps(pending.times, pending.timeCount, initialTime, finalTime)) {
+        throw new IllegalArgumentException("Animation periods cannot be overlapping!");
+      }
+      KeyframeAnimatedShapeImpl shape = pending.shape;
+      if (initialTime != shape.getTime()) {
+        pending.log();
+        shape.setTime(initialTime);
+        pending.log();
+        pending.log();
+      } else {
+        pending.log();
+      }
+      shape.setTime(finalTime);
+      for (Command cmd : commands) {
+        cmd.apply(shape);
+      }
+      pending.log();
+      event.end();
+      if (event.shouldCommit()) {
+        event.shapeName = name;
+        event.initialTick = initialTime;
+        event.finalTick = finalTime;
+        event.commands = commands.length;
+        event.commit();
+      }
+    }
+
+    /**
+     * Represents a shape being built, which holds its current state, the times of every state it
+     * has logged, which are needed to check that motions do not overlap, and its keyframes.
+     */
+    private static final class PendingShape {
+
+      private final KeyframeAnimatedShapeImpl shape;
+      private int[] times;
+      private int timeCount;
+      private ReadOnlyAnimatedShape[] keyframes;
+      private int keyframeCount;
+
+      //INVARIANT: the first timeCount times are those of every logged state in order, with
+      //states of an equal time in the order they were logged, as a Timeline keeps them.
+      //INVARIANT: the first keyframeCount keyframes are in order of time, one per logged time,
+      //each the latest state logged at its time.
+
+      /**
+       * Constructs a {@code PendingShape} of the given {@param shape} with nothing logged.
+       *
+       * @param shape The shape, which holds the current state.
+       */
+      private PendingShape(KeyframeAnimatedShapeImpl shape) {
+        this.shape = shape;
+        this.times = new int[8];
+        this.timeCount = 0;
+        this.keyframes = new ReadOnlyAnimatedShape[4];
+        this.keyframeCount = 0;
+      }
+
+      /**
+       * Logs the current state of the shape, which becomes its keyframe at its time in place of
+       * any keyframe logged at that time before. States logged in order of time take O(1).
+       */
+      private void log() {
+        int time = this.shape.getTime();
+        int index = this.timeCount;
+        while (index > 0 && this.times[index - 1] > time) {
+          index--;
+        }
+        if (this.timeCount == this.times.length) {
+          this.times = Arrays.copyOf(this.times, this.times.length * 2);
+        }
+        System.arraycopy(this.times, index, this.times, index + 1, this.timeCount - index);
+        this.times[index] = time;
+        this.timeCount++;
+
+        ReadOnlyAnimatedShape keyframe = new KeyframeState(this.shape);
+        int low = 0;
+        int high = this.keyframeCount;
+        if (high > 0 && this.keyframes[high - 1].getTime() < time) {
+          low = high;
+        }
+        while (low < high) {
+          int mid = (low + high) >>> 1;
+          if (this.keyframes[mid].getTime() < time) {
+            low = mid + 1;
+          } else {
+            high = mid;
+          }
+        }
+        if (low < this.keyframeCount && this.keyframes[low].getTime() == time) {
+          this.keyframes[low] = keyframe;
+          return;
+        }
+        if (this.keyframeCount == this.keyframes.length) {
+          this.keyframes = Arrays.copyOf(this.keyframes, this.keyframes.length * 2);
+        }
+        System.arraycopy(this.keyframes, low, this.keyframes, low + 1,
+            this.keyframeCount - low);
+        this.keyframes[low] = keyframe;
+        this.keyframeCount++;
+      }
+    }
+  }
+
+  /**
+   * Represents a single edit of the environment. An edit of the keyframes of a shape remembers
+   * the keyframes and current state of the shape before and after it, the adding or deleting of
+   * a shape remembers the shape and where it was in order, and a batch of edits remembers the
+   * edit of each shape it changed.
+   */
+  private static final class Edit {
+
+    private final KeyframeAnimatedShapeImpl shape;
+    private final KeyframeTree before;
+    private final ReadOnlyAnimatedShape stateBefore;
+    private final KeyframeTree after;
+    private final ReadOnlyAnimatedShape stateAfter;
+    private final int index;
+    private final boolean added;
+    private final Edit[] parts;
+
+    //INVARIANT: parts is not null exactly when this edit is a batch, and then shape is null.
+    //INVARIANT: before, after, stateBefore and stateAfter are all null exactly when this edit
+    //added or deleted a shape or is a batch.
+
+    /**
+     * Constructs an {@code Edit} of the keyframes of the given {@param shape}.
+     *
+     * @param shape       The shape edited.
+     * @param before      The keyframes of the shape before the edit.
+     * @param stateBefore The current state of the shape before the edit.
+     * @param after       The keyframes of the shape after the edit.
+     * @param stateAfter  The current state of the shape after the edit.
+     */
+    private Edit(KeyframeAnimatedShapeImpl shape, KeyframeTree before,
+        ReadOnlyAnimatedShape stateBefore, KeyframeTree after, ReadOnlyAnimatedShape stateAfter) {
+      this.shape = shape;
+      this.before = before;
+      this.stateBefore = stateBefore;
+      this.after = after;
+      this.stateAfter = stateAfter;
+      this.index = -1;
+      this.added = false;
+      this.parts = null;
+    }
+
+    /**
+     * Constructs an {@code Edit} that added or deleted the given {@param shape}.
+     *
+     * @param shape The shape added or deleted.
+     * @param index The index of the shape in order when it was in the environment.
+     * @param added Whether the shape was added rather than deleted.
+     */
+    private Edit(KeyframeAnimatedShapeImpl shape, int index, boolean added) {
+      this.shape = shape;
+      this.before = null;
+      this.stateBefore = null;
+      this.after = null;
+      this.stateAfter = null;
+      this.index = index;
+      this.added = added;
+      this.parts = null;
+    }
+
+    /**
+     * Constructs an {@code Edit} made of the given {@param parts}, which are undone and redone
+     * together.
+     *
+     * @param parts The edits of the shapes changed, in the order they were made.
+     */
+    private Edit(Edit[] parts) {
+      this.shape = null;
+      this.before = null;
+      this.stateBefore = null;
+      this.after = null;
+      this.stateAfter = null;
+      this.index = -1;
+      this.added = false;
+      this.parts = parts;
+    }
+  }
 }
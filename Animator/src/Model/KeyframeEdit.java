@@ -0,0 +1,160 @@
+package model;
+
+import java.awt.Color;
+import java.awt.Dimension;
+
+/**
+ * Represents a single edit of a keyframe of a shape, which is either adding, editing or deleting
+ * the keyframe at a time. A list of {@code KeyframeEdit}s can be applied to an {@code
+ * UndoableKeyframeEnvironment} all at once, as a single edit of the environment.
+ */
+public final class KeyframeEdit {
+
+  /**
+   * Represents the kinds of edit that can be made to a keyframe.
+   */
+  public enum Kind {
+    ADD, EDIT, DELETE
+  }
+
+  private final Kind kind;
+  private final String shapeName;
+  private final int time;
+  private final Dimension boundary;
+  private final Color color;
+  private final Position2D posn;
+  private final int orientation;
+
+  /**
+   * Constructs a {@code KeyframeEdit} of the given {@param kind} of the keyframe at the given
+   * {@param time} of the shape with the given {@param shapeName}.
+   *
+   * @param kind        The kind of edit.
+   * @param shapeName   The name of the shape.
+   * @param time        The time of the keyframe.
+   * @param boundary    The dimensions of the shape at the keyframe, or null for a delete.
+   * @param color       The color of the shape at the keyframe, or null for a delete.
+   * @param posn        The position of the shape at the keyframe, or null for a delete.
+   * @param orientation The angled orientation of the shape at the keyframe.
+   */
+  private KeyframeEdit(Kind kind, String shapeName, int time, Dimension boundary, Color color,
+      Position2D posn, int orientation) {
+    this.kind = kind;
+    this.shapeName = shapeName;
+    this.time = time;
+    this.boundary = boundary;
+    this.color = color;
+    this.posn = posn;
+    this.orientation = orientation;
+  }
+
+  /**
+   * Returns an edit that adds a keyframe with the given attributes, as by {@link
+   * KeyframeAnimationEnvironment#addKeyframe}.
+   *
+   * @param shapeName   The name of the shape that the keyframe should be added to.
+   * @param time        The time that the new keyframe should be added at.
+   * @param boundary    The dimensions of the rectangle that bounds the shape at the keyframe.
+   * @param color       The color of the shape at the keyframe.
+   * @param posn        The position of the shape at the keyframe.
+   * @param orientation The angled orientation of the shape at the keyframe.
+   * @return The edit adding the keyframe.
+   */
+  public static KeyframeEdit add(String shapeName, int time, Dimension boundary, Color color,
+      Position2D posn, int orientation) {
+    return new KeyframeEdit(Kind.ADD, shapeName, time, boundary, color, posn, orientation);
+  }
+
+  /**
+   * Returns an edit that gives the keyframe at the given {@param time} the given attributes, as
+   * by {@link KeyframeAnimationEnvironment#editKeyframe}.
+   *
+   * @param shapeName   The name of the shape that should have a keyframe edited.
+   * @param time        The time of the keyframe to be edited.
+   * @param boundary    The new dimensions of the rectangle that bounds the shape at the keyframe.
+   * @param color       The new color of the shape at the keyframe.
+   * @param posn        The new position of the shape at the keyframe.
+   * @param orientation The new angled orientation of the shape at the keyframe.
+   * @return The edit editing the keyframe.
+   */
+  public static KeyframeEdit edit(String shapeName, int time, Dimension boundary, Color color,
+      Position2D posn, int orientation) {
+    return new KeyframeEdit(Kind.EDIT, shapeName, time, boundary, color, posn, orientation);
+  }
+
+  /**
+   * Returns an edit that deletes the keyframe at the given {@param time}, as by {@link
+   * KeyframeAnimationEnvironment#deleteKeyframe}.
+   *
+   * @param shapeName The name of the shape that the keyframe should be deleted from.
+   * @param time      The time of the keyframe to be deleted.
+   * @return The edit deleting the keyframe.
+   */
+  public static KeyframeEdit delete(String shapeName, int time) {
+    return new KeyframeEdit(Kind.DELETE, shapeName, time, null, null, null, 0);
+  }
+
+  /**
+   * Returns the kind of {@code this} {@code KeyframeEdit}.
+   *
+   * @return The kind of edit.
+   */
+  public Kind getKind() {
+    return this.kind;
+  }
+
+  /**
+   * Returns the name of the shape {@code this} {@code KeyframeEdit} applies to.
+   *
+   * @return The name of the shape.
+   */
+  public String getShapeName() {
+    return this.shapeName;
+  }
+
+  /**
+   * Returns the time of the keyframe {@code this} {@code KeyframeEdit} applies to.
+   *
+   * @return The time of the keyframe.
+   */
+  public int getTime() {
+    return this.time;
+  }
+
+  /**
+   * Returns the dimensions of the shape at the keyframe after {@code this} {@code KeyframeEdit}.
+   *
+   * @return The dimensions of the shape, or null for a delete.
+   */
+  public Dimension getBoundary() {
+    return this.boundary;
+  }
+
+  /**
+   * Returns the color of the shape at the keyframe after {@code this} {@code KeyframeEdit}.
+   *
+   * @return The color of the shape, or null for a delete.
+   */
+  public Color getColor() {
+    return this.color;
+  }
+
+  /**
+   * Returns the position of the shape at the keyframe after {@code this} {@code KeyframeEdit}.
+   *
+   * @return The position of the shape, or null for a delete.
+   */
+  public Position2D getPosn() {
+    return this.posn;
+  }
+
+  /**
+   * Returns the angled orientation of the shape at the keyframe after {@code this} {@code
+   * KeyframeEdit}.
+   *
+   * @return The orientation of the shape.
+   */
+  public int getOrientation() {
+    return this.orientation;
+  }
+}
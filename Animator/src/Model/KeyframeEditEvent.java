@@ -0,0 +1,28 @@
+package model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents the Flight Recorder event of an edit to a {@code KeyframeAnimationEnvironment}, such
+ * as adding a shape or editing one of its keyframes.
+ */
+@Name("animator.KeyframeEdit")
+@Label("Keyframe Edit")
+@Category({"Animator", "Edit"})
+@Description("A shape or keyframe added, edited or deleted")
+final class KeyframeEditEvent extends jdk.jfr.Event {
+
+  @Label("Operation")
+  @Description("The edit made, which is the name of the method that made it")
+  String operation;
+
+  @Label("Shape")
+  String shapeName;
+
+  @Label("Tick")
+  @Description("The time of the keyframe edited, or of the first keyframe of a shape added")
+  int tick;
+}
@@ -0,0 +1,49 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Represents the keyframes of a shape indexed by their time, so that the keyframes at, around and
+ * between given ticks can be found in O(log n) however many keyframes the shape has, instead of
+ * scanning its whole log.
+ */
+public interface KeyframeIndex {
+
+  /**
+   * Returns the keyframe of {@code this} {@code KeyframeIndex} at exactly the given {@param
+   * tick}.
+   *
+   * @param tick The time of the keyframe.
+   * @return The keyframe at that tick, or null if there is none.
+   */
+  ReadOnlyAnimatedShape getKeyframe(int tick);
+
+  /**
+   * Returns the latest keyframe of {@code this} {@code KeyframeIndex} at or before the given
+   * {@param tick}.
+   *
+   * @param tick The tick to search from.
+   * @return The keyframe at or before that tick, or null if there is none.
+   */
+  ReadOnlyAnimatedShape floorKeyframe(int tick);
+
+  /**
+   * Returns the earliest keyframe of {@code this} {@code KeyframeIndex} at or after the given
+   * {@param tick}.
+   *
+   * @param tick The tick to search from.
+   * @return The keyframe at or after that tick, or null if there is none.
+   */
+  ReadOnlyAnimatedShape ceilingKeyframe(int tick);
+
+  /**
+   * Returns the keyframes of {@code this} {@code KeyframeIndex} from the given {@param fromTick}
+   * to the given {@param toTick}, both inclusive, in order of time. The list is a view of the
+   * keyframes as they are now, which never changes.
+   *
+   * @param fromTick The earliest tick of the range.
+   * @param toTick   The latest tick of the range.
+   * @return An unmodifiable list of the keyframes in the range, which is empty if there are none.
+   */
+  List<ReadOnlyAnimatedShape> getKeyframes(int fromTick, int toTick);
+}
@@ -0,0 +1,82 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents a single version of a {@code KeyframeAnimationEnvironmentImpl}, which never changes
+ * once it is published. Every edit of the environment publishes a new version, in which only the
+ * shapes the edit touched are new and every other shape is shared with the version before, along
+ * with its keyframes.
+ *
+ * <p>A reader that holds a {@code KeyframeSnapshot} sees every shape and keyframe as they were at
+ * one version, however long it reads and whatever thread it reads from, without taking any lock.
+ * The shapes and logs it hands out are the same objects every time they are asked for, so a
+ * reader can tell cheaply whether a shape has changed between two versions.</p>
+ */
+public final class KeyframeSnapshot implements ReadOnlyAnimationEnvironment {
+
+  private final long version;
+  private final int x;
+  private final int y;
+  private final int width;
+  private final int height;
+  private final List<ReadOnlyAnimatedShape> shapes;
+
+  /**
+   * Constructs a {@code KeyframeSnapshot} of the given {@param shapes} at the given {@param
+   * version}.
+   *
+   * @param version The version of the environment.
+   * @param x       The x coordinate of the top left corner of the environment.
+   * @param y       The y coordinate of the top left corner of the environment.
+   * @param width   The width of the environment.
+   * @param height  The height of the environment.
+   * @param shapes  The snapshots of the shapes in order, which are not copied.
+   */
+  KeyframeSnapshot(long version, int x, int y, int width, int height, ShapeSnapshot[] shapes) {
+    this.version = version;
+    this.x = x;
+    this.y = y;
+    this.width = width;
+    this.height = height;
+    this.shapes = Collections.unmodifiableList(
+        Arrays.<ReadOnlyAnimatedShape>asList(shapes));
+  }
+
+  /**
+   * Returns the version of {@code this} {@code KeyframeSnapshot}, which counts the edits made to
+   * the environment before it was published.
+   *
+   * @return The version of this snapshot.
+   */
+  public long getVersion() {
+    return this.version;
+  }
+
+  @Override
+  public int getHeight() {
+    return this.height;
+  }
+
+  @Override
+  public int getWidth() {
+    return this.width;
+  }
+
+  @Override
+  public int getX() {
+    return this.x;
+  }
+
+  @Override
+  public int getY() {
+    return this.y;
+  }
+
+  @Override
+  public List<ReadOnlyAnimatedShape> getShapes() {
+    return this.shapes;
+  }
+}
@@ -0,0 +1,113 @@
+package model;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Represents a single keyframe of a shape, which never changes once it is logged. Unlike a copy of
+ * the shape, a {@code KeyframeState} does not hold the keyframes logged before it, so logging a
+ * keyframe costs the same however many keyframes the shape has.
+ */
+final class KeyframeState implements ReadOnlyAnimatedShape {
+
+  private final String name;
+  private final Shapes shapeType;
+  private final int time;
+  private final int width;
+  private final int height;
+  private final double x;
+  private final double y;
+  private final Color color;
+  private final int orientation;
+
+  /**
+   * Constructs a {@code KeyframeState} of the current state of the given {@param shape}.
+   *
+   * @param shape The shape whose state is logged.
+   */
+  KeyframeState(KeyframeAnimatedShape shape) {
+    this.name = shape.getName();
+    this.shapeType = shape.getShapeType();
+    this.time = shape.getTime();
+    this.width = shape.getBoundary().width;
+    this.height = shape.getBoundary().height;
+    this.x = shape.getPosn().getX();
+    this.y = shape.getPosn().getY();
+    this.color = shape.getColor();
+    this.orientation = shape.getOrientation();
+  }
+
+  @Override
+  public int getTime() {
+    return this.time;
+  }
+
+  @Override
+  public String getName() {
+    return this.name;
+  }
+
+  @Override
+  public Dimension getBoundary() {
+    return new Dimension(this.width, this.height);
+  }
+
+  @Override
+  public Color getColor() {
+    return this.color;
+  }
+
+  @Override
+  public Position2D getPosn() {
+    return new Position2D(this.x, this.y);
+  }
+
+  @Override
+  public List<ReadOnlyAnimatedShape> getLog() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public int getOrientation() {
+    return this.orientation;
+  }
+
+  @Override
+  public Shapes getShapeType() {
+    return this.shapeType;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (other == this) {
+      return true;
+    }
+    if (other instanceof ReadOnlyAnimatedShape) {
+      ReadOnlyAnimatedShape roOtherShape = ((ReadOnlyAnimatedShape) other);
+      return (this.getTime() == roOtherShape.getTime()
+          && this.getName().equals(roOtherShape.getName())
+          && this.getBoundary().equals(roOtherShape.getBoundary())
+          && this.getColor().equals(roOtherShape.getColor())
+          && this.getPosn().equals(roOtherShape.getPosn())
+          && this.getOrientation() == roOtherShape.getOrientation()
+          && this.getShapeType() == roOtherShape.getShapeType());
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.getName(), this.getShapeType(), this.getTime(), this.getBoundary(),
+        this.getColor(), this.getPosn(), this.getOrientation());
+  }
+
+  @Override
+  public String toString() {
+    return this.time + " " + this.x + " " + this.y + " " + (double) this.width + " "
+        + (double) this.height + " " + this.color.getRed() + " " + this.color.getGreen() + " "
+        + this.color.getBlue() + " " + this.orientation;
+  }
+}
@@ -0,0 +1,553 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SortedMap;
+
+/**
+ * Represents the keyframes of a shape as a persistent balanced tree ordered by time. A {@code
+ * KeyframeTree} never changes: adding or removing a keyframe returns a new tree that shares every
+ * node with the old one except the O(log n) nodes on the path to the keyframe, so keeping every
+ * past version of a shape's keyframes costs O(log n) memory per edit rather than a copy of them
+ * all.
+ *
+ * <p>The tree is an AVL tree whose nodes also count the keyframes below them, so the keyframe at
+ * any index can be found in O(log n) and the tree, or any range of times in it, can be handed out
+ * as a {@code List} without copying it.</p>
+ */
+final class KeyframeTree {
+
+  static final KeyframeTree EMPTY = new KeyframeTree(null);
+
+  private final Node root;
+
+  /**
+   * Constructs a {@code KeyframeTree} with the given {@param root}.
+   *
+   * @param root The root of the tree, or null if it is empty.
+   */
+  private KeyframeTree(Node root) {
+    this.root = root;
+  }
+
+  /**
+   * Returns a tree of the first {@param count} of the given {@param keyframes}, which must be in
+   * order of time with no two at the same time. The tree is built in O(n) without any rotations.
+   *
+   * @param keyframes The keyframes in order of time.
+   * @param count     The number of keyframes to take from the start of the array.
+   * @return The tree of the keyframes.
+   */
+  static KeyframeTree of(ReadOnlyAnimatedShape[] keyframes, int count) {
+    return count == 0 ? EMPTY : new KeyframeTree(build(keyframes, 0, count));
+  }
+
+  /**
+   * Returns the number of keyframes in {@code this} {@code KeyframeTree}.
+   *
+   * @return The number of keyframes.
+   */
+  int size() {
+    return size(this.root);
+  }
+
+  /**
+   * Returns the keyframe at the given {@param time}, or null if there is none.
+   *
+   * @param time The time of the keyframe.
+   * @return The keyframe at that time.
+   */
+  ReadOnlyAnimatedShape get(int time) {
+    Node node = this.root;
+    while (node != null) {
+      if (time < node.time) {
+        node = node.left;
+      } else if (time > node.time) {
+        node = node.right;
+      } else {
+        return node.keyframe;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the latest keyframe at or before the given {@param time}, or null if there is none.
+   *
+   * @param time The time to search from.
+   * @return The keyframe at or before that time.
+   */
+  ReadOnlyAnimatedShape floor(int time) {
+    ReadOnlyAnimatedShape floor = null;
+    Node node = this.root;
+    while (node != null) {
+      if (time < node.time) {
+        node = node.left;
+      } else if (time > node.time) {
+        floor = node.keyframe;
+        node = node.right;
+      } else {
+        return node.keyframe;
+      }
+    }
+    return floor;
+  }
+
+  /**
+   * Returns the earliest keyframe at or after the given {@param time}, or null if there is none.
+   *
+   * @param time The time to search from.
+   * @return The keyframe at or after that time.
+   */
+  ReadOnlyAnimatedShape ceiling(int time) {
+    ReadOnlyAnimatedShape ceiling = null;
+    Node node = this.root;
+    while (node != null) {
+      if (time < node.time) {
+        ceiling = node.keyframe;
+        node = node.left;
+      } else if (time > node.time) {
+        node = node.right;
+      } else {
+        return node.keyframe;
+      }
+    }
+    return ceiling;
+  }
+
+  /**
+   * Returns the number of keyframes before the given {@param time}, which is the index the
+   * keyframe at that time has or would have.
+   *
+   * @param time The time to search for.
+   * @return The number of keyframes earlier than that time.
+   */
+  int rank(long time) {
+    int rank = 0;
+    Node node = this.root;
+    while (node != null) {
+      if (time <= node.time) {
+        node = node.left;
+      } else {
+        rank += size(node.left) + 1;
+        node = node.right;
+      }
+    }
+    return rank;
+  }
+
+  /**
+   * Returns the keyframe at the given {@param index} in order of time.
+   *
+   * @param index The index of the keyframe.
+   * @return The keyframe at that index.
+   * @throws IndexOutOfBoundsException if there is no keyframe at that index.
+   */
+  ReadOnlyAnimatedShape getAt(int index) {
+    if (index < 0 || index >= this.size()) {
+      throw new IndexOutOfBoundsException("No keyframe at index " + index);
+    }
+    Node node = this.root;
+    while (true) {
+      int leftSize = size(node.left);
+      if (index < leftSize) {
+        node = node.left;
+      } else if (index > leftSize) {
+        index -= leftSize + 1;
+        node = node.right;
+      } else {
+        return node.keyframe;
+      }
+    }
+  }
+
+  /**
+   * Returns a tree with the given {@param keyframe} at its time, in place of any keyframe at that
+   * time in {@code this} {@code KeyframeTree}.
+   *
+   * @param keyframe The keyframe to add.
+   * @return The tree with the keyframe added.
+   */
+  KeyframeTree put(ReadOnlyAnimatedShape keyframe) {
+    return new KeyframeTree(put(this.root, keyframe.getTime(), keyframe));
+  }
+
+  /**
+   * Returns a tree without the keyframe at the given {@param time}, which is {@code this} {@code
+   * KeyframeTree} itself if it has no keyframe at that time.
+   *
+   * @param time The time of the keyframe to remove.
+   * @return The tree with the keyframe removed.
+   */
+  KeyframeTree remove(int time) {
+    if (this.get(time) == null) {
+      return this;
+    }
+    return new KeyframeTree(remove(this.root, time));
+  }
+
+  /**
+   * Returns a tree with every change in the given {@param changes} made to {@code this} {@code
+   * KeyframeTree}, which is {@code this} {@code KeyframeTree} itself if none of them change it. A
+   * change maps a time either to the keyframe to put at that time or to null to remove the
+   * keyframe at that time. Few changes are made one at a time in O(log n) each, while many are
+   * merged with the keyframes in order in one pass and the tree is rebuilt from them in O(n).
+   *
+   * @param changes The changes to make, in order of time.
+   * @return The tree with the changes made.
+   */
+  KeyframeTree merge(SortedMap<Integer, ReadOnlyAnimatedShape> changes) {
+    int size = this.size();
+    if ((long) changes.size() * height(this.root) < size) {
+      KeyframeTree merged = this;
+      for (Map.Entry<Integer, ReadOnlyAnimatedShape> change : changes.entrySet()) {
+        merged = change.getValue() == null ? merged.remove(change.getKey())
+            : merged.put(change.getValue());
+      }
+      return merged;
+    }
+    ReadOnlyAnimatedShape[] keyframes = new ReadOnlyAnimatedShape[size + changes.size()];
+    int count = 0;
+    boolean changed = false;
+    Iterator<ReadOnlyAnimatedShape> existing = new InOrder(this.root);
+    ReadOnlyAnimatedShape next = existing.hasNext() ? existing.next() : null;
+    for (Map.Entry<Integer, ReadOnlyAnimatedShape> change : changes.entrySet()) {
+      int time = change.getKey();
+      while (next != null && next.getTime() < time) {
+        keyframes[count++] = next;
+        next = existing.hasNext() ? existing.next() : null;
+      }
+      if (next != null && next.getTime() == time) {
+        changed |= next != change.getValue();
+        next = existing.hasNext() ? existing.next() : null;
+      } else {
+        changed |= change.getValue() != null;
+      }
+      if (change.getValue() != null) {
+        keyframes[count++] = change.getValue();
+      }
+    }
+    if (!changed) {
+      return this;
+    }
+    while (next != null) {
+      keyframes[count++] = next;
+      next = existing.hasNext() ? existing.next() : null;
+    }
+    return new KeyframeTree(build(keyframes, 0, count));
+  }
+
+  /**
+   * Returns the keyframes of {@code this} {@code KeyframeTree} in order of time as a list that
+   * reads the tree, which never changes, instead of copying it.
+   *
+   * @return The keyframes in order of time.
+   */
+  List<ReadOnlyAnimatedShape> asList() {
+    return new AbstractList<ReadOnlyAnimatedShape>() {
+      @Override
+      public ReadOnlyAnimatedShape get(int index) {
+        return getAt(index);
+      }
+
+      @Override
+      public int size() {
+        return KeyframeTree.this.size();
+      }
+
+      @Override
+      public Iterator<ReadOnlyAnimatedShape> iterator() {
+        return new InOrder(root);
+      }
+    };
+  }
+
+  /**
+   * Returns the keyframes of {@code this} {@code KeyframeTree} from the given {@param fromTime} to
+   * the given {@param toTime}, both inclusive, in order of time as a list that reads the tree
+   * instead of copying it. Finding the range takes O(log n), and iterating over it takes O(1) per
+   * keyframe.
+   *
+   * @param fromTime The earliest time of the range.
+   * @param toTime   The latest time of the range.
+   * @return The keyframes in the range in order of time, which is empty if there are none.
+   */
+  List<ReadOnlyAnimatedShape> range(int fromTime, int toTime) {
+    int from = this.rank(fromTime);
+    int size = Math.max(0, this.rank(toTime + 1L) - from);
+    return new AbstractList<ReadOnlyAnimatedShape>() {
+      @Override
+      public ReadOnlyAnimatedShape get(int index) {
+        if (index < 0 || index >= size) {
+          throw new IndexOutOfBoundsException("No keyframe at index " + index);
+        }
+        return getAt(from + index);
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public Iterator<ReadOnlyAnimatedShape> iterator() {
+        return new InOrder(root, fromTime, size);
+      }
+    };
+  }
+
+  /**
+   * Returns the number of keyframes under the given {@param node}.
+   *
+   * @param node The node, or null.
+   * @return The number of keyframes.
+   */
+  private static int size(Node node) {
+    return node == null ? 0 : node.size;
+  }
+
+  /**
+   * Returns the height of the given {@param node}.
+   *
+   * @param node The node, or null.
+   * @return The height of the node, which is 0 for null.
+   */
+  private static int height(Node node) {
+    return node == null ? 0 : node.height;
+  }
+
+  /**
+   * Returns the root of a perfectly balanced subtree of the given {@param keyframes} from index
+   * {@param from} up to but not including index {@param to}, which are in order of time with no
+   * two at the same time.
+   *
+   * @param keyframes The keyframes in order of time.
+   * @param from      The index of the first keyframe of the subtree.
+   * @param to        The index after the last keyframe of the subtree.
+   * @return The root of the subtree, or null if it is empty.
+   */
+  private static Node build(ReadOnlyAnimatedShape[] keyframes, int from, int to) {
+    if (from >= to) {
+      return null;
+    }
+    int mid = (from + to) >>> 1;
+    return new Node(keyframes[mid].getTime(), keyframes[mid], build(keyframes, from, mid),
+        build(keyframes, mid + 1, to));
+  }
+
+  /**
+   * Returns a copy of the subtree at the given {@param node} with the given {@param keyframe} at
+   * the given {@param time}.
+   *
+   * @param node     The root of the subtree, or null.
+   * @param time     The time of the keyframe.
+   * @param keyframe The keyframe.
+   * @return The root of the new subtree.
+   */
+  private static Node put(Node node, int time, ReadOnlyAnimatedShape keyframe) {
+    if (node == null) {
+      return new Node(time, keyframe, null, null);
+    }
+    if (time < node.time) {
+      return balance(node.time, node.keyframe, put(node.left, time, keyframe), node.right);
+    } else if (time > node.time) {
+      return balance(node.time, node.keyframe, node.left, put(node.right, time, keyframe));
+    }
+    return new Node(time, keyframe, node.left, node.right);
+  }
+
+  /**
+   * Returns a copy of the subtree at the given {@param node} without the keyframe at the given
+   * {@param time}, which must be in it.
+   *
+   * @param node The root of the subtree.
+   * @param time The time of the keyframe.
+   * @return The root of the new subtree, or null if it is empty.
+   */
+  private static Node remove(Node node, int time) {
+    if (time < node.time) {
+      return balance(node.time, node.keyframe, remove(node.left, time), node.right);
+    } else if (time > node.time) {
+      return balance(node.time, node.keyframe, node.left, remove(node.right, time));
+    }
+    if (node.left == null) {
+      return node.right;
+    } else if (node.right == null) {
+      return node.left;
+    }
+    Node first = node.right;
+    while (first.left != null) {
+      first = first.left;
+    }
+    return balance(first.time, first.keyframe, node.left, remove(node.right, first.time));
+  }
+
+  /**
+   * Returns a node with the given {@param time}, {@param keyframe} and children, rotated so that
+   * the heights of its children differ by at most one. The heights of the given children must
+   * differ by at most two.
+   *
+   * @param time     The time of the node.
+   * @param keyframe The keyframe of the node.
+   * @param left     The left child, or null.
+   * @param right    The right child, or null.
+   * @return The balanced node.
+   */
+  private static Node balance(int time, ReadOnlyAnimatedShape keyframe, Node left, Node right) {
+    int difference = height(left) - height(right);
+    if (difference > 1) {
+      if (height(left.left) < height(left.right)) {
+        left = rotateLeft(left.time, left.keyframe, left.left, left.right);
+      }
+      return new Node(left.time, left.keyframe, left.left,
+          new Node(time, keyframe, left.right, right));
+    } else if (difference < -1) {
+      if (height(right.right) < height(right.left)) {
+        right = rotateRight(right.time, right.keyframe, right.left, right.right);
+      }
+      return new Node(right.time, right.keyframe, new Node(time, keyframe, left, right.left),
+          right.right);
+    }
+    return new Node(time, keyframe, left, right);
+  }
+
+  /**
+   * Returns the node with the given {@param time}, {@param keyframe} and children rotated left.
+   *
+   * @param time     The time of the node.
+   * @param keyframe The keyframe of the node.
+   * @param left     The left child, or null.
+   * @param right    The right child.
+   * @return The rotated node.
+   */
+  private static Node rotateLeft(int time, ReadOnlyAnimatedShape keyframe, Node left,
+      Node right) {
+    return new Node(right.time, right.keyframe, new Node(time, keyframe, left, right.left),
+        right.right);
+  }
+
+  /**
+   * Returns the node with the given {@param time}, {@param keyframe} and children rotated right.
+   *
+   * @param time     The time of the node.
+   * @param keyframe The keyframe of the node.
+   * @param left     The left child.
+   * @param right    The right child, or null.
+   * @return The rotated node.
+   */
+  private static Node rotateRight(int time, ReadOnlyAnimatedShape keyframe, Node left,
+      Node right) {
+    return new Node(left.time, left.keyframe, left.left,
+        new Node(time, keyframe, left.right, right));
+  }
+
+  /**
+   * Represents a node of the tree, which never changes once it is constructed.
+   */
+  private static final class Node {
+
+    private final int time;
+    private final ReadOnlyAnimatedShape keyframe;
+    private final Node left;
+    private final Node right;
+    private final int height;
+    private final int size;
+
+    //INVARIANT: every time under left is less than time, and every time under right is greater.
+    //INVARIANT: height and size are those of the subtree at this node.
+
+    /**
+     * Constructs a {@code Node} with the given {@param time}, {@param keyframe} and children.
+     *
+     * @param time     The time of the keyframe.
+     * @param keyframe The keyframe.
+     * @param left     The left child, or null.
+     * @param right    The right child, or null.
+     */
+    private Node(int time, ReadOnlyAnimatedShape keyframe, Node left, Node right) {
+      this.time = time;
+      this.keyframe = keyframe;
+      this.left = left;
+      this.right = right;
+      this.height = Math.max(KeyframeTree.height(left), KeyframeTree.height(right)) + 1;
+      this.size = KeyframeTree.size(left) + KeyframeTree.size(right) + 1;
+    }
+  }
+
+  /**
+   * Represents an iterator over the keyframes under a node in order of time, which keeps the path
+   * to the next keyframe on a stack and stops after a given number of keyframes.
+   */
+  private static final class InOrder implements Iterator<ReadOnlyAnimatedShape> {
+
+    private final Node[] stack;
+    private int depth;
+    private int remaining;
+
+    /**
+     * Constructs an {@code InOrder} iterator over the keyframes under the given {@param root}.
+     *
+     * @param root The root of the tree, or null.
+     */
+    private InOrder(Node root) {
+      this.stack = new Node[height(root)];
+      this.depth = 0;
+      this.remaining = size(root);
+      this.pushLeft(root);
+    }
+
+    /**
+     * Constructs an {@code InOrder} iterator over the given number of keyframes under the given
+     * {@param root} that begins at the earliest keyframe at or after the given {@param time}.
+     *
+     * @param root  The root of the tree, or null.
+     * @param time  The time to begin at.
+     * @param count The number of keyframes to iterate over.
+     */
+    private InOrder(Node root, int time, int count) {
+      this.stack = new Node[height(root)];
+      this.depth = 0;
+      this.remaining = count;
+      Node node = root;
+      while (node != null) {
+        if (time <= node.time) {
+          this.stack[this.depth++] = node;
+          node = node.left;
+        } else {
+          node = node.right;
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return this.remaining > 0 && this.depth > 0;
+    }
+
+    @Override
+    public ReadOnlyAnimatedShape next() {
+      if (!this.hasNext()) {
+        throw new NoSuchElementException();
+      }
+      this.remaining--;
+      Node node = this.stack[--this.depth];
+      this.pushLeft(node.right);
+      return node.keyframe;
+    }
+
+    /**
+     * Pushes the given {@param node} and every node on its left spine onto the stack.
+     *
+     * @param node The node, or null.
+     */
+    private void pushLeft(Node node) {
+      while (node != null) {
+        this.stack[this.depth++] = node;
+        node = node.left;
+      }
+    }
+  }
+}
@@ -0,0 +1,374 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Represents a {@code ReadOnlyAnimationEnvironment} over a file written by a {@code
+ * MappedAnimationWriter}. Only the directory of shapes is read into memory. The records of the
+ * logged states are memory-mapped and read when they are asked for, so animations far larger than
+ * the heap can be rendered by any view.
+ *
+ * <p>The file is mapped in segments of at most {@value #SEGMENT_SIZE} bytes. Consecutive segments
+ * overlap by one record so that every record can be read from a single segment.</p>
+ *
+ * <p>Besides the logs of the shapes, every value of a logged state can be read straight from its
+ * record by the index of its shape and its index in the log, so a view can find and interpolate
+ * the states it draws without creating any objects or copying the records onto the heap.</p>
+ */
+public final class MappedAnimationEnvironment implements ReadOnlyAnimationEnvironment, Closeable {
+
+  static final int SEGMENT_SHIFT = 30;
+  static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer[] segments;
+  private final int x;
+  private final int y;
+  private final int width;
+  private final int height;
+  private final List<ReadOnlyAnimatedShape> shapes;
+
+  //INVARIANT: segments[k] maps the file from offset k * SEGMENT_SIZE for SEGMENT_SIZE bytes plus
+  //one record, or up to the directory if that is sooner.
+
+  /**
+   * Constructs a {@code MappedAnimationEnvironment} by reading the header and directory of the
+   * file open in the given {@param channel} and mapping its records.
+   *
+   * @param channel The channel the file is open in.
+   * @throws IOException if the file cannot be read or is not an animation file.
+   */
+  private MappedAnimationEnvironment(FileChannel channel) throws IOException {
+    this.channel = channel;
+    ByteBuffer header = ByteBuffer.allocate(MappedAnimationWriter.HEADER_SIZE);
+    while (header.hasRemaining()) {
+      if (channel.read(header, header.position()) < 0) {
+        throw new IOException("The file is not an animation file!");
+      }
+    }
+    header.flip();
+    if (header.getInt() != MappedAnimationWriter.MAGIC
+        || header.getInt() != MappedAnimationWriter.VERSION) {
+      throw new IOException("The file is not an animation file!");
+    }
+    this.x = header.getInt();
+    this.y = header.getInt();
+    this.width = header.getInt();
+    this.height = header.getInt();
+    int shapeCount = header.getInt();
+    long directory = header.getLong();
+
+    int segmentCount = (int) ((directory + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT);
+    this.segments = new MappedByteBuffer[segmentCount];
+    for (int k = 0; k < segmentCount; k++) {
+      long start = (long) k << SEGMENT_SHIFT;
+      long size = Math.min(SEGMENT_SIZE + MappedAnimationWriter.RECORD_SIZE, directory - start);
+      this.segments[k] = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+    }
+
+    DataInputStream in = new DataInputStream(new BufferedInputStream(
+        Channels.newInputStream(channel.position(directory))));
+    ArrayList<ReadOnlyAnimatedShape> shapes = new ArrayList<ReadOnlyAnimatedShape>(shapeCount);
+    for (int i = 0; i < shapeCount; i++) {
+      shapes.add(new MappedShape(in));
+    }
+    this.shapes = Collections.unmodifiableList(shapes);
+  }
+
+  /**
+   * Opens the animation file at the given {@param file} written by a {@code
+   * MappedAnimationWriter}.
+   *
+   * @param file The animation file to be opened.
+   * @return The environment mapped from the file.
+   * @throws IOException if the file cannot be read or is not an animation file.
+   */
+  public static MappedAnimationEnvironment open(Path file) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      return new MappedAnimationEnvironment(channel);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  @Override
+  public int getHeight() {
+    return this.height;
+  }
+
+  @Override
+  public int getWidth() {
+    return this.width;
+  }
+
+  @Override
+  public int getX() {
+    return this.x;
+  }
+
+  @Override
+  public int getY() {
+    return this.y;
+  }
+
+  /**
+   * Returns the shapes in the file in the order they were added. The same list is always
+   * returned.
+   *
+   * @return An unmodifiable List of the shapes in the file.
+   */
+  @Override
+  public List<ReadOnlyAnimatedShape> getShapes() {
+    return this.shapes;
+  }
+
+  /**
+   * Returns the number of logged states of the shape at the given {@param shape} index, which is
+   * the size of its log.
+   *
+   * @param shape The index of the shape in {@link #getShapes()}.
+   * @return The number of logged states of the shape.
+   * @throws IndexOutOfBoundsException if there is no shape at the index.
+   */
+  public int logSize(int shape) {
+    return ((MappedShape) this.shapes.get(shape)).logged;
+  }
+
+  /**
+   * Returns the time of the logged state at the given {@param index} of the log of the shape at
+   * the given {@param shape} index.
+   *
+   * @param shape The index of the shape in {@link #getShapes()}.
+   * @param index The index of the state in the log of the shape.
+   * @return The time of the state.
+   * @throws IndexOutOfBoundsException if there is no such state.
+   */
+  public int loggedTime(int shape, int index) {
+    long offset = this.offset(shape, index);
+    return this.segment(offset).getInt(position(offset));
+  }
+
+  /**
+   * Returns the x coordinate of the logged state at the given {@param index} of the log of the
+   * shape at the given {@param shape} index.
+   *
+   * @param shape The index of the shape in {@link #getShapes()}.
+   * @param index The index of the state in the log of the shape.
+   * @return The x coordinate of the state.
+   * @throws IndexOutOfBoundsException if there is no such state.
+   */
+  public float loggedX(int shape, int index) {
+    long offset = this.offset(shape, index);
+    return this.segment(offset).getFloat(position(offset) + 4);
+  }
+
+  /**
+   * Returns the y coordinate of the logged state at the given {@param index} of the log of the
+   * shape at the given {@param shape} index.
+   *
+   * @param shape The index of the shape in {@link #getShapes()}.
+   * @param index The index of the state in the log of the shape.
+   * @return The y coordinate of the state.
+   * @throws IndexOutOfBoundsException if there is no such state.
+   */
+  public float loggedY(int shape, int index) {
+    long offset = this.offset(shape, index);
+    return this.segment(offset).getFloat(position(offset) + 8);
+  }
+
+  /**
+   * Returns the width of the logged state at the given {@param index} of the log of the shape at
+   * the given {@param shape} index.
+   *
+   * @param shape The index of the shape in {@link #getShapes()}.
+   * @param index The index of the state in the log of the shape.
+   * @return The width of the state.
+   * @throws IndexOutOfBoundsException if there is no such state.
+   */
+  public int loggedWidth(int shape, int index) {
+    long offset = this.offset(shape, index);
+    return this.segment(offset).getInt(position(offset) + 12);
+  }
+
+  /**
+   * Returns the height of the logged state at the given {@param index} of the log of the shape at
+   * the given {@param shape} index.
+   *
+   * @param shape The index of the shape in {@link #getShapes()}.
+   * @param index The index of the state in the log of the shape.
+   * @return The height of the state.
+   * @throws IndexOutOfBoundsException if there is no such state.
+   */
+  public int loggedHeight(int shape, int index) {
+    long offset = this.offset(shape, index);
+    return this.segment(offset).getInt(position(offset) + 16);
+  }
+
+  /**
+   * Returns the color of the logged state at the given {@param index} of the log of the shape at
+   * the given {@param shape} index, packed as by {@link java.awt.Color#getRGB()}.
+   *
+   * @param shape The index of the shape in {@link #getShapes()}.
+   * @param index The index of the state in the log of the shape.
+   * @return The packed color of the state.
+   * @throws IndexOutOfBoundsException if there is no such state.
+   */
+  public int loggedArgb(int shape, int index) {
+    long offset = this.offset(shape, index);
+    return this.segment(offset).getInt(position(offset) + 20);
+  }
+
+  /**
+   * Returns the orientation of the logged state at the given {@param index} of the log of the
+   * shape at the given {@param shape} index.
+   *
+   * @param shape The index of the shape in {@link #getShapes()}.
+   * @param index The index of the state in the log of the shape.
+   * @return The orientation of the state.
+   * @throws IndexOutOfBoundsException if there is no such state.
+   */
+  public int loggedOrientation(int shape, int index) {
+    long offset = this.offset(shape, index);
+    return this.segment(offset).getInt(position(offset) + 24);
+  }
+
+  /**
+   * Closes the file. The mapped records stay readable until they are no longer referenced.
+   *
+   * @throws IOException if the file cannot be closed.
+   */
+  @Override
+  public void close() throws IOException {
+    this.channel.close();
+  }
+
+  /**
+   * Returns the offset in the file of the record of the logged state at the given {@param index}
+   * of the log of the shape at the given {@param shape} index.
+   *
+   * @param shape The index of the shape.
+   * @param index The index of the state in the log of the shape.
+   * @return The offset of the record.
+   * @throws IndexOutOfBoundsException if there is no such state.
+   */
+  private long offset(int shape, int index) {
+    return ((MappedShape) this.shapes.get(shape)).offset(index);
+  }
+
+  /**
+   * Returns the mapped segment that holds the whole record at the given {@param offset}.
+   *
+   * @param offset The offset of the record in the file.
+   * @return The segment holding the record.
+   */
+  private MappedByteBuffer segment(long offset) {
+    return this.segments[(int) (offset >>> SEGMENT_SHIFT)];
+  }
+
+  /**
+   * Returns the position of the record at the given {@param offset} within its segment.
+   *
+   * @param offset The offset of the record in the file.
+   * @return The position of the record in its segment.
+   */
+  private static int position(long offset) {
+    return (int) (offset & (SEGMENT_SIZE - 1));
+  }
+
+  /**
+   * Represents a shape in the directory of the file, whose logged states are read from the
+   * mapped records.
+   */
+  private final class MappedShape extends ColumnarState {
+
+    private final int logged;
+    private final long[] blocks;
+    private final List<ReadOnlyAnimatedShape> log;
+
+    /**
+     * Constructs a {@code MappedShape} by reading its entry in the directory from the given
+     * {@param in}.
+     *
+     * @param in The stream the directory is read from.
+     * @throws IOException if the entry cannot be read.
+     */
+    MappedShape(DataInputStream in) throws IOException {
+      super(in.readUTF(), Shapes.values()[in.readByte()], in.readInt(), in.readFloat(),
+          in.readFloat(), in.readInt(), in.readInt(), in.readInt(), in.readInt());
+      this.logged = in.readInt();
+      this.blocks = new long[in.readInt()];
+      for (int i = 0; i < this.blocks.length; i++) {
+        this.blocks[i] = in.readLong();
+      }
+      this.log = new RecordList();
+    }
+
+    /**
+     * Returns the logged states of {@code this} {@code MappedShape}, each read from the file as it
+     * is asked for. The same list is always returned.
+     *
+     * @return An unmodifiable List of the logged states.
+     */
+    @Override
+    public List<ReadOnlyAnimatedShape> getLog() {
+      return this.log;
+    }
+
+    /**
+     * Returns the offset in the file of the record of the logged state at the given {@param
+     * index}.
+     *
+     * @param index The index of the state in the log.
+     * @return The offset of the record.
+     * @throws IndexOutOfBoundsException if there is no state at the index.
+     */
+    long offset(int index) {
+      if (index < 0 || index >= this.logged) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.logged);
+      }
+      return this.blocks[index / MappedAnimationWriter.BLOCK_RECORDS]
+          + (long) (index % MappedAnimationWriter.BLOCK_RECORDS)
+          * MappedAnimationWriter.RECORD_SIZE;
+    }
+
+    /**
+     * Represents the unmodifiable list of the logged states returned by {@link #getLog()}.
+     */
+    private final class RecordList extends AbstractList<ReadOnlyAnimatedShape>
+        implements RandomAccess {
+
+      @Override
+      public ReadOnlyAnimatedShape get(int index) {
+        long offset = MappedShape.this.offset(index);
+        MappedByteBuffer segment = MappedAnimationEnvironment.this.segment(offset);
+        int position = MappedAnimationEnvironment.position(offset);
+        return new ColumnarState(MappedShape.this.getName(), MappedShape.this.getShapeType(),
+            segment.getInt(position), segment.getFloat(position + 4),
+            segment.getFloat(position + 8), segment.getInt(position + 12),
+            segment.getInt(position + 16), segment.getInt(position + 20),
+            segment.getInt(position + 24));
+      }
+
+      @Override
+      public int size() {
+        return MappedShape.this.logged;
+      }
+    }
+  }
+}
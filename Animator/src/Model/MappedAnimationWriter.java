@@ -0,0 +1,350 @@
+package model;
+
+import controller.AnimationBuilder;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Represents a builder that writes an animation into a file that can be memory-mapped by a {@code
+ * MappedAnimationEnvironment}, instead of holding it in memory. Every logged state is written as a
+ * fixed-width record into blocks that belong to a single shape, so only the block that each shape
+ * is currently filling is held in memory. Building the animation writes a directory of the shapes
+ * and their blocks at the end of the file and opens the file for reading.
+ *
+ * <p>The states that are logged are the same as those an {@code AnimationEnvironmentImpl} logs for
+ * the same motions, but the motions of each shape must be added in order of time.</p>
+ *
+ * <p>The file is laid out as follows, with every number big-endian:</p>
+ * <ul>
+ *   <li>A header of {@value #HEADER_SIZE} bytes: the magic number, the version, the x, y, width
+ *   and height of the canvas, the number of shapes and the offset of the directory.</li>
+ *   <li>Blocks of {@value #BLOCK_RECORDS} records of {@value #RECORD_SIZE} bytes each: the time,
+ *   x, y, width, height, packed color and orientation of a logged state.</li>
+ *   <li>The directory: for every shape its name, its type, its current state, its number of
+ *   logged states and the offsets of its blocks.</li>
+ * </ul>
+ */
+public final class MappedAnimationWriter implements AnimationBuilder<MappedAnimationEnvironment> {
+
+  static final int MAGIC = 0x414E4D50;
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 64;
+  static final int RECORD_SIZE = 28;
+  static final int BLOCK_RECORDS = 256;
+  static final int BLOCK_SIZE = RECORD_SIZE * BLOCK_RECORDS;
+
+  private final Path file;
+  private final FileChannel channel;
+  private final ShapeRegistry<ShapeWriter> shapes;
+  private final HashMap<String, String> undeclaredShapes;
+  private long end;
+  private int x;
+  private int y;
+  private int width;
+  private int height;
+  private MappedAnimationEnvironment built;
+
+  //INVARIANT: end is the offset just past the last block written to the file.
+
+  /**
+   * Constructs a {@code MappedAnimationWriter} that writes to the given {@param file}, replacing
+   * anything already in it. The canvas is located at (0, 0) and is 100x100 until its bounds are
+   * set.
+   *
+   * @param file The file to write the animation to.
+   * @throws IOException if the file cannot be opened for writing.
+   */
+  public MappedAnimationWriter(Path file) throws IOException {
+    this.file = file;
+    this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+    this.shapes = new ShapeRegistry<ShapeWriter>();
+    this.undeclaredShapes = new HashMap<String, String>();
+    this.end = HEADER_SIZE;
+    this.x = 0;
+    this.y = 0;
+    this.width = 100;
+    this.height = 100;
+    this.built = null;
+  }
+
+  /**
+   * Finishes writing the file and opens it as a {@code MappedAnimationEnvironment}. Building again
+   * returns the same environment.
+   *
+   * @return The environment mapped from the written file.
+   * @throws IllegalStateException if the file cannot be written or opened.
+   */
+  @Override
+  public MappedAnimationEnvironment build() {
+    if (this.built != null) {
+      return this.built;
+    }
+    try {
+      for (ShapeWriter shape : this.shapes.values()) {
+        shape.flush();
+      }
+      long directory = this.end;
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+          Channels.newOutputStream(this.channel.position(directory))));
+      for (ShapeWriter shape : this.shapes.values()) {
+        shape.writeDirectoryEntry(out);
+      }
+      out.flush();
+
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      header.putInt(MAGIC).putInt(VERSION).putInt(this.x).putInt(this.y).putInt(this.width)
+          .putInt(this.height).putInt(this.shapes.size()).putLong(directory);
+      header.flip();
+      this.write(header, 0);
+      this.channel.force(false);
+      this.channel.close();
+      this.built = MappedAnimationEnvironment.open(this.file);
+      return this.built;
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not write the animation!", e);
+    }
+  }
+
+  @Override
+  public AnimationBuilder<MappedAnimationEnvironment> setBounds(int x, int y, int width,
+      int height) {
+    if (width < 1 || height < 1) {
+      throw new IllegalArgumentException("Invalid Dimensions for the environment!");
+    }
+    this.x = x;
+    this.y = y;
+    this.width = width;
+    this.height = height;
+    return this;
+  }
+
+  @Override
+  public AnimationBuilder<MappedAnimationEnvironment> declareShape(String name, String type) {
+    this.undeclaredShapes.put(name, type);
+    return this;
+  }
+
+  @Override
+  public AnimationBuilder<MappedAnimationEnvironment> addMotion(String name, int t1, int x1,
+      int y1, int w1, int h1, int r1, int g1, int b1, int t2, int x2, int y2, int w2, int h2,
+      int r2, int g2, int b2) {
+    if (this.undeclaredShapes.containsKey(name)) {
+      this.declare(name, t1, x1, y1, w1, h1, r1, g1, b1, 0);
+    }
+    this.addMotion(name, t1, x1, y1, w1, h1, r1, g1, b1, 0, t2, x2, y2, w2, h2, r2, g2, b2, 0,
+        false);
+    return this;
+  }
+
+  @Override
+  public AnimationBuilder<MappedAnimationEnvironment> addMotion(String name, int t1, int x1,
+      int y1, int w1, int h1, int r1, int g1, int b1, int o1, int t2, int x2, int y2, int w2,
+      int h2, int r2, int g2, int b2, int o2) {
+    if (this.undeclaredShapes.containsKey(name)) {
+      this.declare(name, t1, x1, y1, w1, h1, r1, g1, b1, o1);
+    }
+    this.addMotion(name, t1, x1, y1, w1, h1, r1, g1, b1, o1, t2, x2, y2, w2, h2, r2, g2, b2, o2,
+        true);
+    return this;
+  }
+
+  @Override
+  public AnimationBuilder<MappedAnimationEnvironment> addKeyframe(String name, int t, int x,
+      int y, int w, int h, int r, int g, int b) {
+    return this.addKeyframe(name, t, x, y, w, h, r, g, b, 0);
+  }
+
+  @Override
+  public AnimationBuilder<MappedAnimationEnvironment> addKeyframe(String name, int t, int x,
+      int y, int w, int h, int r, int g, int b, int o) {
+    if (!this.undeclaredShapes.containsKey(name)) {
+      throw new IllegalArgumentException("There are no undeclared shapes with that name!");
+    }
+    this.newShape(name, t, x, y, w, h, r, g, b, o).log();
+    return this;
+  }
+
+  /**
+   * Writes the motion of the shape corresponding to {@param name} from the first given state to
+   * the second given state, checking it the same way a {@code ColumnarAnimationEnvironment}
+   * does.
+   *
+   * @throws IllegalArgumentException if the motion is invalid, does not begin at the current
+   *                                  state of the shape, or begins before the end of the latest
+   *                                  motion of the shape.
+   */
+  private void addMotion(String name, int t1, int x1, int y1, int w1, int h1, int r1, int g1,
+      int b1, int o1, int t2, int x2, int y2, int w2, int h2, int r2, int g2, int b2, int o2,
+      boolean rotates) {
+    ColumnarAnimationEnvironment.validateMotion(name, t1, w1, h1, r1, g1, b1, o1, t2, w2, h2, r2,
+        g2, b2, o2, rotates);
+    ShapeWriter shape = this.shapes.getIgnoreCase(name);
+    if (shape == null) {
+      throw new IllegalArgumentException("Shape does not exist!");
+    }
+    if (shape.logged > 0 && t1 < shape.getTime()) {
+      throw new IllegalArgumentException("Motions must be added in order of time!");
+    }
+    ColumnarAnimationEnvironment.validateStart(shape, x1, y1, w1, h1, r1, g1, b1, o1, rotates);
+
+    if (t1 != shape.getTime()) {
+      shape.log();
+      shape.set(t1, shape.getX(), shape.getY(), shape.getWidth(), shape.getHeight(),
+          shape.getArgb(), shape.getOrientation());
+      shape.log();
+      shape.log();
+    } else {
+      shape.log();
+    }
+    shape.set(t2, x2, y2, w2, h2, ColumnarAnimationEnvironment.packColor(r2, g2, b2),
+        rotates ? o2 : shape.getOrientation());
+    shape.log();
+  }
+
+  /**
+   * Adds the undeclared shape corresponding to {@param name} in the given initial state and
+   * removes it from the undeclared shapes.
+   *
+   * @throws IllegalArgumentException if the initial state is invalid.
+   */
+  private void declare(String name, int t, int x, int y, int w, int h, int r, int g, int b,
+      int o) {
+    this.newShape(name, t, x, y, w, h, r, g, b, o);
+    this.undeclaredShapes.remove(name);
+  }
+
+  /**
+   * Adds a shape corresponding to {@param name} of its declared type in the given initial state.
+   *
+   * @return The shape that was added.
+   * @throws IllegalArgumentException if the initial state is invalid.
+   */
+  private ShapeWriter newShape(String name, int t, int x, int y, int w, int h, int r, int g,
+      int b, int o) {
+    ShapeWriter shape = new ShapeWriter(ColumnarShape.create(
+        AnimationEnvironmentImpl.Builder.getUndeclaredShapeType(this.undeclaredShapes.get(name)),
+        name, t, new Dimension(w, h), new Color(r, g, b), new Position2D(x, y), o));
+    this.shapes.add(name, shape);
+    return shape;
+  }
+
+  /**
+   * Writes all of the given {@param buffer} to the file at the given {@param position}.
+   *
+   * @param buffer   The bytes to be written.
+   * @param position The offset in the file to write them at.
+   * @throws IOException if the bytes cannot be written.
+   */
+  private void write(ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      position += this.channel.write(buffer, position);
+    }
+  }
+
+  /**
+   * Represents a shape being written, holding its current state, the block of records it is
+   * filling and the offsets of the blocks it has already filled.
+   */
+  private final class ShapeWriter extends ColumnarState {
+
+    private ByteBuffer block;
+    private long[] blocks;
+    private int blockCount;
+    private int logged;
+
+    //INVARIANT: block holds the records logged since the last full block was written, which are
+    //fewer than BLOCK_RECORDS.
+
+    /**
+     * Constructs a {@code ShapeWriter} for a shape with the given {@param initial} state.
+     *
+     * @param initial The initial state of the shape.
+     */
+    ShapeWriter(ColumnarState initial) {
+      super(initial.getName(), initial.getShapeType(), initial.getTime(), initial.getX(),
+          initial.getY(), initial.getWidth(), initial.getHeight(), initial.getArgb(),
+          initial.getOrientation());
+      this.block = ByteBuffer.allocate(RECORD_SIZE * 4);
+      this.blocks = new long[4];
+      this.blockCount = 0;
+      this.logged = 0;
+    }
+
+    /**
+     * Logs the current state of the shape, writing the block it fills once it is full.
+     *
+     * @throws IllegalStateException if the block cannot be written.
+     */
+    void log() {
+      if (!this.block.hasRemaining()) {
+        this.block = ByteBuffer.allocate(Math.min(this.block.capacity() * 2, BLOCK_SIZE))
+            .put(this.block.flip());
+      }
+      this.block.putInt(this.getTime()).putFloat(this.getX()).putFloat(this.getY())
+          .putInt(this.getWidth()).putInt(this.getHeight()).putInt(this.getArgb())
+          .putInt(this.getOrientation());
+      this.logged++;
+      if (this.block.position() == BLOCK_SIZE) {
+        try {
+          this.flush();
+        } catch (IOException e) {
+          throw new IllegalStateException("Could not write the animation!", e);
+        }
+      }
+    }
+
+    /**
+     * Writes the records in the current block at the end of the file. Only the last block of a
+     * shape is ever written before it is full.
+     *
+     * @throws IOException if the block cannot be written.
+     */
+    void flush() throws IOException {
+      if (this.block.position() == 0) {
+        return;
+      }
+      if (this.blockCount == this.blocks.length) {
+        this.blocks = Arrays.copyOf(this.blocks, this.blocks.length * 2);
+      }
+      this.blocks[this.blockCount++] = MappedAnimationWriter.this.end;
+      this.block.flip();
+      MappedAnimationWriter.this.write(this.block, MappedAnimationWriter.this.end);
+      MappedAnimationWriter.this.end += this.block.limit();
+      this.block.clear();
+    }
+
+    /**
+     * Writes the entry of the shape in the directory to the given {@param out}.
+     *
+     * @param out The stream the directory is written to.
+     * @throws IOException if the entry cannot be written.
+     */
+    void writeDirectoryEntry(DataOutputStream out) throws IOException {
+      out.writeUTF(this.getName());
+      out.writeByte(this.getShapeType().ordinal());
+      out.writeInt(this.getTime());
+      out.writeFloat(this.getX());
+      out.writeFloat(this.getY());
+      out.writeInt(this.getWidth());
+      out.writeInt(this.getHeight());
+      out.writeInt(this.getArgb());
+      out.writeInt(this.getOrientation());
+      out.writeInt(this.logged);
+      out.writeInt(this.blockCount);
+      for (int i = 0; i < this.blockCount; i++) {
+        out.writeLong(this.blocks[i]);
+      }
+    }
+  }
+}
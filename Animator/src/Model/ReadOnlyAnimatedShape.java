@@ -2,7 +2,7 @@ package model;
 
 import java.awt.Color;
 import java.awt.Dimension;
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents a read-only version of {@code AnimatedShape}.
@@ -48,12 +48,12 @@ public interface ReadOnlyAnimatedShape {
 
   /**
    * Returns a log of all of the past states of {@code this} {@code ReadOnlyAnimatedShape} as an
-   * ArrayList of {@code ReadOnlyAnimatedShape}s.
+   * unmodifiable List of {@code ReadOnlyAnimatedShape}s.
    *
-   * @return An ArrayList of {@code ReadOnlyAnimatedShape}s representing the past states of {@code
-   * this} {@code ReadOnlyAnimatedShape}
+   * @return An unmodifiable List of {@code ReadOnlyAnimatedShape}s representing the past states
+   *         of {@code this} {@code ReadOnlyAnimatedShape}
    */
-  ArrayList<ReadOnlyAnimatedShape> getLog();
+  List<ReadOnlyAnimatedShape> getLog();
 
   /**
    * Returns the angled orientation of {@code this} {@code ReadOnlyAnimatedShape}.
@@ -2,7 +2,7 @@ package model;
 
 import java.awt.Color;
 import java.awt.Dimension;
-import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -51,7 +51,7 @@ public class ReadOnlyAnimatedShapeImpl implements ReadOnlyAnimatedShape {
   }
 
   @Override
-  public ArrayList<ReadOnlyAnimatedShape> getLog() {
+  public List<ReadOnlyAnimatedShape> getLog() {
     return this.baseShape.getLog();
   }
 
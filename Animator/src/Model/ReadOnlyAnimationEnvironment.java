@@ -1,6 +1,6 @@
 package model;
 
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents a read-only version of the AnimationEnvironment.
@@ -41,8 +41,9 @@ public interface ReadOnlyAnimationEnvironment {
    * Returns a list of all of the shapes in {@code this} {@code ReadOnlyAnimationEnvironment} as
    * {@code ReadOnlyAnimatedShape}s.
    *
-   * @return All of the shapes in {@code this} {@code ReadOnlyAnimationEnvironment}.
+   * @return All of the shapes in {@code this} {@code ReadOnlyAnimationEnvironment} as an
+   *         unmodifiable List.
    */
-  ArrayList<ReadOnlyAnimatedShape> getShapes();
+  List<ReadOnlyAnimatedShape> getShapes();
 
 }
@@ -1,6 +1,6 @@
 package model;
 
-import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -46,7 +46,7 @@ public class ReadOnlyAnimationEnvironmentImpl implements ReadOnlyAnimationEnviro
   }
 
   @Override
-  public ArrayList<ReadOnlyAnimatedShape> getShapes() {
+  public List<ReadOnlyAnimatedShape> getShapes() {
     return this.baseEnvironment.getShapes();
   }
 
@@ -1,6 +1,6 @@
 package model;
 
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents a read-only version of a {@code KeyframeEnvironment} that offers all of the
@@ -41,7 +41,7 @@ public class ReadOnlyKeyframeEnvironment implements ReadOnlyAnimationEnvironment
   }
 
   @Override
-  public ArrayList<ReadOnlyAnimatedShape> getShapes() {
+  public List<ReadOnlyAnimatedShape> getShapes() {
     return this.baseEnvironment.getShapes();
   }
 }
@@ -2,7 +2,7 @@ package model;
 
 import java.awt.Color;
 import java.awt.Dimension;
-import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -10,7 +10,7 @@ import java.util.Objects;
  * read-only capabilities as a {@code ReadOnlyAnimatedShape} so it can be used interchangeably with
  * one in the view.
  */
-public class ReadOnlyKeyframeShape implements ReadOnlyAnimatedShape {
+public class ReadOnlyKeyframeShape implements ReadOnlyAnimatedShape, KeyframeIndex {
   private final KeyframeAnimatedShape baseShape;
 
   /**
@@ -50,10 +50,30 @@ public class ReadOnlyKeyframeShape implements ReadOnlyAnimatedShape {
   }
 
   @Override
-  public ArrayList<ReadOnlyAnimatedShape> getLog() {
+  public List<ReadOnlyAnimatedShape> getLog() {
     return this.baseShape.getLog();
   }
 
+  @Override
+  public ReadOnlyAnimatedShape getKeyframe(int tick) {
+    return this.baseShape.getKeyframe(tick);
+  }
+
+  @Override
+  public ReadOnlyAnimatedShape floorKeyframe(int tick) {
+    return this.baseShape.floorKeyframe(tick);
+  }
+
+  @Override
+  public ReadOnlyAnimatedShape ceilingKeyframe(int tick) {
+    return this.baseShape.ceilingKeyframe(tick);
+  }
+
+  @Override
+  public List<ReadOnlyAnimatedShape> getKeyframes(int fromTick, int toTick) {
+    return this.baseShape.getKeyframes(fromTick, toTick);
+  }
+
   @Override
   public int getOrientation() {
     return this.baseShape.getOrientation();
@@ -0,0 +1,227 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents the shapes of an environment indexed by their names. Shapes are kept in the order
+ * they were added, which is the order they are rendered in, and can be added, removed and looked
+ * up by name in constant time. Lookups can either match a name exactly or ignore its case in the
+ * same way as {@link String#equalsIgnoreCase}.
+ *
+ * @param <T> The type of shape stored in {@code this} {@code ShapeRegistry}.
+ */
+final class ShapeRegistry<T> {
+
+  private final LinkedHashMap<String, T> byName;
+  private final HashMap<String, T> byFoldedName;
+  private int foldedCollisions;
+
+  //INVARIANT: byFoldedName maps the folded name of every shape to the earliest added shape with
+  //that folded name.
+  //INVARIANT: foldedCollisions is the number of shapes that were added with a folded name that was
+  //already in use.
+
+  /**
+   * Constructs an empty {@code ShapeRegistry}.
+   */
+  ShapeRegistry() {
+    this.byName = new LinkedHashMap<String, T>();
+    this.byFoldedName = new HashMap<String, T>();
+    this.foldedCollisions = 0;
+  }
+
+  /**
+   * Adds the given {@param shape} with the given {@param name} after all of the shapes already in
+   * {@code this} {@code ShapeRegistry}.
+   *
+   * @param name  The name of the shape to be added.
+   * @param shape The shape to be added.
+   * @throws IllegalArgumentException if the name or shape are null or if there is already a shape
+   *                                  with the given name.
+   */
+  void add(String name, T shape) {
+    if (name == null || shape == null) {
+      throw new IllegalArgumentException("Must add a valid shape!");
+    }
+    if (this.byName.containsKey(name)) {
+      throw new IllegalArgumentException("Shape with the given name " + name
+          + " already exists!");
+    }
+    this.byName.put(name, shape);
+    if (this.byFoldedName.putIfAbsent(fold(name), shape) != null) {
+      this.foldedCollisions++;
+    }
+  }
+
+  /**
+   * Adds the given {@param shape} with the given {@param name} so that it is the shape at the given
+   * {@param index} in order, which takes time proportional to the number of shapes unless it is
+   * added after all of them.
+   *
+   * @param index The index the shape is to have, from 0 to the number of shapes.
+   * @param name  The name of the shape to be added.
+   * @param shape The shape to be added.
+   * @throws IllegalArgumentException if the name or shape are null, if there is already a shape
+   *                                  with the given name, or if the index is out of range.
+   */
+  void add(int index, String name, T shape) {
+    if (index < 0 || index > this.byName.size()) {
+      throw new IllegalArgumentException("Invalid index!");
+    }
+    if (index == this.byName.size()) {
+      this.add(name, shape);
+      return;
+    }
+    if (name == null || shape == null) {
+      throw new IllegalArgumentException("Must add a valid shape!");
+    }
+    if (this.byName.containsKey(name)) {
+      throw new IllegalArgumentException("Shape with the given name " + name
+          + " already exists!");
+    }
+    List<Map.Entry<String, T>> entries = new ArrayList<Map.Entry<String, T>>(
+        this.byName.entrySet());
+    this.byName.clear();
+    this.byFoldedName.clear();
+    this.foldedCollisions = 0;
+    for (int i = 0; i < entries.size(); i++) {
+      if (i == index) {
+        this.add(name, shape);
+      }
+      this.add(entries.get(i).getKey(), entries.get(i).getValue());
+    }
+  }
+
+  /**
+   * Returns the index in order of the shape whose name is exactly the given {@param name}, which
+   * takes time proportional to the number of shapes.
+   *
+   * @param name The name of the shape to find.
+   * @return The index of the shape, or -1 if there is none.
+   */
+  int indexOf(String name) {
+    if (!this.byName.containsKey(name)) {
+      return -1;
+    }
+    int index = 0;
+    for (String key : this.byName.keySet()) {
+      if (key.equals(name)) {
+        return index;
+      }
+      index++;
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the shape whose name is exactly the given {@param name}.
+   *
+   * @param name The name of the shape to find.
+   * @return The shape with the given name, or null if there is none.
+   */
+  T get(String name) {
+    return this.byName.get(name);
+  }
+
+  /**
+   * Returns the earliest added shape whose name is equal to the given {@param name} when case is
+   * ignored.
+   *
+   * @param name The name of the shape to find.
+   * @return The shape with the given name ignoring case, or null if there is none.
+   */
+  T getIgnoreCase(String name) {
+    if (name == null) {
+      return null;
+    }
+    return this.byFoldedName.get(fold(name));
+  }
+
+  /**
+   * Determines if there is a shape whose name is exactly the given {@param name}.
+   *
+   * @param name The name of the shape to find.
+   * @return A boolean value where true indicates that there is a shape with the given name.
+   */
+  boolean contains(String name) {
+    return this.byName.containsKey(name);
+  }
+
+  /**
+   * Removes the shape whose name is exactly the given {@param name}.
+   *
+   * @param name The name of the shape to be removed.
+   * @return The shape that was removed, or null if there was none.
+   */
+  T remove(String name) {
+    T removed = this.byName.remove(name);
+    if (removed == null) {
+      return null;
+    }
+    String folded = fold(name);
+    if (this.byFoldedName.get(folded) == removed) {
+      this.byFoldedName.remove(folded);
+      if (this.foldedCollisions > 0) {
+        this.refold(folded);
+      }
+    } else {
+      this.foldedCollisions--;
+    }
+    return removed;
+  }
+
+  /**
+   * Returns the shapes in {@code this} {@code ShapeRegistry} in the order they were added.
+   *
+   * @return An unmodifiable view of the shapes in {@code this} {@code ShapeRegistry}.
+   */
+  Collection<T> values() {
+    return Collections.unmodifiableCollection(this.byName.values());
+  }
+
+  /**
+   * Returns the number of shapes in {@code this} {@code ShapeRegistry}.
+   *
+   * @return The number of shapes in {@code this} {@code ShapeRegistry}.
+   */
+  int size() {
+    return this.byName.size();
+  }
+
+  /**
+   * Finds the earliest added shape with the given {@param folded} name after the shape it used to
+   * refer to was removed. This only happens when names that differ only in case are in use.
+   *
+   * @param folded The folded name to find the next shape for.
+   */
+  private void refold(String folded) {
+    for (Map.Entry<String, T> entry : this.byName.entrySet()) {
+      if (fold(entry.getKey()).equals(folded)) {
+        this.byFoldedName.put(folded, entry.getValue());
+        this.foldedCollisions--;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Folds the case of the given {@param name} so that two names are equal ignoring case exactly
+   * when their folded names are equal.
+   *
+   * @param name The name to fold.
+   * @return The folded name.
+   */
+  static String fold(String name) {
+    char[] folded = new char[name.length()];
+    for (int i = 0; i < folded.length; i++) {
+      folded[i] = Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+    }
+    return new String(folded);
+  }
+}
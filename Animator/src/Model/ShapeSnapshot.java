@@ -0,0 +1,113 @@
+package model;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.util.List;
+
+/**
+ * Represents a shape of a {@code KeyframeSnapshot}, which never changes once it is taken. It holds
+ * the state the shape was in and the persistent {@code KeyframeTree} of its keyframes at that
+ * version, so taking it costs the same however many keyframes the shape has, and it can be read
+ * and queried by tick from any thread while the shape goes on being edited.
+ */
+final class ShapeSnapshot implements ReadOnlyAnimatedShape, KeyframeIndex {
+
+  private final KeyframeState state;
+  private final KeyframeTree keyframes;
+  private final List<ReadOnlyAnimatedShape> log;
+
+  /**
+   * Constructs a {@code ShapeSnapshot} of the given {@param shape} as it is now.
+   *
+   * @param shape The shape to take a snapshot of.
+   */
+  ShapeSnapshot(KeyframeAnimatedShapeImpl shape) {
+    this.state = new KeyframeState(shape);
+    this.keyframes = shape.keyframes();
+    this.log = this.keyframes.asList();
+  }
+
+  /**
+   * Returns the keyframes of the shape at the version of {@code this} {@code ShapeSnapshot}.
+   *
+   * @return The keyframes of the shape.
+   */
+  KeyframeTree keyframes() {
+    return this.keyframes;
+  }
+
+  @Override
+  public int getTime() {
+    return this.state.getTime();
+  }
+
+  @Override
+  public String getName() {
+    return this.state.getName();
+  }
+
+  @Override
+  public Dimension getBoundary() {
+    return this.state.getBoundary();
+  }
+
+  @Override
+  public Color getColor() {
+    return this.state.getColor();
+  }
+
+  @Override
+  public Position2D getPosn() {
+    return this.state.getPosn();
+  }
+
+  @Override
+  public List<ReadOnlyAnimatedShape> getLog() {
+    return this.log;
+  }
+
+  @Override
+  public ReadOnlyAnimatedShape getKeyframe(int tick) {
+    return this.keyframes.get(tick);
+  }
+
+  @Override
+  public ReadOnlyAnimatedShape floorKeyframe(int tick) {
+    return this.keyframes.floor(tick);
+  }
+
+  @Override
+  public ReadOnlyAnimatedShape ceilingKeyframe(int tick) {
+    return this.keyframes.ceiling(tick);
+  }
+
+  @Override
+  public List<ReadOnlyAnimatedShape> getKeyframes(int fromTick, int toTick) {
+    return this.keyframes.range(fromTick, toTick);
+  }
+
+  @Override
+  public int getOrientation() {
+    return this.state.getOrientation();
+  }
+
+  @Override
+  public Shapes getShapeType() {
+    return this.state.getShapeType();
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other == this || this.state.equals(other);
+  }
+
+  @Override
+  public int hashCode() {
+    return this.state.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return this.state.toString();
+  }
+}
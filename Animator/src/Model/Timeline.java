@@ -0,0 +1,207 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the ordered animation history of an {@code AnimatedShape}. Every logged state is kept
+ * in order of its time as it is inserted, so the history never has to be re-sorted. States with an
+ * equal time keep the order they were logged in.
+ *
+ * <p>The history is read as consecutive pairs of states, where the state at index {@code 2k} is
+ * the beginning and the state at index {@code 2k + 1} is the end of the {@code k}th segment. Since
+ * the states are in order, both the beginnings and the ends of the segments are in order, which
+ * lets the segment that is active at a given tick be found with a binary search.</p>
+ *
+ * <p>States are stored as {@code ReadOnlyAnimatedShape}s, so the log of a shape can be handed out
+ * without wrapping every state again. The unmodifiable list returned by {@link #view()} is cached
+ * until the next state is added.</p>
+ */
+public final class Timeline {
+
+  private final ArrayList<ReadOnlyAnimatedShape> states;
+  private List<ReadOnlyAnimatedShape> view;
+
+  //INVARIANT: states is in order of time, with states of an equal time in the order they were
+  //added.
+  //INVARIANT: view is either null or an unmodifiable copy of states.
+
+  /**
+   * Constructs an empty {@code Timeline}.
+   */
+  public Timeline() {
+    this.states = new ArrayList<ReadOnlyAnimatedShape>();
+    this.view = null;
+  }
+
+  /**
+   * Inserts the given {@param state} into {@code this} {@code Timeline} after every state whose
+   * time is less than or equal to its time. Appending a state that is not earlier than the latest
+   * state takes constant time. The given state must not be changed afterwards.
+   *
+   * @param state The state to be inserted.
+   * @throws IllegalArgumentException if the state is null.
+   */
+  void add(AnimatedShape state) {
+    if (state == null) {
+      throw new IllegalArgumentException("Must log a valid state!");
+    }
+    ReadOnlyAnimatedShape readOnlyState = new ReadOnlyAnimatedShapeImpl(state);
+    int size = this.states.size();
+    if (size == 0 || this.states.get(size - 1).getTime() <= state.getTime()) {
+      this.states.add(readOnlyState);
+    } else {
+      this.states.add(this.firstStateAfter(state.getTime()), readOnlyState);
+    }
+    this.view = null;
+  }
+
+  /**
+   * Returns the states of {@code this} {@code Timeline} in order as an unmodifiable list. The same
+   * list is returned until another state is added, so reading it repeatedly allocates nothing.
+   *
+   * @return An unmodifiable list of the states in {@code this} {@code Timeline}.
+   */
+  public List<ReadOnlyAnimatedShape> view() {
+    if (this.view == null) {
+      this.view = Collections.unmodifiableList(
+          new ArrayList<ReadOnlyAnimatedShape>(this.states));
+    }
+    return this.view;
+  }
+
+  /**
+   * Returns the number of states in {@code this} {@code Timeline}.
+   *
+   * @return The number of states in {@code this} {@code Timeline}.
+   */
+  public int size() {
+    return this.states.size();
+  }
+
+  /**
+   * Returns the state at the given {@param index} of {@code this} {@code Timeline}.
+   *
+   * @param index The index of the state to be returned.
+   * @return The state at the given index.
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   */
+  public ReadOnlyAnimatedShape get(int index) {
+    return this.states.get(index);
+  }
+
+  /**
+   * Returns the number of segments (pairs of beginning and ending states) in {@code this} {@code
+   * Timeline}.
+   *
+   * @return The number of segments in {@code this} {@code Timeline}.
+   */
+  public int segmentCount() {
+    return this.states.size() / 2;
+  }
+
+  /**
+   * Returns the earliest segment of {@code this} {@code Timeline} whose beginning is at or before
+   * the given {@param tick} and whose end is at or after it.
+   *
+   * @param tick The tick to find the active segment of.
+   * @return The index of the active segment, so that its beginning state is at {@code 2 * index}
+   *         and its end state is at {@code 2 * index + 1}, or -1 if no segment is active.
+   */
+  public int segmentAt(int tick) {
+    int segment = this.firstSegmentEndingAfter(tick - 1L);
+    if (segment < this.segmentCount() && this.states.get(2 * segment).getTime() <= tick) {
+      return segment;
+    }
+    return -1;
+  }
+
+  /**
+   * Determines if the open time interval from {@param initialTime} to {@param finalTime} overlaps
+   * the interior of any segment of {@code this} {@code Timeline}. Only the segments that could
+   * overlap are looked at, which are found with a binary search.
+   *
+   * @param initialTime The beginning of the time interval.
+   * @param finalTime   The end of the time interval.
+   * @return A boolean value where true indicates that the interval overlaps an existing segment.
+   */
+  public boolean overlaps(int initialTime, int finalTime) {
+    int last = this.firstSegmentStartingAtOrAfter(finalTime);
+    for (int i = this.firstSegmentEndingAfter(initialTime); i < last; i++) {
+      int start = this.states.get(2 * i).getTime();
+      int end = this.states.get(2 * i + 1).getTime();
+      if (initialTime > start && initialTime < end
+          || finalTime > start && finalTime < end
+          || start > initialTime && start < finalTime
+          || end > initialTime && end < finalTime) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the index of the first state whose time is after the given {@param time}.
+   *
+   * @param time The time to search for.
+   * @return The index of the first state after the given time, or the size of {@code this} {@code
+   *         Timeline} if there is none.
+   */
+  private int firstStateAfter(int time) {
+    int low = 0;
+    int high = this.states.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (this.states.get(mid).getTime() <= time) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Returns the index of the first segment whose end is after the given {@param time}.
+   *
+   * @param time The time to search for.
+   * @return The index of the first segment ending after the time, or the number of segments if
+   *         there is none.
+   */
+  private int firstSegmentEndingAfter(long time) {
+    int low = 0;
+    int high = this.segmentCount();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (this.states.get(2 * mid + 1).getTime() <= time) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Returns the index of the first segment whose beginning is at or after the given {@param
+   * time}.
+   *
+   * @param time The time to search for.
+   * @return The index of the first segment starting at or after the time, or the number of
+   *         segments if there is none.
+   */
+  private int firstSegmentStartingAtOrAfter(int time) {
+    int low = 0;
+    int high = this.segmentCount();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (this.states.get(2 * mid).getTime() < time) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
@@ -0,0 +1,67 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Represents a {@code KeyframeAnimationEnvironment} that remembers every edit made to it, so that
+ * edits can be undone and redone. Adding and deleting shapes and adding, editing and deleting
+ * keyframes are all edits. Making a new edit forgets every edit that was undone and not redone.
+ *
+ * <p>Every edit, undo and redo also publishes a new {@code KeyframeSnapshot} of the environment,
+ * which readers on any thread can hold and read without locks while the environment goes on being
+ * edited.</p>
+ */
+public interface UndoableKeyframeEnvironment extends KeyframeAnimationEnvironment {
+
+  /**
+   * Determines if there is an edit of {@code this} {@code UndoableKeyframeEnvironment} that can be
+   * undone.
+   *
+   * @return A boolean value where true indicates that there is an edit to undo.
+   */
+  boolean canUndo();
+
+  /**
+   * Determines if there is an undone edit of {@code this} {@code UndoableKeyframeEnvironment}
+   * that can be redone.
+   *
+   * @return A boolean value where true indicates that there is an edit to redo.
+   */
+  boolean canRedo();
+
+  /**
+   * Undoes the latest edit of {@code this} {@code UndoableKeyframeEnvironment} that has not been
+   * undone.
+   *
+   * @throws IllegalStateException if there is no edit to undo.
+   */
+  void undo();
+
+  /**
+   * Redoes the latest edit of {@code this} {@code UndoableKeyframeEnvironment} that was undone.
+   *
+   * @throws IllegalStateException if there is no edit to redo.
+   */
+  void redo();
+
+  /**
+   * Makes the given {@param edits} of keyframes to {@code this} {@code
+   * UndoableKeyframeEnvironment} in order, all together as a single edit that is undone and redone
+   * as a whole. Every edit is checked as if the edits before it had been made, and if any of them
+   * is invalid none of them are made. The keyframes of each shape edited are changed in one pass,
+   * and only one new version of the environment is published.
+   *
+   * @param edits The edits to make, in order.
+   * @throws IllegalArgumentException if any of the edits is invalid, as it would be if it were made
+   *                                  on its own after the edits before it.
+   */
+  void applyBatch(List<KeyframeEdit> edits);
+
+  /**
+   * Returns the latest version of {@code this} {@code UndoableKeyframeEnvironment} that was
+   * published, which never changes.
+   *
+   * @return The latest snapshot of the environment.
+   */
+  KeyframeSnapshot snapshot();
+}
@@ -5,7 +5,9 @@ import java.io.IOException;
 
 /**
  * An abstract class for text based views. Factors out the duplicate code in the constructors,
- * display, and setModel methods.
+ * display, and setModel methods. The text of a view is streamed to its output stream through a
+ * {@code TextEmitter} as it is written, so it never has to be held in memory as a whole, and each
+ * display is recorded as a Flight Recorder event.
  */
 public abstract class AbstractTextView implements AnimationView {
 
@@ -29,11 +31,24 @@ public abstract class AbstractTextView implements AnimationView {
     if (this.model == null) {
       throw new IllegalArgumentException("Must set model!");
     }
+    ExportEvent event = new ExportEvent();
+    event.begin();
+    //a new emitter each time, so that text left in the buffer by a failed display is never
+    //written at the start of the next one
+    TextEmitter emitter = new TextEmitter(this.out);
     try {
-      out.append(this.animationText());
+      this.write(emitter);
+      emitter.flush();
     } catch (IOException ioe) {
       throw new IllegalStateException("Append failed", ioe);
     }
+    event.end();
+    if (event.shouldCommit()) {
+      event.view = this.getClass().getSimpleName();
+      event.shapes = this.model.getShapes().size();
+      event.characters = emitter.written();
+      event.commit();
+    }
   }
 
   @Override
@@ -48,5 +63,23 @@ public abstract class AbstractTextView implements AnimationView {
    * @return A String of the animation details of the model assigned to {@code this} {@code
    * AbstractTextView} formatted to {@code this} {@code AbstractTextView}'s specifications.
    */
-  abstract String animationText();
+  String animationText() {
+    StringBuilder text = new StringBuilder();
+    TextEmitter emitter = new TextEmitter(text);
+    try {
+      this.write(emitter);
+      emitter.flush();
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Append failed", ioe);
+    }
+    return text.toString();
+  }
+
+  /**
+   * Writes the text of {@code this} {@code AbstractTextView} to the given {@param text}.
+   *
+   * @param text The emitter the text is written to.
+   * @throws IOException if the emitter cannot write to its output.
+   */
+  abstract void write(TextEmitter text) throws IOException;
 }
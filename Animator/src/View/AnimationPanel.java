@@ -1,24 +1,33 @@
 package view;
 
-import java.awt.geom.AffineTransform;
 import model.ReadOnlyAnimatedShape;
 import model.ReadOnlyAnimationEnvironment;
-import model.Shapes;
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import javax.swing.AbstractAction;
+import javax.swing.JComponent;
 import javax.swing.JPanel;
+import javax.swing.KeyStroke;
 
 /**
  * Represents the Visual View Panel for the Visual View. Handles the animation and illustration of
- * the set {@code AnimationEnvironment}.
+ * the set {@code AnimationEnvironment}. Every frame painted is timed in its {@code FrameStats},
+ * which pressing F3 shows over the animation.
  */
 public class AnimationPanel extends JPanel implements ActionListener {
 
   private ReadOnlyAnimationEnvironment model;
+  private FrameEvaluator compiled;
+  private final ShapePainter painter;
+  private final TimedSink timedPainter;
+  private final FrameStats stats;
+  private boolean showingStats;
   protected int ticks;
   protected boolean isLooping;
 
@@ -32,6 +41,37 @@ public class AnimationPanel extends JPanel implements ActionListener {
     this.ticks = 0;
     this.isLooping = false;
     this.model = null;
+    this.compiled = null;
+    this.painter = new ShapePainter();
+    this.timedPainter = new TimedSink(this.painter);
+    this.stats = new FrameStats();
+    this.showingStats = false;
+    this.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW)
+        .put(KeyStroke.getKeyStroke("F3"), "toggleStatsOverlay");
+    this.getActionMap().put("toggleStatsOverlay", new AbstractAction() {
+      @Override
+      public void actionPerformed(ActionEvent e) {
+        AnimationPanel.this.toggleStatsOverlay();
+      }
+    });
+  }
+
+  /**
+   * Shows the timings of the frames painted by {@code this} {@code AnimationPanel} over the
+   * animation if they are currently hidden and hides them if they are currently shown.
+   */
+  public void toggleStatsOverlay() {
+    this.showingStats = !this.showingStats;
+    this.repaint();
+  }
+
+  /**
+   * Returns the timings of the frames painted by {@code this} {@code AnimationPanel}.
+   *
+   * @return The timings of the frames painted.
+   */
+  public FrameStats getFrameStats() {
+    return this.stats;
   }
 
   /**
@@ -69,12 +109,19 @@ public class AnimationPanel extends JPanel implements ActionListener {
    */
   public void setModel(ReadOnlyAnimationEnvironment model) {
     this.model = model;
+    this.compiled = null;
     this.setPreferredSize(new Dimension(this.model.getWidth(), this.model.getHeight()));
     this.setBackground(new Color(0, 0, 0));
   }
 
   /**
-   * Paints the {@code AnimationEnvironment} {@code model} at the time {@code ticks}.
+   * Paints the {@code AnimationEnvironment} {@code model} at the time {@code ticks}. The model is
+   * prepared by a {@code FrameEvaluator} the first time it is painted and again whenever it has
+   * changed since, so painting a frame only looks up the active segment of each shape. A model
+   * mapped from a file is read straight from its records instead of being compiled. The
+   * time spent painting is recorded in the {@code FrameStats} of {@code this} {@code
+   * AnimationPanel} while they are enabled, and as a Flight Recorder event while one is
+   * recording.
    *
    * @param g The graphics component used to paint this frame.
    * @throws IllegalArgumentException if the shape type is unsupported.
@@ -84,115 +131,56 @@ public class AnimationPanel extends JPanel implements ActionListener {
     if (this.model == null) {
       throw new IllegalArgumentException("Model must be assigned!");
     }
+    FrameEvent event = new FrameEvent();
+    event.begin();
+    boolean timed = this.stats.isEnabled();
+    long start = System.nanoTime();
     super.paintComponent(g);
+    long cleared = System.nanoTime();
     Graphics2D g2D = (Graphics2D) g;
     g2D.setBackground(Color.BLACK);
-    ReadOnlyAnimatedShape beginState;
-    ReadOnlyAnimatedShape endState;
-    int beginTime;
-    int endTime;
-    double beginMultiplier;
-    double endMultiplier;
-
-    for (ReadOnlyAnimatedShape shape : this.model.getShapes()) {
-
-      for (int i = 0; i < shape.getLog().size() - 1; i++) {
-        if (shape.getLog().get(i).getTime() == shape.getLog().get(i + 1).getTime()) {
-          i++;
-        }
-        if (this.ticks >= shape.getLog().get(i).getTime() && this.ticks <= shape.getLog().get(i + 1)
-            .getTime()) {
-          beginState = shape.getLog().get(i);
-          endState = shape.getLog().get(i + 1);
-          beginTime = beginState.getTime();
-          endTime = endState.getTime();
-          beginMultiplier = (double) (endTime - this.ticks) / (endTime - beginTime);
-          endMultiplier = (double) (this.ticks - beginTime) / (endTime - beginTime);
-          double rotation;
-          if(beginState.getOrientation() == 360.0) {
-            rotation = Math.toRadians(endState.getOrientation() * endMultiplier);
-          } else {
-            rotation = Math.toRadians((beginState.getOrientation() * beginMultiplier)
-                + (endState.getOrientation() * endMultiplier));
-          }
-
-          double xTransformation = (beginState.getPosn().getX() +
-              beginState.getBoundary().getWidth()/2) * beginMultiplier
-              + (endState.getPosn().getX() + endState.getBoundary().getWidth()/2) * endMultiplier;
-          double yTransformation;
-
-          if(shape.getShapeType() == Shapes.Triangle) {
-            yTransformation = (beginState.getPosn().getY()
-                - beginState.getBoundary().getHeight() / 2) * beginMultiplier
-                + (endState.getPosn().getY()
-                - endState.getBoundary().getHeight() / 2) * endMultiplier;
-          } else {
-            yTransformation = (beginState.getPosn().getY()
-                + beginState.getBoundary().getHeight() / 2) * beginMultiplier
-                + (endState.getPosn().getY()
-                + endState.getBoundary().getHeight() / 2) * endMultiplier;
-          }
-          Graphics2D copy = (Graphics2D) g.create();
-
-          copy.rotate(rotation,
-              xTransformation, yTransformation);
-
-          copy.setColor(new Color(
-              (int) (beginState.getColor().getRed() * beginMultiplier
-                  + endState.getColor().getRed() * endMultiplier),
-              (int) (beginState.getColor().getGreen() * beginMultiplier
-                  + endState.getColor().getGreen() * endMultiplier),
-              (int) (beginState.getColor().getBlue() * beginMultiplier
-                  + endState.getColor().getBlue() * endMultiplier)));
+    if (this.compiled == null || !this.compiled.isCompiledFrom(this.model)) {
+      this.compiled = FrameEvaluator.of(this.model);
+    }
+    this.painter.setGraphics(g2D);
+    int drawn;
+    if (timed) {
+      this.timedPainter.takeNanos();
+      drawn = this.compiled.evaluate(this.ticks, this.timedPainter);
+      long drawNanos = cleared - start + this.timedPainter.takeNanos();
+      this.stats.record(System.nanoTime() - start - drawNanos, drawNanos, 0, drawn,
+          this.compiled.shapeCount() - drawn);
+    } else {
+      drawn = this.compiled.evaluate(this.ticks, this.painter);
+    }
+    event.end();
+    if (event.shouldCommit()) {
+      event.tick = this.ticks;
+      event.shapesDrawn = drawn;
+      event.shapesSkipped = this.compiled.shapeCount() - drawn;
+      event.commit();
+    }
+    if (this.showingStats) {
+      this.paintStats(g2D);
+    }
+  }
 
-          if (shape.getShapeType() == Shapes.Rectangle) {
-            copy.fillRect(
-                (int) (beginState.getPosn().getX() * beginMultiplier
-                    + endState.getPosn().getX() * endMultiplier),
-                (int) (beginState.getPosn().getY() * beginMultiplier
-                    + endState.getPosn().getY() * endMultiplier),
-                (int) (beginState.getBoundary().getWidth() * beginMultiplier
-                    + endState.getBoundary().getWidth() * endMultiplier),
-                (int) (beginState.getBoundary().getHeight() * beginMultiplier
-                    + endState.getBoundary().getHeight() * endMultiplier));
-          } else if (shape.getShapeType() == Shapes.Oval) {
-            copy.fillOval(
-                (int) (beginState.getPosn().getX() * beginMultiplier
-                    + endState.getPosn().getX() * endMultiplier),
-                (int) (beginState.getPosn().getY() * beginMultiplier
-                    + endState.getPosn().getY() * endMultiplier),
-                (int) (beginState.getBoundary().getWidth() * beginMultiplier
-                    + endState.getBoundary().getWidth() * endMultiplier),
-                (int) (beginState.getBoundary().getHeight() * beginMultiplier
-                    + endState.getBoundary().getHeight() * endMultiplier));
-          } else if (shape.getShapeType() == Shapes.Triangle) {
-            int[] xPoints = {(int) (beginState.getPosn().getX() * beginMultiplier
-                + endState.getPosn().getX() * endMultiplier),
-                (int) ((beginState.getPosn().getX() + beginState.getBoundary().getWidth() / 2)
-                    * beginMultiplier
-                    + (endState.getPosn().getX() + endState.getBoundary().getWidth() / 2)
-                    * endMultiplier),
-                (int) ((beginState.getPosn().getX() + beginState.getBoundary().getWidth())
-                    * beginMultiplier
-                    + (endState.getPosn().getX() + endState.getBoundary().getWidth())
-                    * endMultiplier)};
-            int[] yPoints = {(int) ((beginState.getPosn().getY()) * beginMultiplier
-                + (endState.getPosn().getY()) * endMultiplier),
-                (int) (((beginState.getPosn().getY() - beginState.getBoundary().getHeight()))
-                    * beginMultiplier
-                    + ((endState.getPosn().getY() - endState.getBoundary().getHeight()))
-                    * endMultiplier),
-                (int) ((beginState.getPosn().getY()) * beginMultiplier
-                    + (endState.getPosn().getY()) * endMultiplier)};
-            copy.fillPolygon(xPoints, yPoints, 3);
-          } else {
-            throw new IllegalArgumentException("Unsupported/Invalid shape");
-          }
-          copy.rotate(-rotation, xTransformation, yTransformation);
-          copy.dispose();
-          break;
-        }
-      }
+  /**
+   * Paints the summary of the timings of the frames painted so far in the top left corner of the
+   * visible part of {@code this} {@code AnimationPanel}.
+   *
+   * @param g2D The graphics component used to paint this frame.
+   */
+  private void paintStats(Graphics2D g2D) {
+    String[] lines = this.stats.summary();
+    Rectangle visible = this.getVisibleRect();
+    g2D.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+    int lineHeight = g2D.getFontMetrics().getHeight();
+    g2D.setColor(new Color(0, 0, 0, 160));
+    g2D.fillRect(visible.x, visible.y, 360, lineHeight * lines.length + 8);
+    g2D.setColor(Color.WHITE);
+    for (int i = 0; i < lines.length; i++) {
+      g2D.drawString(lines[i], visible.x + 4, visible.y + 4 + lineHeight * (i + 1) - 3);
     }
   }
 
@@ -215,6 +203,24 @@ public class AnimationPanel extends JPanel implements ActionListener {
     }
   }
 
+  /**
+   * Shows the given {@param tick} of the animation and repaints the scene. If {@code this} {@code
+   * AnimationPanel} is set to loop, a tick past the end of the animation wraps around to the
+   * start, just as counting the ticks up one by one would.
+   *
+   * @param tick The tick to be shown, counted from the start of playback.
+   * @return The tick that is shown.
+   */
+  public int showTick(int tick) {
+    int latestTime = this.latestTime();
+    if (this.isLooping && tick > latestTime) {
+      tick = tick % (latestTime + 1);
+    }
+    this.setTick(tick);
+    this.repaint();
+    return tick;
+  }
+
   /**
    * Returns the latest time in the read-only model stored in {@code this} {@code AnimationPanel}.
    *
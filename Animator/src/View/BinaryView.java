@@ -0,0 +1,192 @@
+package view;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import model.ReadOnlyAnimatedShape;
+import model.ReadOnlyAnimationEnvironment;
+
+/**
+ * Represents a view that writes the animation in a compact binary form, which can be read back
+ * into any {@code AnimationBuilder} much faster than the text form. The motions written are the
+ * consecutive pairs of logged states of each shape, exactly as the {@code TextView} lists them, so
+ * reading them back logs the same states.
+ *
+ * <p>Every integer is written as a zigzag-encoded varint, so small magnitudes take a single byte.
+ * The file is laid out as follows:</p>
+ * <ul>
+ *   <li>The magic number {@code ANIM} and the version as a single byte.</li>
+ *   <li>The x, y, width and height of the canvas.</li>
+ *   <li>The number of shapes, then the name of each shape as its length and UTF-8 bytes, followed
+ *   by the ordinal of its type.</li>
+ *   <li>For every shape in order, the number of motions and whether a lone keyframe follows
+ *   them, then every motion. The initial time, x, y, width, height, red, green, blue and
+ *   orientation of a motion are each written as the difference from the final value of the
+ *   previous motion of the shape, and the final values as the difference from the initial
+ *   values. A shape whose only state is a keyframe has no motions, and its keyframe follows as
+ *   the nine values themselves.</li>
+ * </ul>
+ *
+ * <p>The logs of the models this reads always hold whole motions or a single keyframe, so no
+ * other trailing state is written.</p>
+ */
+public class BinaryView implements AnimationView {
+
+  public static final int MAGIC = 0x414E494D;
+  public static final int VERSION = 1;
+  public static final int FIELDS = 9;
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private ReadOnlyAnimationEnvironment model;
+  private final OutputStream out;
+  private final byte[] buffer;
+  private int count;
+
+  /**
+   * Constructs a {@code BinaryView} that writes to the given {@param out}.
+   *
+   * @param out The stream the animation is written to.
+   */
+  public BinaryView(OutputStream out) {
+    //specifically assign null here because I specifically mean it to refer to the absence of a
+    //model and use it to throw an exception if no model has been assigned.
+    this.model = null;
+    this.out = Objects.requireNonNull(out, "Must have non-null output stream");
+    this.buffer = new byte[BUFFER_SIZE];
+    this.count = 0;
+  }
+
+  @Override
+  public void setModel(ReadOnlyAnimationEnvironment model) {
+    this.model = model;
+  }
+
+  /**
+   * Writes the model of {@code this} {@code BinaryView} to its output stream.
+   *
+   * @throws IllegalArgumentException if no model has been set.
+   * @throws IllegalStateException    if the animation cannot be written.
+   */
+  @Override
+  public void display() {
+    if (this.model == null) {
+      throw new IllegalArgumentException("Must set model!");
+    }
+    try {
+      this.writeByte(MAGIC >>> 24);
+      this.writeByte(MAGIC >>> 16);
+      this.writeByte(MAGIC >>> 8);
+      this.writeByte(MAGIC);
+      this.writeByte(VERSION);
+      this.writeInt(this.model.getX());
+      this.writeInt(this.model.getY());
+      this.writeInt(this.model.getWidth());
+      this.writeInt(this.model.getHeight());
+
+      List<ReadOnlyAnimatedShape> shapes = this.model.getShapes();
+      this.writeInt(shapes.size());
+      for (ReadOnlyAnimatedShape shape : shapes) {
+        byte[] name = shape.getName().getBytes(StandardCharsets.UTF_8);
+        this.writeInt(name.length);
+        for (byte b : name) {
+          this.writeByte(b);
+        }
+        this.writeInt(shape.getShapeType().ordinal());
+      }
+
+      int[] previous = new int[FIELDS];
+      int[] initial = new int[FIELDS];
+      int[] last = new int[FIELDS];
+      for (ReadOnlyAnimatedShape shape : shapes) {
+        List<ReadOnlyAnimatedShape> log = shape.getLog();
+        int motions = log.size() / 2;
+        boolean keyframe = log.size() == 1;
+        this.writeInt(motions);
+        this.writeInt(keyframe ? 1 : 0);
+        Arrays.fill(previous, 0);
+        for (int i = 0; i < motions; i++) {
+          this.fields(log.get(2 * i), initial);
+          this.fields(log.get(2 * i + 1), last);
+          for (int f = 0; f < FIELDS; f++) {
+            this.writeInt(initial[f] - previous[f]);
+          }
+          for (int f = 0; f < FIELDS; f++) {
+            this.writeInt(last[f] - initial[f]);
+          }
+          System.arraycopy(last, 0, previous, 0, FIELDS);
+        }
+        if (keyframe) {
+          this.fields(log.get(0), initial);
+          for (int f = 0; f < FIELDS; f++) {
+            this.writeInt(initial[f]);
+          }
+        }
+      }
+      this.flush();
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Write failed", ioe);
+    }
+  }
+
+  /**
+   * Stores the values of the given {@param state} that are written for a motion into the given
+   * {@param fields}.
+   *
+   * @param state  The state to read the values of.
+   * @param fields The array to store the values in.
+   */
+  private void fields(ReadOnlyAnimatedShape state, int[] fields) {
+    fields[0] = state.getTime();
+    fields[1] = (int) state.getPosn().getX();
+    fields[2] = (int) state.getPosn().getY();
+    fields[3] = (int) state.getBoundary().getWidth();
+    fields[4] = (int) state.getBoundary().getHeight();
+    fields[5] = state.getColor().getRed();
+    fields[6] = state.getColor().getGreen();
+    fields[7] = state.getColor().getBlue();
+    fields[8] = state.getOrientation();
+  }
+
+  /**
+   * Writes the given {@param value} as a zigzag-encoded varint.
+   *
+   * @param value The value to be written.
+   * @throws IOException if the buffer cannot be flushed.
+   */
+  private void writeInt(int value) throws IOException {
+    int zigzag = (value << 1) ^ (value >> 31);
+    while ((zigzag & ~0x7F) != 0) {
+      this.writeByte((zigzag & 0x7F) | 0x80);
+      zigzag >>>= 7;
+    }
+    this.writeByte(zigzag);
+  }
+
+  /**
+   * Writes the lowest byte of the given {@param value}.
+   *
+   * @param value The byte to be written.
+   * @throws IOException if the buffer cannot be flushed.
+   */
+  private void writeByte(int value) throws IOException {
+    if (this.count == this.buffer.length) {
+      this.flush();
+    }
+    this.buffer[this.count++] = (byte) value;
+  }
+
+  /**
+   * Writes everything in the buffer to the output stream.
+   *
+   * @throws IOException if the output stream cannot be written to.
+   */
+  private void flush() throws IOException {
+    this.out.write(this.buffer, 0, this.count);
+    this.out.flush();
+    this.count = 0;
+  }
+}
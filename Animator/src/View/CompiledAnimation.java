@@ -0,0 +1,261 @@
+package view;
+
+import java.util.List;
+import model.ReadOnlyAnimatedShape;
+import model.ReadOnlyAnimationEnvironment;
+import model.Shapes;
+
+/**
+ * Represents a {@code ReadOnlyAnimationEnvironment} compiled into flat arrays of segments so that
+ * any frame of it can be evaluated without searching through the logs of its shapes or allocating
+ * any objects. Every segment holds the times, positions, sizes, colors and orientations of its
+ * beginning and end state, and the segments of each shape are stored together in order of time.
+ *
+ * <p>A {@code CompiledAnimation} is a snapshot of the environment it was compiled from. Since the
+ * environments hand out the same lists of shapes and logs until they are changed, {@link
+ * #isCompiledFrom(ReadOnlyAnimationEnvironment)} can cheaply tell if it has to be compiled
+ * again.</p>
+ */
+public final class CompiledAnimation implements FrameEvaluator {
+
+  private final List<ReadOnlyAnimatedShape> shapes;
+  private final List<?>[] logs;
+  private final Shapes[] types;
+  private final int[] firstSegment;
+
+  private final double[] beginTime;
+  private final double[] endTime;
+  private final double[] beginX;
+  private final double[] beginY;
+  private final double[] beginWidth;
+  private final double[] beginHeight;
+  private final double[] endX;
+  private final double[] endY;
+  private final double[] endWidth;
+  private final double[] endHeight;
+  private final int[] beginRed;
+  private final int[] beginGreen;
+  private final int[] beginBlue;
+  private final int[] endRed;
+  private final int[] endGreen;
+  private final int[] endBlue;
+  private final double[] beginOrientation;
+  private final double[] endOrientation;
+
+  //INVARIANT: the segments of the shape at index s are at the indices from firstSegment[s] up to
+  //but not including firstSegment[s + 1], in order of both their beginning and ending times.
+
+  /**
+   * Compiles the given {@param model} into a {@code CompiledAnimation}.
+   *
+   * @param model The environment to be compiled.
+   */
+  private CompiledAnimation(ReadOnlyAnimationEnvironment model) {
+    this.shapes = model.getShapes();
+    this.logs = new List<?>[this.shapes.size()];
+    this.types = new Shapes[this.shapes.size()];
+    this.firstSegment = new int[this.shapes.size() + 1];
+
+    int capacity = 0;
+    for (int s = 0; s < this.shapes.size(); s++) {
+      this.logs[s] = this.shapes.get(s).getLog();
+      this.types[s] = this.shapes.get(s).getShapeType();
+      capacity += Math.max(this.logs[s].size() - 1, 0);
+    }
+
+    this.beginTime = new double[capacity];
+    this.endTime = new double[capacity];
+    this.beginX = new double[capacity];
+    this.beginY = new double[capacity];
+    this.beginWidth = new double[capacity];
+    this.beginHeight = new double[capacity];
+    this.endX = new double[capacity];
+    this.endY = new double[capacity];
+    this.endWidth = new double[capacity];
+    this.endHeight = new double[capacity];
+    this.beginRed = new int[capacity];
+    this.beginGreen = new int[capacity];
+    this.beginBlue = new int[capacity];
+    this.endRed = new int[capacity];
+    this.endGreen = new int[capacity];
+    this.endBlue = new int[capacity];
+    this.beginOrientation = new double[capacity];
+    this.endOrientation = new double[capacity];
+
+    int segments = 0;
+    for (int s = 0; s < this.shapes.size(); s++) {
+      this.firstSegment[s] = segments;
+      List<ReadOnlyAnimatedShape> log = this.shapes.get(s).getLog();
+      //Consecutive states are paired the same way the logs have always been played back, where
+      //the first of two states at the same time is skipped.
+      for (int i = 0; i < log.size() - 1; i++) {
+        if (log.get(i).getTime() == log.get(i + 1).getTime()) {
+          i++;
+        }
+        if (i + 1 >= log.size()) {
+          break;
+        }
+        this.setSegment(segments, log.get(i), log.get(i + 1));
+        segments++;
+      }
+    }
+    this.firstSegment[this.shapes.size()] = segments;
+  }
+
+  /**
+   * Compiles the given {@param model} into a {@code CompiledAnimation}.
+   *
+   * @param model The environment to be compiled.
+   * @return The compiled animation of the given environment.
+   * @throws IllegalArgumentException if the model is null.
+   */
+  public static CompiledAnimation compile(ReadOnlyAnimationEnvironment model) {
+    if (model == null) {
+      throw new IllegalArgumentException("Model must be assigned!");
+    }
+    return new CompiledAnimation(model);
+  }
+
+  /**
+   * Determines if {@code this} {@code CompiledAnimation} is up to date with the given {@param
+   * model}, which is the case when the model still hands out the same shapes and logs it did when
+   * {@code this} {@code CompiledAnimation} was compiled.
+   *
+   * @param model The environment to compare against.
+   * @return A boolean value where true indicates that {@code this} {@code CompiledAnimation} is
+   *         up to date with the given environment.
+   */
+  @Override
+  public boolean isCompiledFrom(ReadOnlyAnimationEnvironment model) {
+    if (model == null || model.getShapes() != this.shapes) {
+      return false;
+    }
+    for (int s = 0; s < this.logs.length; s++) {
+      if (this.shapes.get(s).getLog() != this.logs[s]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the number of shapes in {@code this} {@code CompiledAnimation}.
+   *
+   * @return The number of shapes in {@code this} {@code CompiledAnimation}.
+   */
+  @Override
+  public int shapeCount() {
+    return this.types.length;
+  }
+
+  /**
+   * Returns the number of segments of every shape in {@code this} {@code CompiledAnimation}.
+   *
+   * @return The total number of segments in {@code this} {@code CompiledAnimation}.
+   */
+  public int segmentCount() {
+    return this.firstSegment[this.types.length];
+  }
+
+  /**
+   * Evaluates the frame of {@code this} {@code CompiledAnimation} at the given {@param tick},
+   * giving every shape that is visible at that tick to the given {@param sink} in order. The
+   * active segment of each shape is found with a binary search and nothing is allocated.
+   *
+   * @param tick The tick to evaluate the frame at.
+   * @param sink The consumer of the shapes of the frame.
+   * @return The number of shapes given to the sink, which are the shapes visible at the tick.
+   * @throws IllegalArgumentException if the sink is null.
+   */
+  @Override
+  public int evaluate(double tick, FrameSink sink) {
+    if (sink == null) {
+      throw new IllegalArgumentException("Must evaluate into a valid sink!");
+    }
+    int visible = 0;
+    for (int s = 0; s < this.types.length; s++) {
+      int segment = this.activeSegment(s, tick);
+      if (segment < 0) {
+        continue;
+      }
+      double beginMultiplier = (this.endTime[segment] - tick)
+          / (this.endTime[segment] - this.beginTime[segment]);
+      double endMultiplier = (tick - this.beginTime[segment])
+          / (this.endTime[segment] - this.beginTime[segment]);
+      double rotation;
+      if (this.beginOrientation[segment] == 360.0) {
+        rotation = Math.toRadians(this.endOrientation[segment] * endMultiplier);
+      } else {
+        rotation = Math.toRadians(this.beginOrientation[segment] * beginMultiplier
+            + this.endOrientation[segment] * endMultiplier);
+      }
+      sink.shape(this.types[s],
+          this.beginX[segment] * beginMultiplier + this.endX[segment] * endMultiplier,
+          this.beginY[segment] * beginMultiplier + this.endY[segment] * endMultiplier,
+          this.beginWidth[segment] * beginMultiplier + this.endWidth[segment] * endMultiplier,
+          this.beginHeight[segment] * beginMultiplier + this.endHeight[segment] * endMultiplier,
+          (int) (this.beginRed[segment] * beginMultiplier + this.endRed[segment] * endMultiplier),
+          (int) (this.beginGreen[segment] * beginMultiplier
+              + this.endGreen[segment] * endMultiplier),
+          (int) (this.beginBlue[segment] * beginMultiplier
+              + this.endBlue[segment] * endMultiplier),
+          rotation);
+      visible++;
+    }
+    return visible;
+  }
+
+  /**
+   * Returns the earliest segment of the shape at the given {@param shape} index that begins at or
+   * before the given {@param tick} and ends at or after it.
+   *
+   * @param shape The index of the shape.
+   * @param tick  The tick to find the active segment at.
+   * @return The index of the active segment, or -1 if the shape is not visible at the tick.
+   */
+  private int activeSegment(int shape, double tick) {
+    int low = this.firstSegment[shape];
+    int high = this.firstSegment[shape + 1];
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (this.endTime[mid] < tick) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    if (low < this.firstSegment[shape + 1] && this.beginTime[low] <= tick) {
+      return low;
+    }
+    return -1;
+  }
+
+  /**
+   * Stores the segment from the given {@param begin} state to the given {@param end} state at the
+   * given {@param index}.
+   *
+   * @param index The index to store the segment at.
+   * @param begin The beginning state of the segment.
+   * @param end   The ending state of the segment.
+   */
+  private void setSegment(int index, ReadOnlyAnimatedShape begin, ReadOnlyAnimatedShape end) {
+    this.beginTime[index] = begin.getTime();
+    this.endTime[index] = end.getTime();
+    this.beginX[index] = begin.getPosn().getX();
+    this.beginY[index] = begin.getPosn().getY();
+    this.beginWidth[index] = begin.getBoundary().getWidth();
+    this.beginHeight[index] = begin.getBoundary().getHeight();
+    this.endX[index] = end.getPosn().getX();
+    this.endY[index] = end.getPosn().getY();
+    this.endWidth[index] = end.getBoundary().getWidth();
+    this.endHeight[index] = end.getBoundary().getHeight();
+    this.beginRed[index] = begin.getColor().getRed();
+    this.beginGreen[index] = begin.getColor().getGreen();
+    this.beginBlue[index] = begin.getColor().getBlue();
+    this.endRed[index] = end.getColor().getRed();
+    this.endGreen[index] = end.getColor().getGreen();
+    this.endBlue[index] = end.getColor().getBlue();
+    this.beginOrientation[index] = begin.getOrientation();
+    this.endOrientation[index] = end.getOrientation();
+  }
+}
@@ -14,14 +14,27 @@ import model.ReadOnlyAnimationEnvironment;
  * Represents an editable visual view, where the user can dynamically change elements of the
  * animation (such as time flow, looping, and the states, behaviors, and animations of all the
  * shapes in the environment).
+ *
+ * <p>While the animation plays, a timer repaints it at a fixed frame rate, and every frame shows
+ * the tick that a {@code PlaybackClock} gives for the time elapsed since playback started. Ticks
+ * are never counted frame by frame, so playback does not drift behind on long animations and
+ * plays faster than one tick per frame at speeds above the frame rate.</p>
  */
 public class EditableViewImpl extends JFrame implements EditableView, AnimationView {
 
+  private static final int FRAMES_PER_SECOND = 60;
+
   protected AnimationPanel environmentPanel;
   protected TimeFlowPanel timeFlow;
   protected KeyframeShapesPanel shapeKeyframes;
   protected final Timer clock;
   protected int ticksPerSecond;
+  private PlaybackClock playback;
+  private int startTick;
+  private int shownTick;
+
+  //INVARIANT: while the clock is running, playback started at startTick and shownTick is the last
+  //tick shown, counted from the start of the animation without wrapping around.
 
   /**
    * Constructs an {@code EditableView} that initially loops through the animations of the
@@ -33,8 +46,11 @@ public class EditableViewImpl extends JFrame implements EditableView, AnimationV
     super();
     this.ticksPerSecond = ticksPerSecond;
     this.environmentPanel = new AnimationPanel();
-    this.clock = new Timer((int) (1.0 / ticksPerSecond * 1000), this.environmentPanel);
+    this.clock = new Timer(1000 / FRAMES_PER_SECOND, e -> this.advance());
     this.clock.stop();
+    this.playback = null;
+    this.startTick = 0;
+    this.shownTick = 0;
 
     this.setTitle("Excellence Animator");
     this.setSize(1000, 800);
@@ -49,9 +65,10 @@ public class EditableViewImpl extends JFrame implements EditableView, AnimationV
     JSplitPane topBottom = new JSplitPane(JSplitPane.VERTICAL_SPLIT, scrollableEnvironment,
         new JScrollPane((Component) this.timeFlow));
     JSplitPane leftRight = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, topBottom,
-        new JScrollPane(this.shapeKeyframes));
+        this.shapeKeyframes);
     this.add(leftRight);
     this.pack();
+    this.environmentPanel.getFrameStats().register("EditableView");
 
     this.setVisible(true);
   }
@@ -68,6 +85,7 @@ public class EditableViewImpl extends JFrame implements EditableView, AnimationV
     if (this.clock.isRunning()) {
       this.clock.stop();
     } else {
+      this.startPlayback();
       this.clock.start();
     }
     this.timeFlow.togglePlayButton();
@@ -79,9 +97,21 @@ public class EditableViewImpl extends JFrame implements EditableView, AnimationV
     this.timeFlow.toggleLooping();
   }
 
+  /**
+   * Sets the speed of the animation, which carries on playing from the tick it is showing if it is
+   * playing.
+   *
+   * @throws IllegalArgumentException if the speed is not positive.
+   */
   @Override
   public void setSpeed(int ticksPerSecond) {
-    this.clock.setDelay((int) (1.0 / ticksPerSecond * 1000));
+    if (ticksPerSecond < 1) {
+      throw new IllegalArgumentException("Speed must be positive!");
+    }
+    this.ticksPerSecond = ticksPerSecond;
+    if (this.clock.isRunning()) {
+      this.startPlayback();
+    }
   }
 
   @Override
@@ -115,4 +145,26 @@ public class EditableViewImpl extends JFrame implements EditableView, AnimationV
     }
   }
 
+  /**
+   * Starts a new {@code PlaybackClock} at the current speed from the tick the animation is
+   * showing now.
+   */
+  private void startPlayback() {
+    this.startTick = this.environmentPanel.getTick();
+    this.shownTick = this.startTick;
+    this.playback = new PlaybackClock(this.ticksPerSecond, FRAMES_PER_SECOND, 0, false);
+    this.playback.start(System.nanoTime());
+  }
+
+  /**
+   * Shows the tick that is due now, repainting the animation only if it is not already showing.
+   */
+  private void advance() {
+    int tick = this.startTick + (int) this.playback.tickAt(System.nanoTime());
+    if (tick != this.shownTick) {
+      this.shownTick = tick;
+      this.environmentPanel.showTick(tick);
+    }
+  }
+
 }
@@ -0,0 +1,29 @@
+package view;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents the Flight Recorder event of a text view writing out its model.
+ */
+@Name("animator.Export")
+@Label("Export Animation")
+@Category({"Animator", "Export"})
+@Description("An animation written out by a text view")
+final class ExportEvent extends jdk.jfr.Event {
+
+  @Label("View")
+  @Description("The class of the view")
+  String view;
+
+  @Label("Shapes")
+  int shapes;
+
+  @Label("Characters")
+  @Description("The number of characters written")
+  @DataAmount(DataAmount.BYTES)
+  long characters;
+}
@@ -0,0 +1,56 @@
+package view;
+
+import model.MappedAnimationEnvironment;
+import model.ReadOnlyAnimationEnvironment;
+
+/**
+ * Represents an animation prepared so that any frame of it can be evaluated into a {@code
+ * FrameSink} without allocating any objects. Environments held in memory are compiled into a
+ * {@code CompiledAnimation}, while environments mapped from a file are evaluated straight from
+ * their records, so they are never copied onto the heap.
+ */
+public interface FrameEvaluator {
+
+  /**
+   * Prepares the given {@param model} for its frames to be evaluated, compiling it into a {@code
+   * CompiledAnimation} unless it is a {@code MappedAnimationEnvironment}.
+   *
+   * @param model The environment to be evaluated.
+   * @return The evaluator of the frames of the given environment.
+   * @throws IllegalArgumentException if the model is null.
+   */
+  static FrameEvaluator of(ReadOnlyAnimationEnvironment model) {
+    if (model instanceof MappedAnimationEnvironment) {
+      return new MappedFrameEvaluator((MappedAnimationEnvironment) model);
+    }
+    return CompiledAnimation.compile(model);
+  }
+
+  /**
+   * Determines if {@code this} {@code FrameEvaluator} is up to date with the given {@param
+   * model}, so that it evaluates the same frames the model would be played back as.
+   *
+   * @param model The environment to compare against.
+   * @return A boolean value where true indicates that {@code this} {@code FrameEvaluator} is up
+   *         to date with the given environment.
+   */
+  boolean isCompiledFrom(ReadOnlyAnimationEnvironment model);
+
+  /**
+   * Returns the number of shapes evaluated by {@code this} {@code FrameEvaluator}.
+   *
+   * @return The number of shapes of the animation.
+   */
+  int shapeCount();
+
+  /**
+   * Evaluates the frame at the given {@param tick}, giving every shape that is visible at that
+   * tick to the given {@param sink} in order.
+   *
+   * @param tick The tick to evaluate the frame at.
+   * @param sink The consumer of the shapes of the frame.
+   * @return The number of shapes given to the sink, which are the shapes visible at the tick.
+   * @throws IllegalArgumentException if the sink is null.
+   */
+  int evaluate(double tick, FrameSink sink);
+}
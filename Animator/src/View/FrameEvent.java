@@ -0,0 +1,25 @@
+package view;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents the Flight Recorder event of painting a single frame of an animation.
+ */
+@Name("animator.Frame")
+@Label("Animation Frame")
+@Category({"Animator", "Paint"})
+@Description("A frame of an animation painted")
+final class FrameEvent extends jdk.jfr.Event {
+
+  @Label("Tick")
+  double tick;
+
+  @Label("Shapes Drawn")
+  int shapesDrawn;
+
+  @Label("Shapes Skipped")
+  int shapesSkipped;
+}
@@ -0,0 +1,28 @@
+package view;
+
+import model.Shapes;
+
+/**
+ * Represents a consumer of the frames produced by a {@code FrameEvaluator}. Each visible shape
+ * of a frame is given to {@code this} {@code FrameSink} in the order the shapes were added to the
+ * animation, which is the order they should be drawn in.
+ */
+public interface FrameSink {
+
+  /**
+   * Receives a single shape of the frame being evaluated, already interpolated to the tick of the
+   * frame.
+   *
+   * @param type     The type of the shape.
+   * @param x        The x coordinate of the top left corner of the shape.
+   * @param y        The y coordinate of the top left corner of the shape.
+   * @param width    The width of the shape.
+   * @param height   The height of the shape.
+   * @param red      The red component of the color of the shape.
+   * @param green    The green component of the color of the shape.
+   * @param blue     The blue component of the color of the shape.
+   * @param rotation The clockwise rotation of the shape about its center, in radians.
+   */
+  void shape(Shapes type, double x, double y, double width, double height, int red, int green,
+      int blue, double rotation);
+}
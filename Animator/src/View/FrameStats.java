@@ -0,0 +1,234 @@
+package view;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Represents the timings of the frames drawn by a view, split into the phases of a frame. The
+ * time spent evaluating a frame is the time spent finding and interpolating the visible shapes,
+ * the time spent drawing it is the time spent in Java2D filling the background and the shapes,
+ * and the time spent presenting it is the time spent showing a finished frame on screen, which
+ * only views that render actively do. The number of shapes drawn and skipped in each frame is
+ * counted as well.
+ *
+ * <p>Recording a frame allocates nothing, so timing frames does not disturb the garbage
+ * collection being measured. Frames are recorded by the single thread that draws them, while the
+ * timings may be read from any thread, such as through JMX once {@link #register(String)} has
+ * been called.</p>
+ */
+public final class FrameStats implements FrameStatsMBean {
+
+  private static final long NANOS_PER_MICRO = 1000;
+
+  private final LatencyHistogram frame;
+  private final LatencyHistogram evaluate;
+  private final LatencyHistogram draw;
+  private final LatencyHistogram present;
+  private final GarbageCollectorMXBean[] collectors;
+  private volatile boolean enabled;
+  private long shapesDrawn;
+  private long shapesSkipped;
+  private long gcBaseline;
+
+  /**
+   * Constructs an empty {@code FrameStats} that times frames.
+   */
+  public FrameStats() {
+    this.frame = new LatencyHistogram();
+    this.evaluate = new LatencyHistogram();
+    this.draw = new LatencyHistogram();
+    this.present = new LatencyHistogram();
+    List<GarbageCollectorMXBean> beans = ManagementFactory.getGarbageCollectorMXBeans();
+    this.collectors = beans.toArray(new GarbageCollectorMXBean[0]);
+    this.enabled = true;
+    this.shapesDrawn = 0;
+    this.shapesSkipped = 0;
+    this.gcBaseline = this.collectionMillis();
+  }
+
+  /**
+   * Records a single frame.
+   *
+   * @param evaluateNanos The nanoseconds spent evaluating the frame.
+   * @param drawNanos     The nanoseconds spent drawing the frame.
+   * @param presentNanos  The nanoseconds spent presenting the frame.
+   * @param drawn         The number of shapes drawn.
+   * @param skipped       The number of shapes skipped.
+   */
+  public void record(long evaluateNanos, long drawNanos, long presentNanos, int drawn,
+      int skipped) {
+    this.frame.record(evaluateNanos + drawNanos + presentNanos);
+    this.evaluate.record(evaluateNanos);
+    this.draw.record(drawNanos);
+    this.present.record(presentNanos);
+    this.shapesDrawn += drawn;
+    this.shapesSkipped += skipped;
+  }
+
+  /**
+   * Registers {@code this} {@code FrameStats} with the platform MBean server under the given
+   * {@param name}, replacing anything registered under that name before.
+   *
+   * @param name The name the timings are registered under.
+   * @throws IllegalStateException if the timings cannot be registered.
+   */
+  public void register(String name) {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName objectName = new ObjectName("animator:type=FrameStats,name="
+          + ObjectName.quote(name));
+      if (server.isRegistered(objectName)) {
+        server.unregisterMBean(objectName);
+      }
+      server.registerMBean(this, objectName);
+    } catch (JMException jme) {
+      throw new IllegalStateException("Register failed", jme);
+    }
+  }
+
+  /**
+   * Returns the lines of text that summarize the timings, as an overlay shows them.
+   *
+   * @return The summary of the timings.
+   */
+  public String[] summary() {
+    return new String[] {
+        "frames " + this.getFrameCount() + "  gc " + this.getGcMillis() + " ms",
+        line("frame", this.frame),
+        line("evaluate", this.evaluate),
+        line("draw", this.draw),
+        line("present", this.present),
+        "shapes drawn " + this.shapesDrawn + "  skipped " + this.shapesSkipped};
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return this.enabled;
+  }
+
+  @Override
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  @Override
+  public long getFrameCount() {
+    return this.frame.count();
+  }
+
+  @Override
+  public long getShapesDrawn() {
+    return this.shapesDrawn;
+  }
+
+  @Override
+  public long getShapesSkipped() {
+    return this.shapesSkipped;
+  }
+
+  @Override
+  public long getGcMillis() {
+    return this.collectionMillis() - this.gcBaseline;
+  }
+
+  @Override
+  public long getFrameP50Micros() {
+    return this.frame.percentile(50) / NANOS_PER_MICRO;
+  }
+
+  @Override
+  public long getFrameP99Micros() {
+    return this.frame.percentile(99) / NANOS_PER_MICRO;
+  }
+
+  @Override
+  public long getFrameMaxMicros() {
+    return this.frame.max() / NANOS_PER_MICRO;
+  }
+
+  @Override
+  public long getEvaluateP50Micros() {
+    return this.evaluate.percentile(50) / NANOS_PER_MICRO;
+  }
+
+  @Override
+  public long getEvaluateP99Micros() {
+    return this.evaluate.percentile(99) / NANOS_PER_MICRO;
+  }
+
+  @Override
+  public long getEvaluateMaxMicros() {
+    return this.evaluate.max() / NANOS_PER_MICRO;
+  }
+
+  @Override
+  public long getDrawP50Micros() {
+    return this.draw.percentile(50) / NANOS_PER_MICRO;
+  }
+
+  @Override
+  public long getDrawP99Micros() {
+    return this.draw.percentile(99) / NANOS_PER_MICRO;
+  }
+
+  @Override
+  public long getDrawMaxMicros() {
+    return this.draw.max() / NANOS_PER_MICRO;
+  }
+
+  @Override
+  public long getPresentP50Micros() {
+    return this.present.percentile(50) / NANOS_PER_MICRO;
+  }
+
+  @Override
+  public long getPresentP99Micros() {
+    return this.present.percentile(99) / NANOS_PER_MICRO;
+  }
+
+  @Override
+  public long getPresentMaxMicros() {
+    return this.present.max() / NANOS_PER_MICRO;
+  }
+
+  @Override
+  public void reset() {
+    this.frame.reset();
+    this.evaluate.reset();
+    this.draw.reset();
+    this.present.reset();
+    this.shapesDrawn = 0;
+    this.shapesSkipped = 0;
+    this.gcBaseline = this.collectionMillis();
+  }
+
+  /**
+   * Returns the total milliseconds every garbage collector has spent collecting.
+   *
+   * @return The time spent collecting garbage in milliseconds.
+   */
+  private long collectionMillis() {
+    long millis = 0;
+    for (GarbageCollectorMXBean collector : this.collectors) {
+      millis += Math.max(collector.getCollectionTime(), 0);
+    }
+    return millis;
+  }
+
+  /**
+   * Returns a line of text that summarizes the given {@param histogram} of the phase with the
+   * given {@param name}.
+   *
+   * @param name      The name of the phase.
+   * @param histogram The timings of the phase.
+   * @return The summary of the phase.
+   */
+  private static String line(String name, LatencyHistogram histogram) {
+    return String.format("%-8s p50 %6.2f  p99 %6.2f  max %6.2f ms", name,
+        histogram.percentile(50) / 1e6, histogram.percentile(99) / 1e6, histogram.max() / 1e6);
+  }
+}
@@ -0,0 +1,144 @@
+package view;
+
+/**
+ * The management interface of {@code FrameStats}, through which the timings of the frames drawn
+ * by a view can be watched in a JMX console. Every duration is in microseconds.
+ */
+public interface FrameStatsMBean {
+
+  /**
+   * Returns whether frames are being timed.
+   *
+   * @return A boolean value where true indicates that frames are being timed.
+   */
+  boolean isEnabled();
+
+  /**
+   * Sets whether frames are timed.
+   *
+   * @param enabled Whether frames are timed.
+   */
+  void setEnabled(boolean enabled);
+
+  /**
+   * Returns the number of frames timed since the last reset.
+   *
+   * @return The number of frames.
+   */
+  long getFrameCount();
+
+  /**
+   * Returns the number of shapes drawn in the frames timed, which are the shapes visible at the
+   * tick of each frame.
+   *
+   * @return The number of shapes drawn.
+   */
+  long getShapesDrawn();
+
+  /**
+   * Returns the number of shapes skipped in the frames timed, which are the shapes not visible at
+   * the tick of each frame.
+   *
+   * @return The number of shapes skipped.
+   */
+  long getShapesSkipped();
+
+  /**
+   * Returns the milliseconds the garbage collectors have spent collecting since the last reset.
+   *
+   * @return The time spent collecting garbage in milliseconds.
+   */
+  long getGcMillis();
+
+  /**
+   * Returns the median time spent on whole frames.
+   *
+   * @return The median in microseconds.
+   */
+  long getFrameP50Micros();
+
+  /**
+   * Returns the 99th percentile of the time spent on whole frames.
+   *
+   * @return The 99th percentile in microseconds.
+   */
+  long getFrameP99Micros();
+
+  /**
+   * Returns the longest time spent on whole frames.
+   *
+   * @return The longest time in microseconds.
+   */
+  long getFrameMaxMicros();
+
+  /**
+   * Returns the median time spent on evaluating frames, which is finding and interpolating the
+   * visible shapes.
+   *
+   * @return The median in microseconds.
+   */
+  long getEvaluateP50Micros();
+
+  /**
+   * Returns the 99th percentile of the time spent on evaluating frames, which is finding and
+   * interpolating the visible shapes.
+   *
+   * @return The 99th percentile in microseconds.
+   */
+  long getEvaluateP99Micros();
+
+  /**
+   * Returns the longest time spent on evaluating frames, which is finding and interpolating the
+   * visible shapes.
+   *
+   * @return The longest time in microseconds.
+   */
+  long getEvaluateMaxMicros();
+
+  /**
+   * Returns the median time spent on drawing the shapes of frames.
+   *
+   * @return The median in microseconds.
+   */
+  long getDrawP50Micros();
+
+  /**
+   * Returns the 99th percentile of the time spent on drawing the shapes of frames.
+   *
+   * @return The 99th percentile in microseconds.
+   */
+  long getDrawP99Micros();
+
+  /**
+   * Returns the longest time spent on drawing the shapes of frames.
+   *
+   * @return The longest time in microseconds.
+   */
+  long getDrawMaxMicros();
+
+  /**
+   * Returns the median time spent on presenting frames on screen.
+   *
+   * @return The median in microseconds.
+   */
+  long getPresentP50Micros();
+
+  /**
+   * Returns the 99th percentile of the time spent on presenting frames on screen.
+   *
+   * @return The 99th percentile in microseconds.
+   */
+  long getPresentP99Micros();
+
+  /**
+   * Returns the longest time spent on presenting frames on screen.
+   *
+   * @return The longest time in microseconds.
+   */
+  long getPresentMaxMicros();
+
+  /**
+   * Forgets every frame timed so far.
+   */
+  void reset();
+}
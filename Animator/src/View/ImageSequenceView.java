@@ -0,0 +1,207 @@
+package view;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.imageio.ImageIO;
+import model.ReadOnlyAnimatedShape;
+import model.ReadOnlyAnimationEnvironment;
+
+/**
+ * Represents a view that renders a range of ticks of the animation into a sequence of PNG images,
+ * one image per tick, without ever opening a window. Every frame is painted exactly as the {@code
+ * AnimationPanel} paints it, onto a black image the size of the canvas, so it works with {@code
+ * java.awt.headless} set.
+ *
+ * <p>Frames are rendered and encoded on a fixed number of worker threads. Only a few frames per
+ * worker are queued at a time, and the thread that displays the view renders frames itself while
+ * the queue is full, so the memory used does not grow with the number of frames.</p>
+ */
+public class ImageSequenceView implements AnimationView {
+
+  private static final int FRAMES_QUEUED_PER_THREAD = 2;
+
+  private ReadOnlyAnimationEnvironment model;
+  private final Path directory;
+  private final int firstTick;
+  private final int lastTick;
+  private final int threads;
+
+  /**
+   * Constructs an {@code ImageSequenceView} that writes the frames from the {@param firstTick} to
+   * the {@param lastTick} into the given {@param directory}, rendering on as many threads as
+   * there are processors.
+   *
+   * @param directory The directory the images are written to, which is created if needed.
+   * @param firstTick The first tick rendered.
+   * @param lastTick  The last tick rendered, or a negative number for the last tick of the
+   *                  animation.
+   * @throws IllegalArgumentException if the directory is null or the first tick is negative.
+   */
+  public ImageSequenceView(Path directory, int firstTick, int lastTick) {
+    this(directory, firstTick, lastTick, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructs an {@code ImageSequenceView} that writes the frames from the {@param firstTick} to
+   * the {@param lastTick} into the given {@param directory}, rendering on the given number of
+   * {@param threads}.
+   *
+   * @param directory The directory the images are written to, which is created if needed.
+   * @param firstTick The first tick rendered.
+   * @param lastTick  The last tick rendered, or a negative number for the last tick of the
+   *                  animation.
+   * @param threads   The number of threads that render frames.
+   * @throws IllegalArgumentException if the directory is null, the first tick is negative or
+   *                                  there are no threads.
+   */
+  public ImageSequenceView(Path directory, int firstTick, int lastTick, int threads) {
+    if (directory == null || firstTick < 0 || threads < 1) {
+      throw new IllegalArgumentException("Invalid image sequence!");
+    }
+    //specifically assign null here because I specifically mean it to refer to the absence of a
+    //model and use it to throw an exception if no model has been assigned.
+    this.model = null;
+    this.directory = directory;
+    this.firstTick = firstTick;
+    this.lastTick = lastTick;
+    this.threads = threads;
+  }
+
+  @Override
+  public void setModel(ReadOnlyAnimationEnvironment model) {
+    this.model = model;
+  }
+
+  /**
+   * Renders every tick in the range of {@code this} {@code ImageSequenceView} and writes each as
+   * an image named after its tick. Returns once every image has been written.
+   *
+   * @throws IllegalArgumentException if no model has been set or the canvas is empty.
+   * @throws IllegalStateException    if an image cannot be written.
+   */
+  @Override
+  public void display() {
+    if (this.model == null) {
+      throw new IllegalArgumentException("Must set model!");
+    }
+    int width = this.model.getWidth();
+    int height = this.model.getHeight();
+    if (width < 1 || height < 1) {
+      throw new IllegalArgumentException("Canvas must not be empty!");
+    }
+    int last = this.lastTick < 0 ? this.latestTime() : this.lastTick;
+    try {
+      Files.createDirectories(this.directory);
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Write failed", ioe);
+    }
+
+    FrameEvaluator compiled = FrameEvaluator.of(this.model);
+    String digits = "%0" + Math.max(String.valueOf(last).length(), 4) + "d";
+    ThreadLocal<Frame> frames = ThreadLocal.withInitial(() -> new Frame(width, height));
+    AtomicReference<Exception> failure = new AtomicReference<Exception>();
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(this.threads, this.threads, 0,
+        TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<Runnable>(this.threads * FRAMES_QUEUED_PER_THREAD),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+
+    try {
+      for (int tick = this.firstTick; tick <= last && failure.get() == null; tick++) {
+        int frameTick = tick;
+        File file = this.directory.resolve("frame" + String.format(digits, tick) + ".png")
+            .toFile();
+        pool.execute(() -> {
+          if (failure.get() != null) {
+            return;
+          }
+          try {
+            frames.get().render(compiled, frameTick, file);
+          } catch (IOException | RuntimeException e) {
+            failure.compareAndSet(null, e);
+          }
+        });
+      }
+    } finally {
+      pool.shutdown();
+      try {
+        while (!pool.awaitTermination(1, TimeUnit.SECONDS)) {
+          //keep waiting for the queued frames
+        }
+      } catch (InterruptedException ie) {
+        pool.shutdownNow();
+        Thread.currentThread().interrupt();
+        failure.compareAndSet(null, ie);
+      }
+    }
+    if (failure.get() != null) {
+      throw new IllegalStateException("Write failed", failure.get());
+    }
+  }
+
+  /**
+   * Returns the latest time in the model of {@code this} {@code ImageSequenceView}, the same way
+   * the {@code AnimationPanel} finds the end of the animation.
+   *
+   * @return The latest time in the model.
+   */
+  private int latestTime() {
+    int latestTime = 0;
+    for (ReadOnlyAnimatedShape shapeState : this.model.getShapes()) {
+      if (shapeState.getTime() > latestTime) {
+        latestTime = shapeState.getTime();
+      }
+    }
+    return latestTime;
+  }
+
+  /**
+   * Represents the image a single thread renders its frames on, reused for every frame the thread
+   * renders.
+   */
+  private static final class Frame {
+
+    private final BufferedImage image;
+    private final Graphics2D graphics;
+    private final ShapePainter painter;
+
+    /**
+     * Constructs a black {@code Frame} of the given {@param width} and {@param height}.
+     *
+     * @param width  The width of the image.
+     * @param height The height of the image.
+     */
+    Frame(int width, int height) {
+      this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+      this.graphics = this.image.createGraphics();
+      this.painter = new ShapePainter();
+      this.painter.setGraphics(this.graphics);
+    }
+
+    /**
+     * Paints the frame of the given {@param compiled} animation at the given {@param tick} and
+     * writes it to the given {@param file}.
+     *
+     * @param compiled The animation to render.
+     * @param tick     The tick to render.
+     * @param file     The file the image is written to.
+     * @throws IOException if the image cannot be written.
+     */
+    void render(FrameEvaluator compiled, int tick, File file) throws IOException {
+      this.graphics.setColor(Color.BLACK);
+      this.graphics.fillRect(0, 0, this.image.getWidth(), this.image.getHeight());
+      compiled.evaluate(tick, this.painter);
+      if (!ImageIO.write(this.image, "png", file)) {
+        throw new IOException("No PNG writer available");
+      }
+    }
+  }
+}
@@ -1,30 +1,33 @@
 package view;
 
-import java.awt.GridBagConstraints;
-import java.awt.GridBagLayout;
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
+import javax.swing.AbstractCellEditor;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
-import javax.swing.JTextField;
-import javax.swing.SwingConstants;
-import model.ReadOnlyAnimatedShape;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableCellEditor;
+import javax.swing.table.TableCellRenderer;
+import javax.swing.table.TableColumn;
 import model.ReadOnlyAnimationEnvironment;
 
 /**
  * Represents a panel that holds all of the editable information of a models keyframes and shapes.
+ * The keyframes are shown in a table over a {@code KeyframeTableModel}, so only the rows on
+ * screen are ever drawn and an edit only redraws the rows it changed, however many keyframes the
+ * model has.
  */
 public class KeyframeShapesPanel extends JPanel {
 
-  private final GridBagConstraints c;
-  private final GridBagLayout gridBag;
-  private ReadOnlyAnimationEnvironment model;
-  private final JLabel shapes;
-  private ArrayList<JButton> buttons;
-  private Map<String, JTextField> textFields;
+  private final KeyframeTableModel keyframes;
+  private final JTable table;
+  private ActionListener listener;
 
   /**
    * Constructs a {@code KeyframeShapesPanel} that displays all of the keyframe and shape
@@ -35,40 +38,37 @@ public class KeyframeShapesPanel extends JPanel {
    *              displayed.
    */
   public KeyframeShapesPanel(ReadOnlyAnimationEnvironment model) {
-    this.model = model;
-    this.buttons = new ArrayList();
-    this.textFields = new HashMap();
-
-    this.shapes = new JLabel("Shapes");
-    this.gridBag = new GridBagLayout();
-    this.c = new GridBagConstraints();
-    this.setLayout(gridBag);
-
-    c.fill = GridBagConstraints.HORIZONTAL;
-    c.gridwidth = GridBagConstraints.REMAINDER;
-    gridBag.setConstraints(shapes, c);
-    this.add(shapes);
+    super(new BorderLayout());
+    this.keyframes = new KeyframeTableModel(model);
+    this.listener = null;
+
+    this.table = new JTable(this.keyframes);
+    this.table.putClientProperty("terminateEditOnFocusLost", Boolean.TRUE);
+    this.table.setFillsViewportHeight(true);
+    this.table.getTableHeader().setReorderingAllowed(false);
+    this.table.getColumnModel().getColumn(KeyframeTableModel.SHAPE_COLUMN)
+        .setCellRenderer(new ShapeRenderer());
+    this.table.getColumnModel().getColumn(KeyframeTableModel.SHAPE_COLUMN).setPreferredWidth(120);
+    for (int column = KeyframeTableModel.TIME_COLUMN;
+        column < KeyframeTableModel.FIRST_BUTTON_COLUMN; column++) {
+      this.table.getColumnModel().getColumn(column).setPreferredWidth(45);
+    }
+    this.configureButtonColumn(KeyframeTableModel.FIRST_BUTTON_COLUMN);
+    this.configureButtonColumn(KeyframeTableModel.SECOND_BUTTON_COLUMN);
 
-    this.configureKeyframes();
+    this.add(new JLabel("Shapes"), BorderLayout.NORTH);
+    this.add(new JScrollPane(this.table), BorderLayout.CENTER);
   }
 
   /**
-   * Adds the given {@param listener} as an {@code ActionListener} for all of the buttons in {@code
-   * this} {@code KeyframeShapesPanel}.
+   * Sets the given {@param listener} as the {@code ActionListener} for all of the buttons in
+   * {@code this} {@code KeyframeShapesPanel}, replacing the listener set before.
    *
    * @param listener The ActionListener to be added to all of the buttons in {@code this} {@code
    *                 KeyframeShapesPanel}.
    */
   public void addActionListener(ActionListener listener) {
-    for (JButton button : this.buttons) {
-      if (button.getActionListeners().length > 0) {
-        ActionListener oldListener = button.getActionListeners()[0];
-        button.removeActionListener(oldListener);
-      }
-    }
-    for (JButton button : this.buttons) {
-      button.addActionListener(listener);
-    }
+    this.listener = listener;
   }
 
   /**
@@ -82,15 +82,12 @@ public class KeyframeShapesPanel extends JPanel {
    *                                  {@param fieldName}.
    */
   public void setTextField(String fieldName, String newText) {
-    if (this.textFields.containsKey(fieldName)) {
-      JTextField field = this.textFields.get(fieldName);
-      field.setColumns(newText.length() * (2/3));
-      field.setText(newText);
-      this.revalidate();
-      this.repaint();
-    } else {
-      throw new IllegalArgumentException("Does not contain key");
+    int row = this.keyframes.rowOf(fieldName);
+    if (this.table.isEditing() && this.table.getEditingRow() == row
+        && this.table.getEditingColumn() == this.keyframes.columnOf(fieldName)) {
+      this.table.getCellEditor().cancelCellEditing();
     }
+    this.keyframes.setText(fieldName, newText);
   }
 
   /**
@@ -103,164 +100,106 @@ public class KeyframeShapesPanel extends JPanel {
    *                                  {@param fieldName}.
    */
   public String getTextFieldText(String fieldName) {
-    if (this.textFields.containsKey(fieldName)) {
-      return this.textFields.get(fieldName).getText();
-    }
-    throw new IllegalArgumentException("No field exists with that name!");
+    return this.keyframes.getText(fieldName);
   }
 
   /**
    * Updates the keyframe and shape information in {@code this} {@code KeyframeShapesPanel}.
    */
   public void updateKeyframes() {
-    this.buttons = new ArrayList();
-    this.textFields.clear();
-    this.removeAll();
-    this.gridBag.setConstraints(shapes, c);
-    this.add(shapes);
-    this.configureKeyframes();
-    this.revalidate();
-    this.repaint();
+    if (this.table.isEditing()) {
+      this.table.getCellEditor().cancelCellEditing();
+    }
+    this.keyframes.update();
   }
 
   /**
-   * Configures the keyframes to have all of the required buttons with the appropriate action
-   * commands and display all of the correct information of the model.
+   * Draws the cells of the given {@param column} as buttons that give the action command of their
+   * row to the listener of {@code this} {@code KeyframeShapesPanel} when clicked.
+   *
+   * @param column The column of buttons.
    */
-  private void configureKeyframes() {
-    for (ReadOnlyAnimatedShape shape : this.model.getShapes()) {
-
-      JLabel shapeTitle = new JLabel(shape.getShapeType().toString() + " " + shape.getName(),
-          SwingConstants.LEFT);
-      buttons.add(new JButton("delete"));
-      buttons.get(buttons.size() - 1).setActionCommand("delete shape " + shape.getName());
-
-      buttons.add(new JButton("Add frame"));
-      buttons.get(buttons.size() - 1).setActionCommand("add keyframe " + shape.getName());
-      JLabel addKeyframeTimeLabel = new JLabel("time:");
-      JTextField addKeyframeTimeField = new JTextField(2);
-      this.textFields.put(shape.getName() + " add keyframe time field", addKeyframeTimeField);
-      JLabel addKeyframeWidthLabel = new JLabel("width:");
-      JTextField addKeyframeWidthField = new JTextField(2);
-      this.textFields.put(shape.getName() + " add keyframe width field", addKeyframeWidthField);
-      JLabel addKeyframeHeightLabel = new JLabel("height:");
-      JTextField addKeyframeHeightField = new JTextField(2);
-      this.textFields.put(shape.getName() + " add keyframe height field", addKeyframeHeightField);
-      JLabel addKeyframeXLabel = new JLabel("X:");
-      JTextField addKeyframeXField = new JTextField(2);
-      this.textFields.put(shape.getName() + " add keyframe x field", addKeyframeXField);
-      JLabel addKeyframeYLabel = new JLabel("Y:");
-      JTextField addKeyframeYField = new JTextField(2);
-      this.textFields.put(shape.getName() + " add keyframe y field", addKeyframeYField);
-      JLabel addKeyframeRLabel = new JLabel("R:");
-      JTextField addKeyframeRField = new JTextField(2);
-      this.textFields.put(shape.getName() + " add keyframe r field", addKeyframeRField);
-      JLabel addKeyframeGLabel = new JLabel("G:");
-      JTextField addKeyframeGField = new JTextField(2);
-      this.textFields.put(shape.getName() + " add keyframe g field", addKeyframeGField);
-      JLabel addKeyframeBLabel = new JLabel("B:");
-      JTextField addKeyframeBField = new JTextField(2);
-      this.textFields.put(shape.getName() + " add keyframe b field", addKeyframeBField);
-      JLabel addKeyframeOrientationLabel = new JLabel("Angle:");
-      JTextField addKeyframeOrientationField = new JTextField(2);
-      this.textFields.put(shape.getName() + " add keyframe orientation field",
-          addKeyframeOrientationField);
-
-
-      JLabel spacer = new JLabel("");
-      gridBag.setConstraints(spacer, c);
-      this.add(shapeTitle);
-      this.add(buttons.get(buttons.size() - 2));
-      this.add(spacer);
-      this.add(buttons.get(buttons.size() - 1));
-      this.add(addKeyframeTimeLabel);
-      this.add(addKeyframeTimeField);
-      this.add(addKeyframeWidthLabel);
-      this.add(addKeyframeWidthField);
-      this.add(addKeyframeHeightLabel);
-      this.add(addKeyframeHeightField);
-      this.add(addKeyframeXLabel);
-      this.add(addKeyframeXField);
-      this.add(addKeyframeYLabel);
-      this.add(addKeyframeYField);
-      this.add(addKeyframeRLabel);
-      this.add(addKeyframeRField);
-      this.add(addKeyframeGLabel);
-      this.add(addKeyframeGField);
-      this.add(addKeyframeBLabel);
-      this.add(addKeyframeBField);
-      this.add(addKeyframeOrientationLabel);
-      this.add(addKeyframeOrientationField);
-      JLabel spacer2 = new JLabel("");
-      gridBag.setConstraints(spacer2, c);
-      this.add(spacer2);
+  private void configureButtonColumn(int column) {
+    ButtonCell cell = new ButtonCell(column);
+    TableColumn tableColumn = this.table.getColumnModel().getColumn(column);
+    tableColumn.setCellRenderer(cell);
+    tableColumn.setCellEditor(cell);
+    tableColumn.setPreferredWidth(85);
+  }
 
-      for (ReadOnlyAnimatedShape keyFrame : shape.getLog()) {
+  /**
+   * Represents the cells of a column of buttons. A single button draws every cell of the column,
+   * and another is shown in the cell being clicked.
+   */
+  private final class ButtonCell extends AbstractCellEditor implements TableCellRenderer,
+      TableCellEditor {
+
+    private final int column;
+    private final JButton renderer;
+    private final JButton editor;
+    private int row;
+
+    /**
+     * Constructs a {@code ButtonCell} for the buttons in the given {@param column}.
+     *
+     * @param column The column of buttons.
+     */
+    private ButtonCell(int column) {
+      this.column = column;
+      this.renderer = new JButton();
+      this.editor = new JButton();
+      this.editor.setFocusPainted(false);
+      this.editor.addActionListener(e -> this.click());
+      this.row = -1;
+    }
 
-        JLabel timetag = new JLabel("t: " + keyFrame.getTime());
-        JLabel heightLabel = new JLabel("h:");
-        JTextField heightField = new JTextField((int) keyFrame.getBoundary().getHeight() + "");
-        this.textFields
-            .put(shape.getName() + " time " + keyFrame.getTime() + " height field", heightField);
-        JLabel widthLabel = new JLabel("w:");
-        JTextField widthField = new JTextField((int) keyFrame.getBoundary().getWidth() + "");
-        this.textFields
-            .put(shape.getName() + " time " + keyFrame.getTime() + " width field", widthField);
-        JLabel xLabel = new JLabel("x:");
-        JTextField xField = new JTextField((int) keyFrame.getPosn().getX() + "");
-        this.textFields.put(shape.getName() + " time " + keyFrame.getTime() + " x field", xField);
-        JLabel yLabel = new JLabel("y:");
-        JTextField yField = new JTextField((int) keyFrame.getPosn().getY() + "");
-        this.textFields.put(shape.getName() + " time " + keyFrame.getTime() + " y field", yField);
-        JLabel redLabel = new JLabel("red:");
-        JTextField redField = new JTextField(keyFrame.getColor().getRed() + "");
-        this.textFields.put(shape.getName() + " time " + keyFrame.getTime() + " r field", redField);
-        JLabel greenLabel = new JLabel("green:");
-        JTextField greenField = new JTextField(keyFrame.getColor().getGreen() + "");
-        this.textFields
-            .put(shape.getName() + " time " + keyFrame.getTime() + " g field", greenField);
-        JLabel blueLabel = new JLabel("blue:");
-        JTextField blueField = new JTextField(keyFrame.getColor().getBlue() + "");
-        this.textFields
-            .put(shape.getName() + " time " + keyFrame.getTime() + " b field", blueField);
-        JLabel orientationLabel = new JLabel("Angle:");
-        JTextField orientationField = new JTextField(keyFrame.getOrientation() + "");
-        this.textFields.put(shape.getName() + " time " + keyFrame.getTime() + " orientation field",
-            orientationField);
+    @Override
+    public Component getTableCellRendererComponent(JTable table, Object value,
+        boolean isSelected, boolean hasFocus, int row, int column) {
+      this.renderer.setText(String.valueOf(value));
+      return this.renderer;
+    }
 
-        buttons.add(new JButton("edit"));
-        buttons.get(buttons.size() - 1)
-            .setActionCommand("edit keyframe " + shape.getName() + " " + keyFrame.getTime());
-        buttons.add(new JButton("delete"));
-        buttons.get(buttons.size() - 1)
-            .setActionCommand("delete keyframe " + shape.getName() + " " + keyFrame.getTime());
+    @Override
+    public Component getTableCellEditorComponent(JTable table, Object value, boolean isSelected,
+        int row, int column) {
+      this.editor.setText(String.valueOf(value));
+      this.row = row;
+      return this.editor;
+    }
 
-        c.gridwidth = GridBagConstraints.RELATIVE;
-        this.add(timetag);
-        this.add(widthLabel);
-        this.add(widthField);
-        this.add(heightLabel);
-        this.add(heightField);
-        this.add(xLabel);
-        this.add(xField);
-        this.add(yLabel);
-        this.add(yField);
-        this.add(redLabel);
-        this.add(redField);
-        this.add(greenLabel);
-        this.add(greenField);
-        this.add(blueLabel);
-        this.add(blueField);
-        this.add(orientationLabel);
-        this.add(orientationField);
-        this.add(buttons.get(buttons.size() - 2));
-        c.gridwidth = GridBagConstraints.REMAINDER;
-        gridBag.setConstraints(buttons.get(buttons.size() - 1), c);
-        this.add(buttons.get(buttons.size() - 1));
+    @Override
+    public Object getCellEditorValue() {
+      return this.editor.getText();
+    }
 
+    /**
+     * Stops showing the clicked button and gives its action command to the listener.
+     */
+    private void click() {
+      String command = keyframes.actionCommandAt(this.row, this.column);
+      this.fireEditingStopped();
+      if (listener != null) {
+        listener.actionPerformed(
+            new ActionEvent(table, ActionEvent.ACTION_PERFORMED, command));
       }
     }
   }
 
-
+  /**
+   * Represents the renderer of the shape column, which shows the row of each shape in bold.
+   */
+  private final class ShapeRenderer extends DefaultTableCellRenderer {
+
+    @Override
+    public Component getTableCellRendererComponent(JTable table, Object value,
+        boolean isSelected, boolean hasFocus, int row, int column) {
+      Component cell = super.getTableCellRendererComponent(table, value, isSelected, hasFocus,
+          row, column);
+      if (keyframes.isShapeRow(table.convertRowIndexToModel(row))) {
+        cell.setFont(cell.getFont().deriveFont(Font.BOLD));
+      }
+      return cell;
+    }
+  }
 }
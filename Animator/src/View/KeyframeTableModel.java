@@ -0,0 +1,405 @@
+package view;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.table.AbstractTableModel;
+import model.ReadOnlyAnimatedShape;
+import model.ReadOnlyAnimationEnvironment;
+
+/**
+ * Represents the keyframes of every shape of an animation as the rows of a table, so that a
+ * {@code JTable} only creates a cell for the rows that are on screen. Each shape has a row of its
+ * own, which holds the fields of the keyframe to add to it and its "Add frame" and "delete"
+ * buttons, followed by a row for each of its keyframes in order of time, which holds the fields of
+ * that keyframe and its "edit" and "delete" buttons.
+ *
+ * <p>The fields show the values of the model until text is set in them, either by the user or
+ * through {@link #setText(String, String)}, and that text is kept until the keyframes are next
+ * updated. Updating the keyframes reads the model again and only tells the table about the rows
+ * that actually changed.</p>
+ */
+public class KeyframeTableModel extends AbstractTableModel {
+
+  public static final int SHAPE_COLUMN = 0;
+  public static final int TIME_COLUMN = 1;
+  public static final int FIRST_BUTTON_COLUMN = 10;
+  public static final int SECOND_BUTTON_COLUMN = 11;
+
+  private static final String[] COLUMN_NAMES = {"Shape", "Time", "Width", "Height", "X", "Y",
+      "Red", "Green", "Blue", "Angle", "", ""};
+  private static final String[] FIELD_NAMES = {null, "time", "width", "height", "x", "y", "r",
+      "g", "b", "orientation"};
+  private static final String FIELD_SUFFIX = " field";
+  private static final String ADD_KEYFRAME = " add keyframe ";
+  private static final String TIME = " time ";
+
+  private final ReadOnlyAnimationEnvironment model;
+  private List<Row> rows;
+  private Map<String, Integer> shapeRows;
+
+  //INVARIANT: shapeRows maps the name of every shape to the index of its own row in rows, and the
+  //rows of its keyframes follow that row in order of time.
+
+  /**
+   * Constructs a {@code KeyframeTableModel} that shows the keyframes of the given {@param model}.
+   *
+   * @param model The {@code ReadOnlyAnimationEnvironment} whose keyframes are shown.
+   */
+  public KeyframeTableModel(ReadOnlyAnimationEnvironment model) {
+    this.model = model;
+    this.rows = new ArrayList<>();
+    this.shapeRows = new HashMap<>();
+    this.read();
+  }
+
+  @Override
+  public int getRowCount() {
+    return this.rows.size();
+  }
+
+  @Override
+  public int getColumnCount() {
+    return COLUMN_NAMES.length;
+  }
+
+  @Override
+  public String getColumnName(int column) {
+    return COLUMN_NAMES[column];
+  }
+
+  @Override
+  public Object getValueAt(int row, int column) {
+    return this.rows.get(row).text(column);
+  }
+
+  @Override
+  public boolean isCellEditable(int row, int column) {
+    return column > TIME_COLUMN || (column == TIME_COLUMN && this.rows.get(row).isShape());
+  }
+
+  @Override
+  public void setValueAt(Object value, int row, int column) {
+    if (!this.isCellEditable(row, column)) {
+      return;
+    }
+    if (column < FIRST_BUTTON_COLUMN) {
+      this.rows.get(row).setDraft(column, String.valueOf(value));
+      this.fireTableCellUpdated(row, column);
+    }
+  }
+
+  /**
+   * Returns the action command of the button at the given {@param row} and {@param column}, which
+   * is the command the keyframe editor has always given that button.
+   *
+   * @param row    The row of the button.
+   * @param column The column of the button.
+   * @return The action command of the button.
+   * @throws IllegalArgumentException if there is no button at that cell.
+   */
+  public String actionCommandAt(int row, int column) {
+    Row target = this.rows.get(row);
+    if (column == FIRST_BUTTON_COLUMN) {
+      return target.isShape() ? "add keyframe " + target.name
+          : "edit keyframe " + target.name + " " + target.time;
+    } else if (column == SECOND_BUTTON_COLUMN) {
+      return target.isShape() ? "delete shape " + target.name
+          : "delete keyframe " + target.name + " " + target.time;
+    }
+    throw new IllegalArgumentException("No button in that column!");
+  }
+
+  /**
+   * Returns the row of the field with the given {@param fieldName}, or -1 if there is none. Fields
+   * are named "NAME add keyframe ATTRIBUTE field" in the row of a shape and "NAME time TIME
+   * ATTRIBUTE field" in the row of a keyframe, where the attribute is one of time, width, height,
+   * x, y, r, g, b and orientation, and time is only a field in the row of a shape.
+   *
+   * @param fieldName The name of the field.
+   * @return The row of the field.
+   */
+  public int rowOf(String fieldName) {
+    int column = this.columnOf(fieldName);
+    if (column < 0) {
+      return -1;
+    }
+    String rest = fieldName.substring(0, fieldName.length() - FIELD_SUFFIX.length()
+        - FIELD_NAMES[column].length());
+    if (rest.endsWith(ADD_KEYFRAME)) {
+      Integer row = this.shapeRows.get(rest.substring(0, rest.length() - ADD_KEYFRAME.length()));
+      return row == null ? -1 : row;
+    }
+    int split = rest.lastIndexOf(TIME);
+    if (column == TIME_COLUMN || split < 0 || !rest.endsWith(" ")) {
+      return -1;
+    }
+    Integer shapeRow = this.shapeRows.get(rest.substring(0, split));
+    if (shapeRow == null) {
+      return -1;
+    }
+    int time;
+    try {
+      time = Integer.parseInt(rest.substring(split + TIME.length(), rest.length() - 1));
+    } catch (NumberFormatException nfe) {
+      return -1;
+    }
+    return this.keyframeRow(shapeRow, time);
+  }
+
+  /**
+   * Returns the column of the field with the given {@param fieldName}, or -1 if it does not name
+   * the field of any column.
+   *
+   * @param fieldName The name of the field.
+   * @return The column of the field.
+   */
+  public int columnOf(String fieldName) {
+    if (!fieldName.endsWith(FIELD_SUFFIX)) {
+      return -1;
+    }
+    String rest = fieldName.substring(0, fieldName.length() - FIELD_SUFFIX.length());
+    for (int column = TIME_COLUMN; column < FIELD_NAMES.length; column++) {
+      if (rest.endsWith(" " + FIELD_NAMES[column])) {
+        return column;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the text of the field with the given {@param fieldName}.
+   *
+   * @param fieldName The name of the field.
+   * @return The text of the field.
+   * @throws IllegalArgumentException if there is no field with that name.
+   */
+  public String getText(String fieldName) {
+    int row = this.rowOf(fieldName);
+    if (row < 0) {
+      throw new IllegalArgumentException("No field exists with that name!");
+    }
+    return this.rows.get(row).text(this.columnOf(fieldName));
+  }
+
+  /**
+   * Sets the text of the field with the given {@param fieldName} to {@param newText}.
+   *
+   * @param fieldName The name of the field.
+   * @param newText   The new text of the field.
+   * @throws IllegalArgumentException if there is no field with that name.
+   */
+  public void setText(String fieldName, String newText) {
+    int row = this.rowOf(fieldName);
+    if (row < 0) {
+      throw new IllegalArgumentException("Does not contain key");
+    }
+    this.setValueAt(newText, row, this.columnOf(fieldName));
+  }
+
+  /**
+   * Reads the keyframes of the model again, forgetting any text set in the fields, and tells the
+   * table about the rows that were inserted, deleted or changed.
+   */
+  public void update() {
+    List<Row> old = this.rows;
+    this.read();
+    List<Row> current = this.rows;
+
+    int common = Math.min(old.size(), current.size());
+    int prefix = 0;
+    while (prefix < common && old.get(prefix).sameKey(current.get(prefix))) {
+      prefix++;
+    }
+    int suffix = 0;
+    while (suffix < common - prefix && old.get(old.size() - 1 - suffix)
+        .sameKey(current.get(current.size() - 1 - suffix))) {
+      suffix++;
+    }
+
+    for (int i = 0; i < prefix; i++) {
+      if (!old.get(i).sameText(current.get(i))) {
+        this.fireTableRowsUpdated(i, i);
+      }
+    }
+    int oldMiddle = old.size() - prefix - suffix;
+    int newMiddle = current.size() - prefix - suffix;
+    int replaced = Math.min(oldMiddle, newMiddle);
+    if (replaced > 0) {
+      this.fireTableRowsUpdated(prefix, prefix + replaced - 1);
+    }
+    if (newMiddle > oldMiddle) {
+      this.fireTableRowsInserted(prefix + replaced, prefix + newMiddle - 1);
+    } else if (oldMiddle > newMiddle) {
+      this.fireTableRowsDeleted(prefix + replaced, prefix + oldMiddle - 1);
+    }
+    for (int i = 0; i < suffix; i++) {
+      int row = current.size() - suffix + i;
+      if (!old.get(old.size() - suffix + i).sameText(current.get(row))) {
+        this.fireTableRowsUpdated(row, row);
+      }
+    }
+  }
+
+  /**
+   * Returns whether the given {@param row} is the row of a shape rather than of a keyframe.
+   *
+   * @param row The row.
+   * @return Whether the row is the row of a shape.
+   */
+  public boolean isShapeRow(int row) {
+    return this.rows.get(row).isShape();
+  }
+
+  /**
+   * Reads the rows of every shape and keyframe of the model.
+   */
+  private void read() {
+    List<Row> read = new ArrayList<>();
+    Map<String, Integer> readShapes = new HashMap<>();
+    for (ReadOnlyAnimatedShape shape : this.model.getShapes()) {
+      readShapes.put(shape.getName(), read.size());
+      read.add(new Row(shape.getName(), shape.getShapeType().toString(), -1, null));
+      for (ReadOnlyAnimatedShape keyframe : shape.getLog()) {
+        read.add(new Row(shape.getName(), null, keyframe.getTime(), new int[] {
+            (int) keyframe.getBoundary().getWidth(), (int) keyframe.getBoundary().getHeight(),
+            (int) keyframe.getPosn().getX(), (int) keyframe.getPosn().getY(),
+            keyframe.getColor().getRed(), keyframe.getColor().getGreen(),
+            keyframe.getColor().getBlue(), keyframe.getOrientation()}));
+      }
+    }
+    this.rows = read;
+    this.shapeRows = readShapes;
+  }
+
+  /**
+   * Returns the row of the keyframe at the given {@param time} of the shape whose own row is
+   * {@param shapeRow}, or -1 if it has no keyframe at that time.
+   *
+   * @param shapeRow The row of the shape.
+   * @param time     The time of the keyframe.
+   * @return The row of the keyframe.
+   */
+  private int keyframeRow(int shapeRow, int time) {
+    int low = shapeRow + 1;
+    int high = low;
+    while (high < this.rows.size() && !this.rows.get(high).isShape()) {
+      high++;
+    }
+    high--;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int midTime = this.rows.get(mid).time;
+      if (midTime < time) {
+        low = mid + 1;
+      } else if (midTime > time) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Represents a single row of the table, which is either the row of a shape or of one of its
+   * keyframes.
+   */
+  private static final class Row {
+
+    private final String name;
+    private final String type;
+    private final int time;
+    private final int[] values;
+    private String[] drafts;
+
+    //INVARIANT: type is non-null and values is null exactly when this is the row of a shape, and
+    //drafts is null until text is set in one of the fields.
+
+    /**
+     * Constructs a {@code Row} of the shape with the given {@param name}.
+     *
+     * @param name   The name of the shape.
+     * @param type   The type of the shape, or null for the row of a keyframe.
+     * @param time   The time of the keyframe, or -1 for the row of a shape.
+     * @param values The width, height, x, y, red, green, blue and orientation of the keyframe, or
+     *               null for the row of a shape.
+     */
+    private Row(String name, String type, int time, int[] values) {
+      this.name = name;
+      this.type = type;
+      this.time = time;
+      this.values = values;
+      this.drafts = null;
+    }
+
+    /**
+     * Returns whether {@code this} {@code Row} is the row of a shape.
+     *
+     * @return Whether this is the row of a shape.
+     */
+    private boolean isShape() {
+      return this.values == null;
+    }
+
+    /**
+     * Returns the text shown in the given {@param column} of {@code this} {@code Row}.
+     *
+     * @param column The column.
+     * @return The text of the cell.
+     */
+    private String text(int column) {
+      if (column == FIRST_BUTTON_COLUMN) {
+        return this.isShape() ? "Add frame" : "edit";
+      } else if (column == SECOND_BUTTON_COLUMN) {
+        return "delete";
+      } else if (this.drafts != null && this.drafts[column] != null) {
+        return this.drafts[column];
+      } else if (column == SHAPE_COLUMN) {
+        return this.isShape() ? this.type + " " + this.name : "";
+      } else if (column == TIME_COLUMN) {
+        return this.isShape() ? "" : "t: " + this.time;
+      }
+      return this.isShape() ? "" : Integer.toString(this.values[column - TIME_COLUMN - 1]);
+    }
+
+    /**
+     * Sets the text shown in the given {@param column} of {@code this} {@code Row} to {@param
+     * text}, in place of the value of the model.
+     *
+     * @param column The column.
+     * @param text   The text of the cell.
+     */
+    private void setDraft(int column, String text) {
+      if (this.drafts == null) {
+        this.drafts = new String[FIRST_BUTTON_COLUMN];
+      }
+      this.drafts[column] = text;
+    }
+
+    /**
+     * Returns whether the given {@param other} row belongs to the same shape and keyframe.
+     *
+     * @param other The other row.
+     * @return Whether both rows are of the same shape and keyframe.
+     */
+    private boolean sameKey(Row other) {
+      return this.time == other.time && this.name.equals(other.name);
+    }
+
+    /**
+     * Returns whether the given {@param other} row shows the same text, assuming it has the same
+     * key.
+     *
+     * @param other The other row.
+     * @return Whether both rows show the same text.
+     */
+    private boolean sameText(Row other) {
+      return this.drafts == null && other.drafts == null
+          && (this.type == null ? other.type == null : this.type.equals(other.type))
+          && Arrays.equals(this.values, other.values);
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package view;
+
+import java.util.Arrays;
+
+/**
+ * Represents a histogram of durations in nanoseconds that records without allocating. Durations
+ * are counted in buckets that split every power of two into sixteen equal parts, so any
+ * percentile is known to within about six percent of its true value, however long the durations
+ * are.
+ *
+ * <p>A {@code LatencyHistogram} is recorded to by a single thread. Other threads may read it at
+ * any time, and may see a recording that is still in progress.</p>
+ */
+final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final long[] counts;
+  private long count;
+  private long max;
+
+  //INVARIANT: count is the sum of counts, and max is the longest duration counted.
+
+  /**
+   * Constructs an empty {@code LatencyHistogram}.
+   */
+  LatencyHistogram() {
+    this.counts = new long[BUCKETS];
+    this.count = 0;
+    this.max = 0;
+  }
+
+  /**
+   * Counts the given {@param nanos}, treating a negative duration as none.
+   *
+   * @param nanos The duration in nanoseconds.
+   */
+  void record(long nanos) {
+    long value = Math.max(nanos, 0);
+    this.counts[bucket(value)]++;
+    this.count++;
+    if (value > this.max) {
+      this.max = value;
+    }
+  }
+
+  /**
+   * Returns the number of durations counted.
+   *
+   * @return The number of durations counted.
+   */
+  long count() {
+    return this.count;
+  }
+
+  /**
+   * Returns the longest duration counted, or 0 if none have been.
+   *
+   * @return The longest duration in nanoseconds.
+   */
+  long max() {
+    return this.max;
+  }
+
+  /**
+   * Returns the duration that the given {@param percentile} of the durations counted are no
+   * longer than, rounded up to the end of its bucket but never beyond the longest duration.
+   *
+   * @param percentile The percentile, from 0 to 100.
+   * @return The duration in nanoseconds, or 0 if no durations have been counted.
+   */
+  long percentile(double percentile) {
+    long total = 0;
+    for (long bucketCount : this.counts) {
+      total += bucketCount;
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += this.counts[i];
+      if (seen >= rank) {
+        return Math.min(upperBound(i), this.max);
+      }
+    }
+    return this.max;
+  }
+
+  /**
+   * Forgets every duration counted.
+   */
+  void reset() {
+    Arrays.fill(this.counts, 0);
+    this.count = 0;
+    this.max = 0;
+  }
+
+  /**
+   * Returns the bucket the given non-negative {@param value} is counted in.
+   *
+   * @param value The value.
+   * @return The index of its bucket.
+   */
+  private static int bucket(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+    int shift = exponent - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+  }
+
+  /**
+   * Returns the largest value counted in the bucket at the given {@param index}.
+   *
+   * @param index The index of the bucket.
+   * @return The largest value of the bucket.
+   */
+  private static long upperBound(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+    return lower + (1L << shift) - 1;
+  }
+}
@@ -0,0 +1,154 @@
+package view;
+
+import model.MappedAnimationEnvironment;
+import model.ReadOnlyAnimationEnvironment;
+import model.Shapes;
+
+/**
+ * Represents a {@code FrameEvaluator} of a {@code MappedAnimationEnvironment} that reads the
+ * active segment of each shape straight from the mapped records whenever a frame is evaluated.
+ * Only the types and log sizes of the shapes are held on the heap, so an animation far larger than
+ * the heap can be played back. Since a mapped environment never changes, it never has to be
+ * prepared again.
+ *
+ * <p>The states are paired into segments exactly as a {@code CompiledAnimation} pairs them, which
+ * walks the log and skips the first of two states logged at the same time. Every state that is
+ * followed by one at a later time begins a segment. Within a run of states logged at the same
+ * time, the second, fourth and so on of the run begin segments as well, so which of them do
+ * depends only on where the run starts. The active segment of a shape is found with a binary
+ * search over the times of its records, then the start of the run is found with another.</p>
+ */
+final class MappedFrameEvaluator implements FrameEvaluator {
+
+  private final MappedAnimationEnvironment model;
+  private final Shapes[] types;
+  private final int[] logSizes;
+
+  /**
+   * Constructs a {@code MappedFrameEvaluator} of the given {@param model}.
+   *
+   * @param model The mapped environment to be evaluated.
+   */
+  MappedFrameEvaluator(MappedAnimationEnvironment model) {
+    this.model = model;
+    this.types = new Shapes[model.getShapes().size()];
+    this.logSizes = new int[this.types.length];
+    for (int s = 0; s < this.types.length; s++) {
+      this.types[s] = model.getShapes().get(s).getShapeType();
+      this.logSizes[s] = model.logSize(s);
+    }
+  }
+
+  @Override
+  public boolean isCompiledFrom(ReadOnlyAnimationEnvironment model) {
+    return model == this.model;
+  }
+
+  @Override
+  public int shapeCount() {
+    return this.types.length;
+  }
+
+  @Override
+  public int evaluate(double tick, FrameSink sink) {
+    if (sink == null) {
+      throw new IllegalArgumentException("Must evaluate into a valid sink!");
+    }
+    MappedAnimationEnvironment m = this.model;
+    int visible = 0;
+    for (int s = 0; s < this.types.length; s++) {
+      int begin = this.activeSegment(s, tick);
+      if (begin < 0) {
+        continue;
+      }
+      int end = begin + 1;
+      double beginTime = m.loggedTime(s, begin);
+      double endTime = m.loggedTime(s, end);
+      double beginMultiplier = (endTime - tick) / (endTime - beginTime);
+      double endMultiplier = (tick - beginTime) / (endTime - beginTime);
+      int beginOrientation = m.loggedOrientation(s, begin);
+      int endOrientation = m.loggedOrientation(s, end);
+      double rotation;
+      if (beginOrientation == 360) {
+        rotation = Math.toRadians(endOrientation * endMultiplier);
+      } else {
+        rotation = Math.toRadians(beginOrientation * beginMultiplier
+            + endOrientation * endMultiplier);
+      }
+      int beginArgb = m.loggedArgb(s, begin);
+      int endArgb = m.loggedArgb(s, end);
+      sink.shape(this.types[s],
+          m.loggedX(s, begin) * beginMultiplier + m.loggedX(s, end) * endMultiplier,
+          m.loggedY(s, begin) * beginMultiplier + m.loggedY(s, end) * endMultiplier,
+          m.loggedWidth(s, begin) * beginMultiplier + m.loggedWidth(s, end) * endMultiplier,
+          m.loggedHeight(s, begin) * beginMultiplier + m.loggedHeight(s, end) * endMultiplier,
+          (int) (((beginArgb >> 16) & 0xFF) * beginMultiplier
+              + ((endArgb >> 16) & 0xFF) * endMultiplier),
+          (int) (((beginArgb >> 8) & 0xFF) * beginMultiplier
+              + ((endArgb >> 8) & 0xFF) * endMultiplier),
+          (int) ((beginArgb & 0xFF) * beginMultiplier + (endArgb & 0xFF) * endMultiplier),
+          rotation);
+      visible++;
+    }
+    return visible;
+  }
+
+  /**
+   * Returns the index in the log of the shape at the given {@param shape} index of the first
+   * state of its earliest segment that ends at or after the given {@param tick}, if that segment
+   * also begins at or before it.
+   *
+   * @param shape The index of the shape.
+   * @param tick  The tick to find the active segment at.
+   * @return The index of the state the active segment begins with, or -1 if the shape is not
+   *         visible at the tick.
+   */
+  private int activeSegment(int shape, double tick) {
+    int size = this.logSizes[shape];
+    int low = 0;
+    int high = size - 1;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (this.model.loggedTime(shape, mid + 1) < tick) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    if (low + 1 >= size) {
+      return -1;
+    }
+    int time = this.model.loggedTime(shape, low);
+    if (time == this.model.loggedTime(shape, low + 1)
+        && (low - this.firstLoggedAt(shape, time, low)) % 2 == 0) {
+      low++;
+    }
+    if (low + 1 < size && this.model.loggedTime(shape, low) <= tick) {
+      return low;
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the index of the first state logged at the given {@param time} in the log of the
+   * shape at the given {@param shape} index, which is at or before the given {@param index}.
+   *
+   * @param shape The index of the shape.
+   * @param time  The time of the state at the given index.
+   * @param index The index of a state logged at the time.
+   * @return The index of the first state logged at the time.
+   */
+  private int firstLoggedAt(int shape, int time, int index) {
+    int low = 0;
+    int high = index;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (this.model.loggedTime(shape, mid) < time) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
@@ -20,4 +20,11 @@ public class OrientationScrubbingAnimationPanel extends AnimationPanel {
     }
     this.timeFlowPanel.setTicks(this.ticks);
   }
+
+  @Override
+  public int showTick(int tick) {
+    int shown = super.showTick(tick);
+    this.timeFlowPanel.setTicks(shown);
+    return shown;
+  }
 }
@@ -0,0 +1,103 @@
+package view;
+
+/**
+ * Represents the clock of an animation being played back, which tells which tick is showing at
+ * any moment and when the next frame should be drawn. The tick is computed from the time elapsed
+ * since the clock started rather than counted up frame by frame, so playback neither drifts over
+ * long animations nor depends on how often frames are drawn, and it is fractional, so the frames
+ * between two ticks can be interpolated at any speed.
+ *
+ * <p>Frames are scheduled at a fixed period. When a frame is drawn too late to make one or more of
+ * the following deadlines, those frames are dropped rather than drawn in a burst to catch up.</p>
+ */
+public final class PlaybackClock {
+
+  private static final double NANOS_PER_SECOND = 1e9;
+
+  private final double ticksPerSecond;
+  private final long frameNanos;
+  private final int lastTick;
+  private final boolean looping;
+  private long origin;
+  private long deadline;
+  private long droppedFrames;
+
+  //INVARIANT: ticksPerSecond and frameNanos are positive, and deadline is the time the frame after
+  //the last scheduled one is due.
+
+  /**
+   * Constructs a {@code PlaybackClock} that plays at the given {@param ticksPerSecond} and draws
+   * the given {@param framesPerSecond}.
+   *
+   * @param ticksPerSecond  The speed of the animation in ticks per second.
+   * @param framesPerSecond The number of frames drawn per second.
+   * @param lastTick        The last tick of the animation.
+   * @param looping         Whether the animation starts over once the last tick has played.
+   * @throws IllegalArgumentException if the speed or number of frames is not positive.
+   */
+  public PlaybackClock(double ticksPerSecond, int framesPerSecond, int lastTick,
+      boolean looping) {
+    if (!(ticksPerSecond > 0) || framesPerSecond < 1) {
+      throw new IllegalArgumentException("Speed must be positive!");
+    }
+    this.ticksPerSecond = ticksPerSecond;
+    this.frameNanos = Math.round(NANOS_PER_SECOND / framesPerSecond);
+    this.lastTick = lastTick;
+    this.looping = looping;
+    this.origin = 0;
+    this.deadline = 0;
+    this.droppedFrames = 0;
+  }
+
+  /**
+   * Starts {@code this} {@code PlaybackClock} at tick 0 at the given time {@param now}.
+   *
+   * @param now The current time in nanoseconds, as given by {@code System.nanoTime}.
+   */
+  public void start(long now) {
+    this.origin = now;
+    this.deadline = now;
+    this.droppedFrames = 0;
+  }
+
+  /**
+   * Returns the tick showing at the given time {@param now}, which is fractional between two
+   * ticks.
+   *
+   * @param now The current time in nanoseconds, as given by {@code System.nanoTime}.
+   * @return The tick showing at the given time.
+   */
+  public double tickAt(long now) {
+    double tick = (now - this.origin) / NANOS_PER_SECOND * this.ticksPerSecond;
+    if (this.looping && this.lastTick > 0) {
+      tick = tick % this.lastTick;
+    }
+    return tick;
+  }
+
+  /**
+   * Schedules the next frame after one drawn at the given time {@param now} and returns when it
+   * is due. Every deadline that has already passed is skipped and counted as a dropped frame.
+   *
+   * @param now The current time in nanoseconds, as given by {@code System.nanoTime}.
+   * @return The time the next frame is due in nanoseconds.
+   */
+  public long nextFrame(long now) {
+    this.deadline += this.frameNanos;
+    if (this.deadline - now < 0) {
+      long missed = (now - this.deadline) / this.frameNanos + 1;
+      this.droppedFrames += missed;
+      this.deadline += missed * this.frameNanos;
+    }
+    return this.deadline;
+  }
+
+  /**
+   * Returns the number of frames dropped since {@code this} {@code PlaybackClock} started.
+   *
+   * @return The number of dropped frames.
+   */
+  public long droppedFrames() {
+    return this.droppedFrames;
+  }
+}
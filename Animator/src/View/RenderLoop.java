@@ -0,0 +1,217 @@
+package view;
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.DisplayMode;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.locks.LockSupport;
+import model.ReadOnlyAnimatedShape;
+import model.ReadOnlyAnimationEnvironment;
+
+/**
+ * Represents a canvas that plays an animation by actively rendering it on its own thread, instead
+ * of repainting on the event dispatch thread whenever a timer fires. Frames are drawn through a
+ * {@code BufferStrategy} at the refresh rate of the display, and each frame shows the animation
+ * at the fractional tick given by a {@code PlaybackClock}, so the shapes move smoothly at any
+ * speed. Each frame is painted the same way the {@code AnimationPanel} paints a tick, and is
+ * timed in the {@code FrameStats} of {@code this} {@code RenderLoop}.
+ */
+public class RenderLoop extends Canvas implements Runnable {
+
+  private static final int DEFAULT_REFRESH_RATE = 60;
+
+  private final double ticksPerSecond;
+  private FrameEvaluator compiled;
+  private PlaybackClock clock;
+  private final ShapePainter painter;
+  private final TimedSink timedPainter;
+  private final FrameStats stats;
+  private volatile boolean running;
+  private Thread thread;
+
+  //INVARIANT: thread is non-null exactly while the loop has been started and not yet stopped.
+
+  /**
+   * Constructs a {@code RenderLoop} that plays the animation at the given {@param
+   * ticksPerSecond}.
+   *
+   * @param ticksPerSecond The speed of the animation in ticks per second.
+   * @throws IllegalArgumentException if the speed is not positive.
+   */
+  public RenderLoop(double ticksPerSecond) {
+    super();
+    if (!(ticksPerSecond > 0)) {
+      throw new IllegalArgumentException("Speed must be positive!");
+    }
+    this.ticksPerSecond = ticksPerSecond;
+    this.compiled = null;
+    this.clock = null;
+    this.painter = new ShapePainter();
+    this.timedPainter = new TimedSink(this.painter);
+    this.stats = new FrameStats();
+    this.running = false;
+    this.thread = null;
+    this.setIgnoreRepaint(true);
+    this.setBackground(Color.BLACK);
+  }
+
+  /**
+   * Sets the model for {@code this} {@code RenderLoop} to play, which is prepared by a {@code
+   * FrameEvaluator} once here.
+   *
+   * @param model   The {@code AnimationEnvironment} that {@code this} {@code RenderLoop} will
+   *                play.
+   * @param looping Whether the animation starts over once it has played through.
+   */
+  public void setModel(ReadOnlyAnimationEnvironment model, boolean looping) {
+    int latestTime = 0;
+    for (ReadOnlyAnimatedShape shapeState : model.getShapes()) {
+      if (shapeState.getTime() > latestTime) {
+        latestTime = shapeState.getTime();
+      }
+    }
+    this.compiled = FrameEvaluator.of(model);
+    this.clock = new PlaybackClock(this.ticksPerSecond, refreshRate(), latestTime, looping);
+    this.setPreferredSize(new Dimension(model.getWidth(), model.getHeight()));
+  }
+
+  /**
+   * Returns the timings of the frames drawn by {@code this} {@code RenderLoop}.
+   *
+   * @return The timings of the frames drawn.
+   */
+  public FrameStats getFrameStats() {
+    return this.stats;
+  }
+
+  /**
+   * Starts playing the animation from tick 0 on a new thread. The canvas must be displayable so
+   * that its buffers can be created.
+   *
+   * @throws IllegalArgumentException if no model has been set.
+   * @throws IllegalStateException    if the loop is already running.
+   */
+  public synchronized void start() {
+    if (this.compiled == null) {
+      throw new IllegalArgumentException("Model must be assigned!");
+    }
+    if (this.thread != null) {
+      throw new IllegalStateException("The animation is already playing!");
+    }
+    this.createBufferStrategy(2);
+    this.running = true;
+    this.thread = new Thread(this, "Excellence Render Loop");
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  /**
+   * Stops playing the animation and waits for the render thread to finish its frame.
+   */
+  public synchronized void stop() {
+    if (this.thread == null) {
+      return;
+    }
+    this.running = false;
+    LockSupport.unpark(this.thread);
+    try {
+      this.thread.join();
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+    }
+    this.thread = null;
+  }
+
+  /**
+   * Draws frames until {@code this} {@code RenderLoop} is stopped, sleeping until each frame is
+   * due.
+   */
+  @Override
+  public void run() {
+    BufferStrategy strategy = this.getBufferStrategy();
+    this.clock.start(System.nanoTime());
+    while (this.running) {
+      this.draw(strategy, this.clock.tickAt(System.nanoTime()));
+      long deadline = this.clock.nextFrame(System.nanoTime());
+      long wait;
+      while (this.running && (wait = deadline - System.nanoTime()) > 0) {
+        LockSupport.parkNanos(this, wait);
+      }
+    }
+  }
+
+  @Override
+  public void removeNotify() {
+    this.stop();
+    super.removeNotify();
+  }
+
+  /**
+   * Draws the frame at the given {@param tick} into the back buffer of the given {@param
+   * strategy} and shows it, drawing it again if the buffer was lost meanwhile.
+   *
+   * @param strategy The buffer strategy of {@code this} {@code RenderLoop}.
+   * @param tick     The tick to draw.
+   */
+  private void draw(BufferStrategy strategy, double tick) {
+    FrameEvent event = new FrameEvent();
+    event.begin();
+    long start = System.nanoTime();
+    long drawNanos = 0;
+    long presentNanos = 0;
+    int drawn = 0;
+    this.timedPainter.takeNanos();
+    do {
+      do {
+        Graphics2D graphics = (Graphics2D) strategy.getDrawGraphics();
+        try {
+          long clearing = System.nanoTime();
+          graphics.setColor(Color.BLACK);
+          graphics.fillRect(0, 0, this.getWidth(), this.getHeight());
+          drawNanos += System.nanoTime() - clearing;
+          this.painter.setGraphics(graphics);
+          drawn = this.compiled.evaluate(tick, this.timedPainter);
+        } finally {
+          graphics.dispose();
+        }
+      } while (strategy.contentsRestored());
+      long presenting = System.nanoTime();
+      strategy.show();
+      presentNanos += System.nanoTime() - presenting;
+    } while (strategy.contentsLost());
+    long syncing = System.nanoTime();
+    Toolkit.getDefaultToolkit().sync();
+    long end = System.nanoTime();
+    presentNanos += end - syncing;
+    drawNanos += this.timedPainter.takeNanos();
+    if (this.stats.isEnabled()) {
+      this.stats.record(end - start - drawNanos - presentNanos, drawNanos, presentNanos, drawn,
+          this.compiled.shapeCount() - drawn);
+    }
+    event.end();
+    if (event.shouldCommit()) {
+      event.tick = tick;
+      event.shapesDrawn = drawn;
+      event.shapesSkipped = this.compiled.shapeCount() - drawn;
+      event.commit();
+    }
+  }
+
+  /**
+   * Returns the refresh rate of the default screen, or 60 if it is unknown.
+   *
+   * @return The refresh rate in frames per second.
+   */
+  private static int refreshRate() {
+    if (GraphicsEnvironment.isHeadless()) {
+      return DEFAULT_REFRESH_RATE;
+    }
+    int rate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+        .getDisplayMode().getRefreshRate();
+    return rate == DisplayMode.REFRESH_RATE_UNKNOWN ? DEFAULT_REFRESH_RATE : rate;
+  }
+}
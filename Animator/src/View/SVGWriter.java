@@ -0,0 +1,363 @@
+package view;
+
+import java.io.IOException;
+import model.ReadOnlyAnimatedShape;
+import model.Shapes;
+
+/**
+ * Writes the elements of an svg document for the text views and builders that produce svg. Every
+ * element is written through a {@code TextEmitter} as soon as it is asked for, so nothing is held
+ * back in memory.
+ *
+ * <p>The animations of a motion are normally nested in the element of their shape. Animations
+ * written after the element of their shape has been closed name the shape they animate with an
+ * {@code xlink:href} instead.</p>
+ */
+final class SVGWriter {
+
+  private final TextEmitter svg;
+  private final int ticksPerSecond;
+  private int height;
+
+  /**
+   * Constructs an {@code SVGWriter} that writes to the given {@param svg} with the given {@param
+   * ticksPerSecond}.
+   *
+   * @param svg            The emitter the svg text is written to.
+   * @param ticksPerSecond The speed of the animation in ticks per second.
+   */
+  SVGWriter(TextEmitter svg, int ticksPerSecond) {
+    this.svg = svg;
+    this.ticksPerSecond = ticksPerSecond;
+    this.height = 0;
+  }
+
+  /**
+   * Opens the svg document with a canvas of the given {@param width} and {@param height}.
+   *
+   * @param width  The width of the canvas.
+   * @param height The height of the canvas.
+   * @param xlink  Whether animations will name their shapes with {@code xlink:href}.
+   * @throws IOException if the emitter cannot write to its output.
+   */
+  void header(int width, int height, boolean xlink) throws IOException {
+    this.height = height;
+    this.svg.append("<svg width=\"").append(width).append("\" height=\"").append(height)
+        .append("\" version=\"1.1\" xmlns=\"http://www.w3.org/2000/svg\"");
+    if (xlink) {
+      this.svg.append(" xmlns:xlink=\"http://www.w3.org/1999/xlink\"");
+    }
+    this.svg.append(">\n");
+  }
+
+  /**
+   * Closes the svg document.
+   *
+   * @throws IOException if the emitter cannot write to its output.
+   */
+  void footer() throws IOException {
+    this.svg.append("</svg>");
+  }
+
+  /**
+   * Opens the element of the shape with the given {@param name} and {@param type}, starting in
+   * the given {@param initialShape}. Ellipses and rectangles are always given the name as their
+   * id, and a polygon is only given it if {@param polygonId} is true, for animations written
+   * outside of it to refer to.
+   *
+   * @param name         The name of the shape.
+   * @param type         The type of the shape.
+   * @param initialShape The first state of the shape.
+   * @param polygonId    Whether a polygon is given the name as its id.
+   * @throws IOException if the emitter cannot write to its output.
+   */
+  void openShape(String name, Shapes type, ReadOnlyAnimatedShape initialShape,
+      boolean polygonId) throws IOException {
+    if (type == Shapes.Triangle) {
+      this.svg.append("<polygon points=\"");
+      this.points(initialShape);
+      this.svg.append('"');
+      if (polygonId) {
+        this.svg.append(" id=\"").append(name).append('"');
+      }
+      this.svg.append(' ');
+    } else {
+      this.svg.append('<').append(element(type));
+    }
+    if (type == Shapes.Oval) {
+      this.svg.append(" id=\"").append(name).append("\" cx=\"")
+          .append((int) (initialShape.getPosn().getX()
+              + initialShape.getBoundary().getWidth() / 2))
+          .append("\" cy=\"")
+          .append((int) (initialShape.getPosn().getY()
+              + initialShape.getBoundary().getHeight() / 2))
+          .append("\" rx=\"")
+          .append((int) initialShape.getBoundary().getWidth() / 2).append("\" ry=\"")
+          .append((int) initialShape.getBoundary().getHeight() / 2).append("\" ");
+    } else if (type == Shapes.Rectangle) {
+      this.svg.append(" id=\"").append(name).append("\" x=\"")
+          .append((int) initialShape.getPosn().getX()).append("\" y=\"")
+          .append((int) initialShape.getPosn().getY())
+          .append("\" width=\"")
+          .append((int) initialShape.getBoundary().getWidth()).append("\" height=\"")
+          .append((int) initialShape.getBoundary().getHeight())
+          .append("\" ");
+    }
+    this.svg.append("fill=\"");
+    this.rgb(initialShape);
+    this.svg.append("\" visibility=\"visible\" >\n");
+  }
+
+  /**
+   * Closes the element of a shape of the given {@param type}.
+   *
+   * @param type The type of the shape.
+   * @throws IOException if the emitter cannot write to its output.
+   */
+  void closeShape(Shapes type) throws IOException {
+    this.svg.append("</").append(element(type)).append(">\n");
+  }
+
+  /**
+   * Returns the name of the svg element drawing shapes of the given {@param type}.
+   *
+   * @param type The type of shape.
+   * @return The name of the element.
+   */
+  static String element(Shapes type) {
+    if (type == Shapes.Rectangle) {
+      return "rect";
+    } else if (type == Shapes.Oval) {
+      return "ellipse";
+    } else {
+      return "polygon";
+    }
+  }
+
+  /**
+   * Writes the points of the polygon of the triangle in the given {@param state}, flipped to the
+   * height of the canvas.
+   *
+   * @param state The state of the triangle.
+   * @throws IOException if the emitter cannot write to its output.
+   */
+  private void points(ReadOnlyAnimatedShape state) throws IOException {
+    this.svg.append((int) state.getPosn().getX()).append(',')
+        .append((int) (this.height - state.getPosn().getY())).append(' ')
+        .append((int) (state.getPosn().getX() + state.getBoundary().getWidth() / 2)).append(',')
+        .append((int) (this.height - (state.getPosn().getY()
+            + state.getBoundary().getHeight()))).append(' ')
+        .append((int) (state.getPosn().getX() + state.getBoundary().getWidth())).append(',')
+        .append((int) (this.height - state.getPosn().getY()));
+  }
+
+  /**
+   * Writes the color of the given {@param state} as an svg rgb color.
+   *
+   * @param state The state whose color is written.
+   * @throws IOException if the emitter cannot write to its output.
+   */
+  private void rgb(ReadOnlyAnimatedShape state) throws IOException {
+    this.svg.append("rgb(").append(state.getColor().getRed()).append(',')
+        .append(state.getColor().getGreen()).append(',')
+        .append(state.getColor().getBlue()).append(')');
+  }
+
+  /**
+   * Names the shape an animation element animates, if it is not nested in the shape.
+   *
+   * @param target The name of the shape, or null if the animation is nested in it.
+   * @throws IOException if the emitter cannot write to its output.
+   */
+  private void target(String target) throws IOException {
+    if (target != null) {
+      this.svg.append("xlink:href=\"#").append(target).append("\" ");
+    }
+  }
+
+  /**
+   * Writes the beginning of an animate element shared by every change in a motion.
+   *
+   * @param initialState The initial state of the svg animation.
+   * @param finalState   The final state of the svg animation.
+   * @param target       The name of the shape, or null if the animation is nested in it.
+   * @throws IOException if the emitter cannot write to its output.
+   */
+  private void motionBegin(ReadOnlyAnimatedShape initialState, ReadOnlyAnimatedShape finalState,
+      String target) throws IOException {
+    this.svg.append("<animate ");
+    this.target(target);
+    this.svg.append("attributeType=\"xml\" begin=\"")
+        .append(((double) initialState.getTime() / this.ticksPerSecond) * 1000)
+        .append("ms\" dur=\"")
+        .append(((double) (finalState.getTime() - initialState.getTime()) / this.ticksPerSecond)
+            * 1000)
+        .append("ms\" ");
+  }
+
+  /**
+   * Writes an animate element changing the given {@param attribute} of the shape from the given
+   * {@param from} value to the given {@param to} value over the motion.
+   *
+   * @param initialState The initial state of the svg animation.
+   * @param finalState   The final state of the svg animation.
+   * @param target       The name of the shape, or null if the animation is nested in it.
+   * @param attribute    The name of the attribute being animated.
+   * @param from         The initial value of the attribute.
+   * @param to           The final value of the attribute.
+   * @throws IOException if the emitter cannot write to its output.
+   */
+  private void animate(ReadOnlyAnimatedShape initialState, ReadOnlyAnimatedShape finalState,
+      String target, String attribute, int from, int to) throws IOException {
+    this.motionBegin(initialState, finalState, target);
+    this.svg.append("attributeName=\"").append(attribute).append("\" from=\"").append(from)
+        .append("\" to=\"").append(to).append("\" fill=\"freeze\" />\n");
+  }
+
+  /**
+   * Writes an animateTransform element rotating the shape from the orientation of the given
+   * {@param initialState} about the given initial center to the orientation of the given {@param
+   * finalState} about the given final center.
+   *
+   * @param initialState The initial state of the svg animation.
+   * @param finalState   The final state of the svg animation.
+   * @param target       The name of the shape, or null if the animation is nested in it.
+   * @param initialX     The x-coordinate of the initial center of rotation.
+   * @param initialY     The y-coordinate of the initial center of rotation.
+   * @param finalX       The x-coordinate of the final center of rotation.
+   * @param finalY       The y-coordinate of the final center of rotation.
+   * @throws IOException if the emitter cannot write to its output.
+   */
+  private void rotate(ReadOnlyAnimatedShape initialState, ReadOnlyAnimatedShape finalState,
+      String target, int initialX, int initialY, int finalX, int finalY) throws IOException {
+    this.svg.append("<animateTransform ");
+    this.target(target);
+    this.svg.append("attributeName=\"transform\" attributeType=\"XML\" ")
+        .append("type=\"rotate\" from=\"").append(initialState.getOrientation()).append(' ')
+        .append(initialX).append(' ').append(initialY).append("\" to=\"")
+        .append(finalState.getOrientation()).append(' ')
+        .append(finalX).append(' ').append(finalY).append("\" dur=\"")
+        .append(finalState.getTime() - initialState.getTime()).append("s\"/>\n");
+  }
+
+  /**
+   * Writes the lines of svg code necessary to illustrate the changes in {@param initialState} to
+   * the {@param finalState}.
+   *
+   * @param initialState The initial state of the svg animation.
+   * @param finalState   The final state of the svg animation.
+   * @param target       The name of the shape, or null if the animation is nested in it.
+   * @throws IOException if the emitter cannot write to its output.
+   */
+  void motion(ReadOnlyAnimatedShape initialState, ReadOnlyAnimatedShape finalState,
+      String target) throws IOException {
+    Shapes shapeType = initialState.getShapeType();
+    String positionX;
+    String positionY;
+    String dimX;
+    String dimY;
+    int finalPosnXVal;
+    int finalPosnYVal;
+    int finalDimXVal;
+    int finalDimYVal;
+    int initialPosnXVal;
+    int initialPosnYVal;
+    int initialDimXVal;
+    int initialDimYVal;
+    int initialOrientationVal;
+    int finalOrientationVal;
+    if (shapeType == Shapes.Oval) {
+      positionX = "cx";
+      positionY = "cy";
+      dimX = "rx";
+      dimY = "ry";
+      initialPosnXVal = (int) (initialState.getPosn().getX()
+          + initialState.getBoundary().getWidth() / 2);
+      initialPosnYVal = (int) (initialState.getPosn().getY()
+          + initialState.getBoundary().getHeight() / 2);
+      initialDimXVal = (int) initialState.getBoundary().getWidth() / 2;
+      initialDimYVal = (int) initialState.getBoundary().getHeight() / 2;
+      finalPosnXVal = (int) (finalState.getPosn().getX() + finalState.getBoundary().getWidth() / 2);
+      finalPosnYVal = (int) (finalState.getPosn().getY()
+          + finalState.getBoundary().getHeight() / 2);
+      finalDimXVal = (int) finalState.getBoundary().getWidth() / 2;
+      finalDimYVal = (int) finalState.getBoundary().getHeight() / 2;
+      initialOrientationVal = initialState.getOrientation();
+      finalOrientationVal = finalState.getOrientation();
+    } else {
+      positionX = "x";
+      positionY = "y";
+      dimX = "width";
+      dimY = "ry";
+      initialPosnXVal = (int) (initialState.getPosn().getX());
+      initialPosnYVal = (int) (initialState.getPosn().getY());
+      initialDimXVal = (int) initialState.getBoundary().getWidth();
+      initialDimYVal = (int) initialState.getBoundary().getHeight();
+      finalPosnXVal = (int) (finalState.getPosn().getX());
+      finalPosnYVal = (int) (finalState.getPosn().getY());
+      finalDimXVal = (int) finalState.getBoundary().getWidth();
+      finalDimYVal = (int) finalState.getBoundary().getHeight();
+      initialOrientationVal = initialState.getOrientation();
+      finalOrientationVal = finalState.getOrientation();
+    }
+    if(initialOrientationVal != finalOrientationVal) {
+      if(initialState.getShapeType() == Shapes.Rectangle) {
+        this.rotate(initialState, finalState, target,
+            initialPosnXVal + initialDimXVal / 2, initialPosnYVal + initialDimYVal / 2,
+            finalPosnXVal + finalDimXVal / 2, finalPosnYVal + finalDimYVal / 2);
+      } else if(initialState.getShapeType() == Shapes.Oval) {
+        this.rotate(initialState, finalState, target,
+            initialPosnXVal, initialPosnYVal, finalPosnXVal, finalPosnYVal);
+      } else if(initialState.getShapeType() == Shapes.Triangle) {
+        this.rotate(initialState, finalState, target,
+            initialPosnXVal + initialDimXVal/2, initialPosnYVal - initialDimYVal/2,
+            finalPosnXVal + finalDimXVal/2, finalPosnYVal - finalDimYVal/2);
+      }
+    } else {
+      if (initialPosnXVal != finalPosnXVal && shapeType != Shapes.Triangle) {
+        this.animate(initialState, finalState, target, positionX, initialPosnXVal,
+            finalPosnXVal);
+      }
+      if (initialPosnYVal != finalPosnYVal && shapeType != Shapes.Triangle) {
+        this.animate(initialState, finalState, target, positionY, initialPosnYVal,
+            finalPosnYVal);
+      }
+      if (!initialState.getColor().equals(finalState.getColor())) {
+        this.motionBegin(initialState, finalState, target);
+        this.svg.append("attributeName=\"fill\" from=\"");
+        this.rgb(initialState);
+        this.svg.append("\" to=\"");
+        this.rgb(finalState);
+        this.svg.append("\" fill=\"freeze\" />\n");
+      }
+      if (initialDimXVal != finalDimXVal && shapeType != Shapes.Triangle) {
+        this.animate(initialState, finalState, target, dimX, initialDimXVal, finalDimXVal);
+      }
+      if (initialDimYVal != finalDimYVal && shapeType != Shapes.Triangle) {
+        this.animate(initialState, finalState, target, dimY, initialDimYVal, finalDimYVal);
+      }
+      if (shapeType == Shapes.Triangle) {
+        if (initialState.getPosn().getX() != finalState.getPosn().getX()
+            || initialState.getPosn().getY() != finalState.getPosn().getY()
+            || initialState.getBoundary().getWidth() != finalState.getBoundary().getWidth()
+            || initialState.getBoundary().getHeight() != finalState.getBoundary().getHeight()) {
+          this.motionBegin(initialState, finalState, target);
+          this.svg.append("attributeName=\"points\" from=\"");
+          this.points(initialState);
+          this.svg.append("\" to=\"");
+          this.points(finalState);
+          this.svg.append("\" fill=\"freeze\" />\n");
+        }
+
+      }
+
+      if (initialDimXVal == finalDimXVal && initialDimYVal == finalDimYVal
+          && initialPosnXVal == finalPosnXVal
+          && initialPosnYVal == finalPosnYVal && initialState.getColor()
+          .equals(finalState.getColor())) {
+        this.motionBegin(initialState, finalState, target);
+        this.svg.append("fill=\"freeze\" />\n");
+      }
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package view;
 
 import javax.swing.event.ChangeListener;
+import model.KeyframeIndex;
 import model.ReadOnlyAnimatedShape;
 import model.ReadOnlyAnimationEnvironment;
 
@@ -22,7 +23,6 @@ public class ScrubbingOrientationEditableView extends EditableViewImpl {
     this.osTimeFlowPanel = new OrientationScrubbingTimeFlowPanel(ticksPerSecond, this.getLatestTime(model));
     this.timeFlow = osTimeFlowPanel;
     this.environmentPanel = new OrientationScrubbingAnimationPanel(this.osTimeFlowPanel);
-    this.clock.addActionListener(this.environmentPanel);
     this.environmentPanel.setModel(model);
     this.shapeKeyframes = new KeyframeShapesPanel(model);
   }
@@ -52,9 +52,23 @@ public class ScrubbingOrientationEditableView extends EditableViewImpl {
   }
 
 
+  /**
+   * Returns the time of the latest keyframe of any shape in the given {@param model}, which is
+   * looked up in the index of a shape's keyframes when it has one instead of reading its log.
+   *
+   * @param model The model to find the latest time of.
+   * @return The latest time of a keyframe in the model, or 0 if there are none.
+   */
   private int getLatestTime(ReadOnlyAnimationEnvironment model) {
     int latestTime = 0;
     for(ReadOnlyAnimatedShape shape : model.getShapes()) {
+      if (shape instanceof KeyframeIndex) {
+        ReadOnlyAnimatedShape last = ((KeyframeIndex) shape).floorKeyframe(Integer.MAX_VALUE);
+        if (last != null && last.getTime() > latestTime) {
+          latestTime = last.getTime();
+        }
+        continue;
+      }
       for (ReadOnlyAnimatedShape keyframe : shape.getLog()) {
         if(keyframe.getTime() > latestTime) {
           latestTime = keyframe.getTime();
@@ -0,0 +1,101 @@
+package view;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import model.Shapes;
+
+/**
+ * Represents a {@code FrameSink} that paints every shape it receives onto a {@code Graphics2D}.
+ * The colors it paints with are kept in a small cache, so painting a frame whose colors have been
+ * painted before allocates no new {@code Color}s.
+ */
+final class ShapePainter implements FrameSink {
+
+  private static final int COLOR_CACHE_SIZE = 256;
+
+  private final Color[] colors;
+  private final int[] xPoints;
+  private final int[] yPoints;
+  private Graphics2D graphics;
+  private AffineTransform transform;
+
+  //INVARIANT: every color in colors is either null or stored at the index its RGB value hashes to.
+
+  /**
+   * Constructs a {@code ShapePainter} that has no graphics to paint on yet.
+   */
+  ShapePainter() {
+    this.colors = new Color[COLOR_CACHE_SIZE];
+    this.xPoints = new int[3];
+    this.yPoints = new int[3];
+    this.graphics = null;
+    this.transform = null;
+  }
+
+  /**
+   * Sets the {@param graphics} that {@code this} {@code ShapePainter} paints the next frame on.
+   *
+   * @param graphics The graphics to paint on.
+   */
+  void setGraphics(Graphics2D graphics) {
+    this.graphics = graphics;
+    this.transform = graphics.getTransform();
+  }
+
+  /**
+   * Paints the given shape on the graphics of {@code this} {@code ShapePainter}, rotated about its
+   * center.
+   *
+   * @throws IllegalArgumentException if the shape type is unsupported.
+   */
+  @Override
+  public void shape(Shapes type, double x, double y, double width, double height, int red,
+      int green, int blue, double rotation) {
+    double yCenter;
+    if (type == Shapes.Triangle) {
+      yCenter = y - height / 2;
+    } else {
+      yCenter = y + height / 2;
+    }
+    this.graphics.rotate(rotation, x + width / 2, yCenter);
+    this.graphics.setColor(this.color(red, green, blue));
+
+    if (type == Shapes.Rectangle) {
+      this.graphics.fillRect((int) x, (int) y, (int) width, (int) height);
+    } else if (type == Shapes.Oval) {
+      this.graphics.fillOval((int) x, (int) y, (int) width, (int) height);
+    } else if (type == Shapes.Triangle) {
+      this.xPoints[0] = (int) x;
+      this.xPoints[1] = (int) (x + width / 2);
+      this.xPoints[2] = (int) (x + width);
+      this.yPoints[0] = (int) y;
+      this.yPoints[1] = (int) (y - height);
+      this.yPoints[2] = (int) y;
+      this.graphics.fillPolygon(this.xPoints, this.yPoints, 3);
+    } else {
+      throw new IllegalArgumentException("Unsupported/Invalid shape");
+    }
+    this.graphics.setTransform(this.transform);
+  }
+
+  /**
+   * Returns the color with the given {@param red}, {@param green} and {@param blue} components,
+   * reusing the color in the cache when it matches.
+   *
+   * @param red   The red component of the color.
+   * @param green The green component of the color.
+   * @param blue  The blue component of the color.
+   * @return The color with the given components.
+   */
+  private Color color(int red, int green, int blue) {
+    int rgb = 0xFF000000 | (red & 0xFF) << 16 | (green & 0xFF) << 8 | (blue & 0xFF);
+    int index = (rgb ^ rgb >>> 8 ^ rgb >>> 16) & (COLOR_CACHE_SIZE - 1);
+    Color color = this.colors[index];
+    if (color == null || color.getRGB() != rgb) {
+      color = new Color(red, green, blue);
+      this.colors[index] = color;
+    }
+    return color;
+  }
+}
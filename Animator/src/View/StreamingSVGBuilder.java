@@ -0,0 +1,222 @@
+package view;
+
+import controller.AnimationBuilder;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import model.AnimatedShapeImpl;
+import model.AnimationEnvironmentImpl;
+import model.Position2D;
+import model.ReadOnlyAnimatedShape;
+import model.ReadOnlyAnimatedShapeImpl;
+import model.Shapes;
+
+/**
+ * Represents an {@code AnimationBuilder} that writes an svg document for the motions given to it
+ * as they arrive, without building a model. Only the latest state of each shape is kept, so reading
+ * a file into it takes memory that grows with the number of shapes and not the number of
+ * motions.
+ *
+ * <p>The element of each shape is written when its first motion or keyframe arrives, and every
+ * animation after it names its shape with an {@code xlink:href}, so motions of different shapes
+ * may arrive in any order. Each motion is animated exactly as the {@code SVGView} animates the
+ * same motion, including the motion that carries a shape across a gap between two motions.
+ * Since nothing written can be taken back, the motions of each shape must arrive in order of
+ * time, and a motion that begins before the latest state of its shape is rejected like an
+ * overlapping motion in the model.</p>
+ */
+public class StreamingSVGBuilder implements AnimationBuilder<Appendable> {
+
+  private final Appendable out;
+  private final TextEmitter text;
+  private final SVGWriter svg;
+  private final Map<String, Shapes> declared;
+  private final Map<String, ReadOnlyAnimatedShape> latest;
+  private int width;
+  private int height;
+  private boolean started;
+
+  //INVARIANT: started is true exactly when the opening svg element has been written, and latest
+  //holds the last written state of every shape whose element has been written.
+
+  /**
+   * Constructs a {@code StreamingSVGBuilder} that writes to the given {@param out} at the given
+   * {@param ticksPerSecond}.
+   *
+   * @param out            The output stream that {@code this} {@code StreamingSVGBuilder} will
+   *                       write to.
+   * @param ticksPerSecond The speed of the animation in ticks per second.
+   */
+  public StreamingSVGBuilder(Appendable out, int ticksPerSecond) {
+    this.out = out;
+    this.text = new TextEmitter(out);
+    this.svg = new SVGWriter(this.text, ticksPerSecond);
+    this.declared = new HashMap<String, Shapes>();
+    this.latest = new HashMap<String, ReadOnlyAnimatedShape>();
+    this.width = 0;
+    this.height = 0;
+    this.started = false;
+  }
+
+  /**
+   * Closes the svg document and writes everything that has not yet been written to the output
+   * stream.
+   *
+   * @return The output stream that was written to.
+   * @throws IllegalStateException if the output stream cannot be written to.
+   */
+  @Override
+  public Appendable build() {
+    try {
+      this.start();
+      this.svg.footer();
+      this.text.flush();
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Append failed", ioe);
+    }
+    return this.out;
+  }
+
+  /**
+   * Sets the size of the canvas of the document.
+   *
+   * @throws IllegalStateException if a shape has already been written.
+   */
+  @Override
+  public AnimationBuilder<Appendable> setBounds(int x, int y, int width, int height) {
+    if (this.started) {
+      throw new IllegalStateException("The canvas must be set before any motion!");
+    }
+    this.width = width;
+    this.height = height;
+    return this;
+  }
+
+  @Override
+  public AnimationBuilder<Appendable> declareShape(String name, String type) {
+    this.declared.put(name, AnimationEnvironmentImpl.Builder.getUndeclaredShapeType(type));
+    return this;
+  }
+
+  @Override
+  public AnimationBuilder<Appendable> addMotion(String name, int t1, int x1, int y1, int w1,
+      int h1, int r1, int g1, int b1, int t2, int x2, int y2, int w2, int h2, int r2, int g2,
+      int b2) {
+    return this.addMotion(name, t1, x1, y1, w1, h1, r1, g1, b1, 0, t2, x2, y2, w2, h2, r2, g2,
+        b2, 0);
+  }
+
+  @Override
+  public AnimationBuilder<Appendable> addKeyframe(String name, int t, int x, int y, int w, int h,
+      int r, int g, int b) {
+    return this.addKeyframe(name, t, x, y, w, h, r, g, b, 0);
+  }
+
+  /**
+   * Writes the animations of the given motion of the shape with the given {@param name}.
+   *
+   * @throws IllegalArgumentException if the shape has not been declared, either state is invalid,
+   *                                  the motion ends before it begins or it begins before the
+   *                                  latest state written of the shape.
+   */
+  @Override
+  public AnimationBuilder<Appendable> addMotion(String name, int t1, int x1, int y1, int w1,
+      int h1, int r1, int g1, int b1, int o1, int t2, int x2, int y2, int w2, int h2, int r2,
+      int g2, int b2, int o2) {
+    if (t1 < 0 || t1 > t2) {
+      throw new IllegalArgumentException("Invalid time segment!");
+    }
+    ReadOnlyAnimatedShape latest = this.latest.get(name);
+    if (latest != null && t1 < latest.getTime()) {
+      throw new IllegalArgumentException("Animation periods cannot be overlapping!");
+    }
+    ReadOnlyAnimatedShape start = this.state(name, t1, x1, y1, w1, h1, r1, g1, b1, o1);
+    ReadOnlyAnimatedShape end = this.state(name, t2, x2, y2, w2, h2, r2, g2, b2, o2);
+    try {
+      ReadOnlyAnimatedShape previous = this.open(name, start);
+      if (previous.getTime() != start.getTime()) {
+        this.svg.motion(previous, start, name);
+      }
+      this.svg.motion(start, end, name);
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Append failed", ioe);
+    }
+    this.latest.put(name, end);
+    return this;
+  }
+
+  @Override
+  public AnimationBuilder<Appendable> addKeyframe(String name, int t, int x, int y, int w, int h,
+      int r, int g, int b, int o) {
+    ReadOnlyAnimatedShape keyframe = this.state(name, t, x, y, w, h, r, g, b, o);
+    try {
+      this.open(name, keyframe);
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Append failed", ioe);
+    }
+    this.latest.put(name, keyframe);
+    return this;
+  }
+
+  /**
+   * Writes the element of the shape with the given {@param name} in the given {@param initial}
+   * state if it has not been written yet.
+   *
+   * @param name    The name of the shape.
+   * @param initial The first state of the shape.
+   * @return The last written state of the shape, which is the given state if the element has
+   *         only just been written.
+   * @throws IOException if the output stream cannot be written to.
+   */
+  private ReadOnlyAnimatedShape open(String name, ReadOnlyAnimatedShape initial)
+      throws IOException {
+    ReadOnlyAnimatedShape previous = this.latest.get(name);
+    if (previous != null) {
+      return previous;
+    }
+    this.start();
+    this.svg.openShape(name, initial.getShapeType(), initial, true);
+    this.svg.closeShape(initial.getShapeType());
+    return initial;
+  }
+
+  /**
+   * Writes the opening svg element if it has not been written yet.
+   *
+   * @throws IOException if the output stream cannot be written to.
+   */
+  private void start() throws IOException {
+    if (!this.started) {
+      this.svg.header(this.width, this.height, true);
+      this.started = true;
+    }
+  }
+
+  /**
+   * Constructs the state of the declared shape with the given {@param name} at one end of a
+   * motion.
+   *
+   * @param name The name of the shape.
+   * @param t    The time.
+   * @param x    The x-position.
+   * @param y    The y-position.
+   * @param w    The width.
+   * @param h    The height.
+   * @param r    The red color-value.
+   * @param g    The green color-value.
+   * @param b    The blue color-value.
+   * @param o    The orientation.
+   * @return The state of the shape.
+   * @throws IllegalArgumentException if the shape has not been declared or the state is invalid.
+   */
+  private ReadOnlyAnimatedShape state(String name, int t, int x, int y, int w, int h, int r,
+      int g, int b, int o) {
+    if (!this.declared.containsKey(name)) {
+      throw new IllegalArgumentException("There are no undeclared shapes with that name!");
+    }
+    return new ReadOnlyAnimatedShapeImpl(new AnimatedShapeImpl(this.declared.get(name), name, t,
+        new Dimension(w, h), new Color(r, g, b), new Position2D(x, y), o));
+  }
+}
@@ -0,0 +1,129 @@
+package view;
+
+import controller.AnimationBuilder;
+import java.io.IOException;
+
+/**
+ * Represents an {@code AnimationBuilder} that writes every call made to it straight to its output
+ * stream in the text form read by {@code AnimationReader}, one line each, without building a
+ * model. Reading a file into it rewrites the file without its comments and with single spaces, in
+ * memory that does not grow with the size of the file.
+ *
+ * <p>Motions given with orientations are written with them, as {@code OrientationAnimationReader}
+ * reads them. The text form has no keyframes, so a keyframe is written as a motion from the
+ * keyframe to itself.</p>
+ */
+public class StreamingTextBuilder implements AnimationBuilder<Appendable> {
+
+  private final Appendable out;
+  private final TextEmitter text;
+
+  /**
+   * Constructs a {@code StreamingTextBuilder} that writes to the given {@param out}.
+   *
+   * @param out The output stream that {@code this} {@code StreamingTextBuilder} will write to.
+   */
+  public StreamingTextBuilder(Appendable out) {
+    this.out = out;
+    this.text = new TextEmitter(out);
+  }
+
+  /**
+   * Writes everything that has not yet been written to the output stream.
+   *
+   * @return The output stream that was written to.
+   * @throws IllegalStateException if the output stream cannot be written to.
+   */
+  @Override
+  public Appendable build() {
+    try {
+      this.text.flush();
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Append failed", ioe);
+    }
+    return this.out;
+  }
+
+  @Override
+  public AnimationBuilder<Appendable> setBounds(int x, int y, int width, int height) {
+    try {
+      this.text.append("canvas ").append(x).append(' ').append(y).append(' ').append(width)
+          .append(' ').append(height).append('\n');
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Append failed", ioe);
+    }
+    return this;
+  }
+
+  @Override
+  public AnimationBuilder<Appendable> declareShape(String name, String type) {
+    try {
+      this.text.append("shape ").append(name).append(' ').append(type).append('\n');
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Append failed", ioe);
+    }
+    return this;
+  }
+
+  @Override
+  public AnimationBuilder<Appendable> addMotion(String name, int t1, int x1, int y1, int w1,
+      int h1, int r1, int g1, int b1, int t2, int x2, int y2, int w2, int h2, int r2, int g2,
+      int b2) {
+    try {
+      this.text.append("motion ").append(name);
+      this.state(t1, x1, y1, w1, h1, r1, g1, b1);
+      this.state(t2, x2, y2, w2, h2, r2, g2, b2);
+      this.text.append('\n');
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Append failed", ioe);
+    }
+    return this;
+  }
+
+  @Override
+  public AnimationBuilder<Appendable> addKeyframe(String name, int t, int x, int y, int w, int h,
+      int r, int g, int b) {
+    return this.addMotion(name, t, x, y, w, h, r, g, b, t, x, y, w, h, r, g, b);
+  }
+
+  @Override
+  public AnimationBuilder<Appendable> addMotion(String name, int t1, int x1, int y1, int w1,
+      int h1, int r1, int g1, int b1, int o1, int t2, int x2, int y2, int w2, int h2, int r2,
+      int g2, int b2, int o2) {
+    try {
+      this.text.append("motion ").append(name);
+      this.state(t1, x1, y1, w1, h1, r1, g1, b1);
+      this.text.append(' ').append(o1);
+      this.state(t2, x2, y2, w2, h2, r2, g2, b2);
+      this.text.append(' ').append(o2).append('\n');
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Append failed", ioe);
+    }
+    return this;
+  }
+
+  @Override
+  public AnimationBuilder<Appendable> addKeyframe(String name, int t, int x, int y, int w, int h,
+      int r, int g, int b, int o) {
+    return this.addMotion(name, t, x, y, w, h, r, g, b, o, t, x, y, w, h, r, g, b, o);
+  }
+
+  /**
+   * Writes the time, position, size and color of one end of a motion, each after a space.
+   *
+   * @param t The time.
+   * @param x The x-position.
+   * @param y The y-position.
+   * @param w The width.
+   * @param h The height.
+   * @param r The red color-value.
+   * @param g The green color-value.
+   * @param b The blue color-value.
+   * @throws IOException if the output stream cannot be written to.
+   */
+  private void state(int t, int x, int y, int w, int h, int r, int g, int b) throws IOException {
+    this.text.append(' ').append(t).append(' ').append(x).append(' ').append(y).append(' ')
+        .append(w).append(' ').append(h).append(' ').append(r).append(' ').append(g).append(' ')
+        .append(b);
+  }
+}
@@ -0,0 +1,159 @@
+package view;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Represents a buffer that text views write their output through, so that the output is streamed
+ * to its {@code Appendable} in large pieces instead of being built up as one {@code String}.
+ * Integers are formatted straight into the buffer, and so are doubles that hold whole numbers,
+ * which covers the times written by the views; any other double is formatted by {@link
+ * Double#toString(double)}, so every number reads exactly as it would have been concatenated.
+ */
+final class TextEmitter {
+
+  private static final int BUFFER_SIZE = 1 << 13;
+  //the largest whole number that Double.toString writes without an exponent
+  private static final double PLAIN_LIMIT = 1e7;
+
+  private final Appendable out;
+  private final char[] buffer;
+  private int count;
+  private long written;
+
+  /**
+   * Constructs a {@code TextEmitter} that writes to the given {@param out}.
+   *
+   * @param out The output that is written to when {@code this} {@code TextEmitter} is flushed.
+   */
+  TextEmitter(Appendable out) {
+    this.out = out;
+    this.buffer = new char[BUFFER_SIZE];
+    this.count = 0;
+    this.written = 0;
+  }
+
+  /**
+   * Returns the number of characters written to the output so far.
+   *
+   * @return The number of characters written.
+   */
+  long written() {
+    return this.written;
+  }
+
+  /**
+   * Adds the given {@param text}.
+   *
+   * @param text The text to be added.
+   * @return {@code this} {@code TextEmitter}.
+   * @throws IOException if the output cannot be written to.
+   */
+  TextEmitter append(String text) throws IOException {
+    int length = text.length();
+    int offset = 0;
+    while (offset < length) {
+      if (this.count == this.buffer.length) {
+        this.drain();
+      }
+      int n = Math.min(length - offset, this.buffer.length - this.count);
+      text.getChars(offset, offset + n, this.buffer, this.count);
+      this.count += n;
+      offset += n;
+    }
+    return this;
+  }
+
+  /**
+   * Adds the given {@param c}.
+   *
+   * @param c The character to be added.
+   * @return {@code this} {@code TextEmitter}.
+   * @throws IOException if the output cannot be written to.
+   */
+  TextEmitter append(char c) throws IOException {
+    if (this.count == this.buffer.length) {
+      this.drain();
+    }
+    this.buffer[this.count++] = c;
+    return this;
+  }
+
+  /**
+   * Adds the decimal form of the given {@param value}, as {@link Integer#toString(int)} writes it.
+   *
+   * @param value The value to be added.
+   * @return {@code this} {@code TextEmitter}.
+   * @throws IOException if the output cannot be written to.
+   */
+  TextEmitter append(int value) throws IOException {
+    if (this.buffer.length - this.count < 11) {
+      this.drain();
+    }
+    //digits are taken from the negative value so that Integer.MIN_VALUE needs no special case
+    int negative = value < 0 ? value : -value;
+    int length = value < 0 ? 2 : 1;
+    for (int rest = negative / 10; rest != 0; rest /= 10) {
+      length++;
+    }
+    int end = this.count + length;
+    int i = end;
+    do {
+      this.buffer[--i] = (char) ('0' - negative % 10);
+      negative /= 10;
+    } while (negative != 0);
+    if (value < 0) {
+      this.buffer[--i] = '-';
+    }
+    this.count = end;
+    return this;
+  }
+
+  /**
+   * Adds the given {@param value} as {@link Double#toString(double)} writes it.
+   *
+   * @param value The value to be added.
+   * @return {@code this} {@code TextEmitter}.
+   * @throws IOException if the output cannot be written to.
+   */
+  TextEmitter append(double value) throws IOException {
+    if (value == Math.rint(value) && Math.abs(value) < PLAIN_LIMIT
+        && (value != 0 || 1 / value > 0)) {
+      return this.append((int) value).append('.').append('0');
+    }
+    return this.append(Double.toString(value));
+  }
+
+  /**
+   * Writes everything added so far to the output.
+   *
+   * @throws IOException if the output cannot be written to.
+   */
+  void flush() throws IOException {
+    this.drain();
+    if (this.out instanceof Writer) {
+      ((Writer) this.out).flush();
+    }
+  }
+
+  /**
+   * Writes the buffer to the output and empties it.
+   *
+   * @throws IOException if the output cannot be written to.
+   */
+  private void drain() throws IOException {
+    if (this.count == 0) {
+      return;
+    }
+    if (this.out instanceof Writer) {
+      ((Writer) this.out).write(this.buffer, 0, this.count);
+    } else if (this.out instanceof StringBuilder) {
+      ((StringBuilder) this.out).append(this.buffer, 0, this.count);
+    } else {
+      this.out.append(CharBuffer.wrap(this.buffer, 0, this.count));
+    }
+    this.written += this.count;
+    this.count = 0;
+  }
+}
@@ -1,7 +1,8 @@
 package view;
 
 import model.ReadOnlyAnimatedShape;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.util.List;
 
 /**
  * Represents a text only view. Prints out the details of an {@code AnimationEnvironment} as a
@@ -22,7 +23,7 @@ public class TextView extends AbstractTextView {
   }
 
   /**
-   * Returns a text Representation of {@code this} {@code AnimationEnvironment}.
+   * Writes a text Representation of {@code this} {@code AnimationEnvironment}.
    *
    * <p>The Assignment was unclear about how exactly it was expected that this function output the
    * animation and how exactly animations were to be constrained, so we assumed the following
@@ -36,28 +37,32 @@ public class TextView extends AbstractTextView {
    *   string should simply display the canvas info.</li>
    * </ul>
    *
-   * @return A text representing all of the animation commands for each shape in {@code this} {@code
-   * AnimationEnvironment}.
+   * @param text The emitter the text representing all of the animation commands for each shape
+   *             in {@code this} {@code AnimationEnvironment} is written to.
+   * @throws IOException if the emitter cannot write to its output.
    */
-  protected String animationText() {
-    String animation =
-        "canvas " + this.model.getX() + " " + this.model.getY() + " " + this.model.getWidth() + " "
-            + this.model.getHeight() + "\n";
+  @Override
+  void write(TextEmitter text) throws IOException {
+    text.append("canvas ").append(this.model.getX()).append(' ').append(this.model.getY())
+        .append(' ').append(this.model.getWidth()).append(' ').append(this.model.getHeight())
+        .append('\n');
     for (ReadOnlyAnimatedShape shape : this.model.getShapes()) {
       String shapeName = shape.getName();
-      ArrayList<ReadOnlyAnimatedShape> shapeAnimations = shape.getLog();
-      animation += "Shape " + shapeName + " " + shape.getShapeType().toString() + "\n";
+      List<ReadOnlyAnimatedShape> shapeAnimations = shape.getLog();
+      text.append("Shape ").append(shapeName).append(' ')
+          .append(shape.getShapeType().toString()).append('\n');
       for (int i = 0; i < shapeAnimations.size(); i = i + 2) {
-        animation += "Motion " + shapeName + " " + shapeAnimations.get(i).toString() + "  "
-            + shapeAnimations.get(i + 1).toString() + "\n";
+        text.append("Motion ").append(shapeName).append(' ')
+            .append(shapeAnimations.get(i).toString()).append("  ")
+            .append(shapeAnimations.get(i + 1).toString()).append('\n');
         if (shapeAnimations.size() - i > 2 &&
             shapeAnimations.get(i + 1).getTime() > shapeAnimations.get(i + 2).getTime()) {
-          animation += "Motion " + shapeName + " " + shapeAnimations.get(i + 2).toString() + "  "
-              + shapeAnimations.get(i + 3);
+          text.append("Motion ").append(shapeName).append(' ')
+              .append(shapeAnimations.get(i + 2).toString()).append("  ")
+              .append(String.valueOf(shapeAnimations.get(i + 3)));
         }
       }
-      animation += "\n";
+      text.append('\n');
     }
-    return animation;
   }
 }
@@ -14,8 +14,9 @@ import javax.swing.JTextField;
 
 /**
  * Represents a Panel that controls the time flow for an {@code EditableView}. Contains buttons and
- * all of the functionality for the buttons of toggling time, toggling looping, setting speed, and
- * creating a shape (This was desireable to include here due to layout aesthetics).
+ * all of the functionality for the buttons of toggling time, toggling looping, setting speed,
+ * undoing and redoing edits, and creating a shape (This was desireable to include here due to
+ * layout aesthetics).
  */
 public class TimeFlowPanel extends JPanel {
 
@@ -23,6 +24,8 @@ public class TimeFlowPanel extends JPanel {
   private final JButton looping;
   private final JButton speedButton;
   private final JButton createShape;
+  private final JButton undo;
+  private final JButton redo;
   protected final Map<String, JTextField> textFields;
   protected final GridBagLayout gridBag;
 
@@ -50,6 +53,10 @@ public class TimeFlowPanel extends JPanel {
     this.looping.setActionCommand("toggle looping");
     this.speedButton = new JButton("Set Speed");
     this.speedButton.setActionCommand("set speed");
+    this.undo = new JButton("Undo");
+    this.undo.setActionCommand("undo");
+    this.redo = new JButton("Redo");
+    this.redo.setActionCommand("redo");
 
     JLabel speedLabel = new JLabel("Speed:");
     this.createShape = new JButton("Create Shape");
@@ -121,6 +128,8 @@ public class TimeFlowPanel extends JPanel {
     timeControls.add(speedLabel);
     timeControls.add(speedField);
     timeControls.add(speedButton);
+    timeControls.add(undo);
+    timeControls.add(redo);
 
     this.add(timeControls);
     this.add(spacer);
@@ -154,11 +163,15 @@ public class TimeFlowPanel extends JPanel {
       this.looping.removeActionListener(oldListener);
       this.speedButton.removeActionListener(oldListener);
       this.createShape.removeActionListener(oldListener);
+      this.undo.removeActionListener(oldListener);
+      this.redo.removeActionListener(oldListener);
     }
     this.toggleTime.addActionListener(listener);
     this.looping.addActionListener(listener);
     this.speedButton.addActionListener(listener);
     this.createShape.addActionListener(listener);
+    this.undo.addActionListener(listener);
+    this.redo.addActionListener(listener);
   }
 
   public void setTextField(String fieldName, String newText) {
@@ -0,0 +1,44 @@
+package view;
+
+import model.Shapes;
+
+/**
+ * Represents a {@code FrameSink} that passes every shape on to another sink and adds up the time
+ * that sink spends on it, so the time spent drawing a frame can be told apart from the time spent
+ * evaluating it.
+ */
+final class TimedSink implements FrameSink {
+
+  private final FrameSink sink;
+  private long nanos;
+
+  /**
+   * Constructs a {@code TimedSink} that passes every shape on to the given {@param sink}.
+   *
+   * @param sink The sink that is timed.
+   */
+  TimedSink(FrameSink sink) {
+    this.sink = sink;
+    this.nanos = 0;
+  }
+
+  @Override
+  public void shape(Shapes type, double x, double y, double width, double height, int red,
+      int green, int blue, double rotation) {
+    long start = System.nanoTime();
+    this.sink.shape(type, x, y, width, height, red, green, blue, rotation);
+    this.nanos += System.nanoTime() - start;
+  }
+
+  /**
+   * Returns the nanoseconds spent by the timed sink since the last call, and starts adding up
+   * again.
+   *
+   * @return The nanoseconds spent by the timed sink.
+   */
+  long takeNanos() {
+    long taken = this.nanos;
+    this.nanos = 0;
+    return taken;
+  }
+}
@@ -2,19 +2,19 @@ package view;
 
 import model.ReadOnlyAnimationEnvironment;
 import java.awt.BorderLayout;
+import java.awt.ScrollPane;
 import javax.swing.JFrame;
-import javax.swing.JScrollPane;
-import javax.swing.Timer;
 
 /**
  * Represents a visual view. Displays a set model of animation commands as a playable animation at a
- * speed of given ticks per second.
+ * speed of given ticks per second. The animation is played by a {@code RenderLoop} on its own
+ * thread once the view is displayed.
  */
 public class VisualView extends JFrame implements AnimationView {
 
   private ReadOnlyAnimationEnvironment model;
-  private AnimationPanel environmentPanel;
-  private final JScrollPane scrollableEnvironmentPanel;
+  private final RenderLoop environmentCanvas;
+  private final ScrollPane scrollableEnvironmentCanvas;
 
   /**
    * Constructs a {@code VisualView} that runs an {@code AnimationEnvironment} at a given speed of
@@ -30,23 +30,25 @@ public class VisualView extends JFrame implements AnimationView {
     this.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
     this.setLayout(new BorderLayout());
 
-    this.environmentPanel = new AnimationPanel();
-    this.scrollableEnvironmentPanel = new JScrollPane(this.environmentPanel);
-    Timer timer = new Timer((int) ((double) 1 / ticksPerSecond * 1000), this.environmentPanel);
-    timer.start();
+    this.environmentCanvas = new RenderLoop(ticksPerSecond);
+    this.scrollableEnvironmentCanvas = new ScrollPane();
+    this.scrollableEnvironmentCanvas.add(this.environmentCanvas);
+    this.environmentCanvas.getFrameStats().register("VisualView");
   }
 
   @Override
   public void display() {
     this.setVisible(true);
+    this.environmentCanvas.start();
   }
 
   @Override
   public void setModel(ReadOnlyAnimationEnvironment model) {
     this.model = model;
     this.setSize(this.model.getWidth(), this.model.getHeight());
-    this.environmentPanel.setModel(this.model);
-    this.add(this.scrollableEnvironmentPanel, BorderLayout.CENTER);
+    this.environmentCanvas.setModel(this.model, false);
+    this.scrollableEnvironmentCanvas.setPreferredSize(this.environmentCanvas.getPreferredSize());
+    this.add(this.scrollableEnvironmentCanvas, BorderLayout.CENTER);
     this.pack();
   }
 }
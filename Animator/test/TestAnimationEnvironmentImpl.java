@@ -138,6 +138,35 @@ public class TestAnimationEnvironmentImpl {
     assertEquals(environmentShapes, this.environment1.getShapes());
   }
 
+  //Tests that commandShape finds shapes by name ignoring case
+  @Test
+  public void testCommandShapeIgnoresCase() {
+    this.environment1.addShape(this.redRect);
+    this.environment1.addShape(this.blueCircle);
+
+    this.environment1.commandShape("red rectangle", 0, 5,
+        new Move(20, 25, 0, 0));
+    this.environment1.commandShape("BLUE CIRCLE", 3, 6,
+        new Move(0, 0, 1, 1));
+
+    assertEquals(new Position2D(0, 0), this.environment1.getShapes().get(0).getPosn());
+    assertEquals(new Position2D(1, 1), this.environment1.getShapes().get(1).getPosn());
+  }
+
+  //Tests that adding a second shape with the same name is invalid
+  @Test(expected = IllegalArgumentException.class)
+  public void testDuplicateShapeName() {
+    this.environment1.addShape(this.redRect);
+    this.environment1.addShape(new AnimatedShapeImpl(Shapes.Oval, "Red Rectangle", 0,
+        new Dimension(7, 5), new Color(255, 0, 0), new Position2D(20, 25), 0));
+  }
+
+  //Tests that adding a null shape is invalid
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddNullShape() {
+    this.environment1.addShape(null);
+  }
+
   //Tests that an environment with a negative width is invalid
   @Test(expected = IllegalArgumentException.class)
   public void testInvalidEnvironment1() {
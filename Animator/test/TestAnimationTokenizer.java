@@ -0,0 +1,123 @@
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.regex.Pattern;
+import org.junit.Test;
+
+import controller.AnimationReader;
+import controller.AnimationTokenizer;
+import controller.OrientationAnimationReader;
+import model.AnimationEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests that an {@code AnimationTokenizer} splits text the same way the {@code Scanner} the readers
+ * used to split it with did, and that the readers still report the same errors.
+ */
+public class TestAnimationTokenizer {
+
+  /**
+   * Lists every token of the given {@param text} as the tokenizer sees it, marking the tokens
+   * that are integers.
+   *
+   * @param text The text to be split.
+   * @return The tokens of the text.
+   */
+  private List<String> tokenize(String text) {
+    AnimationTokenizer s = new AnimationTokenizer(new StringReader(text));
+    List<String> tokens = new ArrayList<String>();
+    while (s.hasNext()) {
+      tokens.add(s.hasNextInt() ? "int " + s.nextInt() : s.next());
+    }
+    return tokens;
+  }
+
+  /**
+   * Lists every token of the given {@param text} as the old {@code Scanner} saw it, marking the
+   * tokens that are integers.
+   *
+   * @param text The text to be split.
+   * @return The tokens of the text.
+   */
+  private List<String> scan(String text) {
+    Scanner s = new Scanner(new StringReader(text));
+    s.useDelimiter(Pattern.compile("(\\p{Space}+|#.*)+"));
+    List<String> tokens = new ArrayList<String>();
+    while (s.hasNext()) {
+      tokens.add(s.hasNextInt() ? "int " + s.nextInt() : s.next());
+    }
+    return tokens;
+  }
+
+  /**
+   * Checks that parsing the given {@param text} fails with the given {@param message}.
+   *
+   * @param text    The text to be parsed.
+   * @param message The expected message.
+   */
+  private void assertParseError(String text, String message) {
+    try {
+      AnimationReader.parseFile(new StringReader(text), AnimationEnvironment.builder());
+      fail("Expected " + message);
+    } catch (IllegalStateException e) {
+      assertEquals(message, e.getMessage());
+    }
+  }
+
+  //Tests that whitespace, comments, signs and out of range integers split the same as Scanner
+  @Test
+  public void testMatchesScanner() {
+    String text = "canvas 0 -5 +7 100\r\n# a comment line\n\tshape R rectangle#trailing\n"
+        + "motion R 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 16 # end\n"
+        + "  2147483647 -2147483648 2147483648 -2147483649 - + 1x 0x10 -0 007\u000B\f";
+    assertEquals(this.scan(text), this.tokenize(text));
+  }
+
+  //Tests that tokens and comments crossing the end of the buffer split the same as Scanner
+  @Test
+  public void testLongInput() {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 20000; i++) {
+      text.append("motion S").append(i).append(' ').append(-i).append(" #x\n");
+    }
+    StringBuilder word = new StringBuilder();
+    for (int i = 0; i < 100000; i++) {
+      word.append('w');
+    }
+    text.append(word).append(' ').append(12345);
+    assertEquals(this.scan(text.toString()), this.tokenize(text.toString()));
+  }
+
+  //Tests that the rest of the line of an unexpected keyword is reported
+  @Test
+  public void testUnexpectedKeyword() {
+    this.assertParseError("canvas 0 0 10 10\nsquare R 1 2\nshape R rectangle",
+        "Unexpected keyword: square R 1 2");
+  }
+
+  //Tests that a malformed integer is reported with its field
+  @Test
+  public void testExpectedInteger() {
+    this.assertParseError("canvas 0 0 ten 10",
+        "Canvas: expected integer for width, got: ten");
+    this.assertParseError("shape R rectangle\nmotion R 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15",
+        "Motion: expected integer for final blue value, but no more input available");
+    this.assertParseError("shape R", "Shape: Expected a type, but no more input available");
+    this.assertParseError("motion", "Motion: Expected a shape name, but no more input available");
+  }
+
+  //Tests that the orientation reader reads through the tokenizer too
+  @Test
+  public void testOrientationReader() {
+    AnimationEnvironment model = OrientationAnimationReader.parseFile(new StringReader(
+        "canvas 1 2 3 4\nshape R rectangle # comment\n"
+            + "motion R 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 16 17 18\n"),
+        AnimationEnvironment.builder());
+    assertEquals(1, model.getX());
+    assertEquals(2, model.getShapes().get(0).getLog().size());
+    assertEquals(18, model.getShapes().get(0).getLog().get(1).getOrientation());
+  }
+}
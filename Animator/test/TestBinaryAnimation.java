@@ -0,0 +1,128 @@
+import controller.AnimationBuilder;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.util.Arrays;
+import org.junit.Test;
+
+import controller.BinaryAnimationReader;
+import controller.OrientationAnimationReader;
+import model.AnimationEnvironment;
+import model.AnimationEnvironmentImpl;
+import model.ReadOnlyAnimationEnvironment;
+import model.ReadOnlyAnimationEnvironmentImpl;
+import view.BinaryView;
+import view.TextView;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that an animation written by a {@code BinaryView} reads back with a {@code
+ * BinaryAnimationReader} into the same animation.
+ */
+public class TestBinaryAnimation {
+
+  private final String input = "canvas 10 20 300 200\n"
+      + "shape R rectangle\n"
+      + "shape C ellipse\n"
+      + "shape T triangle\n"
+      + "motion R 1 200 200 50 100 255 0 0 0 10 200 200 50 100 255 0 0 0\n"
+      + "motion R 10 200 200 50 100 255 0 0 0 50 300 300 50 100 255 0 0 45\n"
+      + "motion R 70 300 300 50 100 255 0 0 45 100 -200 200 25 100 0 0 255 90\n"
+      + "motion C 6 440 70 120 60 0 0 255 0 20 440 70 120 60 0 0 255 90\n"
+      + "motion T 5 0 0 10 10 0 255 0 0 5 0 0 10 10 0 255 0 0\n";
+
+  /**
+   * Writes the given {@param model} with a {@code BinaryView}.
+   *
+   * @param model The model to be written.
+   * @return The bytes that were written.
+   */
+  private byte[] write(ReadOnlyAnimationEnvironment model) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryView view = new BinaryView(out);
+    view.setModel(model);
+    view.display();
+    return out.toByteArray();
+  }
+
+  /**
+   * Renders the given {@param model} with a {@code TextView}.
+   *
+   * @param model The model to be rendered.
+   * @return The text of the model.
+   */
+  private String text(ReadOnlyAnimationEnvironment model) {
+    StringBuilder out = new StringBuilder();
+    TextView view = new TextView(out);
+    view.setModel(model);
+    view.display();
+    return out.toString();
+  }
+
+  //Tests that reading back a written animation renders the same text and writes the same bytes
+  @Test
+  public void testRoundTrip() {
+    ReadOnlyAnimationEnvironment expected = new ReadOnlyAnimationEnvironmentImpl(
+        OrientationAnimationReader.parseFile(new StringReader(this.input),
+            AnimationEnvironment.builder()));
+    byte[] bytes = this.write(expected);
+    ReadOnlyAnimationEnvironment actual = new ReadOnlyAnimationEnvironmentImpl(
+        BinaryAnimationReader.parseFile(new ByteArrayInputStream(bytes),
+            AnimationEnvironment.builder()));
+    assertEquals(this.text(expected), this.text(actual));
+    assertEquals(expected.getX(), actual.getX());
+    assertEquals(expected.getY(), actual.getY());
+    assertTrue(Arrays.equals(bytes, this.write(actual)));
+  }
+
+  //Tests that a shape with only a keyframe survives the round trip
+  @Test
+  public void testLoneKeyframe() {
+    AnimationBuilder<AnimationEnvironment> builder = AnimationEnvironmentImpl.builder();
+    builder.setBounds(0, 0, 100, 100);
+    builder.declareShape("K", "triangle");
+    builder.addKeyframe("K", 3, 1, 2, 3, 4, 5, 6, 7, 8);
+    ReadOnlyAnimationEnvironment expected = new ReadOnlyAnimationEnvironmentImpl(
+        builder.build());
+    ReadOnlyAnimationEnvironment actual = new ReadOnlyAnimationEnvironmentImpl(
+        BinaryAnimationReader.parseFile(new ByteArrayInputStream(this.write(expected)),
+            AnimationEnvironment.builder()));
+    assertEquals(expected.getShapes().get(0).getLog(), actual.getShapes().get(0).getLog());
+  }
+
+  //Tests that binary input is told apart from text input without consuming it
+  @Test
+  public void testIsBinary() {
+    byte[] bytes = this.write(new ReadOnlyAnimationEnvironmentImpl(
+        OrientationAnimationReader.parseFile(new StringReader(this.input),
+            AnimationEnvironment.builder())));
+    BufferedInputStream binary = new BufferedInputStream(new ByteArrayInputStream(bytes));
+    assertTrue(BinaryAnimationReader.isBinary(binary));
+    BinaryAnimationReader.parseFile(binary, AnimationEnvironment.builder());
+    assertFalse(BinaryAnimationReader.isBinary(new BufferedInputStream(
+        new ByteArrayInputStream(this.input.getBytes()))));
+    assertFalse(BinaryAnimationReader.isBinary(new BufferedInputStream(
+        new ByteArrayInputStream(new byte[2]))));
+  }
+
+  //Tests that input without the magic number is rejected
+  @Test(expected = IllegalStateException.class)
+  public void testNotBinary() {
+    BinaryAnimationReader.parseFile(new ByteArrayInputStream(this.input.getBytes()),
+        AnimationEnvironment.builder());
+  }
+
+  //Tests that input that ends part way through is rejected
+  @Test(expected = IllegalStateException.class)
+  public void testTruncated() {
+    byte[] bytes = this.write(new ReadOnlyAnimationEnvironmentImpl(
+        OrientationAnimationReader.parseFile(new StringReader(this.input),
+            AnimationEnvironment.builder())));
+    BinaryAnimationReader.parseFile(new ByteArrayInputStream(
+        Arrays.copyOf(bytes, bytes.length - 3)), AnimationEnvironment.builder());
+  }
+}
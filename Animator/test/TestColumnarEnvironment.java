@@ -0,0 +1,161 @@
+import controller.AnimationBuilder;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import org.junit.Test;
+
+import model.AnimatedShapeImpl;
+import model.AnimationEnvironment;
+import model.AnimationEnvironmentImpl;
+import model.ColumnarAnimationEnvironment;
+import model.ColumnarKeyframeEnvironment;
+import model.KeyframeAnimationEnvironment;
+import model.KeyframeAnimationEnvironmentImpl;
+import model.Position2D;
+import model.ReadOnlyAnimatedShape;
+import model.Shapes;
+import model.commands.Move;
+import model.commands.Paint;
+import model.commands.Rotate;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that the columnar environments behave the same as the environments that store every
+ * state as an object.
+ */
+public class TestColumnarEnvironment {
+
+  /**
+   * Builds the same scene of motions and keyframes with the given {@param builder}.
+   *
+   * @param builder The builder to build the scene with.
+   * @return The built environment.
+   */
+  private AnimationEnvironment buildScene(AnimationBuilder<AnimationEnvironment> builder) {
+    builder.setBounds(10, 20, 300, 200);
+    builder.declareShape("R", "rectangle");
+    builder.declareShape("C", "ellipse");
+    builder.declareShape("T", "triangle");
+    builder.addMotion("R", 1, 200, 200, 50, 100, 255, 0, 0, 10, 200, 200, 50, 100, 255, 0, 0);
+    builder.addMotion("R", 10, 200, 200, 50, 100, 255, 0, 0, 50, 300, 300, 50, 100, 255, 0, 0);
+    builder.addMotion("R", 70, 300, 300, 50, 100, 255, 0, 0, 100, 200, 200, 25, 100, 0, 0, 255);
+    builder.addMotion("C", 6, 440, 70, 120, 60, 0, 0, 255, 0, 20, 440, 70, 120, 60, 0, 0, 255,
+        90);
+    builder.addMotion("C", 20, 440, 70, 120, 60, 0, 0, 255, 90, 50, 440, 250, 120, 60, 0, 170,
+        85, 180);
+    builder.addKeyframe("T", 5, 0, 0, 10, 10, 0, 255, 0);
+    return builder.build();
+  }
+
+  /**
+   * Checks that the shapes of the given environments have the same current state and logs.
+   *
+   * @param expected The shapes of the reference environment.
+   * @param actual   The shapes of the columnar environment.
+   */
+  private void assertSameShapes(List<ReadOnlyAnimatedShape> expected,
+      List<ReadOnlyAnimatedShape> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i), actual.get(i));
+      assertEquals(expected.get(i).getLog(), actual.get(i).getLog());
+    }
+  }
+
+  //Tests that the columnar builder logs the same states as the reference builder
+  @Test
+  public void testBuilderMatchesReference() {
+    AnimationEnvironment expected = this.buildScene(AnimationEnvironmentImpl.builder());
+    AnimationEnvironment actual = this.buildScene(ColumnarAnimationEnvironment.builder());
+    assertEquals(expected.getX(), actual.getX());
+    assertEquals(expected.getY(), actual.getY());
+    assertEquals(expected.getWidth(), actual.getWidth());
+    assertEquals(expected.getHeight(), actual.getHeight());
+    this.assertSameShapes(expected.getShapes(), actual.getShapes());
+    for (int i = 0; i < expected.getShapes().size(); i++) {
+      assertEquals(expected.getShapes().get(i).getLog().toString(),
+          actual.getShapes().get(i).getLog().toString());
+    }
+  }
+
+  //Tests that commanding shapes logs the same states as the reference environment
+  @Test
+  public void testCommandShapeMatchesReference() {
+    AnimationEnvironment expected = AnimationEnvironmentImpl.builder()
+        .setBounds(0, 0, 100, 100).build();
+    AnimationEnvironment actual = ColumnarAnimationEnvironment.builder()
+        .setBounds(0, 0, 100, 100).build();
+    for (AnimationEnvironment environment : new AnimationEnvironment[]{expected, actual}) {
+      environment.addShape(new AnimatedShapeImpl(Shapes.Oval, "O", 0, new Dimension(5, 5),
+          Color.RED, new Position2D(1, 2), 0));
+      environment.commandShape("o", 0, 4, new Move(1, 2, 3, 4));
+      environment.commandShape("O", 8, 12, new Paint(255, 0, 0, 0, 0, 0),
+          new Rotate(0, 45));
+    }
+    this.assertSameShapes(expected.getShapes(), actual.getShapes());
+  }
+
+  //Tests that a motion overlapping an existing motion is rejected
+  @Test(expected = IllegalArgumentException.class)
+  public void testOverlappingMotion() {
+    AnimationBuilder<AnimationEnvironment> builder = ColumnarAnimationEnvironment.builder();
+    builder.declareShape("R", "rectangle");
+    builder.addMotion("R", 0, 0, 0, 5, 5, 0, 0, 0, 10, 5, 5, 5, 5, 0, 0, 0);
+    builder.addMotion("R", 5, 5, 5, 5, 5, 0, 0, 0, 15, 5, 5, 5, 5, 0, 0, 0);
+  }
+
+  //Tests that a motion not beginning where the shape was left is rejected
+  @Test(expected = IllegalArgumentException.class)
+  public void testMismatchedMotion() {
+    AnimationBuilder<AnimationEnvironment> builder = ColumnarAnimationEnvironment.builder();
+    builder.declareShape("R", "rectangle");
+    builder.addMotion("R", 0, 0, 0, 5, 5, 0, 0, 0, 10, 5, 5, 5, 5, 0, 0, 0);
+    builder.addMotion("R", 10, 0, 0, 5, 5, 0, 0, 0, 15, 5, 5, 5, 5, 0, 0, 0);
+  }
+
+  //Tests that keyframe editing behaves the same as the reference keyframe environment
+  @Test
+  public void testKeyframesMatchReference() {
+    KeyframeAnimationEnvironment expected = new KeyframeAnimationEnvironmentImpl(
+        this.buildScene(AnimationEnvironmentImpl.builder()));
+    KeyframeAnimationEnvironment actual = new ColumnarKeyframeEnvironment(
+        this.buildScene(ColumnarAnimationEnvironment.builder()));
+    this.assertSameShapes(expected.getShapes(), actual.getShapes());
+
+    for (KeyframeAnimationEnvironment environment
+        : new KeyframeAnimationEnvironment[]{expected, actual}) {
+      environment.addKeyframe("R", 60, new Dimension(20, 20), Color.GREEN,
+          new Position2D(7, 7), 30);
+      environment.addKeyframe("T", 1, new Dimension(3, 3), Color.BLUE,
+          new Position2D(1, 1), 0);
+      environment.editKeyframe("C", 20, new Dimension(9, 9), Color.BLACK,
+          new Position2D(2, 2), 10);
+      environment.deleteKeyframe("R", 50);
+      environment.deleteShape("T");
+      environment.addShape(Shapes.Triangle, "N", 3, new Dimension(4, 4), Color.CYAN,
+          new Position2D(0, 0), 0);
+    }
+    this.assertSameShapes(expected.getShapes(), actual.getShapes());
+  }
+
+  //Tests that adding a keyframe at an existing time is rejected
+  @Test(expected = IllegalArgumentException.class)
+  public void testDuplicateKeyframe() {
+    KeyframeAnimationEnvironment environment = new ColumnarKeyframeEnvironment(
+        this.buildScene(ColumnarAnimationEnvironment.builder()));
+    environment.addKeyframe("R", 10, new Dimension(20, 20), Color.GREEN,
+        new Position2D(7, 7), 30);
+  }
+
+  //Tests that a log can no longer be read once its shape has changed
+  @Test(expected = ConcurrentModificationException.class)
+  public void testStaleLog() {
+    KeyframeAnimationEnvironment environment = new ColumnarKeyframeEnvironment(
+        this.buildScene(ColumnarAnimationEnvironment.builder()));
+    List<ReadOnlyAnimatedShape> log = environment.getShapes().get(0).getLog();
+    environment.deleteKeyframe("R", 10);
+    log.get(0);
+  }
+}
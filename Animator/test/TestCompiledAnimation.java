@@ -0,0 +1,145 @@
+import java.awt.Color;
+import java.awt.Dimension;
+import java.util.ArrayList;
+import org.junit.Test;
+
+import model.AnimatedShape;
+import model.AnimatedShapeImpl;
+import model.AnimationEnvironment;
+import model.AnimationEnvironmentImpl;
+import model.Position2D;
+import model.ReadOnlyAnimationEnvironment;
+import model.ReadOnlyAnimationEnvironmentImpl;
+import model.Shapes;
+import model.commands.Move;
+import model.commands.Paint;
+import view.CompiledAnimation;
+import view.FrameSink;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that a {@code CompiledAnimation} evaluates the frames of an environment the same way they
+ * have always been played back.
+ */
+public class TestCompiledAnimation {
+
+  AnimationEnvironment environment =
+      AnimationEnvironmentImpl.builder().setBounds(0, 0, 100, 100).build();
+
+  AnimatedShape redRect = new AnimatedShapeImpl(Shapes.Rectangle, "Red Rectangle", 0,
+      new Dimension(10, 10), new Color(255, 0, 0), new Position2D(20, 20),
+      0);
+
+  AnimatedShape blueCircle = new AnimatedShapeImpl(Shapes.Oval, "Blue Circle", 5,
+      new Dimension(4, 4), new Color(0, 0, 255), new Position2D(0, 0),
+      0);
+
+  ReadOnlyAnimationEnvironment model = new ReadOnlyAnimationEnvironmentImpl(this.environment);
+
+  /**
+   * Records every shape of a frame as a string of its type and interpolated values.
+   */
+  private static class RecordingSink implements FrameSink {
+
+    ArrayList<String> shapes = new ArrayList<String>();
+
+    @Override
+    public void shape(Shapes type, double x, double y, double width, double height, int red,
+        int green, int blue, double rotation) {
+      this.shapes.add(type + " " + x + " " + y + " " + width + " " + height + " " + red + " "
+          + green + " " + blue + " " + rotation);
+    }
+  }
+
+  /**
+   * Adds the red rectangle and blue circle to the environment and animates them.
+   */
+  private void animate() {
+    this.environment.addShape(this.redRect);
+    this.environment.addShape(this.blueCircle);
+    this.environment.commandShape("Red Rectangle", 0, 10,
+        new Move(20, 20, 0, 0));
+    this.environment.commandShape("Red Rectangle", 10, 20,
+        new Move(0, 0, 10, 0),
+        new Paint(255, 0, 0, 0, 0, 255));
+    this.environment.commandShape("Blue Circle", 5, 15,
+        new Move(0, 0, 10, 10));
+  }
+
+  /**
+   * Evaluates the frame of the given {@param compiled} animation at the given {@param tick}.
+   *
+   * @param compiled The animation to evaluate.
+   * @param tick     The tick to evaluate the frame at.
+   * @return The recorded shapes of the frame.
+   */
+  private ArrayList<String> frame(CompiledAnimation compiled, double tick) {
+    RecordingSink sink = new RecordingSink();
+    compiled.evaluate(tick, sink);
+    return sink.shapes;
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullModel() {
+    CompiledAnimation.compile(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullSink() {
+    CompiledAnimation.compile(this.model).evaluate(0, null);
+  }
+
+  //Tests that shapes are interpolated within their active segment and drawn in order
+  @Test
+  public void testEvaluate() {
+    this.animate();
+    CompiledAnimation compiled = CompiledAnimation.compile(this.model);
+    assertEquals(2, compiled.shapeCount());
+
+    ArrayList<String> frame = this.frame(compiled, 5);
+    assertEquals(2, frame.size());
+    assertEquals("Rectangle 10.0 10.0 10.0 10.0 255 0 0 0.0", frame.get(0));
+    assertEquals("Oval 0.0 0.0 4.0 4.0 0 0 255 0.0", frame.get(1));
+
+    frame = this.frame(compiled, 15);
+    assertEquals("Rectangle 5.0 0.0 10.0 10.0 127 0 127 0.0", frame.get(0));
+    assertEquals("Oval 10.0 10.0 4.0 4.0 0 0 255 0.0", frame.get(1));
+  }
+
+  //Tests that the earlier segment is active at the boundary between two segments
+  @Test
+  public void testSegmentBoundary() {
+    this.animate();
+    CompiledAnimation compiled = CompiledAnimation.compile(this.model);
+    assertEquals("Rectangle 0.0 0.0 10.0 10.0 255 0 0 0.0", this.frame(compiled, 10).get(0));
+    assertEquals("Rectangle 10.0 0.0 10.0 10.0 0 0 255 0.0", this.frame(compiled, 20).get(0));
+  }
+
+  //Tests that shapes outside of all of their segments are not drawn
+  @Test
+  public void testInvisibleShapes() {
+    this.animate();
+    CompiledAnimation compiled = CompiledAnimation.compile(this.model);
+    assertEquals(1, this.frame(compiled, 2).size());
+    assertEquals(0, this.frame(compiled, 21).size());
+    assertEquals(0, this.frame(compiled, -1).size());
+  }
+
+  //Tests that a compiled animation is only up to date until the environment changes
+  @Test
+  public void testIsCompiledFrom() {
+    this.environment.addShape(this.redRect);
+    CompiledAnimation compiled = CompiledAnimation.compile(this.model);
+    assertTrue(compiled.isCompiledFrom(this.model));
+    this.environment.commandShape("Red Rectangle", 0, 10,
+        new Move(20, 20, 0, 0));
+    assertFalse(compiled.isCompiledFrom(this.model));
+    compiled = CompiledAnimation.compile(this.model);
+    assertTrue(compiled.isCompiledFrom(this.model));
+    this.environment.addShape(this.blueCircle);
+    assertFalse(compiled.isCompiledFrom(this.model));
+  }
+}
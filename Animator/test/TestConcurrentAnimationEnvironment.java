@@ -0,0 +1,189 @@
+import controller.AnimationBuilder;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import model.AnimatedShapeImpl;
+import model.AnimationEnvironment;
+import model.AnimationEnvironmentImpl;
+import model.ConcurrentAnimationEnvironment;
+import model.Position2D;
+import model.ReadOnlyAnimatedShape;
+import model.Shapes;
+import model.commands.Move;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests that a {@code ConcurrentAnimationEnvironment} behaves the same as an {@code
+ * AnimationEnvironmentImpl}, and that it builds the same animation when many threads add and
+ * animate shapes at once.
+ */
+public class TestConcurrentAnimationEnvironment {
+
+  private static final int THREADS = 16;
+  private static final int SHAPES_PER_THREAD = 20;
+  private static final int MOTIONS = 50;
+
+  //Tests that the concurrent builder logs the same states as the reference builder
+  @Test
+  public void testBuilderMatchesReference() {
+    AnimationEnvironment expected = this.buildScene(AnimationEnvironmentImpl.builder());
+    AnimationEnvironment actual = this.buildScene(ConcurrentAnimationEnvironment.builder());
+    assertEquals(expected.getX(), actual.getX());
+    assertEquals(expected.getWidth(), actual.getWidth());
+    assertEquals(expected.getShapes().size(), actual.getShapes().size());
+    for (int i = 0; i < expected.getShapes().size(); i++) {
+      assertEquals(expected.getShapes().get(i), actual.getShapes().get(i));
+      assertEquals(expected.getShapes().get(i).getLog(), actual.getShapes().get(i).getLog());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOverlappingMotions() {
+    AnimationBuilder<AnimationEnvironment> builder = ConcurrentAnimationEnvironment.builder();
+    builder.declareShape("R", "rectangle");
+    builder.addMotion("R", 0, 0, 0, 10, 10, 0, 0, 0, 10, 5, 5, 10, 10, 0, 0, 0);
+    builder.addMotion("R", 5, 5, 5, 10, 10, 0, 0, 0, 15, 6, 6, 10, 10, 0, 0, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownShape() {
+    ConcurrentAnimationEnvironment.builder().build().commandShape("R", 0, 10,
+        new Move(0, 0, 1, 1));
+  }
+
+  //Tests that shapes are looked up ignoring case, as in the reference environment
+  @Test
+  public void testIgnoreCase() {
+    AnimationEnvironment environment = ConcurrentAnimationEnvironment.builder().build();
+    environment.addShape(new AnimatedShapeImpl(Shapes.Oval, "Circle", 0, new Dimension(5, 5),
+        new Color(0, 0, 0), new Position2D(0, 0), 0));
+    environment.commandShape("circle", 0, 10, new Move(0, 0, 10, 10));
+    assertEquals(2, environment.getShapes().get(0).getLog().size());
+  }
+
+  //Tests that exactly one of many threads adding a shape with the same name succeeds
+  @Test
+  public void testConcurrentDuplicateShapes() throws InterruptedException {
+    AnimationEnvironment environment = ConcurrentAnimationEnvironment.builder().build();
+    AtomicInteger added = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < THREADS; i++) {
+      Thread thread = new Thread(() -> {
+        try {
+          start.await();
+          environment.addShape(new AnimatedShapeImpl(Shapes.Rectangle, "R", 0,
+              new Dimension(5, 5), new Color(0, 0, 0), new Position2D(0, 0), 0));
+          added.incrementAndGet();
+        } catch (IllegalArgumentException | InterruptedException e) {
+          //another thread added the shape first
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(1, added.get());
+    assertEquals(1, environment.getShapes().size());
+  }
+
+  //Tests that many threads declaring and animating their own shapes through one builder build
+  //exactly the animation a single thread builds, with more shapes than there are locks
+  @Test
+  public void testConcurrentBuild() throws InterruptedException {
+    AnimationBuilder<AnimationEnvironment> builder = ConcurrentAnimationEnvironment.builder();
+    builder.setBounds(0, 0, 800, 600);
+    AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < THREADS; i++) {
+      int producer = i;
+      Thread thread = new Thread(() -> {
+        try {
+          start.await();
+          this.produce(builder, producer);
+        } catch (Throwable t) {
+          failure.compareAndSet(null, t);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertNull(failure.get());
+
+    AnimationBuilder<AnimationEnvironment> reference = AnimationEnvironmentImpl.builder();
+    reference.setBounds(0, 0, 800, 600);
+    for (int i = 0; i < THREADS; i++) {
+      this.produce(reference, i);
+    }
+    Map<String, ReadOnlyAnimatedShape> actual = new HashMap<String, ReadOnlyAnimatedShape>();
+    for (ReadOnlyAnimatedShape shape : builder.build().getShapes()) {
+      actual.put(shape.getName(), shape);
+    }
+    List<ReadOnlyAnimatedShape> expected = reference.build().getShapes();
+    assertEquals(expected.size(), actual.size());
+    for (ReadOnlyAnimatedShape shape : expected) {
+      assertEquals(shape, actual.get(shape.getName()));
+      assertEquals(shape.getLog(), actual.get(shape.getName()).getLog());
+    }
+  }
+
+  /**
+   * Declares the shapes of the given {@param producer} and animates them with the given {@param
+   * builder}, interleaving the motions of its shapes.
+   *
+   * @param builder  The builder to build with.
+   * @param producer The index of the producer.
+   */
+  private void produce(AnimationBuilder<AnimationEnvironment> builder, int producer) {
+    for (int s = 0; s < SHAPES_PER_THREAD; s++) {
+      builder.declareShape("P" + producer + "S" + s, s % 2 == 0 ? "rectangle" : "ellipse");
+    }
+    for (int m = 0; m < MOTIONS; m++) {
+      for (int s = 0; s < SHAPES_PER_THREAD; s++) {
+        int t = 10 * m + (m % 3 == 0 ? 5 : 0);
+        builder.addMotion("P" + producer + "S" + s, t, s + m, m, 10, 10, producer, m % 256, 0,
+            m % 360, 10 * m + 10, s + m + 1, m + 1, 10, 10, producer, (m + 1) % 256, 0,
+            (m + 1) % 360);
+      }
+    }
+  }
+
+  /**
+   * Builds the same scene of motions and keyframes with the given {@param builder}.
+   *
+   * @param builder The builder to build the scene with.
+   * @return The built environment.
+   */
+  private AnimationEnvironment buildScene(AnimationBuilder<AnimationEnvironment> builder) {
+    builder.setBounds(10, 20, 300, 200);
+    builder.declareShape("R", "rectangle");
+    builder.declareShape("C", "ellipse");
+    builder.declareShape("T", "triangle");
+    builder.addMotion("R", 1, 200, 200, 50, 100, 255, 0, 0, 10, 200, 200, 50, 100, 255, 0, 0);
+    builder.addMotion("R", 10, 200, 200, 50, 100, 255, 0, 0, 50, 300, 300, 50, 100, 255, 0, 0);
+    builder.addMotion("R", 70, 300, 300, 50, 100, 255, 0, 0, 100, 200, 200, 25, 100, 0, 0, 255);
+    builder.addMotion("C", 6, 440, 70, 120, 60, 0, 0, 255, 0, 20, 440, 70, 120, 60, 0, 0, 255,
+        90);
+    builder.addMotion("C", 20, 440, 70, 120, 60, 0, 0, 255, 90, 50, 440, 250, 120, 60, 0, 170,
+        85, 180);
+    builder.addKeyframe("T", 5, 0, 0, 10, 10, 0, 255, 0);
+    return builder.build();
+  }
+}
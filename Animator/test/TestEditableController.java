@@ -111,12 +111,48 @@ public class TestEditableController {
         + "Called Display\n", viewLog.toString());
   }
 
+  //Tests that keyframe actions are routed with the shape and time they apply to, and that the
+  //listener is not registered again after an edit
+  @Test
+  public void testControllerDeleteKeyframe() {
+    StringBuilder viewLog = new StringBuilder();
+
+    EditableViewMock viewMock = new EditableViewMock(viewLog);
 
+    EditableController controller = new EditableController(viewMock,
+        new StringReader("canvas 0 0 500 500\n"
+            + "shape R rectangle\n"
+            + "motion R 1 0 0 3 3 0 0 0    10 200 450 3 3 0 0 0\n"
+            + "shape C ellipse\n"
+            + "motion C 5 50 200 5 5 255 0 0    15 350 0 25 25 0 0 255"));
 
+    controller.animate();
+    viewMock.triggerEvent("delete keyframe R 10");
+    viewMock.triggerEvent("delete shape C");
 
+    assertEquals("Called set model with\n"
+        + "Called addActionListener\n"
+        + "Called Display\n"
+        + "Called updateKeyframes\n"
+        + "Called updateKeyframes\n", viewLog.toString());
+  }
 
+  //Tests that an unknown action is ignored
+  @Test
+  public void testControllerUnknownAction() {
+    StringBuilder viewLog = new StringBuilder();
 
+    EditableViewMock viewMock = new EditableViewMock(viewLog);
 
+    EditableController controller = new EditableController(viewMock,
+        new StringReader("canvas 0 0 500 500\n"));
 
+    controller.animate();
+    viewMock.triggerEvent("edit keyframe R");
+    viewMock.triggerEvent("spin");
 
+    assertEquals("Called set model with\n"
+        + "Called addActionListener\n"
+        + "Called Display\n", viewLog.toString());
+  }
 }
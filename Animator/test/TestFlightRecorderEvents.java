@@ -0,0 +1,110 @@
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import controller.AnimationReader;
+import model.AnimationEnvironment;
+import model.KeyframeAnimationEnvironment;
+import model.KeyframeAnimationEnvironmentImpl;
+import model.Position2D;
+import model.ReadOnlyAnimationEnvironmentImpl;
+import model.Shapes;
+import view.AnimationPanel;
+import view.SVGView;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that parsing, building, editing, exporting and painting an animation are recorded as
+ * Flight Recorder events with the fields that describe them.
+ */
+public class TestFlightRecorderEvents {
+
+  //Tests that each operation records its event with its fields
+  @Test
+  public void testEventsRecorded() throws IOException {
+    Path file = Files.createTempFile("animator", ".jfr");
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      for (String name : new String[] {"animator.Parse", "animator.Command",
+          "animator.KeyframeEdit", "animator.Export", "animator.Frame"}) {
+        recording.enable(name).withThreshold(java.time.Duration.ZERO);
+      }
+      recording.start();
+
+      AnimationEnvironment environment = AnimationReader.parseFile(new StringReader(
+          "# scene\ncanvas 0 0 50 50\nshape R rectangle\n"
+              + "motion R 0 0 0 10 10 255 0 0 10 20 20 10 10 255 0 0\n"),
+          AnimationEnvironment.builder());
+      KeyframeAnimationEnvironment keyframes = new KeyframeAnimationEnvironmentImpl(environment);
+      keyframes.addShape(Shapes.Oval, "C", 3, new Dimension(5, 5), Color.BLUE,
+          new Position2D(1, 1), 0);
+      SVGView svg = new SVGView(new StringBuilder(), 1);
+      svg.setModel(new ReadOnlyAnimationEnvironmentImpl(environment));
+      svg.display();
+      AnimationPanel panel = new AnimationPanel();
+      panel.setModel(new ReadOnlyAnimationEnvironmentImpl(environment));
+      panel.setSize(50, 50);
+      panel.setTick(4);
+      BufferedImage image = new BufferedImage(50, 50, BufferedImage.TYPE_INT_RGB);
+      Graphics2D graphics = image.createGraphics();
+      panel.paint(graphics);
+      graphics.dispose();
+
+      recording.stop();
+      recording.dump(file);
+      events = RecordingFile.readAllEvents(file);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+
+    List<String> names = new ArrayList<String>();
+    for (RecordedEvent event : events) {
+      names.add(event.getEventType().getName());
+      switch (event.getEventType().getName()) {
+        case "animator.Parse":
+          assertEquals(4L, event.getLong("lines"));
+          assertEquals(1, event.getInt("shapes"));
+          assertEquals(1, event.getInt("motions"));
+          assertTrue(event.getLong("characters") > 60);
+          break;
+        case "animator.Command":
+          assertEquals("R", event.getString("shapeName"));
+          assertEquals(10, event.getInt("finalTick"));
+          break;
+        case "animator.KeyframeEdit":
+          assertEquals("addShape", event.getString("operation"));
+          assertEquals("C", event.getString("shapeName"));
+          assertEquals(3, event.getInt("tick"));
+          break;
+        case "animator.Export":
+          assertEquals("SVGView", event.getString("view"));
+          assertEquals(1, event.getInt("shapes"));
+          break;
+        case "animator.Frame":
+          assertEquals(4.0, event.getDouble("tick"), 0);
+          assertEquals(1, event.getInt("shapesDrawn"));
+          break;
+        default:
+          break;
+      }
+    }
+    assertTrue(names.toString(), names.contains("animator.Parse"));
+    assertTrue(names.toString(), names.contains("animator.Command"));
+    assertTrue(names.toString(), names.contains("animator.KeyframeEdit"));
+    assertTrue(names.toString(), names.contains("animator.Export"));
+    assertTrue(names.toString(), names.contains("animator.Frame"));
+  }
+}
@@ -0,0 +1,106 @@
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import javax.management.ObjectName;
+import org.junit.Test;
+
+import controller.OrientationAnimationReader;
+import model.AnimationEnvironment;
+import model.ReadOnlyAnimationEnvironmentImpl;
+import view.AnimationPanel;
+import view.FrameStats;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that {@code FrameStats} summarizes the frames recorded to it, and that the frames painted
+ * by an {@code AnimationPanel} are recorded.
+ */
+public class TestFrameStats {
+
+  //Tests that the percentiles are within a bucket of the durations recorded
+  @Test
+  public void testPercentiles() {
+    FrameStats stats = new FrameStats();
+    for (int i = 1; i <= 1000; i++) {
+      stats.record(i * 1000L, 2 * i * 1000L, 0, 3, 1);
+    }
+    assertEquals(1000, stats.getFrameCount());
+    assertEquals(3000, stats.getShapesDrawn());
+    assertEquals(1000, stats.getShapesSkipped());
+    assertEquals(500, stats.getEvaluateP50Micros(), 500 / 16);
+    assertEquals(990, stats.getEvaluateP99Micros(), 990 / 16);
+    assertEquals(1000, stats.getEvaluateMaxMicros());
+    assertEquals(2000, stats.getDrawMaxMicros());
+    assertEquals(3000, stats.getFrameMaxMicros());
+    assertEquals(1500, stats.getFrameP50Micros(), 1500 / 16);
+    assertEquals(0, stats.getPresentP99Micros());
+
+    stats.reset();
+    assertEquals(0, stats.getFrameCount());
+    assertEquals(0, stats.getFrameP50Micros());
+    assertEquals(0, stats.getShapesDrawn());
+  }
+
+  //Tests that recording a frame allocates nothing
+  @Test
+  public void testRecordingDoesNotAllocate() {
+    FrameStats stats = new FrameStats();
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long thread = Thread.currentThread().getId();
+    for (int i = 0; i < 100000; i++) {
+      stats.record(i, i, i, 1, 0);
+    }
+    long before = threads.getThreadAllocatedBytes(thread);
+    for (int i = 0; i < 100000; i++) {
+      stats.record(i * 37L, i * 11L, i, 1, 0);
+    }
+    long allocated = threads.getThreadAllocatedBytes(thread) - before;
+    assertTrue("allocated " + allocated, allocated < 1024);
+  }
+
+  //Tests that every frame painted by a panel is recorded with its shapes drawn and skipped
+  @Test
+  public void testPanelRecords() {
+    AnimationPanel panel = new AnimationPanel();
+    panel.setModel(new ReadOnlyAnimationEnvironmentImpl(OrientationAnimationReader.parseFile(
+        new StringReader("canvas 0 0 50 50\nshape R rectangle\nshape C ellipse\n"
+            + "motion R 0 0 0 10 10 255 0 0 0 10 20 20 10 10 255 0 0 0\n"
+            + "motion C 5 0 0 10 10 0 0 255 0 10 20 20 10 10 0 0 255 0\n"),
+        AnimationEnvironment.builder())));
+    panel.setSize(50, 50);
+    BufferedImage image = new BufferedImage(50, 50, BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = image.createGraphics();
+    for (int tick = 0; tick < 10; tick++) {
+      panel.setTick(tick);
+      panel.paint(graphics);
+    }
+    panel.toggleStatsOverlay();
+    panel.getFrameStats().setEnabled(false);
+    panel.paint(graphics);
+    graphics.dispose();
+
+    FrameStats stats = panel.getFrameStats();
+    assertEquals(10, stats.getFrameCount());
+    assertEquals(10 + 5, stats.getShapesDrawn());
+    assertEquals(5, stats.getShapesSkipped());
+  }
+
+  //Tests that registered timings can be read through JMX
+  @Test
+  public void testRegister() throws Exception {
+    FrameStats stats = new FrameStats();
+    stats.record(1000, 2000, 3000, 4, 5);
+    stats.register("test");
+    stats.register("test");
+    ObjectName name = new ObjectName("animator:type=FrameStats,name=\"test\"");
+    assertEquals(4L, ManagementFactory.getPlatformMBeanServer().getAttribute(name,
+        "ShapesDrawn"));
+    assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(name,
+        "FrameCount"));
+    ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+  }
+}
@@ -0,0 +1,97 @@
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.imageio.ImageIO;
+import org.junit.Test;
+
+import controller.OrientationAnimationReader;
+import model.AnimationEnvironment;
+import model.ReadOnlyAnimationEnvironment;
+import model.ReadOnlyAnimationEnvironmentImpl;
+import view.AnimationPanel;
+import view.ImageSequenceView;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the {@code ImageSequenceView} writes the same frames the {@code AnimationPanel}
+ * paints.
+ */
+public class TestImageSequenceView {
+
+  private final ReadOnlyAnimationEnvironment model = new ReadOnlyAnimationEnvironmentImpl(
+      OrientationAnimationReader.parseFile(new StringReader("canvas 0 0 80 60\n"
+          + "shape R rectangle\n"
+          + "shape C ellipse\n"
+          + "shape T triangle\n"
+          + "motion R 0 5 5 20 10 255 0 0 0 10 40 30 30 20 0 255 0 45\n"
+          + "motion C 2 50 10 10 20 0 0 255 0 12 10 40 20 10 255 255 0 90\n"
+          + "motion T 4 20 50 30 20 0 255 255 0 12 30 55 20 30 255 0 255 30\n"),
+          AnimationEnvironment.builder()));
+
+  //Tests that every frame in the range is written and matches the panel pixel for pixel
+  @Test
+  public void testFramesMatchPanel() throws IOException {
+    Path directory = Files.createTempDirectory("frames");
+    ImageSequenceView view = new ImageSequenceView(directory, 3, 9, 3);
+    view.setModel(this.model);
+    view.display();
+
+    assertEquals(7, directory.toFile().list().length);
+    AnimationPanel panel = new AnimationPanel();
+    panel.setModel(this.model);
+    panel.setSize(80, 60);
+    for (int tick = 3; tick <= 9; tick++) {
+      BufferedImage expected = new BufferedImage(80, 60, BufferedImage.TYPE_INT_RGB);
+      Graphics2D graphics = expected.createGraphics();
+      panel.setTick(tick);
+      panel.paint(graphics);
+      graphics.dispose();
+
+      File file = directory.resolve("frame000" + tick + ".png").toFile();
+      BufferedImage actual = ImageIO.read(file);
+      for (int x = 0; x < 80; x++) {
+        for (int y = 0; y < 60; y++) {
+          assertEquals("tick " + tick + " at " + x + ", " + y, expected.getRGB(x, y),
+              actual.getRGB(x, y));
+        }
+      }
+      file.delete();
+    }
+    Files.delete(directory);
+  }
+
+  //Tests that the whole animation is written when no last tick is given
+  @Test
+  public void testWholeAnimation() throws IOException {
+    Path directory = Files.createTempDirectory("frames");
+    ImageSequenceView view = new ImageSequenceView(directory, 0, -1);
+    view.setModel(this.model);
+    view.display();
+
+    String[] names = directory.toFile().list();
+    assertEquals(13, names.length);
+    assertTrue(new File(directory.toFile(), "frame0012.png").exists());
+    for (String name : names) {
+      new File(directory.toFile(), name).delete();
+    }
+    Files.delete(directory);
+  }
+
+  //Tests that displaying without a model is rejected
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoModel() throws IOException {
+    new ImageSequenceView(Files.createTempDirectory("frames"), 0, 5).display();
+  }
+
+  //Tests that a negative first tick is rejected
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeTick() {
+    new ImageSequenceView(new File("frames").toPath(), -1, 5);
+  }
+}
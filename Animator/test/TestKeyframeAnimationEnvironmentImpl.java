@@ -216,6 +216,32 @@ public class TestKeyframeAnimationEnvironmentImpl {
   }
 
 
+  //Tests that deleting a shape keeps the remaining shapes in the order they were added and that
+  //its name can be used again afterwards.
+  @Test
+  public void testDeleteShapeKeepsOrder() {
+    this.keyframeEnvironment
+        .addShape(Shapes.Rectangle, "first", 0, new Dimension(5, 5), new Color(255, 0, 0),
+            new Position2D(0, 0), 0);
+    this.keyframeEnvironment
+        .addShape(Shapes.Oval, "second", 0, new Dimension(5, 5), new Color(255, 0, 0),
+            new Position2D(0, 0), 0);
+    this.keyframeEnvironment
+        .addShape(Shapes.Triangle, "third", 0, new Dimension(5, 5), new Color(255, 0, 0),
+            new Position2D(0, 0), 0);
+
+    this.keyframeEnvironment.deleteShape("second");
+    assertEquals(2, this.keyframeEnvironment.getShapes().size());
+    assertEquals("first", this.keyframeEnvironment.getShapes().get(0).getName());
+    assertEquals("third", this.keyframeEnvironment.getShapes().get(1).getName());
+
+    this.keyframeEnvironment
+        .addShape(Shapes.Oval, "second", 0, new Dimension(5, 5), new Color(255, 0, 0),
+            new Position2D(0, 0), 0);
+    assertEquals("second", this.keyframeEnvironment.getShapes().get(2).getName());
+  }
+
+
   //Tests that add keyframe accurately adds a keyframe to the correct shape at the correct time.
   //Tests that it is valid to add a shape before all existing keyframes, after all existing
   //keyframes and in between two existing keyframes.
@@ -0,0 +1,220 @@
+import java.awt.Color;
+import java.awt.Dimension;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import model.AnimationEnvironmentImpl;
+import model.KeyframeAnimationEnvironmentImpl;
+import model.KeyframeEdit;
+import model.Position2D;
+import model.ReadOnlyAnimatedShape;
+import model.Shapes;
+import model.UndoableKeyframeEnvironment;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests that a batch of keyframe edits applied to a {@code KeyframeAnimationEnvironmentImpl} has
+ * the same result as making the edits one at a time, but is checked, published and undone as a
+ * single edit.
+ */
+public class TestKeyframeBatch {
+
+  private UndoableKeyframeEnvironment environment;
+
+  @Before
+  public void setUp() {
+    this.environment = newEnvironment();
+  }
+
+  //Tests that a batch of adds, edits and deletes of two shapes leaves the same keyframes as the
+  //same edits made one at a time
+  @Test
+  public void testMatchesSingleEdits() {
+    List<KeyframeEdit> edits = Arrays.asList(
+        KeyframeEdit.add("R", 10, new Dimension(8, 8), new Color(1, 2, 3),
+            new Position2D(5, 5), 90),
+        KeyframeEdit.add("O", 7, new Dimension(3, 4), new Color(9, 9, 9),
+            new Position2D(1, 2), 0),
+        KeyframeEdit.edit("R", 10, new Dimension(9, 9), new Color(4, 5, 6),
+            new Position2D(6, 6), 45),
+        KeyframeEdit.delete("R", 0),
+        KeyframeEdit.add("R", 0, new Dimension(2, 2), new Color(7, 7, 7),
+            new Position2D(0, 1), 10),
+        KeyframeEdit.delete("O", 100));
+    UndoableKeyframeEnvironment expected = newEnvironment();
+    expected.addKeyframe("R", 10, new Dimension(8, 8), new Color(1, 2, 3),
+        new Position2D(5, 5), 90);
+    expected.addKeyframe("O", 7, new Dimension(3, 4), new Color(9, 9, 9),
+        new Position2D(1, 2), 0);
+    expected.editKeyframe("R", 10, new Dimension(9, 9), new Color(4, 5, 6),
+        new Position2D(6, 6), 45);
+    expected.deleteKeyframe("R", 0);
+    expected.addKeyframe("R", 0, new Dimension(2, 2), new Color(7, 7, 7),
+        new Position2D(0, 1), 10);
+    expected.deleteKeyframe("O", 100);
+
+    this.environment.applyBatch(edits);
+    assertEquals(expected.getShapes(), this.environment.getShapes());
+    for (int i = 0; i < expected.getShapes().size(); i++) {
+      assertEquals(expected.getShapes().get(i).getLog(),
+          this.environment.getShapes().get(i).getLog());
+    }
+  }
+
+  //Tests that a batch with an invalid edit changes nothing, however many valid edits come before
+  @Test
+  public void testInvalidBatchChangesNothing() {
+    long version = this.environment.snapshot().getVersion();
+    List<ReadOnlyAnimatedShape> log = new ArrayList<>(this.log("R"));
+    List<List<KeyframeEdit>> batches = Arrays.asList(
+        Arrays.asList(KeyframeEdit.add("R", 5, new Dimension(8, 8), new Color(0, 0, 0),
+            new Position2D(0, 0), 0), KeyframeEdit.add("R", 5, new Dimension(8, 8),
+            new Color(0, 0, 0), new Position2D(0, 0), 0)),
+        Arrays.asList(KeyframeEdit.delete("R", 0), KeyframeEdit.edit("R", 0,
+            new Dimension(8, 8), new Color(0, 0, 0), new Position2D(0, 0), 0)),
+        Arrays.asList(KeyframeEdit.add("R", 5, new Dimension(8, 8), new Color(0, 0, 0),
+            new Position2D(0, 0), 0), KeyframeEdit.add("R", 6, new Dimension(0, 8),
+            new Color(0, 0, 0), new Position2D(0, 0), 0)),
+        Arrays.asList(KeyframeEdit.add("R", 5, new Dimension(8, 8), new Color(0, 0, 0),
+            new Position2D(0, 0), 0), KeyframeEdit.delete("Nobody", 0)));
+    for (List<KeyframeEdit> batch : batches) {
+      try {
+        this.environment.applyBatch(batch);
+        fail("The batch should have been invalid");
+      } catch (IllegalArgumentException iae) {
+        //the last edit of the batch is invalid
+      }
+    }
+    assertEquals(version, this.environment.snapshot().getVersion());
+    assertEquals(log, this.log("R"));
+  }
+
+  //Tests that a batch publishes one version and is undone and redone as a whole
+  @Test
+  public void testSingleVersionAndUndo() {
+    List<ReadOnlyAnimatedShape> beforeR = new ArrayList<>(this.log("R"));
+    List<ReadOnlyAnimatedShape> beforeO = new ArrayList<>(this.log("O"));
+    long version = this.environment.snapshot().getVersion();
+    List<KeyframeEdit> edits = new ArrayList<KeyframeEdit>();
+    for (int t = 1; t <= 100; t++) {
+      edits.add(KeyframeEdit.add(t % 2 == 0 ? "R" : "O", t, new Dimension(t, t),
+          new Color(0, 0, 0), new Position2D(t, t), 0));
+    }
+    this.environment.applyBatch(edits);
+    assertEquals(version + 1, this.environment.snapshot().getVersion());
+    List<ReadOnlyAnimatedShape> afterR = new ArrayList<>(this.log("R"));
+    assertEquals(51, afterR.size());
+
+    this.environment.undo();
+    assertEquals(beforeR, this.log("R"));
+    assertEquals(beforeO, this.log("O"));
+    assertEquals(version + 2, this.environment.snapshot().getVersion());
+    this.environment.redo();
+    assertEquals(afterR, this.log("R"));
+    assertEquals(51, this.log("O").size());
+  }
+
+  //Tests that undoing and redoing a batch also restores the current state of each shape
+  @Test
+  public void testUndoCurrentState() {
+    this.environment.applyBatch(Arrays.asList(
+        KeyframeEdit.add("R", 300, new Dimension(8, 8), new Color(1, 2, 3),
+            new Position2D(5, 5), 90),
+        KeyframeEdit.add("O", 200, new Dimension(3, 4), new Color(9, 9, 9),
+            new Position2D(1, 2), 0)));
+    assertEquals(300, this.environment.getShapes().get(0).getTime());
+    assertEquals(200, this.environment.getShapes().get(1).getTime());
+
+    this.environment.undo();
+    assertEquals(0, this.environment.getShapes().get(0).getTime());
+    assertEquals(new Color(255, 0, 0), this.environment.getShapes().get(0).getColor());
+    assertEquals(0, this.environment.getShapes().get(1).getTime());
+    assertEquals(new Position2D(10, 10), this.environment.getShapes().get(1).getPosn());
+
+    this.environment.redo();
+    assertEquals(300, this.environment.getShapes().get(0).getTime());
+    assertEquals(new Color(9, 9, 9), this.environment.getShapes().get(1).getColor());
+  }
+
+  //Tests that batches both smaller and larger than the keyframes of a shape are merged into
+  //keyframes in order of time
+  @Test
+  public void testMergeSizes() {
+    List<KeyframeEdit> edits = new ArrayList<KeyframeEdit>();
+    for (int t = 2; t <= 4000; t += 2) {
+      edits.add(KeyframeEdit.add("R", t, new Dimension(t, t), new Color(0, 0, 0),
+          new Position2D(t, t), 0));
+    }
+    Collections.shuffle(edits);
+    this.environment.applyBatch(edits);
+    this.assertTimes(0, 4000, 2);
+
+    edits.clear();
+    for (int t = 1; t < 4000; t += 2) {
+      edits.add(KeyframeEdit.add("R", t, new Dimension(t, t), new Color(0, 0, 0),
+          new Position2D(t, t), 0));
+    }
+    Collections.shuffle(edits);
+    this.environment.applyBatch(edits);
+    this.assertTimes(0, 4000, 1);
+
+    this.environment.applyBatch(Arrays.asList(KeyframeEdit.delete("R", 4000),
+        KeyframeEdit.edit("R", 3, new Dimension(1, 1), new Color(0, 0, 0),
+            new Position2D(0, 0), 0)));
+    this.assertTimes(0, 3999, 1);
+    assertEquals(new Dimension(1, 1), this.log("R").get(3).getBoundary());
+  }
+
+  /**
+   * Checks that the keyframes of the rectangle are exactly at the times from {@param first} to
+   * {@param last} apart by the given {@param step}.
+   *
+   * @param first The time of the first keyframe.
+   * @param last  The time of the last keyframe.
+   * @param step  The time between keyframes.
+   */
+  private void assertTimes(int first, int last, int step) {
+    List<ReadOnlyAnimatedShape> log = this.log("R");
+    assertEquals((last - first) / step + 1, log.size());
+    int index = 0;
+    for (ReadOnlyAnimatedShape keyframe : log) {
+      assertEquals(first + index * step, keyframe.getTime());
+      index++;
+    }
+  }
+
+  /**
+   * Returns the log of the shape with the given {@param name}.
+   *
+   * @param name The name of the shape.
+   * @return The log of the shape.
+   */
+  private List<ReadOnlyAnimatedShape> log(String name) {
+    for (ReadOnlyAnimatedShape shape : this.environment.getShapes()) {
+      if (shape.getName().equals(name)) {
+        return shape.getLog();
+      }
+    }
+    throw new IllegalArgumentException("No shape " + name);
+  }
+
+  /**
+   * Returns an environment with a rectangle and an oval that each have one keyframe.
+   *
+   * @return The environment.
+   */
+  private static UndoableKeyframeEnvironment newEnvironment() {
+    UndoableKeyframeEnvironment environment = new KeyframeAnimationEnvironmentImpl(
+        AnimationEnvironmentImpl.builder().setBounds(0, 0, 100, 100).build());
+    environment.addShape(Shapes.Rectangle, "R", 0, new Dimension(5, 5),
+        new Color(255, 0, 0), new Position2D(0, 0), 0);
+    environment.addShape(Shapes.Oval, "O", 0, new Dimension(5, 5),
+        new Color(0, 0, 255), new Position2D(10, 10), 0);
+    return environment;
+  }
+}
@@ -0,0 +1,129 @@
+import java.io.StringReader;
+import java.util.List;
+import controller.AnimationBuilder;
+import controller.AnimationReader;
+import controller.OrientationAnimationReader;
+import model.AnimationEnvironment;
+import model.KeyframeAnimationEnvironmentImpl;
+import model.ReadOnlyAnimatedShape;
+import model.UndoableKeyframeEnvironment;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests that the builder of a {@code KeyframeAnimationEnvironmentImpl} builds the same keyframes
+ * straight from motions as converting an {@code AnimationEnvironment} of the same motions does,
+ * and rejects the same motions.
+ */
+public class TestKeyframeBuilder {
+
+  private final String input = "canvas 10 20 300 200\n"
+      + "shape R rectangle\n"
+      + "shape C ellipse\n"
+      + "motion R 1 200 200 50 100 255 0 0 0   10 200 200 50 100 255 0 0 0\n"
+      + "motion C 6 440 70 120 60 0 0 255 0 20 440 70 120 60 0 0 255 90\n"
+      + "motion r 10 200 200 50 100 255 0 0 0 50 300 300 50 100 255 0 0 45\n"
+      + "motion R 70 300 300 50 100 255 0 0 45 100 200 200 25 100 0 0 255 45\n"
+      + "motion C 20 440 70 120 60 0 0 255 90 20 440 70 120 60 0 0 255 90\n"
+      + "motion C 0 440 70 120 60 0 0 255 90 6 440 70 120 60 0 0 255 90\n";
+
+  //Tests that motions with and without orientations, gaps between motions, instant motions,
+  //motions out of order and names of another case build the same keyframes both ways
+  @Test
+  public void testMatchesConversion() {
+    assertSame(new KeyframeAnimationEnvironmentImpl(OrientationAnimationReader.parseFile(
+        new StringReader(this.input), AnimationEnvironment.builder())),
+        OrientationAnimationReader.parseFile(new StringReader(this.input),
+            KeyframeAnimationEnvironmentImpl.builder()));
+
+    String plain = "canvas 0 0 50 50\nshape A triangle\n"
+        + "motion A 0 1 1 5 5 1 2 3 4 1 1 5 5 1 2 3\n"
+        + "motion A 4 1 1 5 5 1 2 3 9 9 9 6 6 3 2 1\n";
+    assertSame(new KeyframeAnimationEnvironmentImpl(AnimationReader.parseFile(
+        new StringReader(plain), AnimationEnvironment.builder())),
+        AnimationReader.parseFile(new StringReader(plain),
+            KeyframeAnimationEnvironmentImpl.builder()));
+  }
+
+  //Tests that keyframes added to undeclared shapes build the same way as well, and that a shape
+  //given a keyframe cannot be given it again
+  @Test
+  public void testKeyframes() {
+    AnimationBuilder<AnimationEnvironment> reference = AnimationEnvironment.builder();
+    AnimationBuilder<UndoableKeyframeEnvironment> builder =
+        KeyframeAnimationEnvironmentImpl.builder();
+    reference.setBounds(0, 0, 40, 40).declareShape("K", "rectangle").declareShape("M", "oval");
+    builder.setBounds(0, 0, 40, 40).declareShape("K", "rectangle").declareShape("M", "oval");
+    reference.addKeyframe("K", 3, 1, 2, 3, 4, 5, 6, 7, 8);
+    builder.addKeyframe("K", 3, 1, 2, 3, 4, 5, 6, 7, 8);
+    reference.addMotion("M", 3, 1, 2, 3, 4, 5, 6, 7, 9, 2, 2, 3, 4, 5, 6, 7);
+    builder.addMotion("M", 3, 1, 2, 3, 4, 5, 6, 7, 9, 2, 2, 3, 4, 5, 6, 7);
+    assertSame(new KeyframeAnimationEnvironmentImpl(reference.build()), builder.build());
+    try {
+      builder.addKeyframe("K", 5, 1, 2, 3, 4, 5, 6, 7, 8);
+      fail("The shape should already exist");
+    } catch (IllegalArgumentException iae) {
+      //the shape was added with its first keyframe
+    }
+  }
+
+  //Tests that motions that overlap, do not begin where the shape is, or are of shapes that do
+  //not exist are rejected
+  @Test
+  public void testInvalidMotions() {
+    String header = "canvas 0 0 50 50\nshape A rectangle\n"
+        + "motion A 0 1 1 5 5 1 2 3 10 1 1 5 5 1 2 3\n";
+    String[] invalid = {
+        "motion A 5 1 1 5 5 1 2 3 15 1 1 5 5 1 2 3\n",
+        "motion A 10 2 1 5 5 1 2 3 15 1 1 5 5 1 2 3\n",
+        "motion B 10 1 1 5 5 1 2 3 15 1 1 5 5 1 2 3\n",
+        "motion A 20 1 1 5 5 1 2 3 15 1 1 5 5 1 2 3\n"};
+    for (String motion : invalid) {
+      try {
+        AnimationReader.parseFile(new StringReader(header + motion),
+            KeyframeAnimationEnvironmentImpl.builder());
+        fail("The motion should have been invalid: " + motion);
+      } catch (IllegalArgumentException iae) {
+        //the last motion is invalid
+      }
+    }
+  }
+
+  //Tests that a long animation of consecutive motions keeps one keyframe per motion boundary
+  @Test
+  public void testLongAnimation() {
+    AnimationBuilder<UndoableKeyframeEnvironment> builder =
+        KeyframeAnimationEnvironmentImpl.builder();
+    builder.declareShape("L", "ellipse");
+    for (int m = 0; m < 50000; m++) {
+      builder.addMotion("L", m, m % 90, 0, 5, 5, 0, 0, 0, m + 1, (m + 1) % 90, 0, 5, 5, 0, 0, 0);
+    }
+    List<ReadOnlyAnimatedShape> log = builder.build().getShapes().get(0).getLog();
+    assertEquals(50001, log.size());
+    for (int t = 0; t <= 50000; t++) {
+      assertEquals(t, log.get(t).getTime());
+      assertEquals(t % 90, log.get(t).getPosn().getX(), 0.0);
+    }
+  }
+
+  /**
+   * Checks that the {@param actual} environment has the same bounds and shapes as the {@param
+   * expected} one, with the same keyframes.
+   *
+   * @param expected The environment converted from an {@code AnimationEnvironment}.
+   * @param actual   The environment built straight from the motions.
+   */
+  private static void assertSame(UndoableKeyframeEnvironment expected,
+      UndoableKeyframeEnvironment actual) {
+    assertEquals(expected.getX(), actual.getX());
+    assertEquals(expected.getY(), actual.getY());
+    assertEquals(expected.getWidth(), actual.getWidth());
+    assertEquals(expected.getHeight(), actual.getHeight());
+    assertEquals(expected.getShapes(), actual.getShapes());
+    for (int i = 0; i < expected.getShapes().size(); i++) {
+      assertEquals(expected.getShapes().get(i).getLog(), actual.getShapes().get(i).getLog());
+    }
+  }
+}
@@ -0,0 +1,129 @@
+import java.awt.Color;
+import java.awt.Dimension;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import model.AnimationEnvironmentImpl;
+import model.KeyframeAnimatedShapeImpl;
+import model.KeyframeAnimationEnvironmentImpl;
+import model.KeyframeIndex;
+import model.Position2D;
+import model.ReadOnlyAnimatedShape;
+import model.Shapes;
+import model.UndoableKeyframeEnvironment;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the keyframes of a {@code KeyframeAnimatedShapeImpl} can be looked up at, around and
+ * between ticks, giving the same keyframes as searching a sorted map of them would.
+ */
+public class TestKeyframeIndex {
+
+  private KeyframeAnimatedShapeImpl shape;
+  private TreeMap<Integer, Integer> expected;
+
+  @Before
+  public void setUp() {
+    this.shape = new KeyframeAnimatedShapeImpl(Shapes.Rectangle, "R", 0, new Dimension(1, 1),
+        new Color(0, 0, 0), new Position2D(0, 0), 0);
+    this.expected = new TreeMap<Integer, Integer>();
+    Random random = new Random(24);
+    for (int i = 0; i < 2000; i++) {
+      int time = random.nextInt(10000);
+      int width = 1 + random.nextInt(100);
+      this.shape.setTime(time);
+      this.shape.scale(new Dimension(width, 1));
+      this.shape.log();
+      this.expected.put(time, width);
+    }
+    for (int i = 0; i < 500; i++) {
+      int time = random.nextInt(10000);
+      this.shape.deleteKeyframe(time);
+      this.expected.remove(time);
+    }
+  }
+
+  //Tests that the keyframe at, at or before, and at or after every tick is found
+  @Test
+  public void testLookups() {
+    for (int tick = -5; tick <= 10005; tick++) {
+      this.assertKeyframe(this.expected.containsKey(tick) ? tick : null,
+          this.shape.getKeyframe(tick));
+      this.assertKeyframe(this.expected.floorKey(tick), this.shape.floorKeyframe(tick));
+      this.assertKeyframe(this.expected.ceilingKey(tick), this.shape.ceilingKeyframe(tick));
+    }
+  }
+
+  //Tests that ranges of ticks hold exactly the keyframes between them, both by index and in
+  //iteration
+  @Test
+  public void testRanges() {
+    Random random = new Random(7);
+    for (int i = 0; i < 300; i++) {
+      int from = random.nextInt(10200) - 100;
+      int to = from + random.nextInt(3000);
+      List<Integer> times = new ArrayList<Integer>(this.expected.subMap(from, true, to, true)
+          .keySet());
+      List<ReadOnlyAnimatedShape> range = this.shape.getKeyframes(from, to);
+      assertEquals(times.size(), range.size());
+      int index = 0;
+      for (ReadOnlyAnimatedShape keyframe : range) {
+        assertEquals((int) times.get(index), keyframe.getTime());
+        assertEquals(keyframe, range.get(index));
+        index++;
+      }
+      assertEquals(times.size(), index);
+    }
+    assertTrue(this.shape.getKeyframes(10, 9).isEmpty());
+    assertEquals(this.expected.size(),
+        this.shape.getKeyframes(Integer.MIN_VALUE, Integer.MAX_VALUE).size());
+  }
+
+  //Tests that a range keeps the keyframes it had when the shape is edited afterwards
+  @Test
+  public void testRangeNeverChanges() {
+    List<ReadOnlyAnimatedShape> range = this.shape.getKeyframes(0, 10000);
+    int size = range.size();
+    this.shape.deleteKeyframe(this.expected.firstKey());
+    assertEquals(size, range.size());
+    assertEquals((int) this.expected.firstKey(), range.get(0).getTime());
+  }
+
+  //Tests that the shapes handed out by a keyframe environment can be queried by tick
+  @Test
+  public void testEnvironmentShapes() {
+    UndoableKeyframeEnvironment environment = new KeyframeAnimationEnvironmentImpl(
+        AnimationEnvironmentImpl.builder().setBounds(0, 0, 100, 100).build());
+    environment.addShape(Shapes.Oval, "O", 10, new Dimension(5, 5), new Color(0, 0, 0),
+        new Position2D(0, 0), 0);
+    environment.addKeyframe("O", 30, new Dimension(7, 7), new Color(0, 0, 0),
+        new Position2D(0, 0), 0);
+    KeyframeIndex index = (KeyframeIndex) environment.getShapes().get(0);
+    assertEquals(10, index.floorKeyframe(29).getTime());
+    assertEquals(30, index.ceilingKeyframe(11).getTime());
+    assertNull(index.floorKeyframe(9));
+    assertEquals(2, index.getKeyframes(10, 30).size());
+  }
+
+  /**
+   * Checks that the given {@param keyframe} is the keyframe at the given {@param time}, with the
+   * width that was logged for it.
+   *
+   * @param time     The time of the expected keyframe, or null if there should be none.
+   * @param keyframe The keyframe found.
+   */
+  private void assertKeyframe(Integer time, ReadOnlyAnimatedShape keyframe) {
+    if (time == null) {
+      assertNull(keyframe);
+      return;
+    }
+    assertEquals((int) time, keyframe.getTime());
+    assertEquals((int) this.expected.get(time), keyframe.getBoundary().width);
+  }
+}
@@ -0,0 +1,145 @@
+import java.awt.Color;
+import java.awt.Dimension;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import model.AnimationEnvironmentImpl;
+import model.KeyframeAnimationEnvironmentImpl;
+import model.KeyframeSnapshot;
+import model.Position2D;
+import model.ReadOnlyAnimatedShape;
+import model.Shapes;
+import model.UndoableKeyframeEnvironment;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that a {@code KeyframeAnimationEnvironmentImpl} publishes a new {@code KeyframeSnapshot}
+ * with every edit, which never changes once published and shares every shape the edit did not
+ * touch with the version before.
+ */
+public class TestKeyframeSnapshots {
+
+  private UndoableKeyframeEnvironment environment;
+
+  @Before
+  public void setUp() {
+    this.environment = new KeyframeAnimationEnvironmentImpl(
+        AnimationEnvironmentImpl.builder().setBounds(0, 0, 100, 100).build());
+    this.environment.addShape(Shapes.Rectangle, "R", 0, new Dimension(5, 5),
+        new Color(255, 0, 0), new Position2D(0, 0), 0);
+    this.environment.addShape(Shapes.Oval, "O", 0, new Dimension(5, 5),
+        new Color(0, 0, 255), new Position2D(10, 10), 0);
+  }
+
+  //Tests that a snapshot keeps its shapes and keyframes however the environment is edited after
+  @Test
+  public void testSnapshotNeverChanges() {
+    KeyframeSnapshot snapshot = this.environment.snapshot();
+    this.environment.addKeyframe("R", 10, new Dimension(8, 8), new Color(1, 2, 3),
+        new Position2D(5, 5), 90);
+    this.environment.editKeyframe("R", 0, new Dimension(9, 9), new Color(4, 5, 6),
+        new Position2D(6, 6), 45);
+    this.environment.deleteShape("O");
+
+    assertEquals(2, snapshot.getShapes().size());
+    List<ReadOnlyAnimatedShape> log = snapshot.getShapes().get(0).getLog();
+    assertEquals(1, log.size());
+    assertEquals(0, log.get(0).getOrientation());
+    assertEquals(new Dimension(5, 5), log.get(0).getBoundary());
+    assertEquals(1, this.environment.getShapes().size());
+    assertEquals(2, this.environment.getShapes().get(0).getLog().size());
+  }
+
+  //Tests that every edit, undo and redo publishes the next version, and that nothing else does
+  @Test
+  public void testVersions() {
+    long version = this.environment.snapshot().getVersion();
+    this.environment.addKeyframe("R", 10, new Dimension(8, 8), new Color(1, 2, 3),
+        new Position2D(5, 5), 0);
+    assertEquals(version + 1, this.environment.snapshot().getVersion());
+    this.environment.deleteKeyframe("R", 20);
+    assertEquals(version + 1, this.environment.snapshot().getVersion());
+    try {
+      this.environment.editKeyframe("R", 10, new Dimension(8, 8), new Color(1, 2, 3),
+          new Position2D(5, 5), 400);
+    } catch (IllegalArgumentException iae) {
+      //the orientation is invalid
+    }
+    assertEquals(version + 1, this.environment.snapshot().getVersion());
+    this.environment.undo();
+    assertEquals(version + 2, this.environment.snapshot().getVersion());
+    this.environment.redo();
+    assertEquals(version + 3, this.environment.snapshot().getVersion());
+    assertSame(this.environment.snapshot().getShapes(), this.environment.getShapes());
+  }
+
+  //Tests that a shape the edit did not touch is the same object, with the same log, in both
+  //versions
+  @Test
+  public void testUntouchedShapesShared() {
+    KeyframeSnapshot before = this.environment.snapshot();
+    this.environment.addKeyframe("R", 10, new Dimension(8, 8), new Color(1, 2, 3),
+        new Position2D(5, 5), 0);
+    KeyframeSnapshot after = this.environment.snapshot();
+
+    assertNotSame(before.getShapes().get(0), after.getShapes().get(0));
+    assertSame(before.getShapes().get(1), after.getShapes().get(1));
+    assertSame(before.getShapes().get(1).getLog(), after.getShapes().get(1).getLog());
+  }
+
+  //Tests that a reader on another thread always sees sorted, whole keyframes while a writer
+  //edits the environment
+  @Test
+  public void testConcurrentReader() throws InterruptedException {
+    AtomicReference<String> failure = new AtomicReference<String>();
+    Thread reader = new Thread(() -> {
+      long last = -1;
+      while (last < 1000 && failure.get() == null) {
+        KeyframeSnapshot snapshot = this.environment.snapshot();
+        if (snapshot.getVersion() < last) {
+          failure.set("version went back from " + last + " to " + snapshot.getVersion());
+        }
+        last = snapshot.getVersion();
+        for (ReadOnlyAnimatedShape shape : snapshot.getShapes()) {
+          List<ReadOnlyAnimatedShape> log = shape.getLog();
+          for (int i = 0; i < log.size(); i++) {
+            ReadOnlyAnimatedShape keyframe = log.get(i);
+            if (i > 0 && log.get(i - 1).getTime() >= keyframe.getTime()) {
+              failure.set("keyframes out of order in version " + last);
+            }
+            if (keyframe.getBoundary().width != keyframe.getPosn().getX()) {
+              failure.set("keyframe torn in version " + last);
+            }
+          }
+        }
+      }
+    });
+    this.environment.addKeyframe("R", 1000, new Dimension(1000, 1000), new Color(0, 0, 0),
+        new Position2D(1000, 1000), 0);
+    this.environment.editKeyframe("R", 0, new Dimension(5, 5), new Color(0, 0, 0),
+        new Position2D(5, 5), 0);
+    this.environment.deleteShape("O");
+    reader.start();
+    for (int t = 1; t < 1000; t++) {
+      this.environment.addKeyframe("R", t, new Dimension(t, t), new Color(0, 0, 0),
+          new Position2D(t, t), 0);
+      if (t % 3 == 0) {
+        this.environment.undo();
+        this.environment.redo();
+      }
+    }
+    while (this.environment.snapshot().getVersion() < 1000) {
+      this.environment.deleteKeyframe("R", this.environment.getShapes().get(0).getLog()
+          .get(1).getTime());
+    }
+    reader.join(10000);
+    assertNull(failure.get());
+    assertTrue(this.environment.snapshot().getVersion() >= 1000);
+  }
+}
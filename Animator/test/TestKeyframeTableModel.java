@@ -0,0 +1,152 @@
+import java.awt.Color;
+import java.awt.Dimension;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.event.TableModelEvent;
+import model.AnimationEnvironmentImpl;
+import model.KeyframeAnimationEnvironment;
+import model.KeyframeAnimationEnvironmentImpl;
+import model.Position2D;
+import model.ReadOnlyKeyframeEnvironment;
+import model.Shapes;
+import org.junit.Before;
+import org.junit.Test;
+import view.KeyframeShapesPanel;
+import view.KeyframeTableModel;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that a {@code KeyframeTableModel} shows every shape and keyframe of a model under the
+ * field names and action commands the editor has always used, and that updating it only reports
+ * the rows that changed.
+ */
+public class TestKeyframeTableModel {
+
+  private KeyframeAnimationEnvironment model;
+  private KeyframeTableModel table;
+  private List<TableModelEvent> events;
+
+  @Before
+  public void setUp() {
+    this.model = new KeyframeAnimationEnvironmentImpl(
+        AnimationEnvironmentImpl.builder().setBounds(0, 0, 100, 100).build());
+    this.model.addShape(Shapes.Rectangle, "R", 1, new Dimension(10, 20), new Color(1, 2, 3),
+        new Position2D(4, 5), 6);
+    this.model.addKeyframe("R", 10, new Dimension(11, 21), new Color(7, 8, 9),
+        new Position2D(40, 50), 60);
+    this.model.addShape(Shapes.Oval, "O", 2, new Dimension(30, 40), new Color(10, 20, 30),
+        new Position2D(0, 0), 0);
+    this.table = new KeyframeTableModel(new ReadOnlyKeyframeEnvironment(this.model));
+    this.events = new ArrayList<>();
+    this.table.addTableModelListener(this.events::add);
+  }
+
+  //Tests that every shape has a row followed by a row for each of its keyframes
+  @Test
+  public void testRows() {
+    assertEquals(5, this.table.getRowCount());
+    assertEquals("t: 1", this.table.getValueAt(1, KeyframeTableModel.TIME_COLUMN));
+    assertEquals("t: 10", this.table.getValueAt(2, KeyframeTableModel.TIME_COLUMN));
+    assertEquals("Add frame", this.table.getValueAt(0, KeyframeTableModel.FIRST_BUTTON_COLUMN));
+    assertEquals("edit", this.table.getValueAt(1, KeyframeTableModel.FIRST_BUTTON_COLUMN));
+    assertEquals("add keyframe R",
+        this.table.actionCommandAt(0, KeyframeTableModel.FIRST_BUTTON_COLUMN));
+    assertEquals("delete shape O",
+        this.table.actionCommandAt(3, KeyframeTableModel.SECOND_BUTTON_COLUMN));
+    assertEquals("edit keyframe R 10",
+        this.table.actionCommandAt(2, KeyframeTableModel.FIRST_BUTTON_COLUMN));
+    assertEquals("delete keyframe O 2",
+        this.table.actionCommandAt(4, KeyframeTableModel.SECOND_BUTTON_COLUMN));
+  }
+
+  //Tests that the fields are found by the names the controller gives them
+  @Test
+  public void testFieldNames() {
+    assertEquals("11", this.table.getText("R time 10 width field"));
+    assertEquals("21", this.table.getText("R time 10 height field"));
+    assertEquals("40", this.table.getText("R time 10 x field"));
+    assertEquals("50", this.table.getText("R time 10 y field"));
+    assertEquals("7", this.table.getText("R time 10 r field"));
+    assertEquals("8", this.table.getText("R time 10 g field"));
+    assertEquals("9", this.table.getText("R time 10 b field"));
+    assertEquals("60", this.table.getText("R time 10 orientation field"));
+    assertEquals("", this.table.getText("O add keyframe time field"));
+
+    this.table.setText("O add keyframe orientation field", "45");
+    assertEquals("45", this.table.getText("O add keyframe orientation field"));
+    assertEquals(1, this.events.size());
+    assertEquals(3, this.events.get(0).getFirstRow());
+  }
+
+  //Tests that fields which do not exist cannot be read or set
+  @Test(expected = IllegalArgumentException.class)
+  public void testMissingKeyframe() {
+    this.table.getText("R time 5 width field");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testKeyframeTimeIsNotAField() {
+    this.table.setText("R time 10 time field", "3");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMissingShape() {
+    this.table.getText("Q add keyframe width field");
+  }
+
+  //Tests that adding a keyframe only inserts its row
+  @Test
+  public void testUpdateInsertsRow() {
+    this.model.addKeyframe("R", 5, new Dimension(1, 1), new Color(0, 0, 0),
+        new Position2D(0, 0), 0);
+    this.table.update();
+    assertEquals(6, this.table.getRowCount());
+    assertEquals(1, this.events.size());
+    assertEquals(TableModelEvent.INSERT, this.events.get(0).getType());
+    assertEquals(2, this.events.get(0).getFirstRow());
+    assertEquals(2, this.events.get(0).getLastRow());
+    assertEquals("t: 5", this.table.getValueAt(2, KeyframeTableModel.TIME_COLUMN));
+    assertEquals("t: 10", this.table.getValueAt(3, KeyframeTableModel.TIME_COLUMN));
+  }
+
+  //Tests that deleting a shape only deletes its rows
+  @Test
+  public void testUpdateDeletesRows() {
+    this.model.deleteShape("R");
+    this.table.update();
+    assertEquals(2, this.table.getRowCount());
+    assertEquals(1, this.events.size());
+    assertEquals(TableModelEvent.DELETE, this.events.get(0).getType());
+    assertEquals(0, this.events.get(0).getFirstRow());
+    assertEquals(2, this.events.get(0).getLastRow());
+  }
+
+  //Tests that an update with nothing changed reports nothing, while rows whose text was set are
+  //reported so the text is cleared
+  @Test
+  public void testUpdateReportsChangedRowsOnly() {
+    this.table.update();
+    assertEquals(0, this.events.size());
+
+    this.table.setText("R time 10 x field", "99");
+    this.events.clear();
+    this.table.update();
+    assertEquals(1, this.events.size());
+    assertEquals(TableModelEvent.UPDATE, this.events.get(0).getType());
+    assertEquals(2, this.events.get(0).getFirstRow());
+    assertEquals("40", this.table.getText("R time 10 x field"));
+  }
+
+  //Tests that the panel reads and sets fields through the table
+  @Test
+  public void testPanel() {
+    KeyframeShapesPanel panel = new KeyframeShapesPanel(new ReadOnlyKeyframeEnvironment(
+        this.model));
+    panel.setTextField("R add keyframe time field", "12");
+    assertEquals("12", panel.getTextFieldText("R add keyframe time field"));
+    this.model.deleteKeyframe("R", 10);
+    panel.updateKeyframes();
+    assertEquals("", panel.getTextFieldText("R add keyframe time field"));
+  }
+}
@@ -0,0 +1,261 @@
+import controller.AnimationBuilder;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import controller.AnimationReader;
+import model.AnimationEnvironment;
+import model.AnimationEnvironmentImpl;
+import model.MappedAnimationEnvironment;
+import model.MappedAnimationWriter;
+import model.ReadOnlyAnimatedShape;
+import model.ReadOnlyAnimationEnvironment;
+import model.ReadOnlyAnimationEnvironmentImpl;
+import view.AnimationPanel;
+import view.CompiledAnimation;
+import view.FrameEvaluator;
+import view.SVGView;
+import view.TextView;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that an animation written by a {@code MappedAnimationWriter} reads back from its file the
+ * same as the animation held in memory by an {@code AnimationEnvironmentImpl}.
+ */
+public class TestMappedAnimationEnvironment {
+
+  Path file;
+
+  @Before
+  public void setUp() throws IOException {
+    this.file = Files.createTempFile("animation", ".map");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(this.file);
+  }
+
+  /**
+   * Builds a scene with the given {@param builder}, giving one shape enough motions to fill
+   * several blocks of records.
+   *
+   * @param builder The builder to build the scene with.
+   * @param <T>     The type of environment that is built.
+   * @return The built environment.
+   */
+  private <T> T buildScene(AnimationBuilder<T> builder) {
+    builder.setBounds(10, 20, 300, 200);
+    builder.declareShape("R", "rectangle");
+    builder.declareShape("C", "ellipse");
+    builder.declareShape("T", "triangle");
+    builder.addMotion("R", 1, 200, 200, 50, 100, 255, 0, 0, 10, 200, 200, 50, 100, 255, 0, 0);
+    builder.addMotion("R", 10, 200, 200, 50, 100, 255, 0, 0, 50, 300, 300, 50, 100, 255, 0, 0);
+    builder.addMotion("R", 70, 300, 300, 50, 100, 255, 0, 0, 100, 200, 200, 25, 100, 0, 0, 255);
+    for (int t = 0; t < 300; t++) {
+      builder.addMotion("C", 2 * t, t, t, 10, 10, 0, 0, 255, 2 * t + 1, t + 1, t + 1, 10, 10, 0,
+          0, 255);
+    }
+    builder.addKeyframe("T", 5, 0, 0, 10, 10, 0, 255, 0);
+    return builder.build();
+  }
+
+  /**
+   * Builds a random scene with the given {@param builder}, whose shapes move through motions that
+   * are often instant and often leave gaps between them.
+   *
+   * @param builder The builder to build the scene with.
+   * @param seed    The seed of the scene.
+   * @param <T>     The type of environment that is built.
+   * @return The built environment.
+   */
+  private <T> T buildRandomScene(AnimationBuilder<T> builder, long seed) {
+    Random random = new Random(seed);
+    builder.setBounds(0, 0, 40, 40);
+    for (int s = 0; s < 3; s++) {
+      String name = "S" + s;
+      builder.declareShape(name, s == 1 ? "ellipse" : "rectangle");
+      int t = random.nextInt(3);
+      int[] state = {random.nextInt(30), random.nextInt(30), 1 + random.nextInt(10),
+          1 + random.nextInt(10), random.nextInt(256), random.nextInt(256), random.nextInt(256)};
+      for (int m = 0; m < 8; m++) {
+        int t1 = t + (random.nextBoolean() ? 0 : random.nextInt(4));
+        int t2 = t1 + (random.nextBoolean() ? 0 : random.nextInt(5));
+        int[] next = {random.nextInt(30), random.nextInt(30), 1 + random.nextInt(10),
+            1 + random.nextInt(10), random.nextInt(256), random.nextInt(256),
+            random.nextInt(256)};
+        builder.addMotion(name, t1, state[0], state[1], state[2], state[3], state[4], state[5],
+            state[6], t2, next[0], next[1], next[2], next[3], next[4], next[5], next[6]);
+        t = t2;
+        state = next;
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Paints the given {@param model} at the given {@param tick} with an {@code AnimationPanel}.
+   *
+   * @param model The environment to be painted.
+   * @param tick  The tick to paint.
+   * @return The painted frame.
+   */
+  private BufferedImage paint(ReadOnlyAnimationEnvironment model, int tick) {
+    AnimationPanel panel = new AnimationPanel();
+    panel.setModel(model);
+    panel.setSize(40, 40);
+    panel.setTick(tick);
+    BufferedImage image = new BufferedImage(40, 40, BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = image.createGraphics();
+    panel.paint(graphics);
+    graphics.dispose();
+    return image;
+  }
+
+  /**
+   * Checks that the given environments have the same canvas and shapes with the same logs.
+   *
+   * @param expected The reference environment.
+   * @param actual   The mapped environment.
+   */
+  private void assertSameEnvironment(ReadOnlyAnimationEnvironment expected,
+      ReadOnlyAnimationEnvironment actual) {
+    assertEquals(expected.getX(), actual.getX());
+    assertEquals(expected.getY(), actual.getY());
+    assertEquals(expected.getWidth(), actual.getWidth());
+    assertEquals(expected.getHeight(), actual.getHeight());
+    List<ReadOnlyAnimatedShape> expectedShapes = expected.getShapes();
+    List<ReadOnlyAnimatedShape> actualShapes = actual.getShapes();
+    assertEquals(expectedShapes.size(), actualShapes.size());
+    for (int i = 0; i < expectedShapes.size(); i++) {
+      assertEquals(expectedShapes.get(i), actualShapes.get(i));
+      assertEquals(expectedShapes.get(i).getLog(), actualShapes.get(i).getLog());
+    }
+  }
+
+  //Tests that the written file reads back the same states as the reference environment
+  @Test
+  public void testRoundTrip() throws IOException {
+    ReadOnlyAnimationEnvironment expected = new ReadOnlyAnimationEnvironmentImpl(
+        this.buildScene(AnimationEnvironmentImpl.builder()));
+    try (MappedAnimationEnvironment actual = this.buildScene(
+        new MappedAnimationWriter(this.file))) {
+      this.assertSameEnvironment(expected, actual);
+    }
+    try (MappedAnimationEnvironment reopened = MappedAnimationEnvironment.open(this.file)) {
+      this.assertSameEnvironment(expected, reopened);
+    }
+  }
+
+  //Tests that the views render the mapped file the same as the reference environment
+  @Test
+  public void testViewsRenderTheSame() throws IOException {
+    String input = "canvas 0 0 100 100\n"
+        + "shape R rectangle\n"
+        + "motion R 1 10 10 5 5 255 0 0 10 20 20 5 5 0 255 0\n"
+        + "motion R 12 20 20 5 5 0 255 0 20 20 20 9 9 0 255 0\n";
+    AnimationEnvironment reference = AnimationReader.parseFile(new StringReader(input),
+        AnimationEnvironmentImpl.builder());
+    try (MappedAnimationEnvironment mapped = AnimationReader.parseFile(new StringReader(input),
+        new MappedAnimationWriter(this.file))) {
+      StringBuilder expectedText = new StringBuilder();
+      StringBuilder actualText = new StringBuilder();
+      TextView expectedView = new TextView(expectedText);
+      expectedView.setModel(new ReadOnlyAnimationEnvironmentImpl(reference));
+      expectedView.display();
+      TextView actualView = new TextView(actualText);
+      actualView.setModel(mapped);
+      actualView.display();
+      assertEquals(expectedText.toString(), actualText.toString());
+
+      StringBuilder expectedSvg = new StringBuilder();
+      StringBuilder actualSvg = new StringBuilder();
+      SVGView expectedSvgView = new SVGView(expectedSvg, 2);
+      expectedSvgView.setModel(new ReadOnlyAnimationEnvironmentImpl(reference));
+      expectedSvgView.display();
+      SVGView actualSvgView = new SVGView(actualSvg, 2);
+      actualSvgView.setModel(mapped);
+      actualSvgView.display();
+      assertEquals(expectedSvg.toString(), actualSvg.toString());
+    }
+  }
+
+  //Tests that the frames of a mapped file are evaluated straight from its records the same as
+  //compiling it
+  @Test
+  public void testEvaluatesFromRecords() throws IOException {
+    try (MappedAnimationEnvironment mapped = this.buildScene(
+        new MappedAnimationWriter(this.file))) {
+      FrameEvaluator evaluator = FrameEvaluator.of(mapped);
+      CompiledAnimation compiled = CompiledAnimation.compile(mapped);
+      assertFalse(evaluator instanceof CompiledAnimation);
+      assertTrue(evaluator.isCompiledFrom(mapped));
+      assertEquals(compiled.shapeCount(), evaluator.shapeCount());
+      for (double tick = 0; tick <= 610; tick += 0.5) {
+        List<String> expected = new ArrayList<String>();
+        List<String> actual = new ArrayList<String>();
+        assertEquals(compiled.evaluate(tick, (type, x, y, width, height, red, green, blue,
+            rotation) -> expected.add(type + " " + x + " " + y + " " + width + " " + height + " "
+            + red + " " + green + " " + blue + " " + rotation)),
+            evaluator.evaluate(tick, (type, x, y, width, height, red, green, blue, rotation) ->
+                actual.add(type + " " + x + " " + y + " " + width + " " + height + " " + red + " "
+                    + green + " " + blue + " " + rotation)));
+        assertEquals("tick " + tick, expected, actual);
+      }
+    }
+  }
+
+  //Tests that random scenes with instant motions and gaps between motions are painted pixel for
+  //pixel the same from a mapped file as from memory
+  @Test
+  public void testPaintsLikeMemory() throws IOException {
+    for (long seed = 0; seed < 60; seed++) {
+      ReadOnlyAnimationEnvironment expected = new ReadOnlyAnimationEnvironmentImpl(
+          this.buildRandomScene(AnimationEnvironmentImpl.builder(), seed));
+      Path scene = Files.createTempFile("scene", ".map");
+      try (MappedAnimationEnvironment actual = this.buildRandomScene(
+          new MappedAnimationWriter(scene), seed)) {
+        for (int tick = 0; tick <= 60; tick++) {
+          BufferedImage expectedFrame = this.paint(expected, tick);
+          BufferedImage actualFrame = this.paint(actual, tick);
+          for (int x = 0; x < 40; x++) {
+            for (int y = 0; y < 40; y++) {
+              assertEquals("seed " + seed + " tick " + tick + " at " + x + ", " + y,
+                  expectedFrame.getRGB(x, y), actualFrame.getRGB(x, y));
+            }
+          }
+        }
+      } finally {
+        Files.delete(scene);
+      }
+    }
+  }
+
+  //Tests that a motion before the end of the latest motion of its shape is rejected
+  @Test(expected = IllegalArgumentException.class)
+  public void testOutOfOrderMotion() throws IOException {
+    MappedAnimationWriter writer = new MappedAnimationWriter(this.file);
+    writer.declareShape("R", "rectangle");
+    writer.addMotion("R", 10, 0, 0, 5, 5, 0, 0, 0, 20, 0, 0, 5, 5, 0, 0, 0);
+    writer.addMotion("R", 0, 0, 0, 5, 5, 0, 0, 0, 5, 0, 0, 5, 5, 0, 0, 0);
+  }
+
+  //Tests that a file that was not written by a MappedAnimationWriter is rejected
+  @Test(expected = IOException.class)
+  public void testNotAnAnimationFile() throws IOException {
+    Files.write(this.file, new byte[100]);
+    MappedAnimationEnvironment.open(this.file);
+  }
+}
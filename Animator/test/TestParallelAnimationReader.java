@@ -0,0 +1,236 @@
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.After;
+import org.junit.Test;
+
+import controller.AnimationReader;
+import controller.OrientationAnimationReader;
+import controller.ParallelAnimationReader;
+import model.AnimationEnvironment;
+import model.ReadOnlyAnimationEnvironmentImpl;
+import view.TextView;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests that a {@code ParallelAnimationReader} builds the same animation and reports the same
+ * errors as reading the file on one thread.
+ */
+public class TestParallelAnimationReader {
+
+  ForkJoinPool pool = new ForkJoinPool(2);
+
+  @After
+  public void tearDown() {
+    this.pool.shutdown();
+  }
+
+  /**
+   * Writes a scene large enough to be split into several chunks, with the motions of each shape
+   * spread through the file.
+   *
+   * @param orientation Whether the motions include orientations.
+   * @return The text of the scene.
+   */
+  private String scene(boolean orientation) {
+    StringBuilder text = new StringBuilder("canvas 5 10 400 300\n");
+    for (int s = 0; s < 20; s++) {
+      text.append("shape S").append(s).append(s % 3 == 0 ? " ellipse\n" : " rectangle\n");
+    }
+    for (int m = 0; m < 400; m++) {
+      text.append("# round ").append(m).append('\n');
+      for (int s = 0; s < 20; s++) {
+        text.append("motion S").append(s).append(' ').append(10 * m).append(' ').append(s + m)
+            .append(' ').append(m).append(" 10 20 255 0 ").append(m % 256)
+            .append(orientation ? " " + m % 360 : "").append(' ').append(10 * m + 10).append(' ')
+            .append(s + m + 1).append(' ').append(m + 1).append(" 10 20 255 0 ")
+            .append((m + 1) % 256).append(orientation ? " " + (m + 1) % 360 : "").append('\n');
+      }
+    }
+    return text.toString();
+  }
+
+  /**
+   * Renders the given {@param model} with a {@code TextView}.
+   *
+   * @param model The model to be rendered.
+   * @return The text of the model.
+   */
+  private String text(AnimationEnvironment model) {
+    StringBuilder out = new StringBuilder();
+    TextView view = new TextView(out);
+    view.setModel(new ReadOnlyAnimationEnvironmentImpl(model));
+    view.display();
+    return out.toString();
+  }
+
+  /**
+   * Checks that reading the given {@param text} in parallel fails with the given {@param
+   * message}.
+   *
+   * @param text    The text to be read.
+   * @param message The expected message.
+   */
+  private void assertParseError(String text, String message) {
+    try {
+      ParallelAnimationReader.parseFile(new StringReader(text), AnimationEnvironment.builder(),
+          false, this.pool);
+      fail("Expected " + message);
+    } catch (IllegalStateException e) {
+      assertEquals(message, e.getMessage());
+    }
+  }
+
+  /**
+   * Checks that reading the given {@param text} in parallel fails with the same error as reading
+   * it on one thread.
+   *
+   * @param text The text to be read.
+   */
+  private void assertSameError(String text) {
+    RuntimeException expected = null;
+    try {
+      AnimationReader.parseFile(new StringReader(text), AnimationEnvironment.builder());
+      fail("The text should be invalid");
+    } catch (RuntimeException e) {
+      expected = e;
+    }
+    try {
+      ParallelAnimationReader.parseFile(new StringReader(text), AnimationEnvironment.builder(),
+          false, this.pool);
+      fail("Expected " + expected);
+    } catch (RuntimeException e) {
+      assertEquals(expected.getClass(), e.getClass());
+      assertEquals(expected.getMessage(), e.getMessage());
+    }
+  }
+
+  //Tests that reading in parallel builds the same animation as reading on one thread
+  @Test
+  public void testMatchesSequential() {
+    String text = this.scene(false);
+    assertEquals(this.text(AnimationReader.parseFile(new StringReader(text),
+        AnimationEnvironment.builder())),
+        this.text(ParallelAnimationReader.parseFile(new StringReader(text),
+            AnimationEnvironment.builder(), false, this.pool)));
+    String oriented = this.scene(true);
+    assertEquals(this.text(OrientationAnimationReader.parseFile(new StringReader(oriented),
+        AnimationEnvironment.builder())),
+        this.text(ParallelAnimationReader.parseFile(new StringReader(oriented),
+            AnimationEnvironment.builder(), true, this.pool)));
+  }
+
+  //Tests that the motions of each shape are given to the builder in order of time
+  @Test
+  public void testMotionsOrderedByTime() {
+    String ordered = "canvas 0 0 100 100\nshape R rectangle\n"
+        + "motion R 0 0 0 5 5 0 0 0 10 5 5 5 5 0 0 0\n"
+        + "motion R 10 5 5 5 5 0 0 0 20 9 9 5 5 0 0 0\n";
+    String shuffled = "canvas 0 0 100 100\nshape R rectangle\n"
+        + "motion R 10 5 5 5 5 0 0 0 20 9 9 5 5 0 0 0\n"
+        + "motion R 0 0 0 5 5 0 0 0 10 5 5 5 5 0 0 0\n";
+    assertEquals(this.text(AnimationReader.parseFile(new StringReader(ordered),
+        AnimationEnvironment.builder())),
+        this.text(ParallelAnimationReader.parseFile(new StringReader(shuffled),
+            AnimationEnvironment.builder(), false, this.pool)));
+  }
+
+  //Tests that the error closest to the start of the file is reported
+  @Test
+  public void testFirstErrorReported() {
+    String text = this.scene(false);
+    int early = text.indexOf("motion S3 ", text.length() / 3);
+    int late = text.indexOf("motion S7 ", 2 * text.length() / 3);
+    String broken = text.substring(0, early + 10) + "one "
+        + text.substring(early + 10, late + 10) + "two " + text.substring(late + 10);
+    this.assertParseError(broken, "Motion: expected integer for initial time, got: one");
+  }
+
+  //Tests that a statement continuing past a split is read the same as on one thread
+  @Test
+  public void testStatementAcrossSplit() {
+    StringBuilder text = new StringBuilder("canvas 0 0 100 100\nshape motion rectangle\n");
+    while (text.length() < (1 << 16) - 10) {
+      text.append("#\n");
+    }
+    text.append("motion\n");
+    while (text.length() < (1 << 16)) {
+      text.append('\n');
+    }
+    text.append("motion 0 0 0 5 5 0 0 0 10 5 5 5 5 0 0 0\n");
+    text.append("motion motion 10 5 5 5 5 0 0 0 20 9 9 5 5 0 0 0\n");
+    assertEquals(this.text(AnimationReader.parseFile(new StringReader(text.toString()),
+        AnimationEnvironment.builder())),
+        this.text(ParallelAnimationReader.parseFile(new StringReader(text.toString()),
+            AnimationEnvironment.builder(), false, this.pool)));
+  }
+
+  //Tests that a statement cut off at the end of the file is reported
+  @Test
+  public void testTruncatedFile() {
+    this.assertParseError("canvas 0 0 100 100\nshape R rectangle\nmotion R 0 0",
+        "Motion: expected integer for initial y-coordinate, but no more input available");
+  }
+
+  //Tests that when the builder rejects motions of two shapes, the motion closest to the start of
+  //the file is reported even though the other shape is given its motions first
+  @Test
+  public void testFirstBuilderErrorReported() {
+    String text = "canvas 0 0 100 100\nshape A rectangle\nshape B rectangle\n"
+        + "motion A 0 0 0 5 5 0 0 0 10 5 5 5 5 0 0 0\n"
+        + "motion B 0 0 0 5 5 0 0 0 10 5 5 5 5 0 0 0\n"
+        + "motion B 5 3 3 5 5 0 0 0 15 5 5 5 5 0 0 0\n"
+        + "motion A 10 9 9 5 5 0 0 0 20 5 5 5 5 0 0 0\n";
+    this.assertSameError(text);
+  }
+
+  //Tests that a motion the builder rejects is reported before an invalid token in a later chunk
+  @Test
+  public void testBuilderErrorBeforeReaderError() {
+    StringBuilder text = new StringBuilder("canvas 0 0 100 100\nshape A rectangle\n"
+        + "motion A 0 0 0 5 5 0 0 0 10 5 5 5 5 0 0 0\n"
+        + "motion A 5 5 5 5 5 0 0 0 15 5 5 5 5 0 0 0\n");
+    while (text.length() < (1 << 17)) {
+      text.append("# filler\n");
+    }
+    text.append("shape B rectangle\n");
+    for (int m = 0; m < 100; m++) {
+      text.append("motion B ").append(m).append(" 0 0 5 5 0 0 0 ").append(m + 1)
+          .append(" 0 0 5 5 0 0 0\n");
+    }
+    text.append("motion B x 0 0 5 5 0 0 0 200 0 0 5 5 0 0 0\n");
+    this.assertSameError(text.toString());
+  }
+
+  //Tests that a motion before the declaration of its shape is rejected even though the shape is
+  //declared later in the file
+  @Test
+  public void testMotionBeforeDeclaration() {
+    this.assertSameError("canvas 0 0 100 100\nshape A rectangle\n"
+        + "motion A 0 0 0 5 5 0 0 0 10 5 5 5 5 0 0 0\n"
+        + "motion B 0 0 0 5 5 0 0 0 10 5 5 5 5 0 0 0\n"
+        + "shape B rectangle\n"
+        + "motion B 10 5 5 5 5 0 0 0 20 5 5 5 5 0 0 0\n");
+  }
+
+  //Tests that a file is read straight from its path the same as from a reader
+  @Test
+  public void testReadsPath() throws IOException {
+    String text = this.scene(true);
+    Path file = Files.createTempFile("scene", ".txt");
+    try {
+      Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+      assertEquals(this.text(OrientationAnimationReader.parseFile(new StringReader(text),
+          AnimationEnvironment.builder())),
+          this.text(ParallelAnimationReader.parseFile(file, AnimationEnvironment.builder(), true,
+              this.pool)));
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
@@ -0,0 +1,81 @@
+import java.io.StringReader;
+import org.junit.Test;
+
+import controller.AnimationReader;
+import model.AnimationEnvironment;
+import model.ReadOnlyAnimationEnvironmentImpl;
+import view.AnimationPanel;
+import view.PlaybackClock;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that a {@code PlaybackClock} tells the tick from the elapsed time and drops the frames it
+ * is too late for.
+ */
+public class TestPlaybackClock {
+
+  private static final long SECOND = 1000000000L;
+
+  //Tests that the tick is fractional and proportional to the elapsed time
+  @Test
+  public void testTickAt() {
+    PlaybackClock clock = new PlaybackClock(4, 60, 100, false);
+    clock.start(5 * SECOND);
+    assertEquals(0.0, clock.tickAt(5 * SECOND), 1e-9);
+    assertEquals(2.0, clock.tickAt(5 * SECOND + SECOND / 2), 1e-9);
+    assertEquals(0.4, clock.tickAt(5 * SECOND + SECOND / 10), 1e-9);
+    assertEquals(400.0, clock.tickAt(105 * SECOND), 1e-9);
+  }
+
+  //Tests that speeds above a thousand ticks per second still play at their speed
+  @Test
+  public void testFastSpeed() {
+    PlaybackClock clock = new PlaybackClock(5000, 60, 100000, false);
+    clock.start(0);
+    assertEquals(5000.0, clock.tickAt(SECOND), 1e-6);
+  }
+
+  //Tests that a looping clock starts over after the last tick
+  @Test
+  public void testLooping() {
+    PlaybackClock clock = new PlaybackClock(10, 60, 30, true);
+    clock.start(0);
+    assertEquals(25.0, clock.tickAt(SECOND * 5 / 2), 1e-9);
+    assertEquals(5.0, clock.tickAt(SECOND * 7 / 2), 1e-9);
+  }
+
+  //Tests that frames are scheduled at a fixed period and missed frames are dropped
+  @Test
+  public void testNextFrame() {
+    PlaybackClock clock = new PlaybackClock(1, 100, 10, false);
+    clock.start(0);
+    assertEquals(10000000L, clock.nextFrame(1000000L));
+    assertEquals(20000000L, clock.nextFrame(15000000L));
+    assertEquals(0, clock.droppedFrames());
+    assertEquals(60000000L, clock.nextFrame(55000000L));
+    assertEquals(3, clock.droppedFrames());
+  }
+
+  //Tests that a panel shows any tick it is given, wrapping around past the end when it loops, as
+  //the editors do when they show the tick of their clock
+  @Test
+  public void testPanelShowsClockTicks() {
+    AnimationPanel panel = new AnimationPanel();
+    panel.setModel(new ReadOnlyAnimationEnvironmentImpl(AnimationReader.parseFile(
+        new StringReader("canvas 0 0 10 10\nshape R rectangle\n"
+            + "motion R 0 0 0 5 5 0 0 0 30 5 5 5 5 0 0 0\n"), AnimationEnvironment.builder())));
+    assertEquals(2500, panel.showTick(2500));
+    assertEquals(2500, panel.getTick());
+    panel.toggleLooping();
+    assertEquals(30, panel.showTick(30));
+    assertEquals(0, panel.showTick(31));
+    assertEquals(2500 % 31, panel.showTick(2500));
+  }
+
+  //Tests that the speed must be positive
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSpeed() {
+    new PlaybackClock(0, 60, 10, false);
+  }
+}
@@ -3,6 +3,7 @@ import org.junit.Test;
 
 import java.awt.Dimension;
 import java.awt.Color;
+import java.io.StringWriter;
 
 import static org.junit.Assert.assertEquals;
 
@@ -121,4 +122,27 @@ public class TestSVGView {
         "</polygon>\n" +
         "</svg>", out2.toString());
   }
-}
\ No newline at end of file
+
+  //Tests that the svg streamed to a Writer reads the same as the svg built into a StringBuilder,
+  //including begin and duration times that are not whole numbers of milliseconds.
+  @Test
+  public void testStreamedMatchesBuilt() {
+    environment1.addShape(redRect);
+    environment1.addShape(blueCircle);
+    this.environment1.commandShape("Red Rectangle", 1, 5,
+        new Move(20, 25, 0, 0),
+        new Paint(255, 0, 0, 0, 0, 0));
+    this.environment1.commandShape("Blue Circle", 4, 11,
+        new Move(0, 0, 100, 100),
+        new Rotate(25, 90));
+    StringWriter streamed = new StringWriter();
+    SVGView v3 = new SVGView(streamed, 3);
+    v3.setModel(new ReadOnlyAnimationEnvironmentImpl(environment1));
+    v3.display();
+    SVGView v4 = new SVGView(out1, 3);
+    v4.setModel(new ReadOnlyAnimationEnvironmentImpl(environment1));
+    v4.display();
+    assertEquals(out1.toString(), streamed.toString());
+    assertEquals(true, streamed.toString().contains("begin=\"333.3333333333333ms\""));
+  }
+}
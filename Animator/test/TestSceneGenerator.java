@@ -0,0 +1,98 @@
+import java.io.StringReader;
+import org.junit.Test;
+
+import controller.AnimationReader;
+import controller.OrientationAnimationReader;
+import controller.SceneGenerator;
+import model.AnimationEnvironment;
+import model.ReadOnlyAnimatedShape;
+import model.ReadOnlyAnimationEnvironmentImpl;
+import view.TextView;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that a {@code SceneGenerator} generates the same valid scene for the same seed, whether it
+ * is written or driven into a builder.
+ */
+public class TestSceneGenerator {
+
+  /**
+   * Writes the scene of the given generator into a string.
+   *
+   * @param generator The generator.
+   * @return The text of the scene.
+   */
+  private static String text(SceneGenerator generator) {
+    StringBuilder out = new StringBuilder();
+    generator.write(out);
+    return out.toString();
+  }
+
+  /**
+   * Lists the given environment as the {@code TextView} does.
+   *
+   * @param environment The environment.
+   * @return The text of the environment.
+   */
+  private static String list(AnimationEnvironment environment) {
+    StringBuilder out = new StringBuilder();
+    TextView view = new TextView(out);
+    view.setModel(new ReadOnlyAnimationEnvironmentImpl(environment));
+    view.display();
+    return out.toString();
+  }
+
+  //Tests that the same seed generates the same scene and a different seed does not
+  @Test
+  public void testSeeded() {
+    assertEquals(text(new SceneGenerator(7, 20, 30, true, 25)),
+        text(new SceneGenerator(7, 20, 30, true, 25)));
+    assertNotEquals(text(new SceneGenerator(7, 20, 30, true, 25)),
+        text(new SceneGenerator(8, 20, 30, true, 25)));
+  }
+
+  //Tests that a scene without orientations is read by the reader without orientations
+  @Test
+  public void testWithoutOrientation() {
+    String scene = text(new SceneGenerator(3, 10, 50, false, 30));
+    assertEquals(1 + 10 + 10 * 50, scene.split("\n").length);
+    assertTrue(scene.startsWith("canvas 0 0 800 600\nshape S0 "));
+    AnimationEnvironment environment = AnimationReader.parseFile(new StringReader(scene),
+        AnimationEnvironment.builder());
+    assertEquals(10, environment.getShapes().size());
+  }
+
+  //Tests that driving a builder builds the same model as reading the written scene
+  @Test
+  public void testDriveMatchesWrite() {
+    SceneGenerator generator = new SceneGenerator(11, 15, 40, true, 20);
+    AnimationEnvironment read = OrientationAnimationReader.parseFile(
+        new StringReader(text(generator)), AnimationEnvironment.builder());
+    AnimationEnvironment driven = generator.drive(AnimationEnvironment.builder());
+    assertEquals(list(read), list(driven));
+  }
+
+  //Tests that gaps between motions are generated when asked for and never otherwise
+  @Test
+  public void testGaps() {
+    AnimationEnvironment withGaps = new SceneGenerator(5, 10, 20, false, 100)
+        .drive(AnimationEnvironment.builder());
+    AnimationEnvironment withoutGaps = new SceneGenerator(5, 10, 20, false, 0)
+        .drive(AnimationEnvironment.builder());
+    for (ReadOnlyAnimatedShape shape : withGaps.getShapes()) {
+      assertEquals(2 * 20 + 2 * 19, shape.getLog().size());
+    }
+    for (ReadOnlyAnimatedShape shape : withoutGaps.getShapes()) {
+      assertEquals(2 * 20, shape.getLog().size());
+    }
+  }
+
+  //Tests that a negative number of shapes is rejected
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidScene() {
+    new SceneGenerator(0, -1, 10, false, 0);
+  }
+}
@@ -0,0 +1,154 @@
+import java.io.StringReader;
+import org.junit.Test;
+
+import controller.AnimationReader;
+import controller.OrientationAnimationReader;
+import model.AnimationEnvironment;
+import model.ReadOnlyAnimationEnvironmentImpl;
+import view.SVGView;
+import view.StreamingSVGBuilder;
+import view.StreamingTextBuilder;
+import view.TextView;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the streaming builders write the same animation the views write from a model built
+ * from the same file.
+ */
+public class TestStreamingBuilders {
+
+  private final String input = "# a scene\ncanvas 10 20 300 200\n"
+      + "shape R rectangle\n"
+      + "shape C ellipse\n"
+      + "motion R 1 200 200 50 100 255 0 0 0   10 200 200 50 100 255 0 0 0\n"
+      + "motion C 6 440 70 120 60 0 0 255 0 20 440 70 120 60 0 0 255 90 # spins\n"
+      + "motion R 10 200 200 50 100 255 0 0 0 50 300 300 50 100 255 0 0 45\n"
+      + "motion R 70 300 300 50 100 255 0 0 45 100 200 200 25 100 0 0 255 45\n";
+
+  //Tests that the text is rewritten in normalized form and reads back the same
+  @Test
+  public void testTextNormalizes() {
+    StringBuilder out = new StringBuilder();
+    OrientationAnimationReader.parseFile(new StringReader(this.input),
+        new StreamingTextBuilder(out));
+    assertEquals("canvas 10 20 300 200\n"
+        + "shape R rectangle\n"
+        + "shape C ellipse\n"
+        + "motion R 1 200 200 50 100 255 0 0 0 10 200 200 50 100 255 0 0 0\n"
+        + "motion C 6 440 70 120 60 0 0 255 0 20 440 70 120 60 0 0 255 90\n"
+        + "motion R 10 200 200 50 100 255 0 0 0 50 300 300 50 100 255 0 0 45\n"
+        + "motion R 70 300 300 50 100 255 0 0 45 100 200 200 25 100 0 0 255 45\n",
+        out.toString());
+
+    StringBuilder expected = new StringBuilder();
+    TextView expectedView = new TextView(expected);
+    expectedView.setModel(new ReadOnlyAnimationEnvironmentImpl(OrientationAnimationReader
+        .parseFile(new StringReader(this.input), AnimationEnvironment.builder())));
+    expectedView.display();
+    StringBuilder actual = new StringBuilder();
+    TextView actualView = new TextView(actual);
+    actualView.setModel(new ReadOnlyAnimationEnvironmentImpl(OrientationAnimationReader
+        .parseFile(new StringReader(out.toString()), AnimationEnvironment.builder())));
+    actualView.display();
+    assertEquals(expected.toString(), actual.toString());
+  }
+
+  //Tests that motions without orientations are written without them
+  @Test
+  public void testTextWithoutOrientation() {
+    StringBuilder out = new StringBuilder();
+    AnimationReader.parseFile(new StringReader("shape R rectangle\n"
+        + "motion R 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 16\n"), new StreamingTextBuilder(out));
+    assertEquals("shape R rectangle\nmotion R 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 16\n",
+        out.toString());
+  }
+
+  //Tests that each shape is animated the same as in the svg view, with its animations naming it
+  @Test
+  public void testSvgMatchesView() {
+    this.assertSvgMatchesView("R", "rectangle", "rect",
+        "motion R 1 200 200 50 100 255 0 0 0   10 200 200 50 100 255 0 0 0\n"
+        + "motion R 10 200 200 50 100 255 0 0 0 50 300 300 50 100 255 0 0 45\n"
+        + "motion R 70 300 300 50 100 255 0 0 45 100 200 200 25 100 0 0 255 45\n");
+    this.assertSvgMatchesView("C", "ellipse", "ellipse",
+        "motion C 6 440 70 120 60 0 0 255 0 20 440 70 120 60 0 0 255 90\n"
+        + "motion C 30 440 70 120 60 0 0 255 90 40 10 10 20 60 0 255 0 90\n");
+    this.assertSvgMatchesView("T", "triangle", "polygon",
+        "motion T 0 20 20 10 10 255 0 0 0 10 40 40 10 10 255 0 0 0\n");
+  }
+
+  //Tests that motions which begin before the latest state of their shape are rejected
+  @Test(expected = IllegalArgumentException.class)
+  public void testSvgOverlappingMotion() {
+    StreamingSVGBuilder builder = new StreamingSVGBuilder(new StringBuilder(), 1);
+    builder.declareShape("R", "rectangle");
+    builder.addMotion("R", 0, 0, 0, 5, 5, 0, 0, 0, 10, 5, 5, 5, 5, 0, 0, 0);
+    builder.addMotion("R", 5, 5, 5, 5, 5, 0, 0, 0, 15, 5, 5, 5, 5, 0, 0, 0);
+  }
+
+  //Tests that motions which end before they begin are rejected
+  @Test(expected = IllegalArgumentException.class)
+  public void testSvgBackwardsMotion() {
+    StreamingSVGBuilder builder = new StreamingSVGBuilder(new StringBuilder(), 1);
+    builder.declareShape("R", "rectangle");
+    builder.addMotion("R", 10, 0, 0, 5, 5, 0, 0, 0, 5, 5, 5, 5, 5, 0, 0, 0);
+  }
+
+  /**
+   * Checks that streaming the given {@param motions} of one shape writes the same animations as
+   * the svg view writes, each naming the element of the shape by its id. Unlike in the view, a
+   * streamed polygon is given an id as well.
+   *
+   * @param name    The name of the shape.
+   * @param type    The declared type of the shape.
+   * @param element The svg element that draws the shape.
+   * @param motions The motion lines of the shape.
+   */
+  private void assertSvgMatchesView(String name, String type, String element, String motions) {
+    String shape = "canvas 10 20 300 200\nshape " + name + " " + type + "\n" + motions;
+    StringBuilder view = new StringBuilder();
+    SVGView svgView = new SVGView(view, 2);
+    svgView.setModel(new ReadOnlyAnimationEnvironmentImpl(OrientationAnimationReader
+        .parseFile(new StringReader(shape), AnimationEnvironment.builder())));
+    svgView.display();
+    StringBuilder streamed = new StringBuilder();
+    OrientationAnimationReader.parseFile(new StringReader(shape),
+        new StreamingSVGBuilder(streamed, 2));
+
+    String[] lines = view.toString().split("\n");
+    String opening = lines[1];
+    if (element.equals("polygon")) {
+      assertFalse(opening.contains(" id="));
+      opening = opening.replaceFirst("\" ", "\" id=\"" + name + "\" ");
+    }
+    StringBuilder expected = new StringBuilder(lines[0].replace(">",
+        " xmlns:xlink=\"http://www.w3.org/1999/xlink\">") + "\n" + opening + "\n</" + element
+        + ">\n");
+    for (int i = 2; i < lines.length - 2; i++) {
+      expected.append(lines[i].replaceFirst(" ", " xlink:href=\"#" + name + "\" "))
+          .append('\n');
+    }
+    expected.append("</svg>");
+    assertEquals(expected.toString(), streamed.toString());
+    assertTrue(streamed.toString().contains(" id=\"" + name + "\" "));
+  }
+
+  //Tests that the canvas cannot be set once shapes have been written
+  @Test(expected = IllegalStateException.class)
+  public void testLateCanvas() {
+    StreamingSVGBuilder builder = new StreamingSVGBuilder(new StringBuilder(), 1);
+    builder.declareShape("R", "rectangle");
+    builder.addMotion("R", 0, 0, 0, 5, 5, 0, 0, 0, 10, 5, 5, 5, 5, 0, 0, 0);
+    builder.setBounds(0, 0, 10, 10);
+  }
+
+  //Tests that motions of undeclared shapes are rejected
+  @Test(expected = IllegalArgumentException.class)
+  public void testUndeclaredShape() {
+    new StreamingSVGBuilder(new StringBuilder(), 1)
+        .addMotion("R", 0, 0, 0, 5, 5, 0, 0, 0, 10, 5, 5, 5, 5, 0, 0, 0);
+  }
+}
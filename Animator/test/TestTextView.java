@@ -3,8 +3,10 @@ import org.junit.Test;
 
 import java.awt.Dimension;
 import java.awt.Color;
+import java.io.IOException;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 import model.AnimatedShape;
 import model.AnimatedShapeImpl;
@@ -51,6 +53,47 @@ public class TestTextView {
     v1.display();
   }
 
+  //Tests that text left over from a display that failed is not written by the next display
+  @Test
+  public void testFailedDisplayDiscarded() {
+    environment1.addShape(redRect);
+    StringBuilder written = new StringBuilder();
+    boolean[] failing = {true};
+    TextView view = new TextView(new Appendable() {
+      @Override
+      public Appendable append(CharSequence csq) throws IOException {
+        return this.append(csq, 0, csq.length());
+      }
+
+      @Override
+      public Appendable append(CharSequence csq, int start, int end) throws IOException {
+        if (failing[0]) {
+          throw new IOException("Output is not ready");
+        }
+        written.append(csq, start, end);
+        return this;
+      }
+
+      @Override
+      public Appendable append(char c) throws IOException {
+        return this.append(String.valueOf(c));
+      }
+    });
+    view.setModel(new ReadOnlyAnimationEnvironmentImpl(environment1));
+    try {
+      view.display();
+      fail("The output should have failed");
+    } catch (IllegalStateException ise) {
+      //the output failed
+    }
+    failing[0] = false;
+    view.display();
+
+    v1.setModel(new ReadOnlyAnimationEnvironmentImpl(environment1));
+    v1.display();
+    assertEquals(out1.toString(), written.toString());
+  }
+
   @Test
   public void testSetModelandTextView() {
     v1.setModel(new ReadOnlyAnimationEnvironmentImpl(environment1));
@@ -0,0 +1,133 @@
+import java.awt.Color;
+import java.awt.Dimension;
+import java.util.List;
+import org.junit.Test;
+
+import model.AnimatedShape;
+import model.AnimatedShapeImpl;
+import model.Position2D;
+import model.ReadOnlyAnimatedShape;
+import model.Shapes;
+import model.Timeline;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the {@code Timeline} of an {@code AnimatedShapeImpl} keeps its states in order and
+ * finds active and overlapping segments as expected.
+ */
+public class TestTimeline {
+
+  AnimatedShape redRect = new AnimatedShapeImpl(Shapes.Rectangle, "Red Rectangle", 0,
+      new Dimension(7, 5), new Color(255, 0, 0), new Position2D(20, 25),
+      0);
+
+  /**
+   * Logs a segment from {@param start} to {@param end} in the history of the red rectangle.
+   *
+   * @param start The beginning time of the segment.
+   * @param end   The ending time of the segment.
+   */
+  private void logSegment(int start, int end) {
+    this.redRect.setTime(start);
+    this.redRect.log();
+    this.redRect.setTime(end);
+    this.redRect.log();
+  }
+
+  //Tests that a new shape has an empty timeline
+  @Test
+  public void testEmptyTimeline() {
+    Timeline timeline = this.redRect.getTimeline();
+    assertEquals(0, timeline.size());
+    assertEquals(0, timeline.segmentCount());
+    assertEquals(-1, timeline.segmentAt(0));
+    assertFalse(timeline.overlaps(0, 10));
+  }
+
+  //Tests that states logged out of order are inserted in order of time
+  @Test
+  public void testOutOfOrderInsertion() {
+    this.logSegment(10, 20);
+    this.logSegment(0, 5);
+    this.logSegment(5, 10);
+    Timeline timeline = this.redRect.getTimeline();
+    assertEquals(6, timeline.size());
+    int[] expectedTimes = {0, 5, 5, 10, 10, 20};
+    for (int i = 0; i < expectedTimes.length; i++) {
+      assertEquals(expectedTimes[i], timeline.get(i).getTime());
+    }
+  }
+
+  //Tests that states of an equal time keep the order they were logged in
+  @Test
+  public void testEqualTimesKeepLoggedOrder() {
+    this.logSegment(10, 20);
+    this.redRect.setTime(10);
+    this.redRect.move(new Position2D(1, 1));
+    this.redRect.log();
+    Timeline timeline = this.redRect.getTimeline();
+    assertEquals(new Position2D(20, 25), timeline.get(0).getPosn());
+    assertEquals(new Position2D(1, 1), timeline.get(1).getPosn());
+    assertEquals(20, timeline.get(2).getTime());
+  }
+
+  //Tests that the active segment is found at, between, and outside of segment boundaries
+  @Test
+  public void testSegmentAt() {
+    this.logSegment(0, 5);
+    this.logSegment(5, 10);
+    this.logSegment(15, 20);
+    Timeline timeline = this.redRect.getTimeline();
+    assertEquals(0, timeline.segmentAt(0));
+    assertEquals(0, timeline.segmentAt(3));
+    assertEquals(0, timeline.segmentAt(5));
+    assertEquals(1, timeline.segmentAt(6));
+    assertEquals(1, timeline.segmentAt(10));
+    assertEquals(-1, timeline.segmentAt(12));
+    assertEquals(2, timeline.segmentAt(15));
+    assertEquals(2, timeline.segmentAt(20));
+    assertEquals(-1, timeline.segmentAt(21));
+    assertEquals(-1, timeline.segmentAt(-1));
+  }
+
+  //Tests that only intervals overlapping the interior of a segment are considered overlapping
+  @Test
+  public void testOverlaps() {
+    this.logSegment(5, 10);
+    this.logSegment(20, 30);
+    Timeline timeline = this.redRect.getTimeline();
+    assertFalse(timeline.overlaps(0, 5));
+    assertFalse(timeline.overlaps(10, 20));
+    assertFalse(timeline.overlaps(30, 40));
+    assertTrue(timeline.overlaps(0, 6));
+    assertTrue(timeline.overlaps(9, 15));
+    assertTrue(timeline.overlaps(6, 7));
+    assertTrue(timeline.overlaps(0, 40));
+    assertTrue(timeline.overlaps(15, 25));
+  }
+
+  //Tests that the log of a shape is the same unmodifiable list until another state is logged
+  @Test
+  public void testLogIsCachedUntilLogged() {
+    this.logSegment(0, 5);
+    List<ReadOnlyAnimatedShape> log = this.redRect.getLog();
+    assertSame(log, this.redRect.getLog());
+    assertEquals(2, log.size());
+    this.logSegment(5, 10);
+    assertNotSame(log, this.redRect.getLog());
+    assertEquals(2, log.size());
+    assertEquals(4, this.redRect.getLog().size());
+  }
+
+  //Tests that the log of a shape cannot be modified
+  @Test(expected = UnsupportedOperationException.class)
+  public void testLogIsUnmodifiable() {
+    this.logSegment(0, 5);
+    this.redRect.getLog().remove(0);
+  }
+}
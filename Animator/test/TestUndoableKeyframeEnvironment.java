@@ -0,0 +1,241 @@
+import java.awt.Color;
+import java.awt.Dimension;
+import java.util.ArrayList;
+import java.util.List;
+import model.AnimationEnvironmentImpl;
+import model.KeyframeAnimationEnvironmentImpl;
+import model.Position2D;
+import model.ReadOnlyAnimatedShape;
+import model.Shapes;
+import model.UndoableKeyframeEnvironment;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that every edit of a {@code KeyframeAnimationEnvironmentImpl} can be undone and redone,
+ * restoring exactly the shapes and keyframes from before and after it.
+ */
+public class TestUndoableKeyframeEnvironment {
+
+  private UndoableKeyframeEnvironment environment;
+
+  @Before
+  public void setUp() {
+    this.environment = new KeyframeAnimationEnvironmentImpl(
+        AnimationEnvironmentImpl.builder().setBounds(0, 0, 100, 100).build());
+    this.environment.addShape(Shapes.Rectangle, "R", 0, new Dimension(5, 5),
+        new Color(255, 0, 0), new Position2D(0, 0), 0);
+    this.environment.addShape(Shapes.Oval, "O", 0, new Dimension(5, 5),
+        new Color(0, 0, 255), new Position2D(10, 10), 0);
+    this.environment.addShape(Shapes.Triangle, "T", 0, new Dimension(5, 5),
+        new Color(0, 255, 0), new Position2D(20, 20), 0);
+  }
+
+  //Tests that nothing can be undone or redone in an environment that has not been edited
+  @Test
+  public void testNothingToUndo() {
+    UndoableKeyframeEnvironment fresh = new KeyframeAnimationEnvironmentImpl(
+        AnimationEnvironmentImpl.builder().setBounds(0, 0, 100, 100).build());
+    assertFalse(fresh.canUndo());
+    assertFalse(fresh.canRedo());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testUndoWithoutEdits() {
+    new KeyframeAnimationEnvironmentImpl(
+        AnimationEnvironmentImpl.builder().setBounds(0, 0, 100, 100).build()).undo();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testRedoWithoutUndo() {
+    this.environment.redo();
+  }
+
+  //Tests that adding, editing and deleting keyframes are undone and redone in order
+  @Test
+  public void testKeyframeEdits() {
+    List<ReadOnlyAnimatedShape> initial = copyLog("R");
+    this.environment.addKeyframe("R", 10, new Dimension(8, 8), new Color(1, 2, 3),
+        new Position2D(5, 5), 90);
+    List<ReadOnlyAnimatedShape> added = copyLog("R");
+    this.environment.editKeyframe("R", 10, new Dimension(9, 9), new Color(4, 5, 6),
+        new Position2D(6, 6), 45);
+    List<ReadOnlyAnimatedShape> edited = copyLog("R");
+    this.environment.deleteKeyframe("R", 0);
+    List<ReadOnlyAnimatedShape> deleted = copyLog("R");
+    assertEquals(1, deleted.size());
+    assertEquals(45, deleted.get(0).getOrientation());
+
+    this.environment.undo();
+    assertEquals(edited, this.log("R"));
+    this.environment.undo();
+    assertEquals(added, this.log("R"));
+    this.environment.undo();
+    assertEquals(initial, this.log("R"));
+
+    this.environment.redo();
+    assertEquals(added, this.log("R"));
+    this.environment.redo();
+    assertEquals(edited, this.log("R"));
+    this.environment.redo();
+    assertEquals(deleted, this.log("R"));
+    assertFalse(this.environment.canRedo());
+  }
+
+  //Tests that a deleted shape comes back in the place it was drawn in
+  @Test
+  public void testDeleteShape() {
+    this.environment.addKeyframe("O", 5, new Dimension(8, 8), new Color(1, 2, 3),
+        new Position2D(5, 5), 0);
+    List<ReadOnlyAnimatedShape> log = copyLog("O");
+    this.environment.deleteShape("O");
+    assertEquals("RT", this.names());
+
+    this.environment.undo();
+    assertEquals("ROT", this.names());
+    assertEquals(log, this.log("O"));
+
+    this.environment.redo();
+    assertEquals("RT", this.names());
+  }
+
+  //Tests that adding a shape is undone by removing it
+  @Test
+  public void testAddShape() {
+    this.environment.addShape(Shapes.Oval, "C", 3, new Dimension(5, 5), new Color(0, 0, 0),
+        new Position2D(0, 0), 0);
+    assertEquals("ROTC", this.names());
+    this.environment.undo();
+    assertEquals("ROT", this.names());
+    this.environment.redo();
+    assertEquals("ROTC", this.names());
+    assertEquals(3, this.log("C").get(0).getTime());
+  }
+
+  //Tests that a new edit forgets the edits that were undone, and that failed edits are not
+  //remembered
+  @Test
+  public void testNewEditClearsRedo() {
+    this.environment.addKeyframe("R", 10, new Dimension(8, 8), new Color(1, 2, 3),
+        new Position2D(5, 5), 0);
+    this.environment.undo();
+    assertTrue(this.environment.canRedo());
+    this.environment.deleteKeyframe("T", 0);
+    assertFalse(this.environment.canRedo());
+
+    try {
+      this.environment.addKeyframe("R", 0, new Dimension(8, 8), new Color(1, 2, 3),
+          new Position2D(5, 5), 0);
+    } catch (IllegalArgumentException iae) {
+      //a keyframe already exists at that time
+    }
+    try {
+      this.environment.editKeyframe("R", 0, new Dimension(8, 8), new Color(1, 2, 3),
+          new Position2D(5, 5), 400);
+    } catch (IllegalArgumentException iae) {
+      //the orientation is invalid
+    }
+    assertEquals(1, this.log("R").size());
+    assertEquals(0, this.log("R").get(0).getOrientation());
+    this.environment.undo();
+    assertEquals(1, this.log("T").size());
+  }
+
+  //Tests that undoing and redoing a keyframe edit also restores the current state of the shape,
+  //which is what tells the views how long the animation runs
+  @Test
+  public void testCurrentState() {
+    this.environment.addKeyframe("R", 500, new Dimension(8, 8), new Color(0, 0, 255),
+        new Position2D(5, 5), 90);
+    ReadOnlyAnimatedShape shape = this.environment.getShapes().get(0);
+    assertEquals(500, shape.getTime());
+    assertEquals(new Color(0, 0, 255), shape.getColor());
+
+    this.environment.undo();
+    shape = this.environment.getShapes().get(0);
+    assertEquals(0, shape.getTime());
+    assertEquals(new Color(255, 0, 0), shape.getColor());
+    assertEquals(new Dimension(5, 5), shape.getBoundary());
+    assertEquals(0, shape.getOrientation());
+
+    this.environment.redo();
+    shape = this.environment.getShapes().get(0);
+    assertEquals(500, shape.getTime());
+    assertEquals(new Color(0, 0, 255), shape.getColor());
+    assertEquals(90, shape.getOrientation());
+
+    try {
+      this.environment.editKeyframe("R", 500, new Dimension(9, 9), new Color(1, 1, 1),
+          new Position2D(6, 6), 400);
+    } catch (IllegalArgumentException iae) {
+      //the orientation is invalid
+    }
+    shape = this.environment.getShapes().get(0);
+    assertEquals(new Dimension(8, 8), shape.getBoundary());
+    assertEquals(new Color(0, 0, 255), shape.getColor());
+  }
+
+  //Tests that the whole history of many edits can be undone and redone
+  @Test
+  public void testLongHistory() {
+    for (int t = 1; t <= 2000; t++) {
+      this.environment.addKeyframe("R", t, new Dimension(t, t), new Color(0, 0, 0),
+          new Position2D(t, t), 0);
+    }
+    assertEquals(2001, this.log("R").size());
+    for (int t = 2000; t >= 1; t--) {
+      this.environment.undo();
+      assertEquals(t, this.log("R").size());
+    }
+    assertEquals(0, this.log("R").get(0).getTime());
+    for (int t = 1; t <= 2000; t++) {
+      this.environment.redo();
+    }
+    List<ReadOnlyAnimatedShape> log = this.log("R");
+    for (int t = 0; t <= 2000; t++) {
+      assertEquals(t, log.get(t).getTime());
+    }
+  }
+
+  /**
+   * Returns the log of the shape with the given {@param name}.
+   *
+   * @param name The name of the shape.
+   * @return The log of the shape.
+   */
+  private List<ReadOnlyAnimatedShape> log(String name) {
+    for (ReadOnlyAnimatedShape shape : this.environment.getShapes()) {
+      if (shape.getName().equals(name)) {
+        return shape.getLog();
+      }
+    }
+    throw new IllegalArgumentException("No shape " + name);
+  }
+
+  /**
+   * Returns a copy of the log of the shape with the given {@param name}.
+   *
+   * @param name The name of the shape.
+   * @return A copy of the log of the shape.
+   */
+  private List<ReadOnlyAnimatedShape> copyLog(String name) {
+    return new ArrayList<>(this.log(name));
+  }
+
+  /**
+   * Returns the names of the shapes in order, joined together.
+   *
+   * @return The names of the shapes.
+   */
+  private String names() {
+    StringBuilder names = new StringBuilder();
+    for (ReadOnlyAnimatedShape shape : this.environment.getShapes()) {
+      names.append(shape.getName());
+    }
+    return names.toString();
+  }
+}